@@ -1,6 +1,28 @@
+-- client, contact, task, user notification and outbox IDs are allocated in blocks of 50 (pooled optimizer) so inserts can be batched;
+-- the first block (51..100) stays clear of the seeded rows
+create sequence client_seq start with 100 increment by 50;
+
+alter sequence client_seq owner to postgres;
+
+create sequence contact_seq start with 100 increment by 50;
+
+alter sequence contact_seq owner to postgres;
+
+create sequence task_seq start with 100 increment by 50;
+
+alter sequence task_seq owner to postgres;
+
+create sequence user_notification_seq start with 100 increment by 50;
+
+alter sequence user_notification_seq owner to postgres;
+
+create sequence notification_outbox_seq start with 100 increment by 50;
+
+alter sequence notification_outbox_seq owner to postgres;
+
 create table client
 (
-    id           bigserial
+    id           bigint default nextval('client_seq')
         primary key,
     address      varchar(255),
     company_name varchar(255),
@@ -15,7 +37,7 @@ create table contact
     client_id    bigint
         constraint fkt0lxtgfimywi23cewqbmgdu62
             references client,
-    id           bigserial
+    id           bigint default nextval('contact_seq')
         primary key,
     email        varchar(255),
     first_name   varchar(255),
@@ -26,6 +48,27 @@ create table contact
 alter table contact
     owner to postgres;
 
+create index idx_contact_client_id on contact (client_id, id);
+
+-- contacts found to duplicate an older contact of the same client, refreshed by the deduplication job
+create table contact_duplicate
+(
+    contact_id  bigint not null
+        primary key
+        constraint fk_contact_duplicate_contact
+            references contact,
+    survivor_id bigint not null
+        constraint fk_contact_duplicate_survivor
+            references contact,
+    client_id   bigint not null
+);
+
+alter table contact_duplicate
+    owner to postgres;
+
+create index idx_contact_duplicate_client_id on contact_duplicate (client_id, survivor_id, contact_id);
+create index idx_contact_duplicate_survivor_id on contact_duplicate (survivor_id);
+
 create table notification
 (
     id      bigserial
@@ -34,7 +77,11 @@ create table notification
     type    varchar(255)
         constraint notification_type_check
             check ((type)::text = ANY
-                   ((ARRAY ['TASK_STATUS_CHANGED'::character varying, 'TASK_DUE_DATE'::character varying])::text[]))
+                   ((ARRAY ['TASK_STATUS_CHANGED'::character varying, 'TASKS_STATUS_CHANGED'::character varying,
+                           'TASK_DUE_DATE'::character varying])::text[])),
+    event_id varchar(36)
+        constraint uk_notification_event_id
+            unique
 );
 
 alter table notification
@@ -49,29 +96,82 @@ create table task
     contact_id  bigint
         constraint fkh5fnalwrtlcfo81jswsjccers
             references contact,
-    id          bigserial
+    id          bigint default nextval('task_seq')
         primary key,
     description varchar(255),
     status      varchar(255)
         constraint task_status_check
             check ((status)::text = ANY
-                   ((ARRAY ['TODO'::character varying, 'IN_PROGRESS'::character varying, 'DONE'::character varying])::text[]))
+                   ((ARRAY ['PAUSED'::character varying, 'TODO'::character varying,
+                           'IN_PROGRESS'::character varying, 'DONE'::character varying])::text[])),
+    updated_at  timestamp(6) default now() not null,
+    -- due date the users were last reminded of, so that only one node sends each reminder
+    reminded_due_date date
 );
 
 alter table task
     owner to postgres;
 
+create index idx_task_status_id on task (status, id);
+create index idx_task_client_id on task (client_id, id);
+create index idx_task_contact_id on task (contact_id, id);
+create index idx_task_due_date_id on task (due_date, id);
+
+-- trigrams of the lower-cased searchable client columns, padded with two spaces.
+-- The C collation lets the primary key serve prefix LIKE lookups.
+create table client_search_gram
+(
+    gram      varchar(12) collate "C" not null,
+    client_id bigint                  not null
+        constraint fk_client_search_gram_client
+            references client,
+    primary key (gram, client_id)
+);
+
+alter table client_search_gram
+    owner to postgres;
+
+create index idx_client_search_gram_client_id on client_search_gram (client_id);
+
+-- start positions of the trigrams of a column value
+create table search_gram_position
+(
+    n integer not null
+        primary key
+);
+
+alter table search_gram_position
+    owner to postgres;
+
+insert into search_gram_position (n)
+select generate_series(1, 255);
+
+create table reminder_checkpoint
+(
+    name     varchar(50) not null
+        primary key,
+    due_date date        not null,
+    task_id  bigint      not null
+);
+
+alter table reminder_checkpoint
+    owner to postgres;
+
 create table users
 (
-    id       bigserial
+    id                        bigserial
         primary key,
-    password varchar(255),
-    username varchar(255)
+    password                  varchar(255),
+    username                  varchar(255),
+    unread_notifications      integer default 0 not null,
+    undismissed_notifications integer default 0 not null
 );
 
 alter table users
     owner to postgres;
 
+create index idx_users_username on users (username);
+
 create table client_user
 (
     client_id bigint not null
@@ -102,7 +202,7 @@ create table comment
 alter table comment
     owner to postgres;
 
-create table task_comments
+create table task_comment
 (
     comments_id bigint not null
         unique
@@ -113,14 +213,14 @@ create table task_comments
             references task
 );
 
-alter table task_comments
+alter table task_comment
     owner to postgres;
 
 create table user_notification
 (
     dismissed       boolean not null,
     viewed          boolean not null,
-    id              bigserial
+    id              bigint default nextval('user_notification_seq')
         primary key,
     notification_id bigint
         constraint fki5naecliicmigrk01qx5me5sp
@@ -134,10 +234,59 @@ create table user_notification
 alter table user_notification
     owner to postgres;
 
-INSERT into client (address, company_name, industry)
-values ('123 Main St', 'Company A', 'Tech'),
-       ('456 Elm St', 'Company B', 'Finance'),
-       ('789 Pine St', 'Company C', 'Retail');
+create index idx_user_notification_user_id on user_notification (user_id, dismissed, id);
+create index idx_user_notification_notification_id on user_notification (notification_id);
+
+-- dismissed notifications moved out of user_notification once past their retention, see NotificationRetentionService;
+-- monthly partitions are created by the service before rows are moved into them and dropped once past the archive
+-- retention, the default partition only catches rows of a month whose partition could not be created
+create table user_notification_archive
+(
+    id              bigint       not null,
+    user_id         bigint,
+    notification_id bigint,
+    type            varchar(255) not null,
+    params          jsonb,
+    sent_at         timestamp(6) not null,
+    viewed          boolean      not null,
+    archived_at     timestamp(6) not null,
+    primary key (id, sent_at)
+) partition by range (sent_at);
+
+alter table user_notification_archive
+    owner to postgres;
+
+create table user_notification_archive_default partition of user_notification_archive default;
+
+alter table user_notification_archive_default
+    owner to postgres;
+
+create index idx_user_notification_archive_sent_at on user_notification_archive (sent_at, id);
+
+-- notification events written in the transaction of the change they report, drained by NotificationOutboxDispatcher
+create table notification_outbox
+(
+    id            bigint default nextval('notification_outbox_seq')
+        primary key,
+    event_id      varchar(36)  not null
+        constraint uk_notification_outbox_event_id
+            unique,
+    type          varchar(255) not null,
+    task_id       bigint,
+    params        jsonb,
+    recipient_ids text         not null,
+    created_at    timestamp(6) not null
+);
+
+alter table notification_outbox
+    owner to postgres;
+
+create index idx_notification_outbox_task_id on notification_outbox (task_id, type, created_at);
+
+INSERT into client (id, address, company_name, industry)
+values (1, '123 Main St', 'Company A', 'Tech'),
+       (2, '456 Elm St', 'Company B', 'Finance'),
+       (3, '789 Pine St', 'Company C', 'Retail');
 
 insert into users (username, password)
 values ('admin', '$2a$12$f7NCJMDwzsMWtES72uukqu/Pxv.IX7PLpaZd32KUqRuHxYhMHI/su'),
@@ -155,14 +304,14 @@ values (1, 1),
        (3, 2),
        (3, 3);
 
-insert into contact (client_id, first_name, last_name, email, phone_number)
-values (1, 'John', 'Johnson', 'john.doe@example.com', '555-1111'),
-       (2, 'Jane', 'Smith', 'jane.smith@example.com', '555-2222'),
-       (3, 'Alice', 'Johnson', 'alice.johnson@example.com', '555-3333');
+insert into contact (id, client_id, first_name, last_name, email, phone_number)
+values (1, 1, 'John', 'Johnson', 'john.doe@example.com', '555-1111'),
+       (2, 2, 'Jane', 'Smith', 'jane.smith@example.com', '555-2222'),
+       (3, 3, 'Alice', 'Johnson', 'alice.johnson@example.com', '555-3333');
 
-insert into task (client_id, contact_id, description, status, due_date)
-values (1, 1, 'Task 1 Description', 'TODO', '2025-02-01'),
-       (2, 2, 'Task 2 Description', 'IN_PROGRESS', '2025-02-15'),
-       (3, 3, 'Task 3 Description', 'DONE', '2025-03-01');
+insert into task (id, client_id, contact_id, description, status, due_date)
+values (1, 1, 1, 'Task 1 Description', 'TODO', '2025-02-01'),
+       (2, 2, 2, 'Task 2 Description', 'IN_PROGRESS', '2025-02-15'),
+       (3, 3, 3, 'Task 3 Description', 'DONE', '2025-03-01');
 
 commit;
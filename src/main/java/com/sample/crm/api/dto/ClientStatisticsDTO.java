@@ -16,6 +16,7 @@ public class ClientStatisticsDTO {
   @Schema(description = "Total number of clients.", example = "100")
   private Long totalClients;
 
-  @Schema(description = "Mapping of industry names to the count of clients in each industry.", example = "{\"Manufacturing\": 50, \"Retail\": 30, \"Technology\": 20}")
+  @Schema(description = "Mapping of industry names to the count of clients in each industry. "
+      + "Clients without an industry are only counted in the total.", example = "{\"Manufacturing\": 50, \"Retail\": 30, \"Technology\": 20}")
   private Map<String, Long> clientsByIndustry;
 }
@@ -23,6 +23,9 @@ public class TaskStatisticsDTO {
   @Schema(description = "Number of tasks with status 'completed'.", example = "50")
   private Long completedTasks;
 
+  @Schema(description = "Number of tasks with status 'paused'.", example = "10")
+  private Long pausedTasks;
+
   @Schema(description = "Number of tasks that are overdue.", example = "10")
   private Long overdueTasks;
 }
@@ -2,25 +2,150 @@ package com.sample.crm.api.service;
 
 import com.sample.crm.api.dto.ClientStatisticsDTO;
 import com.sample.crm.entity.Client;
+import com.sample.crm.model.ClientIndustryCount;
 import com.sample.crm.repository.ClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.function.Consumer;
 
+/**
+ * Client statistics served from a snapshot kept in memory.
+ * <p>
+ * The snapshot is loaded with a single {@code GROUP BY} query on first read. The client write paths report every
+ * change, which is applied to the snapshot once its transaction commits; only the counts of the affected industries
+ * change. The snapshot is replaced with fresh database counts every {@code crm.statistics.reconcile-interval}, unless
+ * changes keep being made while the counts are read; see {@link StatisticsReconciler}.
+ */
 @Service
+@Slf4j
 public class ClientStatisticsService {
     private final ClientRepository clientRepository;
 
+    /**
+     * The current statistics, replaced as a whole on every change. Null until loaded.
+     */
+    private volatile Snapshot snapshot;
+    private final StatisticsReconciler reconciler = new StatisticsReconciler(this);
+
     public ClientStatisticsService(ClientRepository clientRepository) {
         this.clientRepository = clientRepository;
     }
 
     public ClientStatisticsDTO getClientStatistics() {
-        long totalClients = clientRepository.count();
-        Map<String, Long> clientsByIndustry = clientRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Client::getIndustry, Collectors.counting()));
+        Snapshot current = snapshot;
+        if (current == null) {
+            reconcile();
+            current = snapshot;
+        }
+        return new ClientStatisticsDTO(current.totalClients(), current.clientsByIndustry());
+    }
+
+    /**
+     * Counts new clients once the current transaction commits.
+     *
+     * @param clients The created clients.
+     */
+    public void recordCreated(Collection<Client> clients) {
+        List<String> industries = clients.stream().map(Client::getIndustry).toList();
+        reconciler.record(() -> apply(counts -> industries.forEach(industry -> counts.add(industry, 1))));
+    }
+
+    /**
+     * Moves an updated client to its new industry once the current transaction commits.
+     *
+     * @param previousIndustry The industry of the client before the update.
+     * @param client           The updated client.
+     */
+    public void recordUpdated(String previousIndustry, Client client) {
+        String industry = client.getIndustry();
+        if (!Objects.equals(previousIndustry, industry)) {
+            reconciler.record(() -> apply(counts -> {
+                counts.add(previousIndustry, -1);
+                counts.add(industry, 1);
+            }));
+        }
+    }
+
+    /**
+     * Stops counting a deleted client once the current transaction commits.
+     *
+     * @param client The deleted client.
+     */
+    public void recordDeleted(Client client) {
+        String industry = client.getIndustry();
+        reconciler.record(() -> apply(counts -> counts.add(industry, -1)));
+    }
+
+    /**
+     * Replaces the snapshot with counts from the database, unless changes keep being made while they are read.
+     */
+    @Scheduled(fixedDelayString = "${crm.statistics.reconcile-interval}")
+    public void reconcile() {
+        if (!reconciler.reconcile(this::readCounts, this::replace, () -> snapshot != null)) {
+            log.debug("Client statistics kept changing while reconciled, keeping the snapshot until the next run");
+        }
+    }
+
+    private Snapshot readCounts() {
+        MutableSnapshot counted = new MutableSnapshot(0, new HashMap<>());
+        clientRepository.countGroupedByIndustry().forEach(industryCount ->
+                counted.add(industryCount.industry(), industryCount.count()));
+        return counted.freeze();
+    }
+
+    /**
+     * Replaces the snapshot with the counts read from the database. Called under the lock of the reconciler.
+     */
+    private void replace(Snapshot counted) {
+        Snapshot previous = snapshot;
+        snapshot = counted;
+        if (previous != null && previous.totalClients() != counted.totalClients()) {
+            log.debug("Reconciled client statistics: total {} -> {}", previous.totalClients(), counted.totalClients());
+        }
+    }
+
+    private synchronized void apply(Consumer<MutableSnapshot> change) {
+        if (snapshot == null) {
+            return;
+        }
+        MutableSnapshot copy = new MutableSnapshot(snapshot.totalClients(),
+                new HashMap<>(snapshot.clientsByIndustry()));
+        change.accept(copy);
+        snapshot = copy.freeze();
+    }
+
+    private record Snapshot(long totalClients, Map<String, Long> clientsByIndustry) {
+    }
+
+    /**
+     * A snapshot being built or changed. Clients without an industry are only counted in the total.
+     */
+    private static final class MutableSnapshot {
+        private long totalClients;
+        private final Map<String, Long> clientsByIndustry;
+
+        private MutableSnapshot(long totalClients, Map<String, Long> clientsByIndustry) {
+            this.totalClients = totalClients;
+            this.clientsByIndustry = clientsByIndustry;
+        }
+
+        private void add(String industry, long delta) {
+            totalClients += delta;
+            if (industry != null) {
+                clientsByIndustry.merge(industry, delta, (count, change) ->
+                        count + change == 0 ? null : count + change);
+            }
+        }
 
-        return new ClientStatisticsDTO(totalClients, clientsByIndustry);
+        private Snapshot freeze() {
+            return new Snapshot(totalClients, Map.copyOf(clientsByIndustry));
+        }
     }
 }
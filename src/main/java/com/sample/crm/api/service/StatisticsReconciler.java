@@ -0,0 +1,78 @@
+package com.sample.crm.api.service;
+
+import com.sample.crm.util.TransactionUtil;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Tells whether counts read from the database can replace the in-memory counters of a statistics service.
+ * <p>
+ * A change is recorded as started inside the transaction making it, before that transaction commits, and as finished
+ * once it completes; it is applied to the counters on commit only. Counts read while a change is in flight may or may
+ * not include it, so they replace the counters only when no change was in flight as the read started and none started
+ * until it ended. A change committed before the read but applied after it is therefore never counted twice. The
+ * counts are read again up to {@value #ATTEMPTS} times while changes keep coming.
+ */
+final class StatisticsReconciler {
+    private static final int ATTEMPTS = 3;
+
+    /**
+     * The lock guarding the counters, held while a change is applied and while the counters are replaced.
+     */
+    private final Object lock;
+    private long started;
+    private long finished;
+
+    StatisticsReconciler(Object lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * Records a change made in the current transaction, applying it under the lock once the transaction commits.
+     *
+     * @param change Applies the change to the counters.
+     */
+    void record(Runnable change) {
+        synchronized (lock) {
+            started++;
+        }
+        TransactionUtil.afterCompletion(committed -> {
+            synchronized (lock) {
+                finished++;
+                if (committed) {
+                    change.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the counts and replaces the counters with them under the lock, unless changes keep being made while they
+     * are read. Counters not loaded yet are replaced on the last attempt regardless.
+     *
+     * @param read    Reads the counts from the database.
+     * @param replace Replaces the counters with the counts.
+     * @param loaded  Tells whether the counters are loaded, called under the lock.
+     * @return Whether the counters were replaced.
+     */
+    <T> boolean reconcile(Supplier<T> read, Consumer<T> replace, BooleanSupplier loaded) {
+        for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+            long startedBefore;
+            boolean settled;
+            synchronized (lock) {
+                startedBefore = started;
+                settled = started == finished;
+            }
+            T counts = read.get();
+            synchronized (lock) {
+                if ((settled && started == startedBefore) || (attempt == ATTEMPTS && !loaded.getAsBoolean())) {
+                    replace.accept(counts);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
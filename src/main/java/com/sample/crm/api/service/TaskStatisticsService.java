@@ -1,31 +1,207 @@
 package com.sample.crm.api.service;
 
 import com.sample.crm.api.dto.TaskStatisticsDTO;
+import com.sample.crm.entity.Task;
+import com.sample.crm.model.TaskDueDateCount;
 import com.sample.crm.model.TaskStatus;
+import com.sample.crm.model.TaskStatusCount;
 import com.sample.crm.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
+/**
+ * Task statistics served from counters kept in memory.
+ * <p>
+ * The task write paths report every change, which is applied to the counters once its transaction commits.
+ * Overdue tasks are counted per due date until their due date passes, so moving to the next day only adds up the
+ * counts of the dates that passed. The counters are replaced with fresh database counts every
+ * {@code crm.statistics.reconcile-interval}, which also corrects changes made outside of the write paths, unless
+ * changes keep being made while the counts are read; see {@link StatisticsReconciler}.
+ */
 @Service
+@Slf4j
 public class TaskStatisticsService {
 
     private final TaskRepository taskRepository;
+    private final Clock clock;
 
-    public TaskStatisticsService(TaskRepository taskRepository) {
+    private final Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+    /**
+     * Tasks not done per due date, for today and later.
+     */
+    private final NavigableMap<LocalDate, Long> openTasksByDueDate = new TreeMap<>();
+    private long totalTasks;
+    private long overdueTasks;
+    private LocalDate today;
+    private boolean loaded;
+    private final StatisticsReconciler reconciler = new StatisticsReconciler(this);
+
+    public TaskStatisticsService(TaskRepository taskRepository, Clock clock) {
         this.taskRepository = taskRepository;
+        this.clock = clock;
     }
 
     public TaskStatisticsDTO getTaskStatistics() {
-        long totalTasks = taskRepository.count();
-        long openTasks = taskRepository.countByStatus(TaskStatus.TODO);
-        long inProgressTasks = taskRepository.countByStatus(TaskStatus.IN_PROGRESS);
-        long completedTasks = taskRepository.countByStatus(TaskStatus.DONE);
-        long overdueTasks = taskRepository.findAll().stream()
-                .filter(task -> task.getDueDate().isBefore(LocalDate.now()) && task.getStatus() != TaskStatus.DONE)
-                .count();
+        if (!isLoaded()) {
+            reconcile();
+        }
+        synchronized (this) {
+            rollOver();
+            return new TaskStatisticsDTO(totalTasks, count(TaskStatus.TODO), count(TaskStatus.IN_PROGRESS),
+                    count(TaskStatus.DONE), count(TaskStatus.PAUSED), overdueTasks);
+        }
+    }
 
-        return new TaskStatisticsDTO(totalTasks, openTasks, inProgressTasks, completedTasks, overdueTasks);
+    /**
+     * Counts new tasks once the current transaction commits.
+     *
+     * @param tasks The created tasks.
+     */
+    public void recordCreated(Collection<Task> tasks) {
+        List<TaskState> created = tasks.stream().map(TaskState::of).toList();
+        reconciler.record(() -> created.forEach(state -> apply(null, state)));
+    }
+
+    /**
+     * Moves an updated task between counters once the current transaction commits.
+     *
+     * @param previousStatus  The status of the task before the update.
+     * @param previousDueDate The due date of the task before the update.
+     * @param task            The updated task.
+     */
+    public void recordUpdated(TaskStatus previousStatus, LocalDate previousDueDate, Task task) {
+        TaskState before = new TaskState(previousStatus, previousDueDate);
+        TaskState after = TaskState.of(task);
+        if (!before.equals(after)) {
+            reconciler.record(() -> apply(before, after));
+        }
+    }
+
+    /**
+     * Stops counting a deleted task once the current transaction commits.
+     *
+     * @param task The deleted task.
+     */
+    public void recordDeleted(Task task) {
+        TaskState deleted = TaskState.of(task);
+        reconciler.record(() -> apply(deleted, null));
     }
-}
 
+    /**
+     * Replaces the counters with counts from the database, unless changes keep being made while they are read.
+     */
+    @Scheduled(fixedDelayString = "${crm.statistics.reconcile-interval}")
+    public void reconcile() {
+        if (!reconciler.reconcile(this::readCounts, this::replace, () -> loaded)) {
+            log.debug("Task statistics kept changing while reconciled, keeping the counters until the next run");
+        }
+    }
+
+    private Counts readCounts() {
+        LocalDate date = LocalDate.now(clock);
+        return new Counts(date, taskRepository.countGroupedByStatus(),
+                taskRepository.countOpenGroupedByDueDateFrom(date), taskRepository.countOpenDueBefore(date));
+    }
+
+    /**
+     * Replaces the counters with the counts read from the database. Called under the lock of the reconciler.
+     */
+    private void replace(Counts counts) {
+        long previousTotal = totalTasks;
+        long previousOverdue = overdueTasks;
+        tasksByStatus.clear();
+        totalTasks = 0;
+        counts.statusCounts().forEach(statusCount -> {
+            totalTasks += statusCount.count();
+            if (statusCount.status() != null) {
+                tasksByStatus.put(statusCount.status(), statusCount.count());
+            }
+        });
+        openTasksByDueDate.clear();
+        counts.dueDateCounts().forEach(dueDateCount ->
+                openTasksByDueDate.put(dueDateCount.dueDate(), dueDateCount.count()));
+        overdueTasks = counts.overdue();
+        today = counts.date();
+        if (loaded && (previousTotal != totalTasks || previousOverdue != overdueTasks)) {
+            log.debug("Reconciled task statistics: total {} -> {}, overdue {} -> {}",
+                    previousTotal, totalTasks, previousOverdue, overdueTasks);
+        }
+        loaded = true;
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private synchronized void apply(TaskState before, TaskState after) {
+        if (!loaded) {
+            return;
+        }
+        rollOver();
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+    }
+
+    private void add(TaskState state, long delta) {
+        totalTasks += delta;
+        if (state.status() != null) {
+            tasksByStatus.merge(state.status(), delta, Long::sum);
+        }
+        if (state.status() != TaskStatus.DONE && state.dueDate() != null) {
+            if (state.dueDate().isBefore(today)) {
+                overdueTasks += delta;
+            } else {
+                openTasksByDueDate.merge(state.dueDate(), delta, (count, change) ->
+                        count + change == 0 ? null : count + change);
+            }
+        }
+    }
+
+    /**
+     * Adds the open tasks of the due dates that passed since the last call to the overdue tasks.
+     */
+    private void rollOver() {
+        LocalDate date = LocalDate.now(clock);
+        if (!date.isAfter(today)) {
+            return;
+        }
+        NavigableMap<LocalDate, Long> passed = openTasksByDueDate.headMap(date, false);
+        overdueTasks += passed.values().stream().mapToLong(Long::longValue).sum();
+        passed.clear();
+        today = date;
+    }
+
+    private long count(TaskStatus status) {
+        return tasksByStatus.getOrDefault(status, 0L);
+    }
+
+    /**
+     * Counts read from the database on a date.
+     */
+    private record Counts(LocalDate date, List<TaskStatusCount> statusCounts, List<TaskDueDateCount> dueDateCounts,
+                          long overdue) {
+    }
+
+    /**
+     * The counted attributes of a task.
+     */
+    private record TaskState(TaskStatus status, LocalDate dueDate) {
+        private static TaskState of(Task task) {
+            return new TaskState(task.getStatus(), task.getDueDate());
+        }
+    }
+}
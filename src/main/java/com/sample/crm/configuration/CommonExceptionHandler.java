@@ -3,6 +3,7 @@ package com.sample.crm.configuration;
 import javax.naming.AuthenticationException;
 
 import com.sample.crm.dto.exception.ExceptionResponseDTO;
+import com.sample.crm.exception.ForbiddenException;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.exception.UnauthorizedException;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +35,21 @@ public class CommonExceptionHandler {
         return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleForbiddenException(
+            ForbiddenException forbiddenException, ServletWebRequest servletWebRequest) {
+        ExceptionResponseDTO exceptionResponse =
+                ExceptionResponseDTO.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.FORBIDDEN.getReasonPhrase())
+                        .statusCode(HttpStatus.FORBIDDEN.value())
+                        .exceptionMessage(forbiddenException.getMessage())
+                        .path(servletWebRequest.getRequest().getRequestURI())
+                        .build();
+
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.FORBIDDEN);
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ExceptionResponseDTO> handleAuthenticationException(
         AuthenticationException authenticationException, ServletWebRequest servletWebRequest) {
@@ -0,0 +1,23 @@
+package com.sample.crm.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportConfiguration {
+
+    /**
+     * Runs CSV imports in the background. Two imports run at a time and up to ten more wait;
+     * further uploads are rejected instead of piling up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+}
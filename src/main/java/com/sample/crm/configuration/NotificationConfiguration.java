@@ -0,0 +1,93 @@
+package com.sample.crm.configuration;
+
+import com.sample.crm.model.NotificationOverloadPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Slf4j
+public class NotificationConfiguration {
+
+    /**
+     * Sends stored notification events to their users, apart from the other background work. A fixed number of workers, on
+     * platform or virtual threads, take events from a bounded queue; when it is full, the configured
+     * {@link NotificationOverloadPolicy} applies. The queue depth, the busy workers and the rejected events are
+     * exposed as {@code crm.notifications.executor.queued}, {@code crm.notifications.executor.active} and
+     * {@code crm.notifications.executor.rejected}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${crm.notifications.executor.pool-size}") int poolSize,
+            @Value("${crm.notifications.executor.queue-capacity}") int queueCapacity,
+            @Value("${crm.notifications.executor.overload-policy}") NotificationOverloadPolicy overloadPolicy,
+            @Value("${crm.notifications.executor.block-timeout}") Duration blockTimeout,
+            @Value("${crm.notifications.executor.virtual-threads}") boolean virtualThreads,
+            MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler(overloadHandler(overloadPolicy, blockTimeout,
+                Counter.builder("crm.notifications.executor.rejected")
+                        .tag("outcome", "dropped")
+                        .description("Queued notification events discarded to make room for newer ones")
+                        .register(meterRegistry)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+
+        Gauge.builder("crm.notifications.executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Notification events waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("crm.notifications.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Workers sending a notification event")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Applies the overload policy to an event that found the queue full. A rejected event, for the {@code BLOCK}
+     * policy after waiting in vain, surfaces as a {@link org.springframework.core.task.TaskRejectedException} and is
+     * spilled by the notification processor.
+     */
+    static RejectedExecutionHandler overloadHandler(NotificationOverloadPolicy policy, Duration blockTimeout,
+                                                    Counter dropped) {
+        return switch (policy) {
+            case BLOCK -> (task, pool) -> {
+                try {
+                    if (pool.isShutdown()
+                            || !pool.getQueue().offer(task, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        throw new RejectedExecutionException("Notification queue still full after " + blockTimeout);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for the notification queue", e);
+                }
+            };
+            case DROP_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy() {
+                @Override
+                public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+                    if (!pool.isShutdown() && pool.getQueue().peek() != null) {
+                        dropped.increment();
+                        log.warn("Notification queue is full, dropping the oldest notification event");
+                    }
+                    super.rejectedExecution(task, pool);
+                }
+            };
+            case SPILL -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+}
@@ -1,10 +1,74 @@
 package com.sample.crm.configuration;
 
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.configuration.cache.InstrumentedCacheManager;
+import com.sample.crm.service.notification.RedisNotificationBroker;
+import com.sample.crm.service.search.RedisSearchIndexBroker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
 
 @Configuration
 @EnableCaching
 public class RedisConfiguration {
 
+    /**
+     * Wraps the auto-configured cache manager (Redis, or the simple one in tests) so that every cache
+     * reports hit, miss, put and eviction counters.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedCacheManagerPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof InstrumentedCacheManager)) {
+                    return new InstrumentedCacheManager(cacheManager, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Expires task pages after {@code crm.cache.task-pages-ttl}, so that the pages of past generations do not pile up
+     * in Redis.
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer taskPagesExpiration(@Value("${crm.cache.task-pages-ttl}") Duration ttl) {
+        return builder -> builder.withCacheConfiguration(CacheNames.TASK_PAGES,
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(ttl));
+    }
+
+    /**
+     * Subscribes this node to the notification and search index channels when changes are relayed through Redis.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "crm.notifications.broker.type", havingValue = "redis")
+    public RedisMessageListenerContainer redisListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                RedisNotificationBroker notificationBroker,
+                                                                RedisSearchIndexBroker searchIndexBroker,
+                                                                @Value("${crm.notifications.broker.channel}")
+                                                                String notificationChannel,
+                                                                @Value("${crm.search.index-channel}")
+                                                                String searchIndexChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(notificationBroker, new ChannelTopic(notificationChannel));
+        container.addMessageListener(searchIndexBroker, new ChannelTopic(searchIndexChannel));
+        return container;
+    }
 }
@@ -1,9 +1,17 @@
 package com.sample.crm.configuration;
 
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableScheduling
 public class SchedulerConfiguration {
+
+  @Bean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
 }
@@ -0,0 +1,35 @@
+package com.sample.crm.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SearchConfiguration {
+
+    /**
+     * Queries the sources of the global search in parallel. Eight queries run at a time and up to 64 more wait;
+     * further queries are rejected and their source is reported as incomplete.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("search-");
+        return executor;
+    }
+
+    /**
+     * Backfills the client search index after startup, one run at a time.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("search-index-");
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sample.crm.configuration.cache;
+
+/**
+ * Names of the application caches. Each cache holds a single kind of entry so a write can evict
+ * exactly the keys it touches instead of clearing a shared namespace.
+ */
+public final class CacheNames {
+
+    /** Filtered task pages, keyed by generation, filter, cursor and page size. */
+    public static final String TASK_PAGES = "taskPages";
+
+    /** Current generation of the task pages, keyed by client scope. */
+    public static final String TASK_PAGE_GENERATIONS = "taskPageGenerations";
+
+    /** Task list of one client, keyed by client ID. */
+    public static final String CLIENT_TASKS = "clientTasks";
+
+    /** List of all clients, single entry. */
+    public static final String CLIENTS = "clients";
+
+    /** Client list of one user, keyed by user ID. */
+    public static final String USER_CLIENTS = "userClients";
+
+    /** List of all contacts, single entry. */
+    public static final String CONTACTS = "contacts";
+
+    private CacheNames() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,114 @@
+package com.sample.crm.configuration.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link Cache} decorator counting hits, misses, puts and evictions of the delegate cache.
+ * Meters are tagged with the cache name: {@code crm.cache.gets{result=hit|miss}}, {@code crm.cache.puts}
+ * and {@code crm.cache.evictions}.
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+
+    public InstrumentedCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.hits = Counter.builder("crm.cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("crm.cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.puts = Counter.builder("crm.cache.puts").tag("cache", name).register(meterRegistry);
+        this.evictions = Counter.builder("crm.cache.evictions").tag("cache", name).register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return record(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        delegate.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        evictions.increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        evictions.increment();
+        return invalidated;
+    }
+
+    private ValueWrapper record(ValueWrapper valueWrapper) {
+        (valueWrapper != null ? hits : misses).increment();
+        return valueWrapper;
+    }
+}
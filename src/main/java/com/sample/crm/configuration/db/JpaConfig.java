@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -19,7 +20,8 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 public class JpaConfig {
 
   @Bean
-  public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource routingDataSource) {
+  public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource routingDataSource,
+                                                                     JpaProperties springJpaProperties) {
     LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
     em.setDataSource(routingDataSource);
     em.setPackagesToScan("com.sample.crm.entity");
@@ -27,7 +29,7 @@ public class JpaConfig {
     HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
     em.setJpaVendorAdapter(vendorAdapter);
 
-    Map<String, Object> jpaProperties = new HashMap<>();
+    Map<String, Object> jpaProperties = new HashMap<>(springJpaProperties.getProperties());
     jpaProperties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
     em.setJpaPropertyMap(jpaProperties);
 
@@ -51,6 +51,7 @@ public class SecurityConfig {
         .authorizeHttpRequests((requests) ->
             requests.requestMatchers(
                     "/ws/**",
+                    "/ws-native",
                     "/api/auth/**",
                     "/v3/**",
                     "/swagger-ui/**",
@@ -0,0 +1,131 @@
+package com.sample.crm.configuration.websocket;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets STOMP clients receive compact binary frames, chosen per subscription with the {@code format} header of
+ * SUBSCRIBE: {@code json} (default), {@code cbor} or {@code smile}.
+ * <p>
+ * Messages reach subscriptions as JSON. For a binary subscription the body is re-encoded token by token, and the frame
+ * is sent as a binary WebSocket message with content type {@code application/octet-stream} and the {@code format}
+ * header. SockJS carries text only, so binary formats are granted to sessions of the plain {@code /ws-native} endpoint;
+ * other sessions keep JSON. Frame bodies sent to subscriptions are recorded as {@code crm.websocket.frames.bytes},
+ * tagged with their format.
+ */
+@Slf4j
+class BinaryFrameInterceptor implements ChannelInterceptor, HandshakeInterceptor {
+
+    static final String FORMAT_HEADER = "format";
+    static final String BINARY_FRAMES_ATTRIBUTE = "binaryFrames";
+
+    private final Map<String, Map<String, FrameFormat>> formats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    BinaryFrameInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean beforeHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                                   @NonNull WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(BINARY_FRAMES_ATTRIBUTE, true);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(@NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response,
+                               @NonNull WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        SimpMessageType type = accessor.getMessageType();
+        String sessionId = accessor.getSessionId();
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        switch (type) {
+            case SUBSCRIBE -> subscribe(accessor, sessionId);
+            case UNSUBSCRIBE -> unsubscribe(accessor, sessionId);
+            case DISCONNECT -> formats.remove(sessionId);
+            case MESSAGE -> {
+                return encode(message, accessor, sessionId);
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void subscribe(SimpMessageHeaderAccessor accessor, String sessionId) {
+        FrameFormat format = FrameFormat.of(accessor.getFirstNativeHeader(FORMAT_HEADER));
+        if (format == FrameFormat.JSON || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(BINARY_FRAMES_ATTRIBUTE))) {
+            log.debug("Session {} cannot receive binary frames, sending JSON to subscription {}", sessionId,
+                    accessor.getSubscriptionId());
+            return;
+        }
+        formats.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), format);
+    }
+
+    private void unsubscribe(SimpMessageHeaderAccessor accessor, String sessionId) {
+        Map<String, FrameFormat> subscriptions = formats.get(sessionId);
+        if (subscriptions != null && accessor.getSubscriptionId() != null) {
+            subscriptions.remove(accessor.getSubscriptionId());
+        }
+    }
+
+    private Message<?> encode(Message<?> message, SimpMessageHeaderAccessor accessor, String sessionId) {
+        if (!(message.getPayload() instanceof byte[] json) || accessor.getSubscriptionId() == null
+                || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+        FrameFormat format = formats.getOrDefault(sessionId, Map.of())
+                .getOrDefault(accessor.getSubscriptionId(), FrameFormat.JSON);
+        if (format == FrameFormat.JSON) {
+            frameBytes(format).record(json.length);
+            return message;
+        }
+        try {
+            byte[] encoded = format.encode(json);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+            accessor.setNativeHeader(FORMAT_HEADER, format.headerValue());
+            frameBytes(format).record(encoded.length);
+            return MessageBuilder.createMessage(encoded, accessor.getMessageHeaders());
+        } catch (IOException e) {
+            log.warn("Could not encode message to subscription {} as {}, sending JSON", accessor.getSubscriptionId(),
+                    format, e);
+            return message;
+        }
+    }
+
+    private DistributionSummary frameBytes(FrameFormat format) {
+        return DistributionSummary.builder("crm.websocket.frames.bytes")
+                .tag("format", format.headerValue())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.sample.crm.configuration.websocket;
+
+import com.sample.crm.model.SlowConsumerPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP handler that gives every session a {@link BufferedWebSocketSession}, with the send time and buffer size
+ * limits of the WebSocket transport.
+ * <p>
+ * The buffer depths are exposed as {@code crm.websocket.outbound.queued} (all sessions),
+ * {@code crm.websocket.outbound.queued.max} (deepest session) and the {@code crm.websocket.outbound.depth}
+ * distribution, recorded for every message. Messages dropped and sessions disconnected as slow consumers are counted
+ * as {@code crm.websocket.outbound.dropped} and {@code crm.websocket.outbound.disconnected}.
+ */
+class BufferedSubProtocolWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final Map<String, BufferedWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final DistributionSummary depths;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    BufferedSubProtocolWebSocketHandler(MessageChannel clientInboundChannel, SubscribableChannel clientOutboundChannel,
+                                        SlowConsumerPolicy slowConsumerPolicy, MeterRegistry meterRegistry) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.depths = DistributionSummary.builder("crm.websocket.outbound.depth")
+                .description("Messages waiting in the send buffer of a session when a message is added")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("crm.websocket.outbound.dropped")
+                .description("Messages not sent because the send buffer of their session was full")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("crm.websocket.outbound.disconnected")
+                .description("Sessions disconnected for exceeding their send time or buffer size limit")
+                .register(meterRegistry);
+        Gauge.builder("crm.websocket.outbound.queued", sessions, handler -> handler.values().stream()
+                        .mapToInt(BufferedWebSocketSession::getDepth)
+                        .sum())
+                .description("Messages waiting in the send buffers of all sessions")
+                .register(meterRegistry);
+        Gauge.builder("crm.websocket.outbound.queued.max", sessions, handler -> handler.values().stream()
+                        .mapToInt(BufferedWebSocketSession::getDepth)
+                        .max()
+                        .orElse(0))
+                .description("Messages waiting in the deepest send buffer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        BufferedWebSocketSession buffered = new BufferedWebSocketSession(session, getSendTimeLimit(),
+                getSendBufferSizeLimit(), slowConsumerPolicy, depths, dropped, disconnected);
+        sessions.put(session.getId(), buffered);
+        return buffered;
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus)
+            throws Exception {
+        sessions.remove(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sample.crm.configuration.websocket;
+
+import com.sample.crm.model.SlowConsumerPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Send buffer of a single WebSocket session. Messages for a session whose client is still reading the previous ones
+ * wait in its own buffer, so the outbound channel threads never block on a slow client.
+ * <p>
+ * When the buffer holds more than its size limit, the {@link SlowConsumerPolicy} applies: the message is dropped, or
+ * the session is disconnected. A session whose current send takes longer than the time limit is disconnected in any
+ * case. The number of messages waiting to be sent is tracked as the depth of the buffer.
+ */
+@Slf4j
+class BufferedWebSocketSession extends ConcurrentWebSocketSessionDecorator {
+
+    private final AtomicInteger depth;
+    private final int bufferSizeLimit;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final DistributionSummary depths;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    BufferedWebSocketSession(WebSocketSession session, int sendTimeLimit, int bufferSizeLimit,
+                             SlowConsumerPolicy slowConsumerPolicy, DistributionSummary depths, Counter dropped,
+                             Counter disconnected) {
+        this(session, new AtomicInteger(), sendTimeLimit, bufferSizeLimit, slowConsumerPolicy, depths, dropped,
+                disconnected);
+    }
+
+    private BufferedWebSocketSession(WebSocketSession session, AtomicInteger depth, int sendTimeLimit,
+                                     int bufferSizeLimit, SlowConsumerPolicy slowConsumerPolicy,
+                                     DistributionSummary depths, Counter dropped, Counter disconnected) {
+        // With the drop policy the buffer limit is checked here, the decorator only enforces the time limit
+        super(new SentMessageCounter(session, depth), sendTimeLimit,
+                slowConsumerPolicy == SlowConsumerPolicy.DROP ? Integer.MAX_VALUE : bufferSizeLimit);
+        this.depth = depth;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.depths = depths;
+        this.dropped = dropped;
+        this.disconnected = disconnected;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (slowConsumerPolicy == SlowConsumerPolicy.DROP
+                && getBufferSize() + message.getPayloadLength() > bufferSizeLimit) {
+            dropped.increment();
+            log.debug("Send buffer of WebSocket session {} is full, dropping message", getId());
+            return;
+        }
+        depths.record(depth.incrementAndGet());
+        try {
+            super.sendMessage(message);
+        } catch (SessionLimitExceededException e) {
+            disconnected.increment();
+            log.warn("Disconnecting slow WebSocket session {} with {} messages waiting: {}", getId(), depth.get(),
+                    e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * The number of messages waiting to be sent, including the one being sent.
+     */
+    int getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Counts down the depth of the buffer as its messages are sent to the client.
+     */
+    private static class SentMessageCounter extends WebSocketSessionDecorator {
+
+        private final AtomicInteger depth;
+
+        SentMessageCounter(WebSocketSession session, AtomicInteger depth) {
+            super(session);
+            this.depth = depth;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                depth.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sample.crm.configuration.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Encoding of the body of the STOMP frames sent to a subscription.
+ */
+enum FrameFormat {
+    JSON(null),
+    CBOR(new CBORFactory()),
+    SMILE(new SmileFactory());
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonFactory factory;
+
+    FrameFormat(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * The format named by the {@code format} header of a subscription, JSON when missing or unknown.
+     */
+    static FrameFormat of(String name) {
+        if (name == null) {
+            return JSON;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return JSON;
+        }
+    }
+
+    /**
+     * Re-encodes a JSON document in this format, token by token.
+     */
+    byte[] encode(byte[] json) throws IOException {
+        if (factory == null) {
+            return json;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
+
+    String headerValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sample.crm.configuration.websocket;
+
+import com.sample.crm.model.SlowConsumerPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+/**
+ * WebSocket message broker infrastructure, configured by {@link WebSocketConfig}. In place of
+ * {@code @EnableWebSocketMessageBroker}, so that STOMP sessions get their own send buffers.
+ */
+@Configuration
+public class WebSocketBrokerConfiguration extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    @Value("${crm.websocket.slow-consumer}")
+    private SlowConsumerPolicy slowConsumerPolicy;
+
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketBrokerConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new BufferedSubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel,
+                slowConsumerPolicy, meterRegistry);
+    }
+}
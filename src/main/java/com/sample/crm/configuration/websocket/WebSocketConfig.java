@@ -1,61 +1,116 @@
 package com.sample.crm.configuration.websocket;
 
 import com.sample.crm.util.JwtHelper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.WebSocketHandler;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Map;
 
+/**
+ * STOMP over WebSocket. The broker is set up by {@link WebSocketBrokerConfiguration}.
+ * <p>
+ * Every session sends through its own buffer of up to {@code crm.websocket.send-buffer-size} bytes, and a send may
+ * take up to {@code crm.websocket.send-time-limit}; past these, {@code crm.websocket.slow-consumer} applies. The broker
+ * exchanges heartbeats with clients every {@code crm.websocket.heartbeat} and closes sessions whose client has gone
+ * silent.
+ * <p>
+ * SockJS clients connect to {@code /ws}. Clients of the plain WebSocket endpoint {@code /ws-native} may also ask for
+ * binary frames per subscription, see {@link BinaryFrameInterceptor}.
+ */
 @Configuration
-@EnableWebSocketMessageBroker
 @Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${crm.websocket.send-buffer-size}")
+    private int sendBufferSize;
+
+    @Value("${crm.websocket.send-time-limit}")
+    private Duration sendTimeLimit;
+
+    @Value("${crm.websocket.heartbeat}")
+    private Duration heartbeat;
+
     private final JwtHelper jwtHelper;
+    private final TaskScheduler messageBrokerTaskScheduler;
+    private final BinaryFrameInterceptor binaryFrameInterceptor;
 
-    public WebSocketConfig(JwtHelper jwtHelper) {
+    public WebSocketConfig(JwtHelper jwtHelper,
+                           @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler,
+                           MeterRegistry meterRegistry) {
         this.jwtHelper = jwtHelper;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+        this.binaryFrameInterceptor = new BinaryFrameInterceptor(meterRegistry);
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/queue", "/topic");
+        config.enableSimpleBroker("/queue", "/topic")
+                .setHeartbeatValue(new long[]{heartbeat.toMillis(), heartbeat.toMillis()})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSize)
+                .setSendTimeLimit((int) sendTimeLimit.toMillis());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(binaryFrameInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(binaryFrameInterceptor);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler() {
+            @Override
+            protected Principal determineUser(
+                    @NonNull ServerHttpRequest request,
+                    @NonNull WebSocketHandler wsHandler,
+                    @NonNull Map<String, Object> attributes) {
+                String token = extractToken(request);
+                if (token != null && jwtHelper.validateJwtToken(token)) {
+                    String username = jwtHelper.getUserNameFromToken(token);
+                    log.info("WebSocket connection authenticated for user: {}", username);
+                    return new WebSocketUser(username);
+                }
+                log.warn("Unauthorized WebSocket connection attempt");
+                return null;
+            }
+        };
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
-                .setHandshakeHandler(new DefaultHandshakeHandler() {
-                    @Override
-                    protected Principal determineUser(
-                            @NonNull ServerHttpRequest request,
-                            @NonNull WebSocketHandler wsHandler,
-                            @NonNull Map<String, Object> attributes) {
-                        String token = extractToken(request);
-                        if (token != null && jwtHelper.validateJwtToken(token)) {
-                            String username = jwtHelper.getUserNameFromToken(token);
-                            log.info("WebSocket connection authenticated for user: {}", username);
-                            return new WebSocketUser(username);
-                        }
-                        log.warn("Unauthorized WebSocket connection attempt");
-                        return null;
-                    }
-                })
+                .setHandshakeHandler(handshakeHandler)
                 .withSockJS();
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*")
+                .setHandshakeHandler(handshakeHandler)
+                .addInterceptors(binaryFrameInterceptor);
     }
 
     private String extractToken(ServerHttpRequest request) {
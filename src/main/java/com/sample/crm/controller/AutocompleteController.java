@@ -0,0 +1,48 @@
+package com.sample.crm.controller;
+
+import java.util.List;
+
+import com.sample.crm.dto.SuggestionDTO;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.service.search.AutocompleteIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete Controller", description = """
+    Serves typeahead suggestions for the client and contact pickers.
+    Suggestions are looked up in memory, without querying the database.""")
+public class AutocompleteController {
+
+  private final AutocompleteIndex autocompleteIndex;
+
+  @Operation(
+      summary = "Suggest clients and contacts",
+      description = """
+          Returns the clients whose company name, and the contacts whose full name, last name or email, start with the prefix, ignoring case.
+          Suggestions are sorted alphabetically by the matching text, with at most one suggestion per client or contact.
+          Suggestions come from an in-memory sorted index kept up to date as clients and contacts change, and are empty while the index is built at startup.
+          Returns a list of SuggestionDTO objects.""")
+  @ApiResponse(responseCode = "200", description = "Suggestions successfully retrieved.")
+  @GetMapping
+  public ResponseEntity<List<SuggestionDTO>> suggest(
+      @Parameter(description = "Typed prefix. A blank prefix returns no suggestions.", example = "Acm")
+      @RequestParam(defaultValue = "") String prefix,
+      @Parameter(description = "Type of suggestions to return. Optional; both types are returned by default.", example = "CLIENT")
+      @RequestParam(required = false) SuggestionType type,
+      @Parameter(description = "Maximum number of suggestions, between 1 and 50.", example = "10")
+      @RequestParam(defaultValue = "10") int limit) {
+    return new ResponseEntity<>(autocompleteIndex.suggest(prefix, type, limit), HttpStatus.OK);
+  }
+}
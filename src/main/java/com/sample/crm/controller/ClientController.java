@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.sample.crm.dto.ClientDTO;
 import com.sample.crm.service.ClientService;
+import com.sample.crm.service.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/client")
@@ -32,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ClientController {
 
   private final ClientService clientService;
+  private final ExportService exportService;
 
   @Operation(
       summary = "Retrieve all clients",
@@ -44,6 +48,20 @@ public class ClientController {
     return new ResponseEntity<>(clientService.findAll(), HttpStatus.OK);
   }
 
+  @Operation(
+      summary = "Export all clients",
+      description = """
+          Streams every client as newline-delimited JSON, one ClientDTO per line.
+          Rows are read through a database cursor and written as they arrive, so memory use does not depend on the number of clients.
+          Intended for bulk consumers such as data warehouse syncs."""
+  )
+  @ApiResponse(responseCode = "200", description = "Clients successfully streamed.")
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> export() {
+    StreamingResponseBody body = exportService::exportClients;
+    return new ResponseEntity<>(body, HttpStatus.OK);
+  }
+
   @Operation(
       summary = "Retrieve clients for a specific user",
       description = """
@@ -62,16 +80,21 @@ public class ClientController {
       summary = "Search clients",
       description = """
           Searches for clients based on the provided search term.
-          The 'searchTerm' query parameter can match parts of a client's name, email, or other attributes.
-          Returns a list of ClientDTO objects that meet the search criteria."""
+          The 'searchTerm' query parameter matches any part of a client's company name, industry or address, ignoring case.
+          Uses a trigram index, so searching does not scan the client table.
+          Returns one page of ClientDTO objects, matches in the company name first, then in the industry, then in the address."""
   )
   @ApiResponse(responseCode = "200", description = "List of clients matching the search term successfully retrieved.")
   @GetMapping("/search")
   public ResponseEntity<List<ClientDTO>> search(
       @Parameter(description = "Term used to search for clients. For example, 'Acme' can match the client name or other details.",
           example = "Acme")
-      @RequestParam String searchTerm) {
-    return new ResponseEntity<>(clientService.search(searchTerm), HttpStatus.OK);
+      @RequestParam String searchTerm,
+      @Parameter(description = "Zero-based page number.", example = "0")
+      @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Maximum number of clients in the page.", example = "50")
+      @RequestParam(defaultValue = "50") int size) {
+    return new ResponseEntity<>(clientService.search(searchTerm, page, size), HttpStatus.OK);
   }
 
   @Operation(
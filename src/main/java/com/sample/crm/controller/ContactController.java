@@ -3,7 +3,10 @@ package com.sample.crm.controller;
 import java.util.List;
 
 import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ContactDuplicateGroupDTO;
 import com.sample.crm.service.ContactService;
+import com.sample.crm.service.ExportService;
+import com.sample.crm.service.deduplication.ContactDeduplicationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/contact")
@@ -33,6 +38,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class ContactController {
 
   private final ContactService contactService;
+  private final ExportService exportService;
+  private final ContactDeduplicationService contactDeduplicationService;
 
   @Operation(
       summary = "Retrieve all contacts",
@@ -47,13 +54,28 @@ public class ContactController {
     return new ResponseEntity<>(contactService.findAll(), HttpStatus.OK);
   }
 
+  @Operation(
+      summary = "Export all contacts",
+      description = """
+          Streams every contact as newline-delimited JSON, one ContactDTO per line.
+          Rows are read through a database cursor and written as they arrive, so memory use does not depend on the number of contacts.
+          Intended for bulk consumers such as data warehouse syncs."""
+  )
+  @ApiResponse(responseCode = "200", description = "Contacts successfully streamed.")
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> export() {
+    StreamingResponseBody body = exportService::exportContacts;
+    return new ResponseEntity<>(body, HttpStatus.OK);
+  }
+
   @Operation(
       summary = "Search contacts",
       description = """
           Searches for contacts based on the provided client ID and search term.
           If clientId is provided, the search is restricted to contacts belonging to that client.
-          The searchTerm can match parts of a contact's name, email, or other attributes.
-          Returns a list of ContactDTO objects that match the criteria."""
+          The searchTerm can match parts of a contact's first name, last name, email or phone number, ignoring case.
+          Matches are found in an in-memory trigram index kept up to date as contacts change; while the index is built at startup, the database is searched instead.
+          Returns one page of ContactDTO objects that match the criteria, ordered by ID."""
   )
   @ApiResponse(responseCode = "200", description = "List of contacts matching the search criteria successfully retrieved.")
   @GetMapping("/search")
@@ -61,8 +83,44 @@ public class ContactController {
       @Parameter(description = "Identifier of the client to search within. Optional.", example = "1")
       @RequestParam(required = false) Long clientId,
       @Parameter(description = "Search term for filtering contacts. Example: 'Term'", example = "Term")
-      @RequestParam(defaultValue = "") String searchTerm) {
-    return new ResponseEntity<>(contactService.search(clientId, searchTerm), HttpStatus.OK);
+      @RequestParam(defaultValue = "") String searchTerm,
+      @Parameter(description = "Zero-based page number.", example = "0")
+      @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Maximum number of contacts in the page.", example = "50")
+      @RequestParam(defaultValue = "50") int size) {
+    return new ResponseEntity<>(contactService.search(clientId, searchTerm, page, size), HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "List duplicate contacts of a client",
+      description = """
+          Returns the contacts of the client sharing an email or a phone number with an older contact of the same client, grouped by the oldest contact.
+          Emails are compared ignoring case and a '+tag' in the local part, and phone numbers by their last 10 digits.
+          Duplicates are found by a nightly job, so contacts changed since its last run may be missing or stale."""
+  )
+  @ApiResponse(responseCode = "200", description = "Groups of duplicate contacts successfully retrieved.")
+  @GetMapping("/duplicates")
+  public ResponseEntity<List<ContactDuplicateGroupDTO>> findDuplicates(
+      @Parameter(description = "Identifier of the client whose duplicates are listed.", example = "1")
+      @RequestParam Long clientId) {
+    return new ResponseEntity<>(contactDeduplicationService.getDuplicates(clientId), HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Merge contacts into a contact",
+      description = """
+          Merges the given contacts of the same client into the contact identified by the provided ID.
+          Their tasks are moved to the kept contact with a single update, then they are deleted.
+          Returns the kept ContactDTO object, or 404 if a contact is not found or belongs to another client."""
+  )
+  @ApiResponse(responseCode = "200", description = "Contacts successfully merged.")
+  @PostMapping("/{id}/merge")
+  public ResponseEntity<ContactDTO> merge(
+      @Parameter(description = "Unique identifier of the contact to keep.", example = "4")
+      @PathVariable Long id,
+      @Parameter(description = "Identifiers of the contacts to merge into it.", required = true)
+      @RequestBody List<Long> duplicateIds) {
+    return new ResponseEntity<>(contactDeduplicationService.merge(id, duplicateIds), HttpStatus.OK);
   }
 
   @Operation(
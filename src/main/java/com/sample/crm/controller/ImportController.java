@@ -0,0 +1,97 @@
+package com.sample.crm.controller;
+
+import java.io.IOException;
+
+import com.sample.crm.dto.ImportJobDTO;
+import com.sample.crm.model.ImportType;
+import com.sample.crm.service.importing.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Tag(name = "Import Controller", description = """
+    Imports clients, contacts and tasks in bulk from CSV files.
+    Imports run in the background; the returned import ID is used to poll progress and per-row errors.
+    """)
+public class ImportController {
+
+  private final ImportService importService;
+
+  @Operation(
+      summary = "Import clients",
+      description = """
+          Starts importing clients from a CSV file with the header 'companyName,industry,address'.
+          Imported clients are assigned to the current user.
+          Returns the ImportJobDTO of the started import.
+          """
+  )
+  @ApiResponse(responseCode = "202", description = "Import successfully started.")
+  @PostMapping(value = "/clients", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJobDTO> importClients(
+      @Parameter(description = "CSV file with one client per line.", required = true)
+      @RequestParam("file") MultipartFile file) throws IOException {
+    return new ResponseEntity<>(importService.start(ImportType.CLIENTS, file), HttpStatus.ACCEPTED);
+  }
+
+  @Operation(
+      summary = "Import contacts",
+      description = """
+          Starts importing contacts from a CSV file with the header 'firstName,lastName,email,phoneNumber,clientId'.
+          Rows referencing an unknown client are rejected.
+          Returns the ImportJobDTO of the started import.
+          """
+  )
+  @ApiResponse(responseCode = "202", description = "Import successfully started.")
+  @PostMapping(value = "/contacts", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJobDTO> importContacts(
+      @Parameter(description = "CSV file with one contact per line.", required = true)
+      @RequestParam("file") MultipartFile file) throws IOException {
+    return new ResponseEntity<>(importService.start(ImportType.CONTACTS, file), HttpStatus.ACCEPTED);
+  }
+
+  @Operation(
+      summary = "Import tasks",
+      description = """
+          Starts importing tasks from a CSV file with the header 'description,status,dueDate,clientId,contactId'.
+          Rows referencing an unknown client or contact are rejected.
+          Returns the ImportJobDTO of the started import.
+          """
+  )
+  @ApiResponse(responseCode = "202", description = "Import successfully started.")
+  @PostMapping(value = "/tasks", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJobDTO> importTasks(
+      @Parameter(description = "CSV file with one task per line.", required = true)
+      @RequestParam("file") MultipartFile file) throws IOException {
+    return new ResponseEntity<>(importService.start(ImportType.TASKS, file), HttpStatus.ACCEPTED);
+  }
+
+  @Operation(
+      summary = "Retrieve import progress",
+      description = """
+          Fetches the progress of an import: rows processed, imported and rejected so far,
+          the first rejected rows with their reason, and whether the import has finished.
+          """
+  )
+  @ApiResponse(responseCode = "200", description = "Import progress successfully retrieved.")
+  @GetMapping("/{id}")
+  public ResponseEntity<ImportJobDTO> getImport(
+      @Parameter(description = "Unique identifier of the import.", example = "5f0c8a7e-1b7d-4d55-a7a4-2f1e0b9c3d21")
+      @PathVariable String id) {
+    return new ResponseEntity<>(importService.getJob(id), HttpStatus.OK);
+  }
+}
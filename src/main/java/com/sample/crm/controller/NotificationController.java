@@ -2,8 +2,16 @@ package com.sample.crm.controller;
 
 import java.util.List;
 
+import com.sample.crm.dto.CursorPageDTO;
+import com.sample.crm.dto.NotificationBulkResultDTO;
+import com.sample.crm.dto.NotificationCountDTO;
 import com.sample.crm.dto.NotificationDTO;
+import com.sample.crm.dto.NotificationSelectionDTO;
+import com.sample.crm.exception.ForbiddenException;
+import com.sample.crm.exception.model.ExceptionMessage;
+import com.sample.crm.model.security.UserPrincipal;
 import com.sample.crm.service.notification.NotificationService;
+import com.sample.crm.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,6 +26,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -25,7 +34,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @Tag(name = "Notification Controller", description = """
     Manages notification operations for users.
-    It supports retrieving notifications for a specific user, updating a notification, and dismissing notifications.
+    It supports retrieving notifications for a specific user, paging through their inbox, counting their notifications,
+    updating a notification, and dismissing or marking as viewed one notification or many at once.
     The controller interacts with NotificationService to handle business logic such as updating notifications and marking them as dismissed.
     """)
 public class NotificationController {
@@ -48,6 +58,47 @@ public class NotificationController {
     return new ResponseEntity<>(notificationService.getAllNotificationsForUser(username), HttpStatus.OK);
   }
 
+  @Operation(
+      summary = "Retrieve a page of the notification inbox of a user",
+      description = """
+          Fetches one page of the notifications that have not been dismissed for the specified user, newest first.
+          Uses keyset pagination: pass the 'nextCursor' of the previous response as 'cursor' to fetch the next page.
+          Only the authenticated user may read their own inbox.
+          Returns a CursorPageDTO of NotificationDTO objects.
+          """
+  )
+  @ApiResponse(responseCode = "200", description = "Page of notifications successfully retrieved.")
+  @ApiResponse(responseCode = "403", description = "The username is not the one of the authenticated user.")
+  @GetMapping("/{username}/inbox")
+  public ResponseEntity<CursorPageDTO<NotificationDTO>> getInboxPage(
+      @Parameter(description = "Username of the user for whom notifications are to be retrieved.", example = "username")
+      @PathVariable String username,
+      @Parameter(description = "ID of the last notification of the previous page. Omit for the first page.", example = "150")
+      @RequestParam(required = false) Long cursor,
+      @Parameter(description = "Maximum number of notifications in the page.", example = "50")
+      @RequestParam(defaultValue = "50") int size) {
+    requireCurrentUser(username);
+    return new ResponseEntity<>(notificationService.getInboxPage(username, cursor, size), HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Count the notifications of a user",
+      description = """
+          Returns the number of unread and of undismissed notifications of the specified user, for the notification badge.
+          The counters are maintained as notifications are created, viewed and dismissed, so this is a single-row read.
+          Only the authenticated user may count their own notifications.
+          """
+  )
+  @ApiResponse(responseCode = "200", description = "Notification counters successfully retrieved.")
+  @ApiResponse(responseCode = "403", description = "The username is not the one of the authenticated user.")
+  @GetMapping("/{username}/count")
+  public ResponseEntity<NotificationCountDTO> getNotificationCount(
+      @Parameter(description = "Username of the user whose notifications are counted.", example = "username")
+      @PathVariable String username) {
+    requireCurrentUser(username);
+    return new ResponseEntity<>(notificationService.getNotificationCount(username), HttpStatus.OK);
+  }
+
   @Operation(
       summary = "Update a notification",
       description = """
@@ -81,4 +132,62 @@ public class NotificationController {
       @PathVariable long id) {
     return new ResponseEntity<>(notificationService.dismissNotification(id), HttpStatus.OK);
   }
+
+  @Operation(
+      summary = "Dismiss several notifications of a user",
+      description = """
+          Marks the selected notifications of the specified user as dismissed in a single statement, without loading them.
+          Select notifications by 'ids', by 'beforeId' (everything older than that notification), both, or neither for all.
+          Only the authenticated user may dismiss their own notifications.
+          Returns the number of notifications dismissed.
+          """
+  )
+  @ApiResponse(responseCode = "200", description = "Notifications successfully dismissed.")
+  @ApiResponse(responseCode = "403", description = "The username is not the one of the authenticated user.")
+  @PatchMapping("/{username}/dismiss")
+  public ResponseEntity<NotificationBulkResultDTO> dismissNotifications(
+      @Parameter(description = "Username of the user whose notifications are dismissed.", example = "username")
+      @PathVariable String username,
+      @Parameter(description = "Notifications to dismiss.", required = true)
+      @Valid @RequestBody NotificationSelectionDTO selectionDTO) {
+    requireCurrentUser(username);
+    int updated = notificationService.dismissNotifications(username, selectionDTO.getIds(), selectionDTO.getBeforeId());
+    return new ResponseEntity<>(new NotificationBulkResultDTO(updated), HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Mark several notifications of a user as viewed",
+      description = """
+          Marks the selected undismissed notifications of the specified user as viewed in a single statement, without loading them.
+          Select notifications by 'ids', by 'beforeId' (everything older than that notification), both, or neither for all.
+          Only the authenticated user may mark their own notifications as viewed.
+          Returns the number of notifications marked as viewed.
+          """
+  )
+  @ApiResponse(responseCode = "200", description = "Notifications successfully marked as viewed.")
+  @ApiResponse(responseCode = "403", description = "The username is not the one of the authenticated user.")
+  @PatchMapping("/{username}/view")
+  public ResponseEntity<NotificationBulkResultDTO> markNotificationsViewed(
+      @Parameter(description = "Username of the user whose notifications are marked as viewed.", example = "username")
+      @PathVariable String username,
+      @Parameter(description = "Notifications to mark as viewed.", required = true)
+      @Valid @RequestBody NotificationSelectionDTO selectionDTO) {
+    requireCurrentUser(username);
+    int updated = notificationService.markNotificationsViewed(username, selectionDTO.getIds(),
+        selectionDTO.getBeforeId());
+    return new ResponseEntity<>(new NotificationBulkResultDTO(updated), HttpStatus.OK);
+  }
+
+  /**
+   * Rejects a request for the notifications of another user than the authenticated one.
+   *
+   * @param username The username from the path.
+   * @throws ForbiddenException if the username is not the one of the authenticated user.
+   */
+  private void requireCurrentUser(String username) {
+    UserPrincipal currentUser = SecurityUtil.getCurrentUser();
+    if (currentUser == null || !currentUser.getUsername().equals(username)) {
+      throw new ForbiddenException(ExceptionMessage.FORBIDDEN);
+    }
+  }
 }
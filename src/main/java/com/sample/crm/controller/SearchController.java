@@ -0,0 +1,43 @@
+package com.sample.crm.controller;
+
+import com.sample.crm.dto.GlobalSearchDTO;
+import com.sample.crm.service.search.GlobalSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search Controller", description = """
+    Searches clients, contacts, task descriptions and comment contents with a single request.""")
+public class SearchController {
+
+  private final GlobalSearchService globalSearchService;
+
+  @Operation(
+      summary = "Search all records",
+      description = """
+          Finds the clients, contacts, tasks and comments containing the term, ignoring case.
+          The four sources are queried in parallel, each within a time budget (crm.search.source-timeout).
+          Sources that are slower, fail or cannot be scheduled are listed in incompleteSources and the results of the others are returned.
+          Results are ranked by match quality (equal to the term, starting with it, containing it), then clients, contacts, tasks and comments.
+          Returns a GlobalSearchDTO object.""")
+  @ApiResponse(responseCode = "200", description = "Search results successfully retrieved, possibly partial.")
+  @GetMapping
+  public ResponseEntity<GlobalSearchDTO> search(
+      @Parameter(description = "Search term. A blank term returns no results.", example = "Acme")
+      @RequestParam(defaultValue = "") String term,
+      @Parameter(description = "Maximum number of results, between 1 and 50.", example = "20")
+      @RequestParam(defaultValue = "20") int limit) {
+    return new ResponseEntity<>(globalSearchService.search(term, limit), HttpStatus.OK);
+  }
+}
@@ -1,9 +1,14 @@
 package com.sample.crm.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import com.sample.crm.dto.CursorPageDTO;
 import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.dto.TaskStatusBatchDTO;
+import com.sample.crm.model.TaskFilter;
 import com.sample.crm.model.TaskStatus;
+import com.sample.crm.service.ExportService;
 import com.sample.crm.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +16,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,32 +30,70 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/task")
 @RequiredArgsConstructor
 @Tag(name = "Task Controller", description = """
     Manages operations for task entities.
-    It supports retrieving all tasks, fetching tasks by client, creating, updating, and deleting tasks,
+    It supports retrieving filtered pages of tasks, fetching tasks by client, creating, updating, and deleting tasks,
     updating task status, and assigning contacts to tasks.
     Additionally, it handles caching and notifies users on status changes or due dates.
     """)
 public class TaskController {
 
   private final TaskService taskService;
+  private final ExportService exportService;
 
   @Operation(
-      summary = "Retrieve all tasks",
+      summary = "Retrieve a page of tasks",
       description = """
-          Fetches a complete list of all task records.
-          Uses caching to improve performance by reducing database queries.
-          Returns a list of TaskDTO objects.
+          Fetches one page of tasks ordered by ID, optionally filtered by status, client, contact and due date range.
+          Uses keyset pagination: pass the 'nextCursor' of the previous response as 'cursor' to fetch the next page.
+          Each page is cached on its own to reduce database queries.
+          Returns a CursorPageDTO of TaskDTO objects.
           """
   )
-  @ApiResponse(responseCode = "200", description = "List of all tasks successfully retrieved.")
+  @ApiResponse(responseCode = "200", description = "Page of tasks successfully retrieved.")
   @GetMapping
-  public ResponseEntity<List<TaskDTO>> findAll() {
-    return new ResponseEntity<>(taskService.findAll(), HttpStatus.OK);
+  public ResponseEntity<CursorPageDTO<TaskDTO>> findPage(
+      @Parameter(description = "Only return tasks with this status.", example = "TODO")
+      @RequestParam(required = false) TaskStatus status,
+      @Parameter(description = "Only return tasks of this client.", example = "1")
+      @RequestParam(required = false) Long clientId,
+      @Parameter(description = "Only return tasks assigned to this contact.", example = "2")
+      @RequestParam(required = false) Long contactId,
+      @Parameter(description = "Only return tasks due on or after this date.", example = "2025-01-01")
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
+      @Parameter(description = "Only return tasks due on or before this date.", example = "2025-12-31")
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
+      @Parameter(description = "ID of the last task of the previous page. Omit for the first page.", example = "150")
+      @RequestParam(required = false) Long cursor,
+      @Parameter(description = "Maximum number of tasks in the page.", example = "50")
+      @RequestParam(defaultValue = "50") int size) {
+    TaskFilter filter = TaskFilter.builder()
+        .status(status)
+        .clientId(clientId)
+        .contactId(contactId)
+        .dueDateFrom(dueDateFrom)
+        .dueDateTo(dueDateTo)
+        .build();
+    return new ResponseEntity<>(taskService.findPage(filter, cursor, size), HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Export all tasks",
+      description = """
+          Streams every task as newline-delimited JSON, one TaskDTO per line.
+          Rows are read through a database cursor and written as they arrive, so memory use does not depend on the number of tasks.
+          Intended for bulk consumers such as data warehouse syncs."""
+  )
+  @ApiResponse(responseCode = "200", description = "Tasks successfully streamed.")
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> export() {
+    StreamingResponseBody body = exportService::exportTasks;
+    return new ResponseEntity<>(body, HttpStatus.OK);
   }
 
   @Operation(
@@ -139,6 +184,23 @@ public class TaskController {
     return new ResponseEntity<>(taskService.updateStatus(id, taskStatus), HttpStatus.OK);
   }
 
+  @Operation(
+      summary = "Update the status of several tasks",
+      description = """
+          Moves all tasks identified by the given IDs to the new status in a single transaction.
+          Every subscribed user receives one notification covering all of their affected tasks.
+          Returns the updated TaskDTO objects in the order of the given IDs.
+          Caches of the affected clients are evicted once.
+          """
+  )
+  @ApiResponse(responseCode = "200", description = "Task statuses successfully updated.")
+  @PatchMapping("/status")
+  public ResponseEntity<List<TaskDTO>> updateStatuses(
+      @Parameter(description = "IDs of the tasks and their new status.", required = true)
+      @Valid @RequestBody TaskStatusBatchDTO batchDTO) {
+    return new ResponseEntity<>(taskService.updateStatuses(batchDTO.getIds(), batchDTO.getStatus()), HttpStatus.OK);
+  }
+
   @Operation(
       summary = "Assign a contact to a task",
       description = """
@@ -0,0 +1,30 @@
+package com.sample.crm.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a list of IDs as a comma-separated string.
+ */
+@Converter
+public class LongListToStringConverter implements AttributeConverter<List<Long>, String> {
+
+  @Override
+  public String convertToDatabaseColumn(List<Long> attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    return attribute.stream().map(String::valueOf).collect(Collectors.joining(","));
+  }
+
+  @Override
+  public List<Long> convertToEntityAttribute(String dbData) {
+    if (dbData == null || dbData.isEmpty()) {
+      return List.of();
+    }
+    return Arrays.stream(dbData.split(",")).map(Long::valueOf).toList();
+  }
+}
@@ -0,0 +1,22 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Contacts of a client sharing a normalized email or phone number, to be merged into the oldest one.")
+public class ContactDuplicateGroupDTO implements Serializable {
+
+  @Schema(description = "Identifier of the oldest contact of the group, which the others can be merged into.", example = "100")
+  private Long survivorId;
+
+  @Schema(description = "Identifiers of the duplicate contacts, ordered by ID.", example = "[150, 151]")
+  private List<Long> duplicateIds;
+}
@@ -0,0 +1,22 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A single page of records retrieved with keyset (cursor) pagination.")
+public class CursorPageDTO<T> implements Serializable {
+
+  @Schema(description = "Records of the current page, ordered by ID.")
+  private List<T> items;
+
+  @Schema(description = "Cursor to pass as 'cursor' to fetch the next page. Null when this is the last page.", example = "150")
+  private Long nextCursor;
+}
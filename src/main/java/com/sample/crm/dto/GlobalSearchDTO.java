@@ -0,0 +1,23 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.sample.crm.model.SearchResultType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Results of the global search over clients, contacts, tasks and comments.")
+public class GlobalSearchDTO implements Serializable {
+
+  @Schema(description = "Matching records, best matches first.")
+  private List<SearchResultDTO> results;
+
+  @Schema(description = "Sources that did not answer within the time budget or failed; their results are missing. Empty when the results are complete.")
+  private List<SearchResultType> incompleteSources;
+}
@@ -0,0 +1,21 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A CSV row rejected by an import.")
+public class ImportErrorDTO implements Serializable {
+
+  @Schema(description = "Number of the rejected data row, starting at 1 after the header line.", example = "42")
+  private long row;
+
+  @Schema(description = "Why the row was rejected.", example = "email: Invalid email format")
+  private String message;
+}
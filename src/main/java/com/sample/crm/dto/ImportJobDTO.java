@@ -0,0 +1,51 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.sample.crm.model.ImportStatus;
+import com.sample.crm.model.ImportType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress and outcome of a CSV import.")
+public class ImportJobDTO implements Serializable {
+
+  @Schema(description = "Unique identifier of the import.", example = "5f0c8a7e-1b7d-4d55-a7a4-2f1e0b9c3d21")
+  private String id;
+
+  @Schema(description = "Kind of records being imported.", example = "CONTACTS")
+  private ImportType type;
+
+  @Schema(description = "Current state of the import.", example = "RUNNING")
+  private ImportStatus status;
+
+  @Schema(description = "Number of data rows read so far.", example = "12000")
+  private long processedRows;
+
+  @Schema(description = "Number of rows stored so far.", example = "11990")
+  private long importedRows;
+
+  @Schema(description = "Number of rows rejected so far.", example = "10")
+  private long failedRows;
+
+  @Schema(description = "Rejected rows with the reason, limited to the first 1000.")
+  private List<ImportErrorDTO> errors;
+
+  @Schema(description = "Reason the whole import failed, if it did.")
+  private String message;
+
+  @Schema(description = "When the import was started.", example = "2025-01-01T10:15:30")
+  private LocalDateTime startedAt;
+
+  @Schema(description = "When the import finished, or null while it is running.", example = "2025-01-01T10:16:02")
+  private LocalDateTime finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a change applied to several notifications at once.")
+public class NotificationBulkResultDTO implements Serializable {
+
+  @Schema(description = "Number of notifications changed. Notifications already in the requested state are not counted.", example = "42")
+  private int updated;
+}
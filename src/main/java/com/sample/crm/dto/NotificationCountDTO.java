@@ -0,0 +1,21 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Notification counters of a user, for the notification badge.")
+public class NotificationCountDTO implements Serializable {
+
+  @Schema(description = "Number of notifications neither viewed nor dismissed.", example = "3")
+  private int unread;
+
+  @Schema(description = "Number of notifications not dismissed.", example = "12")
+  private int undismissed;
+}
@@ -0,0 +1,25 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Notifications of a user selected by ID, by position in the inbox, or all at once.")
+public class NotificationSelectionDTO implements Serializable {
+
+  @Size(max = 1000, message = "At most 1000 notifications can be selected by ID at once")
+  @Schema(description = "Identifiers of the notifications. Omit to select all notifications of the user.", example = "[1, 2, 3]")
+  private List<@NotNull Long> ids;
+
+  @Schema(description = "Only select notifications with a lower ID, i.e. older ones. Omit for no bound.", example = "150")
+  private Long beforeId;
+}
@@ -0,0 +1,28 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+
+import com.sample.crm.model.SearchResultType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A client, contact, task or comment found by the global search.")
+public class SearchResultDTO implements Serializable {
+
+  @Schema(description = "Kind of the matching record.", example = "TASK")
+  private SearchResultType type;
+
+  @Schema(description = "Identifier of the matching record.", example = "1")
+  private Long id;
+
+  @Schema(description = "Text to display: company name, contact name, task description or comment content.", example = "Call Acme about the renewal")
+  private String title;
+
+  @Schema(description = "Match quality: 3 when the text equals the term, 2 when it starts with it, 1 when it contains it.", example = "2")
+  private int score;
+}
@@ -0,0 +1,25 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+
+import com.sample.crm.model.SuggestionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A client or contact whose company name, name or email starts with the typed prefix.")
+public class SuggestionDTO implements Serializable {
+
+  @Schema(description = "Whether the suggestion is a client or a contact.", example = "CONTACT")
+  private SuggestionType type;
+
+  @Schema(description = "Identifier of the client or contact.", example = "1")
+  private Long id;
+
+  @Schema(description = "Text to display: the company name of a client, the full name or email of a contact.", example = "Jane Doe")
+  private String label;
+}
@@ -0,0 +1,29 @@
+package com.sample.crm.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.sample.crm.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Status transition applied to several tasks at once.")
+public class TaskStatusBatchDTO implements Serializable {
+
+  @NotEmpty(message = "Task IDs cannot be empty")
+  @Size(max = 500, message = "At most 500 tasks can be updated at once")
+  @Schema(description = "Identifiers of the tasks to update.", example = "[1, 2, 3]")
+  private List<@NotNull Long> ids;
+
+  @NotNull(message = "Status cannot be null")
+  @Schema(description = "New status of the tasks.", example = "DONE")
+  private TaskStatus status;
+}
@@ -0,0 +1,30 @@
+package com.sample.crm.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A trigram occurring in the searchable columns of a client.
+ */
+@Entity
+@Table(name = "client_search_gram")
+@IdClass(ClientSearchGramId.class)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSearchGram {
+  @Id
+  private String gram;
+
+  @Id
+  @Column(name = "client_id")
+  private Long clientId;
+}
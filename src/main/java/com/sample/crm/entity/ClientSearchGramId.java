@@ -0,0 +1,23 @@
+package com.sample.crm.entity;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Primary key of {@link ClientSearchGram}.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ClientSearchGramId implements Serializable {
+  private String gram;
+
+  private Long clientId;
+}
@@ -0,0 +1,31 @@
+package com.sample.crm.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A contact found to duplicate an older contact of the same client, which it can be merged into.
+ */
+@Entity
+@Table(name = "contact_duplicate")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactDuplicate {
+    @Id
+    @Column(name = "contact_id")
+    private Long contactId;
+
+    @Column(name = "survivor_id")
+    private Long survivorId;
+
+    @Column(name = "client_id")
+    private Long clientId;
+}
@@ -41,6 +41,12 @@ public class Notification {
     @PastOrPresent(message = "Sent at datetime must be in past or present")
     private LocalDateTime sentAt;
 
+    /**
+     * The outbox event the notification was created for, so that a redelivered event is not notified twice.
+     */
+    @Column(name = "event_id", unique = true)
+    private String eventId;
+
     @ToString.Exclude
     @OneToMany(mappedBy = "notification", cascade = CascadeType.REMOVE)
     private List<UserNotification> userNotifications = new ArrayList<>();
@@ -0,0 +1,67 @@
+package com.sample.crm.entity;
+
+import com.sample.crm.converter.LongListToStringConverter;
+import com.sample.crm.converter.MapToJsonConverter;
+import com.sample.crm.model.NotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A notification event written together with the change it reports, waiting to be delivered to its recipients.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Identifies the event across deliveries; the notification created for it carries the same ID.
+     */
+    @Column(name = "event_id", unique = true, nullable = false)
+    private String eventId;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
+
+    /**
+     * The task the event is about, if it is about a single task; such events are coalesced per user, task and type.
+     */
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Convert(converter = MapToJsonConverter.class)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, String> params;
+
+    @Convert(converter = LongListToStringConverter.class)
+    @Column(name = "recipient_ids", nullable = false)
+    private List<Long> recipientIds;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.sample.crm.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The last reminder sent by a reminder stream, identified by the due date and ID of its task.
+ */
+@Entity
+@Table(name = "reminder_checkpoint")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderCheckpoint {
+  @Id
+  private String name;
+
+  @Column(name = "due_date")
+  private LocalDate dueDate;
+
+  @Column(name = "task_id")
+  private Long taskId;
+}
@@ -1,6 +1,7 @@
 package com.sample.crm.entity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.sample.crm.model.TaskStatus;
@@ -12,20 +13,37 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
+@NamedEntityGraph(
+    name = Task.WITH_CONTACT_AND_CLIENT,
+    attributeNodes = {
+        @NamedAttributeNode(value = "contact", subgraph = "contact"),
+        @NamedAttributeNode("client")
+    },
+    subgraphs = @NamedSubgraph(name = "contact", attributeNodes = @NamedAttributeNode("client"))
+)
 @Setter
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
+  public static final String WITH_CONTACT_AND_CLIENT = "Task.withContactAndClient";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+  @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
   private Long id;
 
   private String description;
@@ -36,6 +54,13 @@ public class Task {
   @Column(name = "due_date")
   private LocalDate dueDate;
 
+  @Column(name = "reminded_due_date", insertable = false, updatable = false)
+  private LocalDate remindedDueDate;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
   @ManyToOne
   private Contact contact;
 
@@ -43,5 +68,6 @@ public class Task {
   private Client client;
 
   @OneToMany
+  @BatchSize(size = 50)
   private List<Comment> comments;
 }
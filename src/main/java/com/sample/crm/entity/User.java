@@ -1,5 +1,6 @@
 package com.sample.crm.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -28,6 +29,19 @@ public class User {
 
     private String password;
 
+    /**
+     * Notifications of the user neither viewed nor dismissed. The counters are only changed in place by
+     * {@link com.sample.crm.repository.UserRepository#addToNotificationCounters}, never written with the user.
+     */
+    @Column(name = "unread_notifications", insertable = false, updatable = false)
+    private int unreadNotifications;
+
+    /**
+     * Notifications of the user not dismissed yet.
+     */
+    @Column(name = "undismissed_notifications", insertable = false, updatable = false)
+    private int undismissedNotifications;
+
     @ManyToMany(mappedBy = "users")
     private List<Client> clients;
 }
@@ -9,6 +9,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -20,6 +23,7 @@ import org.hibernate.annotations.Type;
 import java.util.Map;
 
 @Entity
+@NamedEntityGraph(name = UserNotification.WITH_NOTIFICATION, attributeNodes = @NamedAttributeNode("notification"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -27,8 +31,11 @@ import java.util.Map;
 @ToString
 @Table(name = "user_notification")
 public class UserNotification {
+    public static final String WITH_NOTIFICATION = "UserNotification.withNotification";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_notification_seq")
+    @SequenceGenerator(name = "user_notification_seq", sequenceName = "user_notification_seq", allocationSize = 50)
     private Long id;
 
     private boolean dismissed;
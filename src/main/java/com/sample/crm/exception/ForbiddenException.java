@@ -0,0 +1,11 @@
+package com.sample.crm.exception;
+
+import com.sample.crm.exception.model.ExceptionMessage;
+import lombok.Getter;
+
+@Getter
+public class ForbiddenException extends CrmRuntimeException {
+    public ForbiddenException(ExceptionMessage type) {
+        super(type);
+    }
+}
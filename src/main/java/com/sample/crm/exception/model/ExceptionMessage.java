@@ -1,5 +1,5 @@
 package com.sample.crm.exception.model;
 
 public enum ExceptionMessage {
-    NOT_FOUND, BAD_CREDENTIALS
+    NOT_FOUND, BAD_CREDENTIALS, FORBIDDEN
 }
@@ -5,13 +5,25 @@ import com.sample.crm.entity.Task;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = {ClientMapper.class, ContactMapper.class})
 public interface TaskMapper extends EntityMapper<TaskDTO, Task> {
     TaskDTO toDto(Task task);
 
+    /**
+     * Maps a task for export, leaving out its comments so that exporting does not load them.
+     */
+    @Named("export")
+    @Mapping(target = "comments", ignore = true)
+    TaskDTO toExportDto(Task task);
+
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "remindedDueDate", ignore = true)
     Task toEntity(TaskDTO taskDTO);
 
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "remindedDueDate", ignore = true)
     @Mapping(target = "client", ignore = true)
     @Mapping(target = "contact", ignore = true)
     void update(@MappingTarget Task task, TaskDTO taskDTO);
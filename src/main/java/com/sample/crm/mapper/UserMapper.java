@@ -13,5 +13,7 @@ public interface UserMapper extends EntityMapper<UserDTO, User> {
     User toEntity(UserDTO userDTO);
 
     @Mapping(target = "clients", ignore = true)
+    @Mapping(target = "unreadNotifications", ignore = true)
+    @Mapping(target = "undismissedNotifications", ignore = true)
     void update(@MappingTarget User user, UserDTO userDTO);
 }
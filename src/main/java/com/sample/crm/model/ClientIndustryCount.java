@@ -0,0 +1,7 @@
+package com.sample.crm.model;
+
+/**
+ * The number of clients in an industry.
+ */
+public record ClientIndustryCount(String industry, Long count) {
+}
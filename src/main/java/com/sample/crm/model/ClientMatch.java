@@ -0,0 +1,8 @@
+package com.sample.crm.model;
+
+/**
+ * A client matching a search term and the rank tier of the match: 0 in the company name, 1 in the industry, 2 in the
+ * address.
+ */
+public record ClientMatch(Long id, Integer tier) {
+}
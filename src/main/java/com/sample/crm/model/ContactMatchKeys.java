@@ -0,0 +1,7 @@
+package com.sample.crm.model;
+
+/**
+ * The columns of a contact compared by the deduplication job.
+ */
+public record ContactMatchKeys(Long id, Long clientId, String email, String phoneNumber) {
+}
@@ -0,0 +1,20 @@
+package com.sample.crm.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * A pending due-date reminder of a task. Reminders are ordered by due date, then by task ID, which is also
+ * the order in which they are sent.
+ */
+public record DueDateReminder(LocalDate dueDate, Long taskId) implements Comparable<DueDateReminder> {
+
+  private static final Comparator<DueDateReminder> ORDER = Comparator
+      .comparing(DueDateReminder::dueDate)
+      .thenComparing(DueDateReminder::taskId);
+
+  @Override
+  public int compareTo(DueDateReminder other) {
+    return ORDER.compare(this, other);
+  }
+}
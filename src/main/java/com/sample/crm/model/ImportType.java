@@ -0,0 +1,5 @@
+package com.sample.crm.model;
+
+public enum ImportType {
+    CLIENTS, CONTACTS, TASKS
+}
@@ -0,0 +1,21 @@
+package com.sample.crm.model;
+
+/**
+ * What happens to a stored notification event waiting to be sent when the notification executor and its queue are
+ * full. Its notifications are stored either way; at worst they are not sent and users find them in their inbox.
+ */
+public enum NotificationOverloadPolicy {
+    /**
+     * The dispatching thread waits for room in the queue, up to {@code crm.notifications.executor.block-timeout}, then
+     * spills the event.
+     */
+    BLOCK,
+    /**
+     * The oldest queued event is discarded to make room; its notifications are not sent.
+     */
+    DROP_OLDEST,
+    /**
+     * The event is not sent and the dispatching thread goes on at once.
+     */
+    SPILL
+}
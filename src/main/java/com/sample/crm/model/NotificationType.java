@@ -1,5 +1,5 @@
 package com.sample.crm.model;
 
 public enum NotificationType {
-    TASK_STATUS_CHANGED, TASK_DUE_DATE
+    TASK_STATUS_CHANGED, TASKS_STATUS_CHANGED, TASK_DUE_DATE
 }
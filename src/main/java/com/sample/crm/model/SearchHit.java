@@ -0,0 +1,7 @@
+package com.sample.crm.model;
+
+/**
+ * The ID of an entity found by a text search and the text it was found by.
+ */
+public record SearchHit(Long id, String text) {
+}
@@ -0,0 +1,8 @@
+package com.sample.crm.model;
+
+/**
+ * The sources of the global search, in the order their results rank on equal scores.
+ */
+public enum SearchResultType {
+    CLIENT, CONTACT, TASK, COMMENT
+}
@@ -0,0 +1,18 @@
+package com.sample.crm.model;
+
+/**
+ * What happens to a message for a WebSocket session whose send buffer is full because its client reads slower than
+ * messages arrive. Either way, a session whose current send has been blocked for longer than
+ * {@code crm.websocket.send-time-limit} is disconnected.
+ */
+public enum SlowConsumerPolicy {
+    /**
+     * The message is not sent to the session, which stays connected. Notifications dropped this way are still found
+     * in the inbox.
+     */
+    DROP,
+    /**
+     * The session is disconnected; the client reconnects and reloads its inbox.
+     */
+    DISCONNECT
+}
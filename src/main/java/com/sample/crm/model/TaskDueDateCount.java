@@ -0,0 +1,9 @@
+package com.sample.crm.model;
+
+import java.time.LocalDate;
+
+/**
+ * The number of tasks due on a date.
+ */
+public record TaskDueDateCount(LocalDate dueDate, Long count) {
+}
@@ -0,0 +1,28 @@
+package com.sample.crm.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional criteria for listing tasks. A null field means "no restriction".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter implements Serializable {
+  private TaskStatus status;
+
+  private Long clientId;
+
+  private Long contactId;
+
+  private LocalDate dueDateFrom;
+
+  private LocalDate dueDateTo;
+}
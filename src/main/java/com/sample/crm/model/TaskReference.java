@@ -0,0 +1,7 @@
+package com.sample.crm.model;
+
+/**
+ * The ID of a task and of its client, for updates that bypass the persistence context.
+ */
+public record TaskReference(Long id, Long clientId) {
+}
@@ -0,0 +1,7 @@
+package com.sample.crm.model;
+
+/**
+ * The number of tasks in a status.
+ */
+public record TaskStatusCount(TaskStatus status, Long count) {
+}
@@ -1,12 +1,36 @@
 package com.sample.crm.repository;
 
 import com.sample.crm.entity.Client;
+import com.sample.crm.model.ClientIndustryCount;
+import com.sample.crm.model.ClientMatch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
+    /**
+     * Streams all clients through a forward-only cursor, for exports.
+     * The stream must be consumed and closed inside a transaction; entities are loaded read-only.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Client c ORDER BY c.id")
+    Stream<Client> streamAll();
+
     @Query("""
             SELECT c FROM Client c
             JOIN c.users u WHERE u.id = :userId
@@ -14,10 +38,107 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findAllByUserId(Long userId);
 
     @Query("""
-        SELECT c FROM Client c
-        WHERE (:searchTerm IS NULL OR LOWER(c.address) LIKE LOWER(CONCAT('%', :searchTerm, '%')))
-          OR (:searchTerm IS NULL OR LOWER(c.companyName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))
-          OR (:searchTerm IS NULL OR LOWER(c.industry) LIKE LOWER(CONCAT('%', :searchTerm, '%')))
-    """)
-    List<Client> search(String searchTerm);
+            SELECT u.id FROM Client c
+            JOIN c.users u WHERE c.id = :clientId
+            """)
+    List<Long> findUserIdsByClientId(Long clientId);
+
+    @Query("SELECT c FROM Client c ORDER BY c.id")
+    List<Client> findPage(Pageable pageable);
+
+    /**
+     * Finds the clients having a trigram in the range from {@code fromGram} inclusive to {@code toGram} exclusive whose
+     * company name, industry or address contains the lower-cased {@code pattern}. Matches in the company name rank first, then in the industry, then in the
+     * address, each tier ordered by ID.
+     */
+    @Query(value = """
+            SELECT c.* FROM client c
+            WHERE c.id IN (
+                SELECT g.client_id FROM client_search_gram g
+                WHERE g.gram >= :fromGram AND g.gram < :toGram
+            )
+              AND (LOWER(c.company_name) LIKE :pattern ESCAPE '!'
+                OR LOWER(c.industry) LIKE :pattern ESCAPE '!'
+                OR LOWER(c.address) LIKE :pattern ESCAPE '!')
+            ORDER BY CASE WHEN LOWER(c.company_name) LIKE :pattern ESCAPE '!' THEN 0
+                          WHEN LOWER(c.industry) LIKE :pattern ESCAPE '!' THEN 1
+                          ELSE 2 END,
+                     c.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Client> searchByGram(String fromGram, String toGram, String pattern, int limit, long offset);
+
+    /**
+     * Finds the clients of one rank tier of {@link #searchByGram} by scanning the client table in ID order: tier 0
+     * matches the lower-cased {@code pattern} in the company name, tier 1 in the industry only and tier 2 in the
+     * address only. The scan stops once the page is filled, so a common pattern is not ranked over all its matches.
+     */
+    @Query(value = """
+            SELECT c.* FROM client c
+            WHERE CASE WHEN LOWER(c.company_name) LIKE :pattern ESCAPE '!' THEN 0
+                       WHEN LOWER(c.industry) LIKE :pattern ESCAPE '!' THEN 1
+                       WHEN LOWER(c.address) LIKE :pattern ESCAPE '!' THEN 2 END = :tier
+            ORDER BY c.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Client> searchByScan(String pattern, int tier, int limit, long offset);
+
+    /**
+     * Counts the clients of one rank tier of {@link #searchByScan}.
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM client c
+            WHERE CASE WHEN LOWER(c.company_name) LIKE :pattern ESCAPE '!' THEN 0
+                       WHEN LOWER(c.industry) LIKE :pattern ESCAPE '!' THEN 1
+                       WHEN LOWER(c.address) LIKE :pattern ESCAPE '!' THEN 2 END = :tier
+            """, nativeQuery = true)
+    long countByScan(String pattern, int tier);
+
+    /**
+     * Finds the rank tier of the first clients matching the lower-cased {@code pattern}, like {@link #searchByScan},
+     * scanning the client table in ID order up to {@code limit}.
+     */
+    @Query("""
+            SELECT new com.sample.crm.model.ClientMatch(c.id,
+                CASE WHEN LOWER(c.companyName) LIKE :pattern ESCAPE '!' THEN 0
+                     WHEN LOWER(c.industry) LIKE :pattern ESCAPE '!' THEN 1
+                     ELSE 2 END)
+            FROM Client c
+            WHERE LOWER(c.companyName) LIKE :pattern ESCAPE '!'
+               OR LOWER(c.industry) LIKE :pattern ESCAPE '!'
+               OR LOWER(c.address) LIKE :pattern ESCAPE '!'
+            ORDER BY c.id
+            """)
+    List<ClientMatch> findMatches(String pattern, Limit limit);
+
+    /**
+     * Finds the clients after {@code afterId} without trigrams, in ID order. Clients without any indexed text have no
+     * trigrams to store and are left out, so they are not examined again on every startup.
+     */
+    @Query("""
+            SELECT c.id FROM Client c
+            WHERE c.id > :afterId
+              AND (c.companyName <> '' OR c.industry <> '' OR c.address <> '')
+              AND NOT EXISTS (SELECT g FROM ClientSearchGram g WHERE g.clientId = c.id)
+            ORDER BY c.id
+            """)
+    List<Long> findUnindexedIds(Long afterId, Limit limit);
+
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Loads the clients with the given IDs in the order of the IDs, leaving out those no longer stored.
+     */
+    default List<Client> findAllInOrder(List<Long> ids) {
+        Map<Long, Client> clients = findAllById(ids).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        return ids.stream().map(clients::get).filter(Objects::nonNull).toList();
+    }
+
+    @Query("""
+            SELECT new com.sample.crm.model.ClientIndustryCount(c.industry, COUNT(c)) FROM Client c
+            GROUP BY c.industry
+            """)
+    List<ClientIndustryCount> countGroupedByIndustry();
 }
@@ -0,0 +1,56 @@
+package com.sample.crm.repository;
+
+import com.sample.crm.entity.ClientSearchGram;
+import com.sample.crm.entity.ClientSearchGramId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+public interface ClientSearchGramRepository extends JpaRepository<ClientSearchGram, ClientSearchGramId> {
+
+    /**
+     * Stores the distinct trigrams of the lower-cased company name, industry and address of the given clients, each
+     * padded with two spaces, skipping those already stored, e.g. by a write indexing a client at the same time. The
+     * trigrams are computed by the database, so indexing does not load the clients.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO client_search_gram (gram, client_id)
+            SELECT DISTINCT SUBSTRING(t.text, p.n, 3), t.id
+            FROM (
+                SELECT c.id, LOWER(c.company_name) || '  ' AS text FROM client c
+                WHERE c.id IN (:clientIds) AND c.company_name IS NOT NULL
+                UNION ALL
+                SELECT c.id, LOWER(c.industry) || '  ' FROM client c
+                WHERE c.id IN (:clientIds) AND c.industry IS NOT NULL
+                UNION ALL
+                SELECT c.id, LOWER(c.address) || '  ' FROM client c
+                WHERE c.id IN (:clientIds) AND c.address IS NOT NULL
+            ) t
+            JOIN search_gram_position p ON p.n <= LENGTH(t.text) - 2
+            WHERE NOT EXISTS (
+                SELECT 1 FROM client_search_gram e
+                WHERE e.gram = SUBSTRING(t.text, p.n, 3) AND e.client_id = t.id
+            )
+            """, nativeQuery = true)
+    int insertGrams(Collection<Long> clientIds);
+
+    @Modifying
+    @Query("DELETE FROM ClientSearchGram g WHERE g.clientId IN :clientIds")
+    int deleteByClientIdIn(Collection<Long> clientIds);
+
+    /**
+     * Counts the clients having a trigram in the range from {@code fromGram} inclusive to {@code toGram} exclusive,
+     * stopping at {@code limit}.
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT g.client_id FROM client_search_gram g
+                WHERE g.gram >= :fromGram AND g.gram < :toGram
+                LIMIT :limit
+            ) m
+            """, nativeQuery = true)
+    int countClientsUpTo(String fromGram, String toGram, int limit);
+}
@@ -2,11 +2,25 @@ package com.sample.crm.repository;
 
 import com.sample.crm.entity.Comment;
 import com.sample.crm.entity.Task;
+import com.sample.crm.model.SearchHit;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(Comment.WITH_USER)
     List<Comment> findByTask(Task task);
+
+    /**
+     * Most recent comments whose content contains the lower-cased LIKE {@code pattern}, escaped with {@code '!'}.
+     */
+    @Query("""
+            SELECT new com.sample.crm.model.SearchHit(c.id, c.content) FROM Comment c
+            WHERE LOWER(c.content) LIKE :pattern ESCAPE '!'
+            ORDER BY c.id DESC
+            """)
+    List<SearchHit> searchContents(String pattern, Limit limit);
 }
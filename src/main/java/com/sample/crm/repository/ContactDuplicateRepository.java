@@ -0,0 +1,21 @@
+package com.sample.crm.repository;
+
+import com.sample.crm.entity.ContactDuplicate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ContactDuplicateRepository extends JpaRepository<ContactDuplicate, Long> {
+
+    List<ContactDuplicate> findByClientIdOrderBySurvivorIdAscContactIdAsc(Long clientId);
+
+    /**
+     * Removes the duplicates found for or pointing to the given contacts.
+     */
+    @Modifying
+    @Query("DELETE FROM ContactDuplicate d WHERE d.contactId IN :contactIds OR d.survivorId IN :contactIds")
+    int deleteByContactIdIn(Collection<Long> contactIds);
+}
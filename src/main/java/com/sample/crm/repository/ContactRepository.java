@@ -1,12 +1,38 @@
 package com.sample.crm.repository;
 
 import com.sample.crm.entity.Contact;
+import com.sample.crm.model.ContactMatchKeys;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ContactRepository extends JpaRepository<Contact, Long> {
+    /**
+     * Streams all contacts with their client through a forward-only cursor, for exports.
+     * The stream must be consumed and closed inside a transaction; entities are loaded read-only.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.client ORDER BY c.id")
+    Stream<Contact> streamAll();
+
+    /**
+     * Scans contacts for a search term in ID order, one page at a time, used while the in-memory contact search
+     * index is being built.
+     */
     @Query("""
     SELECT c FROM Contact c
     WHERE (:clientId IS NULL OR c.client.id = :clientId)
@@ -17,6 +43,34 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
           OR LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
           OR LOWER(c.phoneNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
       )
+    ORDER BY c.id
 """)
-    List<Contact> search(Long clientId, String searchTerm);
+    List<Contact> search(Long clientId, String searchTerm, Pageable pageable);
+
+    @Query("SELECT c.id FROM Contact c WHERE c.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Loads the contacts with the given IDs in the order of the IDs, leaving out those no longer stored.
+     */
+    default List<Contact> findAllInOrder(List<Long> ids) {
+        Map<Long, Contact> contacts = findAllById(ids).stream()
+                .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        return ids.stream().map(contacts::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Streams the email and phone number of every contact with a client, grouped by client, through a forward-only
+     * cursor served by the {@code (client_id, id)} index. The stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.sample.crm.model.ContactMatchKeys(c.id, c.client.id, c.email, c.phoneNumber) FROM Contact c
+            WHERE c.client.id IS NOT NULL
+            ORDER BY c.client.id, c.id
+            """)
+    Stream<ContactMatchKeys> streamMatchKeys();
+
+    @Query("SELECT c.id FROM Contact c WHERE c.client.id = :clientId AND c.id IN :ids")
+    List<Long> findIdsOfClient(Long clientId, Collection<Long> ids);
 }
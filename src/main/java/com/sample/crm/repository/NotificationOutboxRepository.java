@@ -0,0 +1,29 @@
+package com.sample.crm.repository;
+
+import com.sample.crm.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Locks the oldest events ready for delivery until the end of the transaction, skipping the events already locked
+     * by another transaction, so that several dispatchers drain the outbox without waiting for each other.
+     * <p>
+     * An event about a task is ready once the oldest pending event of the same task and type was written before the
+     * cutoff; all pending events of that task and type are then taken together. Other events are ready at once.
+     */
+    @Query(value = """
+            SELECT * FROM notification_outbox o
+            WHERE o.task_id IS NULL
+               OR EXISTS (SELECT 1 FROM notification_outbox p
+                          WHERE p.task_id = o.task_id AND p.type = o.type AND p.created_at <= :cutoff)
+            ORDER BY o.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<NotificationOutbox> lockNextBatch(LocalDateTime cutoff, int limit);
+}
@@ -1,7 +1,30 @@
 package com.sample.crm.repository;
 
 import com.sample.crm.entity.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    @Query("SELECT n.eventId FROM Notification n WHERE n.eventId IN :eventIds")
+    List<String> findEventIdsIn(Collection<String> eventIds);
+
+    /**
+     * IDs of the notifications no user has anymore, their user notifications having all been archived.
+     */
+    @Query("""
+            SELECT n.id FROM Notification n
+            WHERE NOT EXISTS (SELECT 1 FROM UserNotification un WHERE un.notification = n)
+            ORDER BY n.id
+            """)
+    List<Long> findOrphanIds(Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package com.sample.crm.repository;
+
+import com.sample.crm.entity.ReminderCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpoint, String> {
+}
@@ -1,22 +1,184 @@
 package com.sample.crm.repository;
 
+import com.sample.crm.entity.Contact;
 import com.sample.crm.entity.Task;
+import com.sample.crm.model.DueDateReminder;
+import com.sample.crm.model.SearchHit;
+import com.sample.crm.model.TaskDueDateCount;
+import com.sample.crm.model.TaskReference;
+import com.sample.crm.model.TaskStatusCount;
 import com.sample.crm.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    @EntityGraph(Task.WITH_CONTACT_AND_CLIENT)
     List<Task> findByClientId(Long clientId);
 
+    @EntityGraph(Task.WITH_CONTACT_AND_CLIENT)
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Keyset page of tasks ordered by ID. Only tasks with an ID greater than {@code cursor} are returned,
+     * so the database can seek straight to the page through the primary key or one of the
+     * {@code (column, id)} indexes instead of skipping an offset.
+     */
+    @EntityGraph(Task.WITH_CONTACT_AND_CLIENT)
+    @Query("""
+            SELECT t FROM Task t
+            WHERE (:cursor IS NULL OR t.id > :cursor)
+              AND (:status IS NULL OR t.status = :status)
+              AND (:clientId IS NULL OR t.client.id = :clientId)
+              AND (:contactId IS NULL OR t.contact.id = :contactId)
+              AND (:dueDateFrom IS NULL OR t.dueDate >= :dueDateFrom)
+              AND (:dueDateTo IS NULL OR t.dueDate <= :dueDateTo)
+            ORDER BY t.id
+            """)
+    List<Task> findPage(Long cursor, TaskStatus status, Long clientId, Long contactId,
+                        LocalDate dueDateFrom, LocalDate dueDateTo, Limit limit);
+
+    /**
+     * Streams all tasks with their contact and client through a forward-only cursor, for exports.
+     * The stream must be consumed and closed inside a transaction; entities are loaded read-only.
+     * The contact's client is not joined a second time: it is usually the task's client, and fetching
+     * the same entity through two paths breaks clearing the persistence context while scrolling.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
             SELECT t FROM Task t
-            WHERE t.dueDate BETWEEN :startTime AND :endTime
+            LEFT JOIN FETCH t.client
+            LEFT JOIN FETCH t.contact
+            ORDER BY t.id
+            """)
+    Stream<Task> streamAll();
+
+    /**
+     * Reminders of tasks in the given statuses that are due from {@code fromDueDate} through {@code throughDueDate}
+     * and were not reminded of their current due date yet, in sending order. Served by the {@code (due_date, id)}
+     * index.
+     */
+    @Query("""
+            SELECT new com.sample.crm.model.DueDateReminder(t.dueDate, t.id) FROM Task t
+            WHERE t.status IN :statuses
+              AND t.dueDate BETWEEN :fromDueDate AND :throughDueDate
+              AND (t.remindedDueDate IS NULL OR t.remindedDueDate <> t.dueDate)
+            ORDER BY t.dueDate, t.id
+            """)
+    List<DueDateReminder> findReminders(Collection<TaskStatus> statuses, LocalDate fromDueDate,
+                                        LocalDate throughDueDate);
+
+    @EntityGraph(attributePaths = "contact.client.users")
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids")
+    List<Task> findWithContactUsersByIdIn(Collection<Long> ids);
+
+    /**
+     * Locks the given tasks whose users were not reminded of their current due date yet, in ID order. Waits for the
+     * tasks another node is reminding, which are left out once it commits.
+     */
+    @Query(value = """
+            SELECT t.id FROM task t
+            WHERE t.id IN (:ids)
+              AND (t.reminded_due_date IS NULL OR t.reminded_due_date <> t.due_date)
+            ORDER BY t.id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockUnremindedIds(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE task SET reminded_due_date = due_date WHERE id IN (:ids)", nativeQuery = true)
+    int markReminded(Collection<Long> ids);
+
+    /**
+     * Keyset chunk of tasks in the given statuses that have not been updated since {@code updatedBefore},
+     * ordered by ID.
+     */
+    @Query("""
+            SELECT new com.sample.crm.model.TaskReference(t.id, t.client.id) FROM Task t
+            WHERE t.id > :afterId
+              AND t.status IN :statuses
+              AND t.updatedAt < :updatedBefore
+            ORDER BY t.id
+            """)
+    List<TaskReference> findStale(Collection<TaskStatus> statuses, LocalDateTime updatedBefore, Long afterId,
+                                  Limit limit);
+
+    /**
+     * Sets the status of the given tasks in one statement and its own transaction, skipping tasks that
+     * were updated since {@code updatedBefore} or left the given statuses meanwhile.
+     *
+     * @return The number of updated tasks.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt
+            WHERE t.id IN :ids
+              AND t.status IN :statuses
+              AND t.updatedAt < :updatedBefore
+            """)
+    int updateStaleStatus(Collection<Long> ids, Collection<TaskStatus> statuses, LocalDateTime updatedBefore,
+                          TaskStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Most recent tasks whose description contains the lower-cased LIKE {@code pattern}, escaped with {@code '!'}.
+     */
+    @Query("""
+            SELECT new com.sample.crm.model.SearchHit(t.id, t.description) FROM Task t
+            WHERE LOWER(t.description) LIKE :pattern ESCAPE '!'
+            ORDER BY t.id DESC
             """)
-    List<Task> findTasksDueInTimeRange(LocalDateTime startTime, LocalDateTime endTime);
+    List<SearchHit> searchDescriptions(String pattern, Limit limit);
+
+    @Query("SELECT DISTINCT t.client.id FROM Task t WHERE t.contact.id IN :contactIds")
+    List<Long> findClientIdsByContactIdIn(Collection<Long> contactIds);
 
-    Integer countByStatus(TaskStatus status);
+    /**
+     * Points the tasks of the given contacts to another contact in one statement.
+     *
+     * @return The number of updated tasks.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Task t SET t.contact = :contact, t.updatedAt = :updatedAt
+            WHERE t.contact.id IN :contactIds
+            """)
+    int reassignContact(Collection<Long> contactIds, Contact contact, LocalDateTime updatedAt);
+
+    @Query("SELECT new com.sample.crm.model.TaskStatusCount(t.status, COUNT(t)) FROM Task t GROUP BY t.status")
+    List<TaskStatusCount> countGroupedByStatus();
+
+    /**
+     * Number of tasks not done per due date, for due dates on or after {@code from}.
+     */
+    @Query("""
+            SELECT new com.sample.crm.model.TaskDueDateCount(t.dueDate, COUNT(t)) FROM Task t
+            WHERE (t.status IS NULL OR t.status <> com.sample.crm.model.TaskStatus.DONE)
+              AND t.dueDate >= :from
+            GROUP BY t.dueDate
+            """)
+    List<TaskDueDateCount> countOpenGroupedByDueDateFrom(LocalDate from);
+
+    @Query("""
+            SELECT COUNT(t) FROM Task t
+            WHERE (t.status IS NULL OR t.status <> com.sample.crm.model.TaskStatus.DONE)
+              AND t.dueDate < :date
+            """)
+    long countOpenDueBefore(LocalDate date);
 }
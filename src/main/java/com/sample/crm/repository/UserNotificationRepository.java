@@ -1,11 +1,162 @@
 package com.sample.crm.repository;
 
 import com.sample.crm.entity.UserNotification;
+import com.sample.crm.model.NotificationType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserNotificationRepository extends JpaRepository<UserNotification, Long> {
+    @EntityGraph(UserNotification.WITH_NOTIFICATION)
     List<UserNotification> getAllByDismissedFalseAndUser_Username(String username);
-}
 
+    /**
+     * Keyset page of the undismissed notifications of a user, newest first. Only notifications with an ID lower than
+     * {@code cursor} are returned, so the database seeks straight to the page through the
+     * {@code (user_id, dismissed, id)} index.
+     */
+    @EntityGraph(UserNotification.WITH_NOTIFICATION)
+    @Query("""
+            SELECT un FROM UserNotification un
+            WHERE un.user.id = :userId
+              AND un.dismissed = false
+              AND (:cursor IS NULL OR un.id < :cursor)
+            ORDER BY un.id DESC
+            """)
+    List<UserNotification> findInboxPage(Long userId, Long cursor, Limit limit);
+
+    /**
+     * Loads a notification and locks it until the end of the transaction, so that concurrent changes of its state
+     * update the counters of its user once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<UserNotification> findLockedById(Long id);
+
+    /**
+     * Dismisses in one statement the undismissed notifications of a user with the given viewed state and an ID lower
+     * than {@code beforeId}, or all of them when {@code beforeId} is null. Served by the
+     * {@code (user_id, dismissed, id)} index.
+     *
+     * @return The number of dismissed notifications.
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserNotification un SET un.dismissed = true
+            WHERE un.user.id = :userId
+              AND un.dismissed = false
+              AND un.viewed = :viewed
+              AND (:beforeId IS NULL OR un.id < :beforeId)
+            """)
+    int dismissAll(Long userId, boolean viewed, Long beforeId);
+
+    /**
+     * Like {@link #dismissAll}, restricted to the notifications with the given IDs.
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserNotification un SET un.dismissed = true
+            WHERE un.user.id = :userId
+              AND un.id IN :ids
+              AND un.dismissed = false
+              AND un.viewed = :viewed
+              AND (:beforeId IS NULL OR un.id < :beforeId)
+            """)
+    int dismissAllByIdIn(Long userId, Collection<Long> ids, boolean viewed, Long beforeId);
+
+    /**
+     * Marks as viewed in one statement the unread notifications of a user with an ID lower than {@code beforeId},
+     * or all of them when {@code beforeId} is null. Dismissed notifications are left alone.
+     *
+     * @return The number of notifications marked as viewed.
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserNotification un SET un.viewed = true
+            WHERE un.user.id = :userId
+              AND un.dismissed = false
+              AND un.viewed = false
+              AND (:beforeId IS NULL OR un.id < :beforeId)
+            """)
+    int markAllViewed(Long userId, Long beforeId);
+
+    /**
+     * Like {@link #markAllViewed}, restricted to the notifications with the given IDs.
+     */
+    @Modifying
+    @Query("""
+            UPDATE UserNotification un SET un.viewed = true
+            WHERE un.user.id = :userId
+              AND un.id IN :ids
+              AND un.dismissed = false
+              AND un.viewed = false
+              AND (:beforeId IS NULL OR un.id < :beforeId)
+            """)
+    int markAllViewedByIdIn(Long userId, Collection<Long> ids, Long beforeId);
+
+    /**
+     * IDs of the dismissed notifications of the given type sent before {@code sentBefore}, in ID order.
+     */
+    @Query("""
+            SELECT un.id FROM UserNotification un
+            WHERE un.dismissed = true
+              AND un.notification.type = :type
+              AND un.notification.sentAt < :sentBefore
+            ORDER BY un.id
+            """)
+    List<Long> findArchivable(NotificationType type, LocalDateTime sentBefore, Limit limit);
+
+    /**
+     * Send time of the oldest dismissed notification of the given type sent before {@code sentBefore}.
+     */
+    @Query("""
+            SELECT MIN(un.notification.sentAt) FROM UserNotification un
+            WHERE un.dismissed = true
+              AND un.notification.type = :type
+              AND un.notification.sentAt < :sentBefore
+            """)
+    Optional<LocalDateTime> findOldestArchivableSentAt(NotificationType type, LocalDateTime sentBefore);
+
+    /**
+     * Copies the given notifications, with the type and send time of their event, into the archive.
+     *
+     * @return The number of archived notifications.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_notification_archive
+                (id, user_id, notification_id, type, params, sent_at, viewed, archived_at)
+            SELECT un.id, un.user_id, un.notification_id, n.type, un.params, n.sent_at, un.viewed, :archivedAt
+            FROM user_notification un
+            JOIN notification n ON n.id = un.notification_id
+            WHERE un.id IN (:ids)
+            """, nativeQuery = true)
+    int archiveAllByIdIn(Collection<Long> ids, LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("DELETE FROM UserNotification un WHERE un.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Deletes up to {@code limit} archived notifications sent before {@code sentBefore}, oldest first.
+     *
+     * @return The number of deleted archived notifications.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM user_notification_archive
+            WHERE id IN (SELECT id FROM user_notification_archive
+                         WHERE sent_at < :sentBefore
+                         ORDER BY sent_at, id
+                         LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteArchivedBefore(LocalDateTime sentBefore, int limit);
+}
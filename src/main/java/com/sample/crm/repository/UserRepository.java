@@ -1,10 +1,38 @@
 package com.sample.crm.repository;
 
+import com.sample.crm.dto.NotificationCountDTO;
 import com.sample.crm.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    @Query("""
+            SELECT new com.sample.crm.dto.NotificationCountDTO(u.unreadNotifications, u.undismissedNotifications)
+            FROM User u
+            WHERE u.username = :username
+            """)
+    Optional<NotificationCountDTO> findNotificationCountByUsername(String username);
+
+    /**
+     * Adds to the notification counters of the given users in place, so concurrent changes are not lost.
+     *
+     * @return The number of updated users.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE users
+            SET unread_notifications = unread_notifications + :unread,
+                undismissed_notifications = undismissed_notifications + :undismissed
+            WHERE id IN (:userIds)
+            """, nativeQuery = true)
+    int addToNotificationCounters(Collection<Long> userIds, int unread, int undismissed);
 }
@@ -0,0 +1,90 @@
+package com.sample.crm.service;
+
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.util.TransactionUtil;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Evicts only the cache entries affected by a write. Task pages are not evicted by key: a write starts a new
+ * generation of the pages it may change, see {@link TaskPageKeys}.
+ * <p>
+ * Entries are evicted immediately and, when called inside a transaction, once more after commit, so that
+ * a concurrent read that re-cached the pre-commit state is dropped as well.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final TaskPageKeys taskPageKeys;
+
+    /**
+     * Evicts the task lists of the given clients, their task pages and the task pages not filtered by client.
+     *
+     * @param clientIds IDs of the clients whose tasks changed. Null IDs are ignored.
+     */
+    public void evictTasks(Collection<Long> clientIds) {
+        run(() -> {
+            evictKeys(CacheNames.CLIENT_TASKS, clientIds);
+            taskPageKeys.advance(clientIds);
+        });
+    }
+
+    /**
+     * Evicts the list of all clients and the client lists of the given users.
+     *
+     * @param userIds IDs of the users whose client list changed. Null IDs are ignored.
+     */
+    public void evictClients(Collection<Long> userIds) {
+        run(() -> {
+            evictKeys(CacheNames.CLIENTS, List.of(SimpleKey.EMPTY));
+            evictKeys(CacheNames.USER_CLIENTS, userIds);
+        });
+    }
+
+    /**
+     * Evicts the client lists of the given users only.
+     *
+     * @param userIds IDs of the users whose client list changed.
+     */
+    public void evictUserClients(Collection<Long> userIds) {
+        run(() -> evictKeys(CacheNames.USER_CLIENTS, userIds));
+    }
+
+    /**
+     * Evicts the list of all contacts.
+     */
+    public void evictContacts() {
+        run(() -> evictKeys(CacheNames.CONTACTS, List.of(SimpleKey.EMPTY)));
+    }
+
+    private void run(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionUtil.afterCommit(eviction);
+        }
+    }
+
+    private void evictKeys(@NonNull String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys == null) {
+            return;
+        }
+        keys.stream().filter(Objects::nonNull).distinct().forEach(key -> {
+            log.debug("Evicting key {} from cache {}", key, cacheName);
+            cache.evict(key);
+        });
+    }
+}
@@ -1,39 +1,53 @@
 package com.sample.crm.service;
 
+import com.sample.crm.api.service.ClientStatisticsService;
+import com.sample.crm.configuration.cache.CacheNames;
 import com.sample.crm.dto.ClientDTO;
 import com.sample.crm.entity.Client;
+import com.sample.crm.entity.User;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.exception.model.ExceptionMessage;
 import com.sample.crm.mapper.ClientMapper;
 import com.sample.crm.mapper.UserMapper;
+import com.sample.crm.model.SuggestionType;
 import com.sample.crm.repository.ClientRepository;
 import com.sample.crm.repository.UserRepository;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ClientSearchIndex;
 import com.sample.crm.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ClientService {
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
+    private final CacheInvalidator cacheInvalidator;
+    private final ClientStatisticsService clientStatisticsService;
+    private final ClientSearchIndex clientSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+
     /**
      * Retrieves all clients, with caching enabled.
      *
      * @return List of all clients as ClientDTO.
      */
-    @Cacheable(value = "clients")
+    @Cacheable(value = CacheNames.CLIENTS)
     @Transactional(readOnly = true)
     public List<ClientDTO> findAll() {
         log.debug("Fetching all clients");
@@ -46,7 +60,7 @@ public class ClientService {
      * @param id User ID.
      * @return List of clients for the specified user as ClientDTO.
      */
-    @Cacheable(value = "clients", key = "#id")
+    @Cacheable(value = CacheNames.USER_CLIENTS, key = "#id")
     @Transactional(readOnly = true)
     public List<ClientDTO> findAllForUser(Long id) {
         log.debug("Fetching clients for user with ID: {}", id);
@@ -54,61 +68,102 @@ public class ClientService {
     }
 
     /**
-     * Searches clients based on the search term.
+     * Searches clients whose company name, industry or address contains the search term, ignoring case.
+     * Matches in the company name rank first, then matches in the industry, then in the address.
+     * A blank search term matches every client, ordered by ID.
      *
      * @param searchTerm The term to search for.
-     * @return List of matching clients as ClientDTO.
+     * @param page       Zero-based page number.
+     * @param size       Requested page size, clamped to [1, {@value #MAX_PAGE_SIZE}].
+     * @return One page of matching clients as ClientDTO, best matches first.
      */
     @Transactional(readOnly = true)
-    public List<ClientDTO> search(String searchTerm) {
+    public List<ClientDTO> search(String searchTerm, int page, int size) {
         log.debug("Searching clients with term: {}", searchTerm);
-        return clientRepository.search(searchTerm).stream().map(clientMapper::toDto).toList();
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        List<Client> clients = searchTerm == null || searchTerm.isBlank()
+                ? clientRepository.findPage(PageRequest.of(pageNumber, pageSize))
+                : clientSearchIndex.search(searchTerm, pageSize, (long) pageNumber * pageSize);
+        return clients.stream().map(clientMapper::toDto).toList();
     }
 
     /**
-     * Creates a new client and clears the cache.
+     * Creates a new client and evicts the list of all clients and the client list of the current user.
      *
      * @param clientDTO The client data to create.
      * @return The created client as ClientDTO.
      */
     @Transactional
-    @CacheEvict(value = "clients", allEntries = true)
     public ClientDTO create(ClientDTO clientDTO) {
         log.debug("Creating a new client: {}", clientDTO);
         Client client = clientMapper.toEntity(clientDTO);
-        client.setUsers(List.of(userRepository.findByUsername(SecurityUtil.getCurrentUser().getUsername())
+        User currentUser = userRepository.findByUsername(SecurityUtil.getCurrentUser().getUsername())
                 .orElseThrow(() -> {
                     log.error("Current user not found for creating client");
                     return new NotFoundException(ExceptionMessage.NOT_FOUND);
-                })));
-        return clientMapper.toDto(clientRepository.save(client));
+                });
+        client.setUsers(List.of(currentUser));
+        cacheInvalidator.evictClients(Collections.singletonList(currentUser.getId()));
+        Client saved = clientRepository.save(client);
+        clientSearchIndex.index(List.of(saved));
+        autocompleteIndex.indexClients(List.of(saved));
+        clientStatisticsService.recordCreated(List.of(saved));
+        return clientMapper.toDto(saved);
     }
 
     /**
-     * Updates an existing client and clears the cache.
+     * Updates an existing client and evicts the cached entries embedding it: the list of all clients,
+     * the client lists of its users, its task lists and the contact list.
      *
      * @param id        The ID of the client to update.
      * @param clientDTO The updated client data.
      * @return The updated client as ClientDTO.
      */
     @Transactional
-    @CacheEvict(value = "clients", allEntries = true)
     public ClientDTO update(Long id, ClientDTO clientDTO) {
         log.debug("Updating client with ID: {}", id);
         Client client = getClient(id);
+        String previousIndustry = client.getIndustry();
         clientMapper.update(client, clientDTO);
-        return clientMapper.toDto(clientRepository.save(client));
+        evictCachesOf(id);
+        Client saved = clientRepository.save(client);
+        clientSearchIndex.index(List.of(saved));
+        autocompleteIndex.indexClients(List.of(saved));
+        clientStatisticsService.recordUpdated(previousIndustry, saved);
+        return clientMapper.toDto(saved);
     }
 
     /**
-     * Deletes a client by ID and clears the cache.
+     * Deletes a client by ID and evicts the cached entries embedding it.
+     * Deleting a client that does not exist does nothing.
      *
      * @param id The ID of the client to delete.
      */
-    @CacheEvict(value = "clients", allEntries = true)
+    @Transactional
     public void delete(Long id) {
         log.debug("Deleting client with ID: {}", id);
-        clientRepository.deleteById(id);
+        Client client = clientRepository.findById(id).orElse(null);
+        if (client == null) {
+            log.debug("Client with ID: {} already deleted", id);
+            return;
+        }
+        evictCachesOf(id);
+        clientSearchIndex.remove(id);
+        autocompleteIndex.remove(SuggestionType.CLIENT, id);
+        clientRepository.delete(client);
+        clientStatisticsService.recordDeleted(client);
+    }
+
+    /**
+     * Evicts the cache entries that embed the given client.
+     *
+     * @param id The client ID.
+     */
+    private void evictCachesOf(Long id) {
+        cacheInvalidator.evictClients(clientRepository.findUserIdsByClientId(id));
+        cacheInvalidator.evictTasks(Collections.singletonList(id));
+        cacheInvalidator.evictContacts();
     }
 
     /**
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.sample.crm.dto.CommentDTO;
+import com.sample.crm.dto.TaskDTO;
 import com.sample.crm.entity.Comment;
 import com.sample.crm.entity.Task;
 import com.sample.crm.entity.User;
@@ -46,10 +47,11 @@ public class CommentService {
           return new NotFoundException(ExceptionMessage.NOT_FOUND);
         });
 
+    TaskDTO taskDTO = taskMapper.toDto(task);
     return commentRepository.findByTask(task).stream()
         .map(comment -> {
           CommentDTO commentDTO = commentMapper.toDto(comment);
-          commentDTO.setTaskDTO(taskMapper.toDto(task));
+          commentDTO.setTaskDTO(taskDTO);
           commentDTO.setUsername(comment.getUser().getUsername());
           return commentDTO;
         })
@@ -1,36 +1,47 @@
 package com.sample.crm.service;
 
+import com.sample.crm.configuration.cache.CacheNames;
 import com.sample.crm.dto.ContactDTO;
 import com.sample.crm.entity.Contact;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.exception.model.ExceptionMessage;
 import com.sample.crm.mapper.ContactMapper;
+import com.sample.crm.model.SuggestionType;
 import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ContactDuplicateRepository;
 import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ContactSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ContactService {
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final ContactRepository contactRepository;
+    private final ContactDuplicateRepository contactDuplicateRepository;
     private final ContactMapper contactMapper;
     private final ClientRepository clientRepository;
+    private final CacheInvalidator cacheInvalidator;
+    private final ContactSearchIndex contactSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
 
     /**
      * Retrieves all contacts, with caching enabled.
      *
      * @return List of all contacts as ContactDTO.
      */
-    @Cacheable(value = "contacts")
+    @Cacheable(value = CacheNames.CONTACTS)
     @Transactional(readOnly = true)
     public List<ContactDTO> findAll() {
         log.debug("Fetching all contacts from the database");
@@ -38,61 +49,85 @@ public class ContactService {
     }
 
     /**
-     * Searches contacts by client ID and search term.
+     * Searches contacts by client ID and search term in the in-memory contact index, falling back to a database
+     * scan while the index is being built. Only the contacts of the requested page are loaded.
      *
      * @param clientId   The ID of the client to search within.
      * @param searchTerm The search term for filtering contacts.
-     * @return List of matching contacts as ContactDTO.
+     * @param page       Zero-based page number.
+     * @param size       Requested page size, clamped to [1, {@value #MAX_PAGE_SIZE}].
+     * @return One page of matching contacts as ContactDTO, ordered by ID.
      */
     @Transactional(readOnly = true)
-    public List<ContactDTO> search(Long clientId, String searchTerm) {
+    public List<ContactDTO> search(Long clientId, String searchTerm, int page, int size) {
         log.debug("Searching contacts for client ID: {} with term: {}", clientId, searchTerm);
-        return contactRepository.search(clientId, searchTerm).stream().map(contactMapper::toDto).toList();
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        long offset = (long) pageNumber * pageSize;
+        List<Contact> contacts = contactSearchIndex.search(clientId, searchTerm, pageSize, offset)
+                .map(contactRepository::findAllInOrder)
+                .orElseGet(() -> contactRepository.search(clientId, searchTerm,
+                        PageRequest.of(pageNumber, pageSize)));
+        return contacts.stream().map(contactMapper::toDto).toList();
     }
 
     /**
-     * Creates a new contact and clears the cache.
+     * Creates a new contact and evicts the list of all contacts.
      *
      * @param contactDTO The contact data to create.
      * @return The created contact as ContactDTO.
      */
     @Transactional
-    @CacheEvict(value = "contacts", allEntries = true)
     public ContactDTO create(ContactDTO contactDTO) {
         log.debug("Creating a new contact: {}", contactDTO);
-        return contactMapper.toDto(contactRepository.save(contactMapper.toEntity(contactDTO)));
+        cacheInvalidator.evictContacts();
+        Contact saved = contactRepository.save(contactMapper.toEntity(contactDTO));
+        contactSearchIndex.index(List.of(saved));
+        autocompleteIndex.indexContacts(List.of(saved));
+        return contactMapper.toDto(saved);
     }
 
     /**
-     * Updates an existing contact and clears the cache.
+     * Updates an existing contact and evicts the list of all contacts and the task lists
+     * of the previous and new client of the contact, which embed it.
      *
      * @param id         The ID of the contact to update.
      * @param contactDTO The updated contact data.
      * @return The updated contact as ContactDTO.
      */
     @Transactional
-    @CacheEvict(value = "contacts", allEntries = true)
     public ContactDTO update(Long id, ContactDTO contactDTO) {
         log.debug("Updating contact with ID: {}", id);
         Contact contact = getContact(id);
+        Long previousClientId = contact.getClient() != null ? contact.getClient().getId() : null;
         contactMapper.update(contact, contactDTO);
         contact.setClient(clientRepository.findById(contactDTO.getClient().getId())
                 .orElseThrow(() -> {
                     log.error("Client not found with ID: {}", contactDTO.getClient().getId());
                     return new NotFoundException(ExceptionMessage.NOT_FOUND);
                 }));
-        return contactMapper.toDto(contactRepository.save(contact));
+        cacheInvalidator.evictContacts();
+        cacheInvalidator.evictTasks(Arrays.asList(previousClientId, contact.getClient().getId()));
+        Contact saved = contactRepository.save(contact);
+        contactSearchIndex.index(List.of(saved));
+        autocompleteIndex.indexContacts(List.of(saved));
+        return contactMapper.toDto(saved);
     }
 
     /**
-     * Deletes a contact by ID and clears the cache.
+     * Deletes a contact by ID, together with the duplicates recorded for it or against it, and evicts the list
+     * of all contacts.
      *
      * @param id The ID of the contact to delete.
      */
-    @CacheEvict(value = "contacts", allEntries = true)
+    @Transactional
     public void delete(Long id) {
         log.debug("Deleting contact with ID: {}", id);
+        contactDuplicateRepository.deleteByContactIdIn(List.of(id));
         contactRepository.deleteById(id);
+        contactSearchIndex.remove(id);
+        autocompleteIndex.remove(SuggestionType.CONTACT, id);
+        cacheInvalidator.evictContacts();
     }
 
     /**
@@ -0,0 +1,103 @@
+package com.sample.crm.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.crm.mapper.ClientMapper;
+import com.sample.crm.mapper.ContactMapper;
+import com.sample.crm.mapper.TaskMapper;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes tasks, clients and contacts as newline-delimited JSON (one DTO per line).
+ * <p>
+ * Rows are read through a forward-only database cursor and the persistence context is cleared every
+ * {@value #CLEAR_INTERVAL} rows, so heap usage does not grow with the number of exported rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final TaskRepository taskRepository;
+    private final ClientRepository clientRepository;
+    private final ContactRepository contactRepository;
+    private final TaskMapper taskMapper;
+    private final ClientMapper clientMapper;
+    private final ContactMapper contactMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all tasks, without their comments, to the output stream.
+     *
+     * @param out The stream to write to. It is flushed but not closed.
+     * @return The number of exported tasks.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream out) throws IOException {
+        log.debug("Exporting tasks");
+        try (Stream<?> tasks = taskRepository.streamAll().map(taskMapper::toExportDto)) {
+            return write(tasks, out);
+        }
+    }
+
+    /**
+     * Writes all clients to the output stream.
+     *
+     * @param out The stream to write to. It is flushed but not closed.
+     * @return The number of exported clients.
+     */
+    @Transactional(readOnly = true)
+    public long exportClients(OutputStream out) throws IOException {
+        log.debug("Exporting clients");
+        try (Stream<?> clients = clientRepository.streamAll().map(clientMapper::toDto)) {
+            return write(clients, out);
+        }
+    }
+
+    /**
+     * Writes all contacts to the output stream.
+     *
+     * @param out The stream to write to. It is flushed but not closed.
+     * @return The number of exported contacts.
+     */
+    @Transactional(readOnly = true)
+    public long exportContacts(OutputStream out) throws IOException {
+        log.debug("Exporting contacts");
+        try (Stream<?> contacts = contactRepository.streamAll().map(contactMapper::toDto)) {
+            return write(contacts, out);
+        }
+    }
+
+    private long write(Stream<?> dtos, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<?> iterator = dtos.iterator(); iterator.hasNext(); ) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+                if (++count % CLEAR_INTERVAL == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        log.debug("Exported {} rows", count);
+        return count;
+    }
+}
@@ -0,0 +1,108 @@
+package com.sample.crm.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sample.crm.api.service.TaskStatisticsService;
+import com.sample.crm.model.TaskReference;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pauses open tasks that have not been updated for {@code crm.tasks.pause.stale-after}.
+ * <p>
+ * Tasks are never loaded as entities: stale task IDs are read in keyset chunks of {@code crm.tasks.pause.chunk-size}
+ * and each chunk is paused by a single {@code UPDATE ... WHERE id IN (...)} committed on its own, so no lock is held
+ * for longer than one chunk. Cached task lists are evicted and the task statistics reconciled once, after the last
+ * chunk.
+ */
+@Service
+@Slf4j
+public class StaleTaskService {
+
+  static final Set<TaskStatus> PAUSABLE_STATUSES = EnumSet.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+  private final TaskRepository taskRepository;
+  private final CacheInvalidator cacheInvalidator;
+  private final TaskStatisticsService taskStatisticsService;
+  private final Clock clock;
+  private final MeterRegistry meterRegistry;
+  private final Timer duration;
+  private final Counter pausedTasks;
+  private final AtomicLong progress = new AtomicLong();
+
+  @Value("${crm.tasks.pause.stale-after}")
+  private Duration staleAfter;
+
+  @Value("${crm.tasks.pause.chunk-size}")
+  private int chunkSize;
+
+  public StaleTaskService(TaskRepository taskRepository, CacheInvalidator cacheInvalidator,
+                          TaskStatisticsService taskStatisticsService, Clock clock, MeterRegistry meterRegistry) {
+    this.taskRepository = taskRepository;
+    this.cacheInvalidator = cacheInvalidator;
+    this.taskStatisticsService = taskStatisticsService;
+    this.clock = clock;
+    this.meterRegistry = meterRegistry;
+    this.duration = Timer.builder("crm.tasks.pause.duration").register(meterRegistry);
+    this.pausedTasks = Counter.builder("crm.tasks.paused").register(meterRegistry);
+    Gauge.builder("crm.tasks.pause.progress", progress, AtomicLong::get)
+        .description("Tasks paused by the running or last run")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Pauses the open tasks that have not been updated for the configured period.
+   *
+   * @return The number of paused tasks.
+   */
+  @Scheduled(cron = "${crm.tasks.pause.cron}")
+  public long pauseStaleTasks() {
+    LocalDateTime now = LocalDateTime.now(clock);
+    LocalDateTime updatedBefore = now.minus(staleAfter);
+    log.debug("Pausing tasks not updated since {}", updatedBefore);
+    progress.set(0);
+    Set<Long> clientIds = new HashSet<>();
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try {
+      Long afterId = 0L;
+      List<TaskReference> chunk;
+      do {
+        chunk = taskRepository.findStale(PAUSABLE_STATUSES, updatedBefore, afterId, Limit.of(chunkSize));
+        if (chunk.isEmpty()) {
+          break;
+        }
+        int paused = taskRepository.updateStaleStatus(chunk.stream().map(TaskReference::id).toList(),
+            PAUSABLE_STATUSES, updatedBefore, TaskStatus.PAUSED, now);
+        chunk.forEach(task -> clientIds.add(task.clientId()));
+        pausedTasks.increment(paused);
+        progress.addAndGet(paused);
+        afterId = chunk.get(chunk.size() - 1).id();
+      } while (chunk.size() == chunkSize);
+    } finally {
+      long nanos = sample.stop(duration);
+      if (!clientIds.isEmpty()) {
+        cacheInvalidator.evictTasks(clientIds);
+        taskStatisticsService.reconcile();
+      }
+      log.info("Paused {} tasks not updated since {} in {} ms", progress.get(), updatedBefore,
+          Duration.ofNanos(nanos).toMillis());
+    }
+    return progress.get();
+  }
+}
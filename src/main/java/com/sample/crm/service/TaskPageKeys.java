@@ -0,0 +1,71 @@
+package com.sample.crm.service;
+
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.model.TaskFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keys of the cached task pages, scoped by generation so that a task write drops only the pages it may change.
+ * <p>
+ * A page filtered by client belongs to the generation of that client; every other page, including pages filtered by
+ * contact only, belongs to the generation of all tasks. A write starts a new generation of each affected client and
+ * of all tasks, so pages of other clients stay cached. The generations are kept in the
+ * {@link CacheNames#TASK_PAGE_GENERATIONS} cache, shared by every node like the pages. Pages of a past generation
+ * are no longer read and expire after {@code crm.cache.task-pages-ttl}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskPageKeys {
+
+    private static final String ALL_TASKS = "all";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Returns the cache key of a task page in the current generation of its scope.
+     *
+     * @param filter The page filter.
+     * @param cursor The page cursor.
+     * @param size   The requested page size.
+     * @return The cache key.
+     */
+    public String key(TaskFilter filter, Long cursor, int size) {
+        String scope = filter.getClientId() != null ? scope(filter.getClientId()) : ALL_TASKS;
+        return generations().get(scope, TaskPageKeys::newGeneration) + ":" + filter + ":" + cursor + ":" + size;
+    }
+
+    /**
+     * Starts a new generation of the pages of the given clients and of the pages not filtered by client.
+     *
+     * @param clientIds IDs of the clients whose tasks changed. Null IDs are ignored.
+     */
+    public void advance(Collection<Long> clientIds) {
+        Cache generations = generations();
+        clientIds.stream().filter(Objects::nonNull).distinct().forEach(clientId -> {
+            log.debug("Starting a new generation of the task pages of client {}", clientId);
+            generations.put(scope(clientId), newGeneration());
+        });
+        generations.put(ALL_TASKS, newGeneration());
+    }
+
+    private Cache generations() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheNames.TASK_PAGE_GENERATIONS));
+    }
+
+    private static String scope(Long clientId) {
+        return "client:" + clientId;
+    }
+
+    private static String newGeneration() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -1,24 +1,37 @@
 package com.sample.crm.service;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import com.sample.crm.api.service.TaskStatisticsService;
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.dto.CursorPageDTO;
 import com.sample.crm.dto.TaskDTO;
 import com.sample.crm.entity.Contact;
 import com.sample.crm.entity.Task;
+import com.sample.crm.entity.User;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.exception.model.ExceptionMessage;
 import com.sample.crm.mapper.TaskMapper;
+import com.sample.crm.model.TaskFilter;
 import com.sample.crm.model.TaskStatus;
 import com.sample.crm.repository.ClientRepository;
 import com.sample.crm.repository.ContactRepository;
 import com.sample.crm.repository.TaskRepository;
 import com.sample.crm.service.notification.UserNotifier;
+import com.sample.crm.service.reminder.DueDateReminderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,22 +40,38 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class TaskService {
 
+  private static final int MAX_PAGE_SIZE = 200;
+
   private final TaskRepository taskRepository;
   private final TaskMapper taskMapper;
   private final ContactRepository contactRepository;
   private final ClientRepository clientRepository;
   private final UserNotifier userNotifier;
+  private final CacheInvalidator cacheInvalidator;
+  private final DueDateReminderService dueDateReminderService;
+  private final TaskStatisticsService taskStatisticsService;
 
   /**
-   * Retrieves all tasks, with caching enabled.
+   * Retrieves one page of tasks matching the filter, with caching enabled per page.
+   * Pages are ordered by task ID; pass the returned cursor to fetch the next page.
    *
-   * @return List of all tasks as TaskDTO.
+   * @param filter Optional status, client, contact and due date criteria.
+   * @param cursor ID of the last task of the previous page, or null for the first page.
+   * @param size   Requested page size, clamped to [1, {@value #MAX_PAGE_SIZE}].
+   * @return Page of tasks as TaskDTO with the cursor of the next page.
    */
-  @Cacheable(value = "tasks")
+  @Cacheable(value = CacheNames.TASK_PAGES, key = "@taskPageKeys.key(#filter, #cursor, #size)")
   @Transactional(readOnly = true)
-  public List<TaskDTO> findAll() {
-    log.debug("Fetching all tasks from the database");
-    return taskRepository.findAll().stream().map(taskMapper::toDto).toList();
+  public CursorPageDTO<TaskDTO> findPage(TaskFilter filter, Long cursor, int size) {
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    log.debug("Fetching page of {} tasks after ID: {} with filter: {}", pageSize, cursor, filter);
+    List<Task> tasks = taskRepository.findPage(cursor, filter.getStatus(), filter.getClientId(),
+        filter.getContactId(), filter.getDueDateFrom(), filter.getDueDateTo(), Limit.of(pageSize + 1));
+
+    boolean hasNext = tasks.size() > pageSize;
+    List<TaskDTO> items = tasks.stream().limit(pageSize).map(taskMapper::toDto).toList();
+    Long nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+    return new CursorPageDTO<>(items, nextCursor);
   }
 
   /**
@@ -51,7 +80,7 @@ public class TaskService {
    * @param id The client ID.
    * @return List of tasks for the specified client as TaskDTO.
    */
-  @Cacheable(value = "tasks", key = "#id")
+  @Cacheable(value = CacheNames.CLIENT_TASKS, key = "#id")
   @Transactional(readOnly = true)
   public List<TaskDTO> findByClient(Long id) {
     log.debug("Fetching tasks for client with ID: {}", id);
@@ -59,35 +88,39 @@ public class TaskService {
   }
 
   /**
-   * Creates a new task and clears the cache.
+   * Creates a new task, evicts the cached task lists of its client and schedules its due date reminder.
    *
    * @param taskDTO The task data to create.
    * @return The created task as TaskDTO.
    */
   @Transactional
-  @CacheEvict(value = "tasks", allEntries = true)
   public TaskDTO create(TaskDTO taskDTO) {
     log.debug("Creating a new task: {}", taskDTO);
-    return taskMapper.toDto(taskRepository.save(taskMapper.toEntity(taskDTO)));
+    Task task = taskRepository.save(taskMapper.toEntity(taskDTO));
+    cacheInvalidator.evictTasks(Collections.singletonList(clientId(task)));
+    dueDateReminderService.reschedule(List.of(task));
+    taskStatisticsService.recordCreated(List.of(task));
+    return taskMapper.toDto(task);
   }
 
   /**
-   * Updates an existing task and clears the cache. Notifies users if the status changes.
+   * Updates an existing task and evicts the cached task lists of its previous and new client. Notifies users if the status changes.
    *
    * @param id      The ID of the task to update.
    * @param taskDTO The updated task data.
    * @return The updated task as TaskDTO.
    */
   @Transactional
-  @CacheEvict(value = "tasks", allEntries = true)
   public TaskDTO update(Long id, TaskDTO taskDTO) {
     log.debug("Updating task with ID: {}", id);
     Task task = getTask(id);
+    Long previousClientId = clientId(task);
+    TaskStatus previousStatus = task.getStatus();
+    LocalDate previousDueDate = task.getDueDate();
 
     if (taskDTO.getStatus() != task.getStatus()) {
       log.debug("Task status changed for task ID: {}. Notifying users.", id);
-      task.getContact().getClient().getUsers()
-          .forEach(user -> userNotifier.notifyOfTaskStatusChange(user, taskDTO));
+      userNotifier.notifyOfTaskStatusChange(task.getContact().getClient().getUsers(), taskDTO);
     }
 
     taskMapper.update(task, taskDTO);
@@ -104,41 +137,100 @@ public class TaskService {
           return new NotFoundException(ExceptionMessage.NOT_FOUND);
         }));
 
+    cacheInvalidator.evictTasks(Arrays.asList(previousClientId, clientId(task)));
+    dueDateReminderService.reschedule(List.of(task));
+    taskStatisticsService.recordUpdated(previousStatus, previousDueDate, task);
     return taskMapper.toDto(taskRepository.save(task));
   }
 
   /**
-   * Updates the status of a task and clears the cache. Notifies users of the status change.
+   * Updates the status of a task and evicts the cached task lists of its client. Notifies users of the status change.
    *
    * @param id         The ID of the task to update.
    * @param taskStatus The new status of the task.
    * @return The updated task as TaskDTO.
    */
   @Transactional
-  @CacheEvict(value = "tasks", allEntries = true)
   public TaskDTO updateStatus(Long id, TaskStatus taskStatus) {
     log.debug("Updating status for task with ID: {} to {}", id, taskStatus);
     Task task = getTask(id);
+    TaskStatus previousStatus = task.getStatus();
     task.setStatus(taskStatus);
     TaskDTO taskDTO = taskMapper.toDto(taskRepository.save(task));
+    cacheInvalidator.evictTasks(Collections.singletonList(clientId(task)));
+    dueDateReminderService.reschedule(List.of(task));
+    taskStatisticsService.recordUpdated(previousStatus, task.getDueDate(), task);
     log.debug("Task status updated. Notifying users.");
     if (task.getContact() != null) {
-      task.getContact().getClient().getUsers()
-          .forEach(user -> userNotifier.notifyOfTaskStatusChange(user, taskDTO));
+      userNotifier.notifyOfTaskStatusChange(task.getContact().getClient().getUsers(), taskDTO);
     }
 
     return taskDTO;
   }
 
   /**
-   * Assigns a contact to a task and clears the cache.
+   * Updates the status of several tasks in one transaction. The updates are flushed as a single JDBC batch,
+   * the cached task lists of the affected clients are evicted once, and every subscribed user receives
+   * one notification covering all of their tasks whose status actually changed. Users with the same changed
+   * tasks share one notification event.
+   *
+   * @param ids        The IDs of the tasks to update.
+   * @param taskStatus The new status of the tasks.
+   * @return The updated tasks as TaskDTO, in the order of the given IDs.
+   * @throws NotFoundException if any of the tasks is not found.
+   */
+  @Transactional
+  public List<TaskDTO> updateStatuses(List<Long> ids, TaskStatus taskStatus) {
+    log.debug("Updating status of {} tasks to {}", ids.size(), taskStatus);
+    Map<Long, Task> tasks = taskRepository.findByIdIn(ids).stream()
+        .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+    Map<User, List<TaskDTO>> changesByUser = new LinkedHashMap<>();
+    List<TaskDTO> taskDTOs = new ArrayList<>();
+    for (Long id : new LinkedHashSet<>(ids)) {
+      Task task = tasks.get(id);
+      if (task == null) {
+        log.error("Task not found with ID: {}", id);
+        throw new NotFoundException(ExceptionMessage.NOT_FOUND);
+      }
+      TaskStatus previousStatus = task.getStatus();
+      boolean changed = previousStatus != taskStatus;
+      task.setStatus(taskStatus);
+      taskStatisticsService.recordUpdated(previousStatus, task.getDueDate(), task);
+      TaskDTO taskDTO = taskMapper.toDto(task);
+      taskDTOs.add(taskDTO);
+      if (changed && task.getContact() != null) {
+        task.getContact().getClient().getUsers()
+            .forEach(user -> changesByUser.computeIfAbsent(user, key -> new ArrayList<>()).add(taskDTO));
+      }
+    }
+
+    taskRepository.flush();
+    cacheInvalidator.evictTasks(tasks.values().stream().map(this::clientId).collect(Collectors.toSet()));
+    dueDateReminderService.reschedule(tasks.values());
+
+    log.debug("Status of {} tasks updated. Notifying {} users.", taskDTOs.size(), changesByUser.size());
+    Map<List<TaskDTO>, List<User>> usersByChanges = changesByUser.entrySet().stream()
+        .collect(Collectors.groupingBy(Map.Entry::getValue, LinkedHashMap::new,
+            Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    usersByChanges.forEach((changes, users) -> {
+      if (changes.size() == 1) {
+        userNotifier.notifyOfTaskStatusChange(users, changes.get(0));
+      } else {
+        userNotifier.notifyOfTasksStatusChange(users, taskStatus, changes);
+      }
+    });
+    return taskDTOs;
+  }
+
+  /**
+   * Assigns a contact to a task and evicts the cached task lists of its client.
    *
    * @param taskId    The ID of the task.
    * @param contactId The ID of the contact to assign.
    * @return The updated task as TaskDTO.
    */
   @Transactional
-  @CacheEvict(value = "tasks", allEntries = true)
   public TaskDTO assignContact(Long taskId, Long contactId) {
     log.debug("Assigning contact ID: {} to task ID: {}", contactId, taskId);
     Task task = getTask(taskId);
@@ -148,49 +240,39 @@ public class TaskService {
           return new NotFoundException(ExceptionMessage.NOT_FOUND);
         });
     task.setContact(contact);
+    cacheInvalidator.evictTasks(Collections.singletonList(clientId(task)));
     return taskMapper.toDto(taskRepository.save(task));
   }
 
   /**
-   * Checks for tasks that are due soon and notifies users.
-   */
-  @Scheduled(cron = "0 0 * * * *")
-  @Transactional
-  public void checkDueDate() {
-    log.debug("Checking tasks due within the next hour");
-    taskRepository.findTasksDueInTimeRange(LocalDateTime.now(), LocalDateTime.now().plusHours(1))
-        .forEach(task -> {
-          log.debug("Notifying users for task ID: {} due soon.", task.getId());
-          task.getContact().getClient().getUsers()
-              .forEach(user -> userNotifier.notifyOfTaskDueDate(user, task));
-        });
-  }
-
-  /**
-   * Pause tasks that have not been executed for a very long time
+   * Deletes a task by ID, evicts the cached task lists of its client and drops its due date reminder.
+   * Deleting a task that does not exist does nothing.
+   *
+   * @param id The ID of the task to delete.
    */
-  @Scheduled(cron = "0 0 0 * * *")
   @Transactional
-  public void pauseTasks() {
-    log.debug("Checking tasks due within the next hour");
-    taskRepository.findTasksDueInTimeRange(LocalDateTime.now(), LocalDateTime.now().plusHours(1))
-        .forEach(task -> {
-          log.debug("Notifying users for task ID: {} due soon.", task.getId());
-          task.getContact().getClient().getUsers()
-              .forEach(user -> userNotifier.notifyOfTaskDueDate(user, task));
-        });
+  public void delete(Long id) {
+    log.debug("Deleting task with ID: {}", id);
+    Task task = taskRepository.findById(id).orElse(null);
+    if (task == null) {
+      log.debug("Task with ID: {} already deleted", id);
+      return;
+    }
+    taskRepository.delete(task);
+    cacheInvalidator.evictTasks(Collections.singletonList(clientId(task)));
+    dueDateReminderService.cancel(id);
+    taskStatisticsService.recordDeleted(task);
+    log.debug("Task deleted successfully with ID: {}", id);
   }
 
   /**
-   * Deletes a task by ID and clears the cache.
+   * Returns the ID of the client owning a task, or null if the task has no client.
    *
-   * @param id The ID of the task to delete.
+   * @param task The task.
+   * @return The client ID or null.
    */
-  @CacheEvict(value = "tasks", allEntries = true)
-  public void delete(Long id) {
-    log.debug("Deleting task with ID: {}", id);
-    taskRepository.deleteById(id);
-    log.debug("Task deleted successfully with ID: {}", id);
+  private Long clientId(Task task) {
+    return task.getClient() != null ? task.getClient().getId() : null;
   }
 
   /**
@@ -10,12 +10,12 @@ import com.sample.crm.repository.ClientRepository;
 import com.sample.crm.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -27,6 +27,7 @@ public class UserService {
     private final UserMapper userMapper;
     private final ClientRepository clientRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * Retrieves all users.
@@ -73,14 +74,13 @@ public class UserService {
     }
 
     /**
-     * Subscribes a user to a client.
+     * Subscribes a user to a client and evicts the cached client list of the user.
      *
      * @param userId   The ID of the user to subscribe.
      * @param clientId The ID of the client to subscribe to.
      * @return The updated user as UserDTO.
      */
     @Transactional
-    @CacheEvict(value = "clients", allEntries = true)
     public UserDTO subscribeClient(Long userId, Long clientId) {
         log.debug("Subscribing user ID: {} to client ID: {}", userId, clientId);
         User user = userRepository.findById(userId)
@@ -106,6 +106,7 @@ public class UserService {
 
         user.getClients().add(client);
         client.getUsers().add(user);
+        cacheInvalidator.evictUserClients(Collections.singletonList(userId));
 
         clientRepository.save(client);
         return userMapper.toDto(userRepository.save(user));
@@ -0,0 +1,275 @@
+package com.sample.crm.service.deduplication;
+
+import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ContactDuplicateGroupDTO;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.entity.ContactDuplicate;
+import com.sample.crm.exception.NotFoundException;
+import com.sample.crm.exception.model.ExceptionMessage;
+import com.sample.crm.mapper.ContactMapper;
+import com.sample.crm.model.ContactMatchKeys;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.repository.ContactDuplicateRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.service.CacheInvalidator;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ContactSearchIndex;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Finds contacts of the same client sharing a normalized email or phone number, and merges them.
+ * <p>
+ * Emails are compared lower-cased without a {@code +tag} in the local part, and phone numbers by their last
+ * {@value #PHONE_DIGITS} digits. The job streams the match keys of every contact grouped by client and links the
+ * contacts of a client that share a key with a union-find, so each contact is hashed once and never compared with
+ * every other contact. Each contact of a group is recorded as a duplicate of the oldest contact of its group in the
+ * {@code contact_duplicate} table, which is replaced on every run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContactDeduplicationService {
+
+    static final int PHONE_DIGITS = 10;
+    static final int MIN_PHONE_DIGITS = 7;
+    private static final int BATCH_SIZE = 500;
+
+    private final ContactRepository contactRepository;
+    private final ContactDuplicateRepository contactDuplicateRepository;
+    private final TaskRepository taskRepository;
+    private final ContactMapper contactMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final ContactSearchIndex contactSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    /**
+     * Replaces the recorded duplicates with the duplicates among all contacts.
+     *
+     * @return The number of duplicate contacts found.
+     */
+    @Scheduled(cron = "${crm.contacts.dedup.cron}")
+    public long findDuplicates() {
+        long start = System.nanoTime();
+        List<ContactDuplicate> duplicates = new ArrayList<>();
+        long scanned = transactionTemplate.execute(status -> {
+            long count = 0;
+            List<ContactMatchKeys> client = new ArrayList<>();
+            try (Stream<ContactMatchKeys> keys = contactRepository.streamMatchKeys()) {
+                for (ContactMatchKeys contact : (Iterable<ContactMatchKeys>) keys::iterator) {
+                    if (!client.isEmpty() && !client.get(0).clientId().equals(contact.clientId())) {
+                        duplicates.addAll(duplicatesOf(client));
+                        client.clear();
+                    }
+                    client.add(contact);
+                    count++;
+                }
+            }
+            duplicates.addAll(duplicatesOf(client));
+            return count;
+        });
+        long recorded = transactionTemplate.execute(status -> {
+            contactDuplicateRepository.deleteAllInBatch();
+            long count = 0;
+            for (int from = 0; from < duplicates.size(); from += BATCH_SIZE) {
+                count += record(duplicates.subList(from, Math.min(from + BATCH_SIZE, duplicates.size())));
+            }
+            return count;
+        });
+        log.info("Found {} duplicates among {} contacts in {} ms", recorded, scanned,
+                (System.nanoTime() - start) / 1_000_000);
+        return recorded;
+    }
+
+    /**
+     * Persists a batch of duplicates, skipping those whose contact or survivor was deleted since the scan.
+     *
+     * @param batch The duplicates to persist.
+     * @return The number of duplicates persisted.
+     */
+    private long record(List<ContactDuplicate> batch) {
+        Set<Long> ids = new HashSet<>();
+        batch.forEach(duplicate -> {
+            ids.add(duplicate.getContactId());
+            ids.add(duplicate.getSurvivorId());
+        });
+        Set<Long> existing = new HashSet<>(contactRepository.findExistingIds(ids));
+        long count = 0;
+        for (ContactDuplicate duplicate : batch) {
+            if (existing.contains(duplicate.getContactId()) && existing.contains(duplicate.getSurvivorId())) {
+                entityManager.persist(duplicate);
+                count++;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return count;
+    }
+
+    /**
+     * Returns the duplicates recorded by the last run of the job for a client.
+     *
+     * @param clientId The client ID.
+     * @return The groups of duplicates, ordered by the ID of the contact they duplicate.
+     */
+    @Transactional(readOnly = true)
+    public List<ContactDuplicateGroupDTO> getDuplicates(Long clientId) {
+        Map<Long, List<Long>> groups = new LinkedHashMap<>();
+        contactDuplicateRepository.findByClientIdOrderBySurvivorIdAscContactIdAsc(clientId).forEach(duplicate ->
+                groups.computeIfAbsent(duplicate.getSurvivorId(), id -> new ArrayList<>())
+                        .add(duplicate.getContactId()));
+        return groups.entrySet().stream()
+                .map(group -> new ContactDuplicateGroupDTO(group.getKey(), group.getValue()))
+                .toList();
+    }
+
+    /**
+     * Merges contacts into a contact of the same client: their tasks are pointed to it with a single update and
+     * they are deleted.
+     *
+     * @param survivorId   The ID of the contact to keep.
+     * @param duplicateIds The IDs of the contacts to merge into it.
+     * @return The kept contact as ContactDTO.
+     * @throws NotFoundException if a contact is not found or belongs to another client.
+     */
+    @Transactional
+    public ContactDTO merge(Long survivorId, Collection<Long> duplicateIds) {
+        Contact survivor = contactRepository.findById(survivorId)
+                .orElseThrow(() -> {
+                    log.error("Contact not found with ID: {}", survivorId);
+                    return new NotFoundException(ExceptionMessage.NOT_FOUND);
+                });
+        List<Long> mergedIds = duplicateIds.stream().distinct().filter(id -> !id.equals(survivorId)).toList();
+        if (mergedIds.isEmpty()) {
+            return contactMapper.toDto(survivor);
+        }
+        Long clientId = survivor.getClient() != null ? survivor.getClient().getId() : null;
+        if (clientId == null || contactRepository.findIdsOfClient(clientId, mergedIds).size() != mergedIds.size()) {
+            log.error("Contacts {} are not all contacts of client {}", mergedIds, clientId);
+            throw new NotFoundException(ExceptionMessage.NOT_FOUND);
+        }
+
+        List<Long> taskClientIds = taskRepository.findClientIdsByContactIdIn(mergedIds);
+        int tasks = taskRepository.reassignContact(mergedIds, survivor, LocalDateTime.now(clock));
+        contactDuplicateRepository.deleteByContactIdIn(mergedIds);
+        contactRepository.deleteAllByIdInBatch(mergedIds);
+        mergedIds.forEach(id -> {
+            contactSearchIndex.remove(id);
+            autocompleteIndex.remove(SuggestionType.CONTACT, id);
+        });
+        cacheInvalidator.evictContacts();
+        cacheInvalidator.evictTasks(taskClientIds);
+        log.debug("Merged contacts {} into contact {}, moving {} tasks", mergedIds, survivorId, tasks);
+        return contactMapper.toDto(survivor);
+    }
+
+    /**
+     * Links the contacts of one client, ordered by ID, that share a normalized email or phone number, and returns
+     * every contact that is not the oldest of its group as a duplicate of the oldest.
+     */
+    static List<ContactDuplicate> duplicatesOf(List<ContactMatchKeys> contacts) {
+        int[] parent = new int[contacts.size()];
+        Map<String, Integer> byEmail = new HashMap<>();
+        Map<String, Integer> byPhone = new HashMap<>();
+        for (int i = 0; i < contacts.size(); i++) {
+            parent[i] = i;
+            link(parent, byEmail, normalizeEmail(contacts.get(i).email()), i);
+            link(parent, byPhone, normalizePhone(contacts.get(i).phoneNumber()), i);
+        }
+        List<ContactDuplicate> duplicates = new ArrayList<>();
+        for (int i = 0; i < contacts.size(); i++) {
+            int root = find(parent, i);
+            if (root != i) {
+                ContactMatchKeys contact = contacts.get(i);
+                duplicates.add(new ContactDuplicate(contact.id(), contacts.get(root).id(), contact.clientId()));
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Returns the email lower-cased and trimmed, without a {@code +tag} in its local part, or null when blank.
+     */
+    static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String normalized = email.strip().toLowerCase(Locale.ROOT);
+        int at = normalized.lastIndexOf('@');
+        int plus = normalized.indexOf('+');
+        if (plus > 0 && plus < at) {
+            normalized = normalized.substring(0, plus) + normalized.substring(at);
+        }
+        return normalized;
+    }
+
+    /**
+     * Returns the last {@value #PHONE_DIGITS} digits of the phone number, so that country and trunk prefixes and
+     * formatting are ignored, or null when it has fewer than {@value #MIN_PHONE_DIGITS} digits.
+     */
+    static String normalizePhone(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return null;
+        }
+        return digits.substring(Math.max(0, digits.length() - PHONE_DIGITS));
+    }
+
+    /**
+     * Joins the group of a contact with the group of the first contact having the same key.
+     */
+    private static void link(int[] parent, Map<String, Integer> firstByKey, String key, int contact) {
+        if (key == null) {
+            return;
+        }
+        Integer first = firstByKey.putIfAbsent(key, contact);
+        if (first != null) {
+            int rootA = find(parent, first);
+            int rootB = find(parent, contact);
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    /**
+     * Returns the root of a group, the position of its oldest contact, halving the path on the way.
+     */
+    private static int find(int[] parent, int contact) {
+        int current = contact;
+        while (parent[current] != current) {
+            parent[current] = parent[parent[current]];
+            current = parent[current];
+        }
+        return current;
+    }
+}
@@ -0,0 +1,10 @@
+package com.sample.crm.service.importing;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Columns of a contact CSV import. Values are kept as text and validated after parsing.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ContactCsvRow(String firstName, String lastName, String email, String phoneNumber, String clientId) {
+}
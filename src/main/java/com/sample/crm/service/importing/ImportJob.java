@@ -0,0 +1,80 @@
+package com.sample.crm.service.importing;
+
+import com.sample.crm.dto.ImportErrorDTO;
+import com.sample.crm.dto.ImportJobDTO;
+import com.sample.crm.model.ImportStatus;
+import com.sample.crm.model.ImportType;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of one running or finished import. Updated by the import thread and read by status requests.
+ */
+public class ImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final ImportType type;
+    @Getter
+    private final String owner;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final List<ImportErrorDTO> errors = new ArrayList<>();
+    private ImportStatus status = ImportStatus.RUNNING;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private String message;
+    private LocalDateTime finishedAt;
+
+    public ImportJob(ImportType type, String owner) {
+        this.type = type;
+        this.owner = owner;
+    }
+
+    /**
+     * Records the outcome of a chunk of rows.
+     *
+     * @param processed Number of rows read.
+     * @param imported  Number of rows stored.
+     * @param rejected  Rows rejected by validation or reference checks.
+     */
+    public synchronized void chunkDone(long processed, long imported, List<ImportErrorDTO> rejected) {
+        processedRows += processed;
+        importedRows += imported;
+        failedRows += rejected.size();
+        rejected.stream().limit(Math.max(0, MAX_REPORTED_ERRORS - errors.size())).forEach(errors::add);
+    }
+
+    public synchronized void complete() {
+        status = ImportStatus.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized void fail(String reason) {
+        status = ImportStatus.FAILED;
+        message = reason;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized ImportJobDTO toDto() {
+        return ImportJobDTO.builder()
+                .id(id)
+                .type(type)
+                .status(status)
+                .processedRows(processedRows)
+                .importedRows(importedRows)
+                .failedRows(failedRows)
+                .errors(List.copyOf(errors))
+                .message(message)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
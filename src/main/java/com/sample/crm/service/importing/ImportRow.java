@@ -0,0 +1,10 @@
+package com.sample.crm.service.importing;
+
+/**
+ * A parsed and validated CSV row.
+ *
+ * @param number Number of the data row, starting at 1 after the header line.
+ * @param dto    The row converted to its DTO.
+ */
+public record ImportRow<D>(long number, D dto) {
+}
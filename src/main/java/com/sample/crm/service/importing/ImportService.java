@@ -0,0 +1,303 @@
+package com.sample.crm.service.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.sample.crm.dto.ClientDTO;
+import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ImportErrorDTO;
+import com.sample.crm.dto.ImportJobDTO;
+import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.entity.User;
+import com.sample.crm.exception.NotFoundException;
+import com.sample.crm.exception.model.ExceptionMessage;
+import com.sample.crm.model.ImportType;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.model.security.UserPrincipal;
+import com.sample.crm.repository.UserRepository;
+import com.sample.crm.util.SecurityUtil;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Imports clients, contacts and tasks from CSV files with a header line.
+ * <p>
+ * The upload is parsed as a stream, {@value #CHUNK_SIZE} rows at a time: each row is converted and checked
+ * against the constraints of the corresponding DTO, and the valid rows of a chunk are stored by
+ * {@link ImportWriter} in one transaction. Invalid rows are reported with their row number and do not stop the
+ * import. Imports run on the {@code importExecutor} and their progress can be polled by ID by the user who started
+ * them.
+ * <p>
+ * The progress of the last {@value #MAX_JOBS} imports is kept in memory on the node running them: it is lost on
+ * restart, and with several nodes it is only found on the node that received the upload.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_JOBS = 100;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE_NUMBER = Pattern.compile("^\\+?[0-9]{10,15}$");
+
+    private final ImportWriter importWriter;
+    private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor importExecutor;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    /**
+     * Starts importing an uploaded CSV file in the background.
+     *
+     * @param type The kind of records in the file.
+     * @param file The uploaded CSV file.
+     * @return The state of the new import.
+     */
+    public ImportJobDTO start(ImportType type, MultipartFile file) throws IOException {
+        Path csv = Files.createTempFile("crm-import-", ".csv");
+        file.transferTo(csv);
+        Long userId = type == ImportType.CLIENTS ? currentUserId() : null;
+
+        ImportJob job = new ImportJob(type, currentUsername());
+        jobs.put(job.getId(), job);
+        log.info("Starting {} import {} of {} bytes", type, job.getId(), file.getSize());
+        try {
+            importExecutor.execute(() -> run(job, csv, userId));
+        } catch (TaskRejectedException e) {
+            log.warn("Import {} rejected, too many imports in progress", job.getId());
+            Files.deleteIfExists(csv);
+            job.fail("Too many imports in progress, try again later");
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Retrieves the progress of an import started by the current user.
+     *
+     * @param id The ID of the import.
+     * @return The state of the import.
+     * @throws NotFoundException if the import is unknown to this node, has been forgotten or was started by another
+     *                           user.
+     */
+    public ImportJobDTO getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null || !Objects.equals(job.getOwner(), currentUsername())) {
+            log.error("Import not found with ID: {}", id);
+            throw new NotFoundException(ExceptionMessage.NOT_FOUND);
+        }
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Path csv, Long userId) {
+        try (Reader reader = Files.newBufferedReader(csv)) {
+            switch (job.getType()) {
+                case CLIENTS -> importRows(reader, ClientCsvRow.class, this::toClient,
+                        rows -> importWriter.writeClients(rows, userId), job);
+                case CONTACTS -> importRows(reader, ContactCsvRow.class, this::toContact,
+                        importWriter::writeContacts, job);
+                case TASKS -> importRows(reader, TaskCsvRow.class, this::toTask,
+                        importWriter::writeTasks, job);
+            }
+            job.complete();
+            log.info("Import {} completed", job.getId());
+        } catch (IOException | RuntimeException e) {
+            log.error("Import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(csv);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", csv, e);
+            }
+        }
+    }
+
+    private <R, D> void importRows(Reader reader, Class<R> rowType, Function<R, D> converter,
+                                   Function<List<ImportRow<D>>, List<ImportErrorDTO>> writer,
+                                   ImportJob job) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<R> rows = csvMapper.readerFor(rowType).with(schema).readValues(reader)) {
+            List<ImportRow<D>> valid = new ArrayList<>(CHUNK_SIZE);
+            List<ImportErrorDTO> rejected = new ArrayList<>();
+            long number = 0;
+            int read = 0;
+            while (rows.hasNextValue()) {
+                number++;
+                read++;
+                try {
+                    valid.add(new ImportRow<>(number, converter.apply(rows.nextValue())));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    rejected.add(new ImportErrorDTO(number, e.getMessage()));
+                }
+
+                if (read == CHUNK_SIZE) {
+                    writeChunk(read, valid, rejected, writer, job);
+                    valid = new ArrayList<>(CHUNK_SIZE);
+                    rejected = new ArrayList<>();
+                    read = 0;
+                }
+            }
+            if (read > 0) {
+                writeChunk(read, valid, rejected, writer, job);
+            }
+        }
+    }
+
+    private <D> void writeChunk(int read, List<ImportRow<D>> valid, List<ImportErrorDTO> rejected,
+                                Function<List<ImportRow<D>>, List<ImportErrorDTO>> writer, ImportJob job) {
+        List<ImportErrorDTO> errors = new ArrayList<>(rejected);
+        long imported = 0;
+        if (!valid.isEmpty()) {
+            try {
+                List<ImportErrorDTO> missingReferences = writer.apply(valid);
+                errors.addAll(missingReferences);
+                imported = valid.size() - missingReferences.size();
+            } catch (DataAccessException | PersistenceException e) {
+                log.error("Chunk of import {} rejected by the database", job.getId(), e);
+                valid.forEach(row -> errors.add(new ImportErrorDTO(row.number(),
+                        "rejected by the database: " + e.getMessage())));
+            }
+        }
+        errors.sort(Comparator.comparingLong(ImportErrorDTO::getRow));
+        job.chunkDone(read, imported, errors);
+    }
+
+    private ClientDTO toClient(ClientCsvRow row) {
+        ClientDTO clientDTO = new ClientDTO();
+        clientDTO.setCompanyName(requireText("companyName", row.companyName(), 50));
+        clientDTO.setIndustry(requireText("industry", row.industry(), 50));
+        clientDTO.setAddress(requireText("address", row.address(), 100));
+        return clientDTO;
+    }
+
+    private ContactDTO toContact(ContactCsvRow row) {
+        ContactDTO contactDTO = new ContactDTO();
+        contactDTO.setFirstName(requireText("firstName", row.firstName(), 50));
+        contactDTO.setLastName(requireText("lastName", row.lastName(), 50));
+        contactDTO.setEmail(requireMatch("email", requireText("email", row.email(), 50), EMAIL,
+                "Invalid email format"));
+        contactDTO.setPhoneNumber(requireMatch("phoneNumber", requireText("phoneNumber", row.phoneNumber(), 15),
+                PHONE_NUMBER, "Phone number must be valid and contain 10-15 digits"));
+        contactDTO.setClient(idReference("clientId", row.clientId(), ClientDTO::new, ClientDTO::setId));
+        return contactDTO;
+    }
+
+    private TaskDTO toTask(TaskCsvRow row) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setDescription(requireText("description", row.description(), 255));
+        taskDTO.setStatus(parseStatus(row.status()));
+        taskDTO.setDueDate(parseDate(trim(row.dueDate())));
+        taskDTO.setContact(idReference("contactId", row.contactId(), ContactDTO::new, ContactDTO::setId));
+        taskDTO.setClient(idReference("clientId", row.clientId(), ClientDTO::new, ClientDTO::setId));
+        return taskDTO;
+    }
+
+    private <T> T idReference(String column, String value, Supplier<T> factory, BiConsumer<T, Long> idSetter) {
+        String id = require(column, value);
+        T reference = factory.get();
+        try {
+            idSetter.accept(reference, Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a valid ID: " + id);
+        }
+        return reference;
+    }
+
+    private TaskStatus parseStatus(String value) {
+        String status = require("status", value);
+        try {
+            return TaskStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("status: must be one of " + Arrays.toString(TaskStatus.values()));
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            LocalDate dueDate = LocalDate.parse(value);
+            if (dueDate.isBefore(LocalDate.now())) {
+                throw new IllegalArgumentException("dueDate: Due date must be in the present or future");
+            }
+            return dueDate;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dueDate: expected a date like 2025-12-31: " + value);
+        }
+    }
+
+    private String requireText(String column, String value, int maxLength) {
+        String text = require(column, value);
+        if (text.length() > maxLength) {
+            throw new IllegalArgumentException(column + ": must not exceed " + maxLength + " characters");
+        }
+        return text;
+    }
+
+    private String requireMatch(String column, String value, Pattern pattern, String message) {
+        if (!pattern.matcher(value).matches()) {
+            throw new IllegalArgumentException(column + ": " + message);
+        }
+        return value;
+    }
+
+    private String require(String column, String value) {
+        String text = trim(value);
+        if (text == null) {
+            throw new IllegalArgumentException(column + ": must not be blank");
+        }
+        return text;
+    }
+
+    private String trim(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String currentUsername() {
+        UserPrincipal currentUser = SecurityUtil.getCurrentUser();
+        return currentUser != null ? currentUser.getUsername() : null;
+    }
+
+    private Long currentUserId() {
+        UserPrincipal currentUser = SecurityUtil.getCurrentUser();
+        if (currentUser == null) {
+            return null;
+        }
+        return userRepository.findByUsername(currentUser.getUsername()).map(User::getId).orElse(null);
+    }
+}
@@ -0,0 +1,183 @@
+package com.sample.crm.service.importing;
+
+import com.sample.crm.api.service.ClientStatisticsService;
+import com.sample.crm.api.service.TaskStatisticsService;
+import com.sample.crm.dto.ClientDTO;
+import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ImportErrorDTO;
+import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.entity.Task;
+import com.sample.crm.entity.User;
+import com.sample.crm.mapper.ClientMapper;
+import com.sample.crm.mapper.ContactMapper;
+import com.sample.crm.mapper.TaskMapper;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.repository.UserRepository;
+import com.sample.crm.service.CacheInvalidator;
+import com.sample.crm.service.reminder.DueDateReminderService;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ClientSearchIndex;
+import com.sample.crm.service.search.ContactSearchIndex;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores one chunk of validated import rows per transaction.
+ * <p>
+ * References to clients and contacts are checked with one query per chunk and attached as proxies,
+ * and the new entities are inserted in JDBC batches of up to {@value #BATCH_SIZE} statements.
+ * <p>
+ * Like the other write paths, a chunk updates the in-memory search indexes, statistics counters and due-date
+ * reminders through their after-commit hooks, so a chunk rejected by the database leaves them untouched. Only the
+ * client trigrams, stored in the database, are written within the chunk's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportWriter {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ClientRepository clientRepository;
+    private final ContactRepository contactRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ClientMapper clientMapper;
+    private final ContactMapper contactMapper;
+    private final TaskMapper taskMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final DueDateReminderService dueDateReminderService;
+    private final TaskStatisticsService taskStatisticsService;
+    private final ClientStatisticsService clientStatisticsService;
+    private final ClientSearchIndex clientSearchIndex;
+    private final ContactSearchIndex contactSearchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final EntityManager entityManager;
+
+    /**
+     * Stores new clients, indexes them for search and associates them with the importing user.
+     *
+     * @param rows   The validated rows.
+     * @param userId ID of the importing user, or null to leave the clients unassigned.
+     * @return The rejected rows, always empty for clients.
+     */
+    @Transactional
+    public List<ImportErrorDTO> writeClients(List<ImportRow<ClientDTO>> rows, Long userId) {
+        List<Client> clients = rows.stream().map(row -> {
+            Client client = clientMapper.toEntity(row.dto());
+            client.setUsers(new ArrayList<>());
+            if (userId != null) {
+                client.getUsers().add(userRepository.getReferenceById(userId));
+            }
+            return client;
+        }).toList();
+
+        persist(clientRepository, clients);
+        clientSearchIndex.index(clients);
+        autocompleteIndex.indexClients(clients);
+        clientStatisticsService.recordCreated(clients);
+        cacheInvalidator.evictClients(userId != null ? List.of(userId) : List.of());
+        return List.of();
+    }
+
+    /**
+     * Stores new contacts whose client exists and indexes them for search.
+     *
+     * @param rows The validated rows.
+     * @return The rows referencing a missing client.
+     */
+    @Transactional
+    public List<ImportErrorDTO> writeContacts(List<ImportRow<ContactDTO>> rows) {
+        Set<Long> clientIds = existing(clientRepository::findExistingIds, rows.stream()
+                .map(row -> row.dto().getClient().getId()).collect(Collectors.toSet()));
+
+        List<ImportErrorDTO> rejected = new ArrayList<>();
+        List<Contact> contacts = new ArrayList<>();
+        for (ImportRow<ContactDTO> row : rows) {
+            Long clientId = row.dto().getClient().getId();
+            if (!clientIds.contains(clientId)) {
+                rejected.add(new ImportErrorDTO(row.number(), "client not found: " + clientId));
+                continue;
+            }
+            Contact contact = contactMapper.toEntity(row.dto());
+            contact.setClient(clientRepository.getReferenceById(clientId));
+            contacts.add(contact);
+        }
+
+        persist(contactRepository, contacts);
+        contactSearchIndex.index(contacts);
+        autocompleteIndex.indexContacts(contacts);
+        cacheInvalidator.evictContacts();
+        return rejected;
+    }
+
+    /**
+     * Stores new tasks whose client and contact exist.
+     *
+     * @param rows The validated rows.
+     * @return The rows referencing a missing client or contact.
+     */
+    @Transactional
+    public List<ImportErrorDTO> writeTasks(List<ImportRow<TaskDTO>> rows) {
+        Set<Long> clientIds = existing(clientRepository::findExistingIds, rows.stream()
+                .map(row -> row.dto().getClient().getId()).collect(Collectors.toSet()));
+        Set<Long> contactIds = existing(contactRepository::findExistingIds, rows.stream()
+                .map(row -> row.dto().getContact().getId()).collect(Collectors.toSet()));
+
+        List<ImportErrorDTO> rejected = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        Set<Long> affectedClientIds = new HashSet<>();
+        for (ImportRow<TaskDTO> row : rows) {
+            Long clientId = row.dto().getClient().getId();
+            Long contactId = row.dto().getContact().getId();
+            if (!clientIds.contains(clientId)) {
+                rejected.add(new ImportErrorDTO(row.number(), "client not found: " + clientId));
+                continue;
+            }
+            if (!contactIds.contains(contactId)) {
+                rejected.add(new ImportErrorDTO(row.number(), "contact not found: " + contactId));
+                continue;
+            }
+            Task task = taskMapper.toEntity(row.dto());
+            task.setClient(clientRepository.getReferenceById(clientId));
+            task.setContact(contactRepository.getReferenceById(contactId));
+            tasks.add(task);
+            affectedClientIds.add(clientId);
+        }
+
+        persist(taskRepository, tasks);
+        cacheInvalidator.evictTasks(affectedClientIds);
+        dueDateReminderService.reschedule(tasks);
+        taskStatisticsService.recordCreated(tasks);
+        return rejected;
+    }
+
+    private Set<Long> existing(Function<Collection<Long>, List<Long>> query, Set<Long> ids) {
+        return ids.isEmpty() ? Set.of() : new HashSet<>(query.apply(ids));
+    }
+
+    private <E> void persist(JpaRepository<E, Long> repository, List<E> entities) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+        repository.saveAll(entities);
+        entityManager.flush();
+        entityManager.clear();
+        log.debug("Imported {} rows", entities.size());
+    }
+}
@@ -0,0 +1,10 @@
+package com.sample.crm.service.importing;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Columns of a task CSV import. Values are kept as text and validated after parsing.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TaskCsvRow(String description, String status, String dueDate, String clientId, String contactId) {
+}
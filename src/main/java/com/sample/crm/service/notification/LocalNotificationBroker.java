@@ -0,0 +1,30 @@
+package com.sample.crm.service.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends notifications to the sessions connected to this node through its simple broker. Only suited to a single
+ * node: users connected to another node do not receive them.
+ */
+@Component
+@ConditionalOnProperty(name = "crm.notifications.broker.type", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LocalNotificationBroker implements NotificationBroker {
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    @Override
+    public void send(String destination, List<Delivery> deliveries) {
+        deliveries.forEach(delivery -> {
+            simpMessagingTemplate.convertAndSendToUser(delivery.username(), destination, delivery.notification());
+            log.debug("Notification sent to user: {}", delivery.username());
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.sample.crm.service.notification;
+
+import com.sample.crm.dto.NotificationDTO;
+
+import java.util.List;
+
+/**
+ * Delivers notifications to the WebSocket sessions of their users, wherever these are connected.
+ * <p>
+ * The implementation is chosen by {@code crm.notifications.broker.type}: {@code local} sends to the sessions of this
+ * node only, {@code redis} relays notifications to every node through Redis pub/sub.
+ */
+public interface NotificationBroker {
+
+    /**
+     * Delivers the notifications of an event.
+     *
+     * @param destination The user destination, such as {@code /queue/notification}.
+     * @param deliveries  The notifications to deliver, one per receiver.
+     */
+    void send(String destination, List<Delivery> deliveries);
+
+    /**
+     * A notification for one user.
+     */
+    record Delivery(String username, NotificationDTO notification) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.sample.crm.service.notification;
+
+import com.sample.crm.entity.NotificationOutbox;
+import com.sample.crm.entity.User;
+import com.sample.crm.entity.UserNotification;
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.repository.NotificationOutboxRepository;
+import com.sample.crm.repository.NotificationRepository;
+import com.sample.crm.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the notification events of the outbox.
+ * <p>
+ * Every {@code crm.notifications.outbox.poll-interval} the pending events are taken in batches of
+ * {@code crm.notifications.outbox.batch-size}, oldest first. A batch is locked with {@code FOR UPDATE SKIP LOCKED},
+ * so the dispatchers of several nodes take disjoint batches, and in the same transaction its notifications are stored
+ * and its events are deleted. The notifications are sent once the transaction commits. A batch that fails is rolled
+ * back and retried on the next run, so events are delivered at least once; the event ID stored with a notification
+ * keeps a redelivered event from being notified twice. The time from an event to its delivery is recorded as
+ * {@code crm.notifications.outbox.lag}.
+ * <p>
+ * Events about a single task are coalesced: they are held until the oldest pending event of the same task and type
+ * is {@code crm.notifications.coalescing.window} old, then every user is notified only of the latest of them. A task
+ * flipped through several statuses within the window thus yields one notification per user with its final status.
+ * The notifications saved this way are counted as {@code crm.notifications.coalesced}.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxDispatcher {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final NotificationProcessor notificationProcessor;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Timer lag;
+    private final Counter coalesced;
+
+    @Value("${crm.notifications.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${crm.notifications.coalescing.window}")
+    private Duration coalescingWindow;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository notificationOutboxRepository,
+                                        NotificationRepository notificationRepository, UserRepository userRepository,
+                                        NotificationService notificationService,
+                                        NotificationProcessor notificationProcessor,
+                                        TransactionTemplate transactionTemplate, Clock clock,
+                                        MeterRegistry meterRegistry) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.notificationProcessor = notificationProcessor;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.lag = Timer.builder("crm.notifications.outbox.lag")
+                .description("Time from writing a notification event to storing its notifications")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("crm.notifications.coalesced")
+                .description("Notifications not stored because a later event of the same task and type replaced them")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers the pending events, batch after batch, until the outbox is drained.
+     *
+     * @return The number of events taken from the outbox.
+     */
+    @Scheduled(fixedDelayString = "${crm.notifications.outbox.poll-interval}")
+    public int dispatch() {
+        int total = 0;
+        while (true) {
+            int taken;
+            try {
+                taken = dispatchBatch();
+            } catch (RuntimeException e) {
+                log.error("Could not deliver a batch of notification events, retrying on the next run", e);
+                return total;
+            }
+            total += taken;
+            if (taken < batchSize) {
+                if (total > 0) {
+                    log.debug("Delivered {} notification events", total);
+                }
+                return total;
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        List<Delivery> deliveries = new ArrayList<>();
+        Integer taken = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<NotificationOutbox> events = notificationOutboxRepository.lockNextBatch(
+                    now.minus(coalescingWindow), batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            Set<String> delivered = new HashSet<>(notificationRepository.findEventIdsIn(
+                    events.stream().map(NotificationOutbox::getEventId).toList()));
+            Map<Long, User> users = userRepository.findAllById(events.stream()
+                            .flatMap(event -> event.getRecipientIds().stream())
+                            .collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+
+            Map<CoalescingKey, List<NotificationOutbox>> groups = new LinkedHashMap<>();
+            for (NotificationOutbox event : events) {
+                if (delivered.contains(event.getEventId())) {
+                    log.debug("Skipping notification event {}, already delivered", event.getEventId());
+                    continue;
+                }
+                groups.computeIfAbsent(CoalescingKey.of(event), key -> new ArrayList<>()).add(event);
+                lag.record(Duration.between(event.getCreatedAt(), now));
+            }
+            groups.values().forEach(group -> coalesce(group).forEach((event, recipientIds) -> {
+                List<User> receivers = recipientIds.stream()
+                        .map(users::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+                if (!receivers.isEmpty()) {
+                    deliveries.add(new Delivery(event.getType(), notificationService.createUserNotifications(
+                            event.getEventId(), receivers, event.getType(), event.getParams())));
+                }
+            }));
+            notificationOutboxRepository.deleteAllInBatch(events);
+            return events.size();
+        });
+        deliveries.forEach(delivery -> notificationProcessor.send(delivery.type(), delivery.userNotifications()));
+        return taken == null ? 0 : taken;
+    }
+
+    /**
+     * Keeps for every recipient only the latest of the events, so a user is notified once of the final state.
+     *
+     * @param events The events of one task and type, oldest first.
+     * @return The recipients left to every event, in event order; events left without recipients are omitted.
+     */
+    private Map<NotificationOutbox, List<Long>> coalesce(List<NotificationOutbox> events) {
+        Map<Long, NotificationOutbox> latest = new HashMap<>();
+        events.forEach(event -> event.getRecipientIds().forEach(userId -> latest.put(userId, event)));
+
+        Map<NotificationOutbox, List<Long>> recipients = new LinkedHashMap<>();
+        int superseded = 0;
+        for (NotificationOutbox event : events) {
+            for (Long userId : event.getRecipientIds()) {
+                if (latest.get(userId) == event) {
+                    recipients.computeIfAbsent(event, e -> new ArrayList<>()).add(userId);
+                } else {
+                    superseded++;
+                }
+            }
+        }
+        coalesced.increment(superseded);
+        return recipients;
+    }
+
+    /**
+     * Events about the same task and of the same type are coalesced; any other event stands alone.
+     */
+    private record CoalescingKey(Long taskId, NotificationType type, String eventId) {
+
+        static CoalescingKey of(NotificationOutbox event) {
+            return event.getTaskId() == null
+                    ? new CoalescingKey(null, event.getType(), event.getEventId())
+                    : new CoalescingKey(event.getTaskId(), event.getType(), null);
+        }
+    }
+
+    private record Delivery(NotificationType type, List<UserNotification> userNotifications) {
+    }
+}
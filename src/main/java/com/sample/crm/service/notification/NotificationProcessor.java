@@ -1,64 +1,100 @@
 package com.sample.crm.service.notification;
 
-import com.sample.crm.dto.NotificationDTO;
-import com.sample.crm.entity.User;
+import com.sample.crm.entity.UserNotification;
 import com.sample.crm.mapper.UserNotificationMapper;
 import com.sample.crm.model.NotificationType;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
- * Processor for building and sending notifications to users via WebSocket.
+ * Processor for sending stored notifications to users via WebSocket.
+ * <p>
+ * The notifications are handed to the {@link NotificationBroker}, which delivers them to the sessions of their users
+ * on this node or, with several nodes, on whichever node they are connected to.
+ * <p>
+ * The notifications of an event are sent to all of its receivers by a single job. The number of receivers per event
+ * and the time taken are recorded as {@code crm.notifications.fanout.recipients} and
+ * {@code crm.notifications.fanout.duration}, tagged with the notification type.
+ * <p>
+ * The jobs run on the bounded {@code notificationExecutor}. An event the executor rejects under its overload policy
+ * is spilled: its notifications are already stored, so they are not sent and users find them in their inbox.
+ * Spilled events are counted as {@code crm.notifications.executor.rejected} with outcome {@code spilled}.
  */
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class NotificationProcessor {
 
     @Value("${spring.websocket.queue.notification}")
     private String queueGlobal;
 
     private final UserNotificationMapper userNotificationMapper;
-    private final NotificationService notificationService;
-    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final NotificationBroker notificationBroker;
+    private final ThreadPoolTaskExecutor notificationExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Counter spilled;
+
+    public NotificationProcessor(UserNotificationMapper userNotificationMapper,
+                                 NotificationBroker notificationBroker,
+                                 ThreadPoolTaskExecutor notificationExecutor, MeterRegistry meterRegistry) {
+        this.userNotificationMapper = userNotificationMapper;
+        this.notificationBroker = notificationBroker;
+        this.notificationExecutor = notificationExecutor;
+        this.meterRegistry = meterRegistry;
+        this.spilled = Counter.builder("crm.notifications.executor.rejected")
+                .tag("outcome", "spilled")
+                .description("Stored notification events not sent because the executor was full")
+                .register(meterRegistry);
+    }
 
     /**
-     * Asynchronously builds and sends a notification to a user.
+     * Asynchronously sends the stored notifications of an event to their users.
      *
-     * @param receiver The user who will receive the notification.
-     * @param type     The type of notification to send.
-     * @param params   Additional parameters for the notification.
+     * @param type              The type of the notifications.
+     * @param userNotifications The notifications of the event, one per receiver.
      */
-    @Async
-    public void buildAndSend(User receiver, NotificationType type, Map<String, String> params) {
-        log.debug("Building notification for user: {}, type: {}", receiver.getUsername(), type);
+    public void send(NotificationType type, List<UserNotification> userNotifications) {
+        if (userNotifications.isEmpty()) {
+            return;
+        }
+        try {
+            notificationExecutor.execute(() -> {
+                try {
+                    sendNow(type, userNotifications);
+                } catch (RuntimeException e) {
+                    log.error("Failed to send {} notification to {} users", type, userNotifications.size(), e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Notification executor is overloaded, not sending {} notification to {} users",
+                    type, userNotifications.size());
+            spilled.increment();
+        }
+    }
 
-        Map<User, NotificationDTO> notificationMap = new HashMap<>();
-        NotificationDTO notificationDTO = userNotificationMapper.toDto(
-                notificationService.createUserNotification(receiver, type, params)
-        );
-        notificationMap.put(receiver, notificationDTO);
+    private void sendNow(NotificationType type, List<UserNotification> userNotifications) {
+        log.debug("Sending {} notification to {} users", type, userNotifications.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
 
-        log.debug("Notification built for user: {}. Sending notification...", receiver.getUsername());
-        send(notificationMap);
-    }
+        notificationBroker.send(queueGlobal, userNotifications.stream()
+                .map(userNotification -> new NotificationBroker.Delivery(userNotification.getUser().getUsername(),
+                        userNotificationMapper.toDto(userNotification)))
+                .toList());
 
-    /**
-     * Sends notifications to users via WebSocket.
-     *
-     * @param notificationMap A map of users to their respective notifications.
-     */
-    private void send(Map<User, NotificationDTO> notificationMap) {
-        notificationMap.forEach((user, notification) -> {
-            simpMessagingTemplate.convertAndSendToUser(user.getUsername(), queueGlobal, notification);
-            log.debug("Notification sent to user: {}", user.getUsername());
-        });
+        DistributionSummary.builder("crm.notifications.fanout.recipients")
+                .tag("type", type.name())
+                .register(meterRegistry)
+                .record(userNotifications.size());
+        sample.stop(Timer.builder("crm.notifications.fanout.duration")
+                .tag("type", type.name())
+                .register(meterRegistry));
     }
 }
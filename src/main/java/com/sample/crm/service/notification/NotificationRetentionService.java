@@ -0,0 +1,257 @@
+package com.sample.crm.service.notification;
+
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.repository.NotificationRepository;
+import com.sample.crm.repository.UserNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Moves dismissed notifications out of {@code user_notification} once they are past their retention, so the inbox
+ * tables and their indexes only hold live notifications.
+ * <p>
+ * Every night, for each notification type, dismissed notifications sent more than
+ * {@code crm.notifications.retention.<type>} ago (default {@code crm.notifications.retention.default}) are copied to
+ * {@code user_notification_archive} and deleted, in chunks of {@code crm.notifications.retention.chunk-size}. Each
+ * chunk is committed on its own and followed by a pause of {@code crm.notifications.retention.chunk-pause}, so the job
+ * never holds locks for long nor saturates the database. Notifications left without users are deleted the same way.
+ * <p>
+ * Archived notifications are purged after {@code crm.notifications.archive.retention}. On PostgreSQL the archive is
+ * partitioned by month of sending: the partitions are created before rows are moved into them, and whole months past
+ * the archive retention are purged by dropping their partition. Rows moved and purged are counted as
+ * {@code crm.notifications.retention.archived} (tagged with the type) and {@code crm.notifications.retention.purged},
+ * the time taken is recorded as {@code crm.notifications.retention.duration}.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    static final String ARCHIVE_TABLE = "user_notification_archive";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final UserNotificationRepository userNotificationRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Timer duration;
+    private final Counter purged;
+
+    @Value("${crm.notifications.retention.default}")
+    private Duration defaultRetention;
+
+    @Value("${crm.notifications.archive.retention}")
+    private Duration archiveRetention;
+
+    @Value("${crm.notifications.retention.chunk-size}")
+    private int chunkSize;
+
+    @Value("${crm.notifications.retention.chunk-pause}")
+    private Duration chunkPause;
+
+    public NotificationRetentionService(UserNotificationRepository userNotificationRepository,
+                                        NotificationRepository notificationRepository,
+                                        TransactionTemplate transactionTemplate, DataSource routingDataSource,
+                                        Environment environment, Clock clock, MeterRegistry meterRegistry) {
+        this.userNotificationRepository = userNotificationRepository;
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = new JdbcTemplate(routingDataSource);
+        this.environment = environment;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.duration = Timer.builder("crm.notifications.retention.duration").register(meterRegistry);
+        this.purged = Counter.builder("crm.notifications.retention.purged")
+                .description("Archived notifications deleted past the archive retention")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives the dismissed notifications past their retention and purges the archive.
+     *
+     * @return The number of archived notifications.
+     */
+    @Scheduled(cron = "${crm.notifications.retention.cron}")
+    public long archiveNotifications() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean partitioned = isPostgres();
+        long archived = 0;
+        long purgedRows = 0;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            for (NotificationType type : NotificationType.values()) {
+                archived += archive(type, now.minus(retentionOf(type)), now, partitioned);
+            }
+            deleteOrphanNotifications();
+            purgedRows = purgeArchive(now.minus(archiveRetention), partitioned);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Notification retention interrupted, resuming on the next run");
+        } finally {
+            long nanos = sample.stop(duration);
+            log.info("Archived {} dismissed notifications and purged {} archived ones in {} ms", archived, purgedRows,
+                    Duration.ofNanos(nanos).toMillis());
+        }
+        return archived;
+    }
+
+    private long archive(NotificationType type, LocalDateTime sentBefore, LocalDateTime now, boolean partitioned)
+            throws InterruptedException {
+        if (partitioned) {
+            Optional<LocalDateTime> oldest = userNotificationRepository.findOldestArchivableSentAt(type, sentBefore);
+            oldest.ifPresent(sentAt -> createPartitions(YearMonth.from(sentAt), YearMonth.from(sentBefore)));
+        }
+        Counter archived = Counter.builder("crm.notifications.retention.archived")
+                .tag("type", type.name())
+                .description("Dismissed notifications moved to the archive")
+                .register(meterRegistry);
+        long total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = userNotificationRepository.findArchivable(type, sentBefore, Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                userNotificationRepository.archiveAllByIdIn(ids, now);
+                return userNotificationRepository.deleteAllByIdIn(ids);
+            });
+            int count = moved == null ? 0 : moved;
+            archived.increment(count);
+            total += count;
+            if (count < chunkSize) {
+                if (total > 0) {
+                    log.debug("Archived {} {} notifications sent before {}", total, type, sentBefore);
+                }
+                return total;
+            }
+            pause();
+        }
+    }
+
+    private void deleteOrphanNotifications() throws InterruptedException {
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = notificationRepository.findOrphanIds(Limit.of(chunkSize));
+                return ids.isEmpty() ? 0 : notificationRepository.deleteAllByIdIn(ids);
+            });
+            if (deleted == null || deleted < chunkSize) {
+                return;
+            }
+            pause();
+        }
+    }
+
+    private long purgeArchive(LocalDateTime sentBefore, boolean partitioned) throws InterruptedException {
+        long total = partitioned ? dropPartitionsBefore(YearMonth.from(sentBefore)) : 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    userNotificationRepository.deleteArchivedBefore(sentBefore, chunkSize));
+            int count = deleted == null ? 0 : deleted;
+            purged.increment(count);
+            total += count;
+            if (count < chunkSize) {
+                return total;
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Creates the missing monthly archive partitions from {@code first} through {@code last}.
+     */
+    private void createPartitions(YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                        .formatted(partitionOf(month), ARCHIVE_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+            } catch (DataAccessException e) {
+                log.warn("Could not create archive partition for {}, its rows go to the default partition", month, e);
+            }
+        }
+    }
+
+    /**
+     * Drops the monthly archive partitions of the months before {@code month}.
+     *
+     * @return The number of archived notifications dropped with them.
+     */
+    private long dropPartitionsBefore(YearMonth month) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                """, String.class, ARCHIVE_TABLE);
+        long dropped = 0;
+        for (String partition : partitions) {
+            Optional<YearMonth> partitionMonth = monthOf(partition);
+            if (partitionMonth.isPresent() && partitionMonth.get().isBefore(month)) {
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped archive partition {} with {} notifications", partition, rows);
+                purged.increment(rows == null ? 0 : rows);
+                dropped += rows == null ? 0 : rows;
+            }
+        }
+        return dropped;
+    }
+
+    static String partitionOf(YearMonth month) {
+        return ARCHIVE_TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    static Optional<YearMonth> monthOf(String partition) {
+        String prefix = ARCHIVE_TABLE + "_";
+        String suffix = partition.startsWith(prefix) ? partition.substring(prefix.length()) : "";
+        return suffix.matches("\\d{4}_\\d{2}")
+                ? Optional.of(YearMonth.parse(suffix, PARTITION_SUFFIX))
+                : Optional.empty();
+    }
+
+    /**
+     * Retention of a notification type, {@code crm.notifications.retention.<type>} with the type in kebab case.
+     */
+    private Duration retentionOf(NotificationType type) {
+        String key = type.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        return environment.getProperty("crm.notifications.retention." + key, Duration.class, defaultRetention);
+    }
+
+    /**
+     * Whether the routing data source currently points to PostgreSQL, whose archive table is partitioned.
+     */
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private void pause() throws InterruptedException {
+        if (!chunkPause.isZero()) {
+            Thread.sleep(chunkPause);
+        }
+    }
+}
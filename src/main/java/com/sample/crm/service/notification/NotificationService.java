@@ -1,5 +1,7 @@
 package com.sample.crm.service.notification;
 
+import com.sample.crm.dto.CursorPageDTO;
+import com.sample.crm.dto.NotificationCountDTO;
 import com.sample.crm.dto.NotificationDTO;
 import com.sample.crm.entity.Notification;
 import com.sample.crm.entity.User;
@@ -10,11 +12,14 @@ import com.sample.crm.mapper.UserNotificationMapper;
 import com.sample.crm.model.NotificationType;
 import com.sample.crm.repository.NotificationRepository;
 import com.sample.crm.repository.UserNotificationRepository;
+import com.sample.crm.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -22,51 +27,192 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final NotificationRepository notificationRepository;
     private final UserNotificationRepository userNotificationRepository;
+    private final UserRepository userRepository;
     private final UserNotificationMapper userNotificationMapper;
 
+    @Transactional(readOnly = true)
     public List<NotificationDTO> getAllNotificationsForUser(String username) {
         return userNotificationRepository.getAllByDismissedFalseAndUser_Username(username)
                 .stream().map(userNotificationMapper::toDto).toList();
     }
 
-    @Transactional
-    public UserNotification createUserNotification(User receiver, NotificationType type, Map<String, String> params) {
-        UserNotification userNotification = new UserNotification();
-        Notification notification = createNotification(type);
+    /**
+     * Retrieves one page of the undismissed notifications of a user, newest first.
+     * Pass the returned cursor to fetch the next page.
+     *
+     * @param username The user whose notifications are retrieved.
+     * @param cursor   ID of the last notification of the previous page, or null for the first page.
+     * @param size     Requested page size, clamped to [1, {@value #MAX_PAGE_SIZE}].
+     * @return Page of notifications with the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationDTO> getInboxPage(String username, Long cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ExceptionMessage.NOT_FOUND));
+        List<UserNotification> userNotifications = userNotificationRepository.findInboxPage(userId, cursor,
+                Limit.of(pageSize + 1));
 
-        userNotification.setNotification(notification);
-        userNotification.setParams(params);
-        userNotification.setUser(receiver);
-        userNotification.setDismissed(false);
-        userNotification.setViewed(false);
+        boolean hasNext = userNotifications.size() > pageSize;
+        List<NotificationDTO> items = userNotifications.stream()
+                .limit(pageSize)
+                .map(userNotificationMapper::toDto)
+                .toList();
+        Long nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
 
-        return userNotificationRepository.save(userNotification);
+    /**
+     * Reads the notification counters of a user. The counters are kept up to date as notifications are created,
+     * viewed and dismissed, so no notification is counted on read.
+     *
+     * @param username The user whose counters are read.
+     * @return The unread and undismissed notification counts.
+     */
+    @Transactional(readOnly = true)
+    public NotificationCountDTO getNotificationCount(String username) {
+        return userRepository.findNotificationCountByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ExceptionMessage.NOT_FOUND));
+    }
+
+    /**
+     * Records one notification of an event for every receiver. The event is stored once and the rows of the receivers
+     * are inserted together, in JDBC batches of {@code hibernate.jdbc.batch_size}. The counters of all receivers are
+     * incremented by a single statement.
+     *
+     * @param eventId   The ID of the outbox event the notification is created for.
+     * @param receivers The users who will receive the notification.
+     * @param type      The type of the notification.
+     * @param params    Parameters of the notification, shared by all receivers.
+     * @return The notifications of the receivers, in the order of the receivers.
+     */
+    @Transactional
+    public List<UserNotification> createUserNotifications(String eventId, Collection<User> receivers,
+                                                          NotificationType type, Map<String, String> params) {
+        Notification notification = createNotification(eventId, type);
+        List<UserNotification> userNotifications = receivers.stream()
+                .map(receiver -> {
+                    UserNotification userNotification = new UserNotification();
+                    userNotification.setNotification(notification);
+                    userNotification.setParams(params);
+                    userNotification.setUser(receiver);
+                    userNotification.setDismissed(false);
+                    userNotification.setViewed(false);
+                    return userNotification;
+                })
+                .toList();
+        if (!userNotifications.isEmpty()) {
+            userRepository.addToNotificationCounters(receivers.stream().map(User::getId).toList(), 1, 1);
+        }
+        return userNotificationRepository.saveAll(userNotifications);
     }
 
     @Transactional
     public NotificationDTO updateNotification(NotificationDTO notificationDTO, Long id) {
-        UserNotification userNotificationToUpdate = userNotificationRepository.findById(id)
+        UserNotification userNotificationToUpdate = userNotificationRepository.findLockedById(id)
                 .orElseThrow(() -> new NotFoundException(ExceptionMessage.NOT_FOUND));
+        boolean wasViewed = userNotificationToUpdate.isViewed();
+        boolean wasDismissed = userNotificationToUpdate.isDismissed();
 
         userNotificationMapper.update(userNotificationToUpdate, notificationDTO);
 
         userNotificationRepository.save(userNotificationToUpdate);
+        updateCounters(userNotificationToUpdate, wasViewed, wasDismissed);
         return notificationDTO;
     }
 
     @Transactional
     public NotificationDTO dismissNotification(long id) {
-        UserNotification userNotification = userNotificationRepository.findById(id)
+        UserNotification userNotification = userNotificationRepository.findLockedById(id)
                 .orElseThrow(() -> new NotFoundException(ExceptionMessage.NOT_FOUND));
+        boolean wasViewed = userNotification.isViewed();
+        boolean wasDismissed = userNotification.isDismissed();
         userNotification.setDismissed(true);
         userNotificationRepository.save(userNotification);
+        updateCounters(userNotification, wasViewed, wasDismissed);
         return userNotificationMapper.toDto(userNotification);
     }
 
-    private Notification createNotification(NotificationType type) {
+    /**
+     * Dismisses several notifications of a user at once, without loading them.
+     *
+     * @param username The user whose notifications are dismissed.
+     * @param ids      IDs of the notifications to dismiss, or null for all notifications of the user.
+     * @param beforeId Only dismiss notifications with a lower ID, or null for no bound.
+     * @return The number of dismissed notifications.
+     */
+    @Transactional
+    public int dismissNotifications(String username, List<Long> ids, Long beforeId) {
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ExceptionMessage.NOT_FOUND));
+        int unread = ids == null
+                ? userNotificationRepository.dismissAll(userId, false, beforeId)
+                : userNotificationRepository.dismissAllByIdIn(userId, ids, false, beforeId);
+        int viewed = ids == null
+                ? userNotificationRepository.dismissAll(userId, true, beforeId)
+                : userNotificationRepository.dismissAllByIdIn(userId, ids, true, beforeId);
+        int dismissed = unread + viewed;
+        if (dismissed > 0) {
+            userRepository.addToNotificationCounters(List.of(userId), -unread, -dismissed);
+        }
+        return dismissed;
+    }
+
+    /**
+     * Marks several undismissed notifications of a user as viewed at once, without loading them.
+     *
+     * @param username The user whose notifications are marked as viewed.
+     * @param ids      IDs of the notifications to mark, or null for all notifications of the user.
+     * @param beforeId Only mark notifications with a lower ID, or null for no bound.
+     * @return The number of notifications marked as viewed.
+     */
+    @Transactional
+    public int markNotificationsViewed(String username, List<Long> ids, Long beforeId) {
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new NotFoundException(ExceptionMessage.NOT_FOUND));
+        int viewed = ids == null
+                ? userNotificationRepository.markAllViewed(userId, beforeId)
+                : userNotificationRepository.markAllViewedByIdIn(userId, ids, beforeId);
+        if (viewed > 0) {
+            userRepository.addToNotificationCounters(List.of(userId), -viewed, 0);
+        }
+        return viewed;
+    }
+
+    /**
+     * Applies the change of a notification's state to the counters of its user.
+     */
+    private void updateCounters(UserNotification userNotification, boolean wasViewed, boolean wasDismissed) {
+        int unread = unread(userNotification.isViewed(), userNotification.isDismissed())
+                - unread(wasViewed, wasDismissed);
+        int undismissed = undismissed(userNotification.isDismissed()) - undismissed(wasDismissed);
+        if (unread != 0 || undismissed != 0) {
+            userRepository.addToNotificationCounters(List.of(userNotification.getUser().getId()), unread,
+                    undismissed);
+        }
+    }
+
+    private static int unread(boolean viewed, boolean dismissed) {
+        return viewed || dismissed ? 0 : 1;
+    }
+
+    private static int undismissed(boolean dismissed) {
+        return dismissed ? 0 : 1;
+    }
+
+    private Notification createNotification(String eventId, NotificationType type) {
         Notification notification = new Notification();
+        notification.setEventId(eventId);
         notification.setType(type);
         notification.setSentAt(LocalDateTime.now());
         return notificationRepository.save(notification);
@@ -0,0 +1,98 @@
+package com.sample.crm.service.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Relays notifications to every node through Redis pub/sub, so that users receive them whichever node their session
+ * is connected to.
+ * <p>
+ * The notifications of an event are published as a single JSON message on {@code crm.notifications.broker.channel}.
+ * Every node, the publishing one included, receives it and sends to its simple broker only the notifications of
+ * users with a session connected to it; the others are left to the nodes holding their sessions. Published messages
+ * and notifications sent to local sessions are counted as {@code crm.notifications.broker.published} and
+ * {@code crm.notifications.broker.delivered}.
+ */
+@Component
+@ConditionalOnProperty(name = "crm.notifications.broker.type", havingValue = "redis")
+@Slf4j
+public class RedisNotificationBroker implements NotificationBroker, MessageListener {
+
+    @Value("${crm.notifications.broker.channel}")
+    private String channel;
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+    private final ObjectMapper objectMapper;
+    private final Counter published;
+    private final Counter delivered;
+
+    public RedisNotificationBroker(StringRedisTemplate redisTemplate, SimpMessagingTemplate simpMessagingTemplate,
+                                   SimpUserRegistry simpUserRegistry, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.simpUserRegistry = simpUserRegistry;
+        this.objectMapper = objectMapper;
+        this.published = Counter.builder("crm.notifications.broker.published")
+                .description("Notification events published to the other nodes")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("crm.notifications.broker.delivered")
+                .description("Notifications sent to sessions connected to this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void send(String destination, List<Delivery> deliveries) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(new Envelope(destination,
+                    deliveries)));
+            published.increment();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notifications", e);
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+        } catch (IOException e) {
+            log.error("Dropping malformed notification message: {}",
+                    new String(message.getBody(), StandardCharsets.UTF_8), e);
+            return;
+        }
+        for (Delivery delivery : envelope.deliveries()) {
+            if (simpUserRegistry.getUser(delivery.username()) != null) {
+                simpMessagingTemplate.convertAndSendToUser(delivery.username(), envelope.destination(),
+                        delivery.notification());
+                delivered.increment();
+                log.debug("Notification sent to user: {}", delivery.username());
+            }
+        }
+    }
+
+    /**
+     * The notifications of an event, as published on the channel.
+     */
+    record Envelope(String destination, List<Delivery> deliveries) {
+    }
+}
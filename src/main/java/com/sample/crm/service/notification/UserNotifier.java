@@ -1,60 +1,104 @@
 package com.sample.crm.service.notification;
 
 import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.entity.NotificationOutbox;
 import com.sample.crm.entity.Task;
 import com.sample.crm.entity.User;
 import com.sample.crm.model.NotificationType;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.NotificationOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
- * Component responsible for notifying users
+ * Component responsible for notifying users. Each event is written to the notification outbox in the current
+ * transaction, so it is delivered to all of its users as one notification if and only if the change it reports is
+ * committed. {@link NotificationOutboxDispatcher} delivers it shortly after, coalescing the events of a single task.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserNotifier {
 
-    private final NotificationProcessor notificationProcessor;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final Clock clock;
 
     /**
-     * Sends a notification to a user when the status of a task changes.
+     * Sends a notification to users when the status of a task changes.
      *
-     * @param user    The user to notify.
+     * @param users   The users to notify.
      * @param taskDTO The task with the updated status.
      */
-    public void notifyOfTaskStatusChange(User user, TaskDTO taskDTO) {
-        log.debug("Notifying user: {} about task status change. Task ID: {}, New Status: {}",
-                user.getUsername(), taskDTO.getId(), taskDTO.getStatus());
+    public void notifyOfTaskStatusChange(Collection<User> users, TaskDTO taskDTO) {
+        log.debug("Notifying {} users about task status change. Task ID: {}, New Status: {}",
+                users.size(), taskDTO.getId(), taskDTO.getStatus());
 
         Map<String, String> params = new HashMap<>();
         params.put("task_description", taskDTO.getDescription());
         params.put("task_status", taskDTO.getStatus().name());
 
-        notificationProcessor.buildAndSend(user, NotificationType.TASK_STATUS_CHANGED, params);
+        enqueue(users, NotificationType.TASK_STATUS_CHANGED, taskDTO.getId(), params);
 
-        log.debug("Notification sent to user: {} for task status change. Task ID: {}", user.getUsername(), taskDTO.getId());
+        log.debug("Notification queued for {} users for task status change. Task ID: {}",
+                users.size(), taskDTO.getId());
     }
 
     /**
-     * Sends a notification to a user when a task is approaching its due date.
+     * Sends a single notification to users when the status of several tasks changes at once.
      *
-     * @param user The user to notify.
-     * @param task The task nearing its due date.
+     * @param users    The users to notify.
+     * @param status   The new status of the tasks.
+     * @param taskDTOs The tasks with the updated status.
      */
-    public void notifyOfTaskDueDate(User user, Task task) {
-        log.debug("Notifying user: {} about task due date. Task ID: {}, Description: {}",
-                user.getUsername(), task.getId(), task.getDescription());
+    public void notifyOfTasksStatusChange(Collection<User> users, TaskStatus status, List<TaskDTO> taskDTOs) {
+        log.debug("Notifying {} users about status change of {} tasks. New Status: {}",
+                users.size(), taskDTOs.size(), status);
+
+        Map<String, String> params = new HashMap<>();
+        params.put("task_count", String.valueOf(taskDTOs.size()));
+        params.put("task_status", status.name());
+        params.put("task_descriptions", taskDTOs.stream()
+                .map(TaskDTO::getDescription)
+                .collect(Collectors.joining(", ")));
+
+        enqueue(users, NotificationType.TASKS_STATUS_CHANGED, null, params);
+
+        log.debug("Notification queued for {} users for status change of {} tasks", users.size(), taskDTOs.size());
+    }
+
+    /**
+     * Sends a notification to users when a task is approaching its due date.
+     *
+     * @param users The users to notify.
+     * @param task  The task nearing its due date.
+     */
+    public void notifyOfTaskDueDate(Collection<User> users, Task task) {
+        log.debug("Notifying {} users about task due date. Task ID: {}, Description: {}",
+                users.size(), task.getId(), task.getDescription());
 
         Map<String, String> params = new HashMap<>();
         params.put("task_description", task.getDescription());
 
-        notificationProcessor.buildAndSend(user, NotificationType.TASK_DUE_DATE, params);
+        enqueue(users, NotificationType.TASK_DUE_DATE, task.getId(), params);
+
+        log.debug("Notification queued for {} users for task due date. Task ID: {}", users.size(), task.getId());
+    }
 
-        log.debug("Notification sent to user: {} for task due date. Task ID: {}", user.getUsername(), task.getId());
+    private void enqueue(Collection<User> users, NotificationType type, Long taskId, Map<String, String> params) {
+        if (users.isEmpty()) {
+            return;
+        }
+        notificationOutboxRepository.save(new NotificationOutbox(null, UUID.randomUUID().toString(), type, taskId, params,
+                users.stream().map(User::getId).toList(), LocalDateTime.now(clock)));
     }
 }
@@ -0,0 +1,74 @@
+package com.sample.crm.service.reminder;
+
+import com.sample.crm.entity.ReminderCheckpoint;
+import com.sample.crm.entity.Task;
+import com.sample.crm.model.DueDateReminder;
+import com.sample.crm.repository.ReminderCheckpointRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.service.notification.UserNotifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends a batch of due-date reminders and records it in the checkpoint within one transaction,
+ * so a batch is either recorded as sent or sent again.
+ * <p>
+ * Every node keeps its own queue of reminders, so the same reminder is dispatched by each of them. A reminder is
+ * claimed by locking its task and recording the due date it was sent for on the task: a node dispatching a reminder
+ * another node is sending waits for it to commit and then skips the reminder.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DueDateReminderDispatcher {
+
+    private final TaskRepository taskRepository;
+    private final ReminderCheckpointRepository reminderCheckpointRepository;
+    private final UserNotifier userNotifier;
+
+    /**
+     * Notifies the users of each task that is still open and due on the reminded date, then moves the
+     * checkpoint to the last reminder of the batch. Reminders of deleted, closed or rescheduled tasks, and reminders
+     * already sent by another node, are skipped.
+     *
+     * @param checkpoint The name of the checkpoint to move.
+     * @param reminders  The reminders to send, in sending order.
+     * @return The number of reminders sent.
+     */
+    @Transactional
+    public int dispatch(String checkpoint, List<DueDateReminder> reminders) {
+        List<Long> claimed = taskRepository.lockUnremindedIds(
+                reminders.stream().map(DueDateReminder::taskId).toList());
+        Map<Long, Task> tasks = claimed.isEmpty() ? Map.of() : taskRepository.findWithContactUsersByIdIn(claimed)
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Long> sent = new ArrayList<>();
+        for (DueDateReminder reminder : reminders) {
+            Task task = tasks.get(reminder.taskId());
+            if (task == null || task.getContact() == null || !reminder.dueDate().equals(task.getDueDate())
+                    || !DueDateReminderService.REMINDED_STATUSES.contains(task.getStatus())) {
+                log.debug("Skipping outdated due date reminder for task ID: {}", reminder.taskId());
+                continue;
+            }
+            log.debug("Notifying users for task ID: {} due on {}", task.getId(), task.getDueDate());
+            userNotifier.notifyOfTaskDueDate(task.getContact().getClient().getUsers(), task);
+            sent.add(task.getId());
+        }
+        if (!sent.isEmpty()) {
+            taskRepository.markReminded(sent);
+        }
+
+        DueDateReminder last = reminders.get(reminders.size() - 1);
+        reminderCheckpointRepository.save(new ReminderCheckpoint(checkpoint, last.dueDate(), last.taskId()));
+        return sent.size();
+    }
+}
@@ -0,0 +1,218 @@
+package com.sample.crm.service.reminder;
+
+import com.sample.crm.entity.ReminderCheckpoint;
+import com.sample.crm.entity.Task;
+import com.sample.crm.model.DueDateReminder;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.ReminderCheckpointRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reminds the users of a client that a task is due, {@code crm.reminders.lead-time} before the start of its due date.
+ * <p>
+ * Reminders of the next {@code crm.reminders.horizon} are kept in memory in sending order and kept up to date as
+ * tasks are created, updated and deleted, so sending them does not scan the task table. Every open task due on or
+ * after the checkpoint, the due date of the last reminder sent, is pending until its task records that it was
+ * reminded of its current due date; the task ID does not order reminders across nodes, since tasks are not created
+ * in ID order and each node only hears of the tasks written on it. After a restart the pending reminders are loaded
+ * again, and those that fell due while the application was down are sent right away. The loaded reminders are read
+ * again every {@code crm.reminders.resync-interval} to pick up tasks written on other nodes. A task whose due date
+ * is moved before the checkpoint is not reminded again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DueDateReminderService {
+
+    static final String CHECKPOINT = "task-due-date";
+    static final Set<TaskStatus> REMINDED_STATUSES = EnumSet.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+    private static final int BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final ReminderCheckpointRepository reminderCheckpointRepository;
+    private final DueDateReminderDispatcher dueDateReminderDispatcher;
+    private final Clock clock;
+
+    @Value("${crm.reminders.lead-time}")
+    private Duration leadTime;
+
+    @Value("${crm.reminders.horizon}")
+    private Duration horizon;
+
+    private final ReminderQueue queue = new ReminderQueue();
+    private final Object lock = new Object();
+
+    /**
+     * The due date of the last reminder handed to the dispatcher; reminders of tasks due on or after it are pending.
+     * Null until loaded.
+     */
+    private LocalDate dispatchedThrough;
+
+    /**
+     * The last due date read from the database; reminders of tasks due later are loaded as the horizon moves.
+     */
+    private LocalDate loadedThrough;
+
+    /**
+     * Loads the pending reminders from the persisted checkpoint on. Without a checkpoint, tasks due today or later
+     * are reminded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDate checkpoint = reminderCheckpointRepository.findById(CHECKPOINT)
+                .map(ReminderCheckpoint::getDueDate)
+                .orElseGet(() -> LocalDate.now(clock));
+        synchronized (lock) {
+            dispatchedThrough = checkpoint;
+            loadedThrough = checkpoint.minusDays(1);
+            extendHorizon();
+        }
+        log.info("Loaded {} due date reminders from checkpoint {}", queue.size(), checkpoint);
+    }
+
+    /**
+     * Reads the pending reminders of the loaded due dates again, adding those of tasks written on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${crm.reminders.resync-interval}",
+            initialDelayString = "${crm.reminders.resync-interval}")
+    public void resync() {
+        synchronized (lock) {
+            if (dispatchedThrough == null || loadedThrough.isBefore(dispatchedThrough)) {
+                return;
+            }
+            List<DueDateReminder> reminders = taskRepository.findReminders(REMINDED_STATUSES, dispatchedThrough,
+                    loadedThrough);
+            reminders.forEach(queue::put);
+            log.debug("Read {} pending due date reminders again", reminders.size());
+        }
+    }
+
+    /**
+     * Sends the reminders that fell due, in batches of {@value #BATCH_SIZE}. A batch that fails is kept and
+     * retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${crm.reminders.tick}")
+    public void dispatchDueReminders() {
+        LocalDate lastDueDate = lastDueDateFiringBy(LocalDateTime.now(clock));
+        while (true) {
+            List<DueDateReminder> batch;
+            LocalDate previous;
+            synchronized (lock) {
+                if (dispatchedThrough == null) {
+                    return;
+                }
+                extendHorizon();
+                batch = queue.pollThrough(lastDueDate, BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                previous = dispatchedThrough;
+                dispatchedThrough = batch.get(batch.size() - 1).dueDate();
+            }
+
+            try {
+                int sent = dueDateReminderDispatcher.dispatch(CHECKPOINT, batch);
+                log.debug("Sent {} of {} due date reminders", sent, batch.size());
+            } catch (RuntimeException e) {
+                log.error("Could not send {} due date reminders, retrying on the next run", batch.size(), e);
+                synchronized (lock) {
+                    dispatchedThrough = previous;
+                    queue.requeue(batch);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Updates the pending reminders of created or updated tasks once the current transaction commits. A task that
+     * was reminded of its current due date is not pending.
+     *
+     * @param tasks The tasks as they are being saved.
+     */
+    public void reschedule(Collection<Task> tasks) {
+        List<Change> changes = tasks.stream()
+                .map(task -> new Change(task.getId(), isPending(task) ? task.getDueDate() : null))
+                .toList();
+        TransactionUtil.afterCommit(() -> changes.forEach(this::apply));
+    }
+
+    /**
+     * Drops the pending reminder of a deleted task once the current transaction commits.
+     *
+     * @param taskId The ID of the deleted task.
+     */
+    public void cancel(Long taskId) {
+        TransactionUtil.afterCommit(() -> apply(new Change(taskId, null)));
+    }
+
+    private static boolean isPending(Task task) {
+        return REMINDED_STATUSES.contains(task.getStatus())
+                && !Objects.equals(task.getDueDate(), task.getRemindedDueDate());
+    }
+
+    int pendingReminders() {
+        return queue.size();
+    }
+
+    private void apply(Change change) {
+        synchronized (lock) {
+            if (dispatchedThrough == null) {
+                return;
+            }
+            if (change.dueDate() == null || change.dueDate().isBefore(dispatchedThrough)
+                    || change.dueDate().isAfter(loadedThrough)) {
+                queue.remove(change.taskId());
+            } else {
+                queue.put(new DueDateReminder(change.dueDate(), change.taskId()));
+            }
+        }
+    }
+
+    /**
+     * Loads the reminders of tasks that entered the horizon since the last call. Must hold the lock, so that
+     * changes committed while loading are applied after the loaded state.
+     */
+    private void extendHorizon() {
+        LocalDate through = lastDueDateFiringBy(LocalDateTime.now(clock).plus(horizon));
+        if (!through.isAfter(loadedThrough)) {
+            return;
+        }
+        List<DueDateReminder> reminders = taskRepository.findReminders(REMINDED_STATUSES,
+                loadedThrough.plusDays(1), through);
+        reminders.forEach(queue::put);
+        loadedThrough = through;
+        log.debug("Loaded {} due date reminders through {}", reminders.size(), through);
+    }
+
+    /**
+     * Returns the latest due date whose reminder is sent by the given time.
+     */
+    private LocalDate lastDueDateFiringBy(LocalDateTime time) {
+        return time.plus(leadTime).toLocalDate();
+    }
+
+    /**
+     * The reminder-relevant state of a task: its due date, or null when it should not be reminded.
+     */
+    private record Change(Long taskId, LocalDate dueDate) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.sample.crm.service.reminder;
+
+import com.sample.crm.model.DueDateReminder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Pending reminders in sending order, with at most one reminder per task.
+ * Adding, replacing and removing a reminder and polling the earliest ones are O(log n). Thread-safe.
+ */
+class ReminderQueue {
+
+    private final NavigableSet<DueDateReminder> reminders = new TreeSet<>();
+    private final Map<Long, DueDateReminder> byTask = new HashMap<>();
+
+    /**
+     * Adds a reminder, replacing the pending reminder of the same task.
+     */
+    synchronized void put(DueDateReminder reminder) {
+        DueDateReminder previous = byTask.put(reminder.taskId(), reminder);
+        if (previous != null) {
+            reminders.remove(previous);
+        }
+        reminders.add(reminder);
+    }
+
+    /**
+     * Adds reminders back after a failed attempt to send them, unless their task was rescheduled meanwhile.
+     */
+    synchronized void requeue(Collection<DueDateReminder> failed) {
+        failed.forEach(reminder -> {
+            if (byTask.putIfAbsent(reminder.taskId(), reminder) == null) {
+                reminders.add(reminder);
+            }
+        });
+    }
+
+    synchronized void remove(Long taskId) {
+        DueDateReminder previous = byTask.remove(taskId);
+        if (previous != null) {
+            reminders.remove(previous);
+        }
+    }
+
+    /**
+     * Removes and returns the earliest reminders of tasks due on or before the given date.
+     *
+     * @param lastDueDate The latest due date to poll.
+     * @param limit       The maximum number of reminders to poll.
+     * @return The polled reminders in sending order.
+     */
+    synchronized List<DueDateReminder> pollThrough(LocalDate lastDueDate, int limit) {
+        List<DueDateReminder> polled = new ArrayList<>();
+        while (polled.size() < limit && !reminders.isEmpty() && !reminders.first().dueDate().isAfter(lastDueDate)) {
+            DueDateReminder reminder = reminders.pollFirst();
+            byTask.remove(reminder.taskId());
+            polled.add(reminder);
+        }
+        return polled;
+    }
+
+    synchronized int size() {
+        return reminders.size();
+    }
+}
@@ -0,0 +1,203 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.dto.SuggestionDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.service.search.PrefixIndex.Key;
+import com.sample.crm.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead over the company names of clients and the names and emails of contacts, served from memory.
+ * <p>
+ * Every client is found by its company name, and every contact by its full name, its last name and its email, all
+ * lower-cased. The keys are kept in a {@link PrefixIndex} built from the database once the application is ready and
+ * kept up to date by the client and contact write paths once their transactions commit. Until it is built, no
+ * suggestions are returned.
+ * <p>
+ * Every node holds its own index. The changes committed on a node are relayed through the {@link SearchIndexBroker}
+ * and the other nodes reload the changed clients and contacts; with the local broker they are not, and the other
+ * nodes keep suggesting the entities as they were when built until restarted.
+ */
+@Component
+@Slf4j
+public class AutocompleteIndex {
+
+    static final int MAX_SUGGESTIONS = 50;
+    static final String NAME = "autocomplete";
+
+    private final ClientRepository clientRepository;
+    private final ContactRepository contactRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchIndexBroker searchIndexBroker;
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    /**
+     * Entities changed while the index is being built, whose loaded keys may be stale.
+     */
+    private final Set<Map.Entry<SuggestionType, Long>> changedWhileBuilding = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    public AutocompleteIndex(ClientRepository clientRepository, ContactRepository contactRepository,
+                             TransactionTemplate transactionTemplate, SearchIndexBroker searchIndexBroker) {
+        this.clientRepository = clientRepository;
+        this.contactRepository = contactRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.searchIndexBroker = searchIndexBroker;
+        searchIndexBroker.subscribe(NAME, this::refresh);
+    }
+
+    /**
+     * Loads the keys of every client and contact. Changes committed meanwhile take precedence over the loaded rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        List<Key> keys = new ArrayList<>();
+        transactionTemplate.execute(status -> {
+            try (Stream<Client> clients = clientRepository.streamAll()) {
+                clients.forEach(client -> keys.addAll(keys(client)));
+            }
+            try (Stream<Contact> contacts = contactRepository.streamAll()) {
+                contacts.forEach(contact -> keys.addAll(keys(contact)));
+            }
+            return null;
+        });
+        index.load(keys, key -> !changedWhileBuilding.contains(Map.entry(key.type(), key.id())));
+        ready = true;
+        changedWhileBuilding.clear();
+        log.info("Indexed {} autocomplete keys in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Returns the clients and contacts with a key starting with the prefix, ignoring case, in alphabetical order of
+     * the matching key.
+     *
+     * @param prefix The typed prefix.
+     * @param type   The type of suggestions, or null for clients and contacts.
+     * @param limit  Requested number of suggestions, clamped to [1, {@value #MAX_SUGGESTIONS}].
+     * @return The suggestions, empty for a blank prefix.
+     */
+    public List<SuggestionDTO> suggest(String prefix, SuggestionType type, int limit) {
+        String normalized = prefix == null ? "" : ClientSearchIndex.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return index.find(normalized, type, Math.clamp(limit, 1, MAX_SUGGESTIONS)).stream()
+                .map(key -> new SuggestionDTO(key.type(), key.id(), key.label()))
+                .toList();
+    }
+
+    /**
+     * Adds or replaces the keys of saved clients once the current transaction commits.
+     *
+     * @param clients The saved clients.
+     */
+    public void indexClients(Collection<Client> clients) {
+        Map<Long, List<Key>> keys = clients.stream().collect(Collectors.toMap(Client::getId, this::keys));
+        TransactionUtil.afterCommit(() -> {
+            keys.forEach((id, clientKeys) -> put(SuggestionType.CLIENT, id, clientKeys));
+            searchIndexBroker.publish(NAME, SuggestionType.CLIENT, keys.keySet());
+        });
+    }
+
+    /**
+     * Adds or replaces the keys of saved contacts once the current transaction commits.
+     *
+     * @param contacts The saved contacts.
+     */
+    public void indexContacts(Collection<Contact> contacts) {
+        Map<Long, List<Key>> keys = contacts.stream().collect(Collectors.toMap(Contact::getId, this::keys));
+        TransactionUtil.afterCommit(() -> {
+            keys.forEach((id, contactKeys) -> put(SuggestionType.CONTACT, id, contactKeys));
+            searchIndexBroker.publish(NAME, SuggestionType.CONTACT, keys.keySet());
+        });
+    }
+
+    /**
+     * Removes the keys of a deleted client or contact once the current transaction commits.
+     *
+     * @param type The type of the deleted entity.
+     * @param id   Its ID.
+     */
+    public void remove(SuggestionType type, Long id) {
+        TransactionUtil.afterCommit(() -> {
+            put(type, id, List.of());
+            searchIndexBroker.publish(NAME, type, List.of(id));
+        });
+    }
+
+    /**
+     * Reloads the keys of clients or contacts changed on another node; those no longer stored lose their keys.
+     *
+     * @param type The type of the changed entities.
+     * @param ids  Their IDs.
+     */
+    void refresh(SuggestionType type, Collection<Long> ids) {
+        Map<Long, List<Key>> keys = transactionTemplate.execute(status -> {
+            Map<Long, List<Key>> loaded = new HashMap<>();
+            ids.forEach(id -> loaded.put(id, List.of()));
+            if (type == SuggestionType.CLIENT) {
+                clientRepository.findAllById(ids).forEach(client -> loaded.put(client.getId(), keys(client)));
+            } else {
+                contactRepository.findAllById(ids).forEach(contact -> loaded.put(contact.getId(), keys(contact)));
+            }
+            return loaded;
+        });
+        keys.forEach((id, entityKeys) -> put(type, id, entityKeys));
+    }
+
+    private void put(SuggestionType type, Long id, List<Key> keys) {
+        if (!ready) {
+            changedWhileBuilding.add(Map.entry(type, id));
+        }
+        index.put(type, id, keys);
+    }
+
+    private List<Key> keys(Client client) {
+        List<Key> keys = new ArrayList<>(1);
+        addKey(keys, SuggestionType.CLIENT, client.getId(), client.getCompanyName(), client.getCompanyName());
+        return keys;
+    }
+
+    private List<Key> keys(Contact contact) {
+        String fullName = Stream.of(contact.getFirstName(), contact.getLastName())
+                .filter(name -> name != null && !name.isBlank())
+                .map(String::strip)
+                .collect(Collectors.joining(" "));
+        List<Key> keys = new ArrayList<>(3);
+        addKey(keys, SuggestionType.CONTACT, contact.getId(), fullName, fullName);
+        addKey(keys, SuggestionType.CONTACT, contact.getId(), contact.getLastName(), fullName);
+        addKey(keys, SuggestionType.CONTACT, contact.getId(), contact.getEmail(), contact.getEmail());
+        return keys;
+    }
+
+    private static void addKey(List<Key> keys, SuggestionType type, Long id, String text, String label) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        Key key = new Key(ClientSearchIndex.normalize(text), type, id, label);
+        if (keys.stream().noneMatch(existing -> existing.text().equals(key.text()))) {
+            keys.add(key);
+        }
+    }
+}
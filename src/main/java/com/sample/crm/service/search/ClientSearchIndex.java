@@ -0,0 +1,245 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.entity.Client;
+import com.sample.crm.model.ClientMatch;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ClientSearchGramRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram index over the company name, industry and address of clients, kept in the {@code client_search_gram} table.
+ * <p>
+ * Every column is lower-cased, padded with two trailing spaces and split into overlapping trigrams, so every client
+ * containing a term of three or more characters has each trigram of the term, and every client containing a shorter
+ * term has a trigram starting with it. A search probes the trigrams of the term, counting the clients of each up to
+ * {@value #MAX_CANDIDATES}, and checks the clients of the rarest one against the term. When even the rarest trigram is
+ * that common, the term matches a large share of the clients and the client table is scanned instead, stopping once
+ * the page is filled. Trigrams are looked up by range, so plain B-tree lookups serve the index the same way on H2 and
+ * PostgreSQL.
+ * <p>
+ * Clients stored before the index existed are indexed on the {@code searchIndexExecutor} after startup, so a large
+ * backfill does not hold up the application; until it completes, searches may miss those clients.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClientSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+    static final int MAX_CANDIDATES = 2_000;
+    static final int MAX_PROBES = 8;
+    static final int RANK_TIERS = 3;
+    private static final int CHUNK_SIZE = 1_000;
+
+    private final ClientRepository clientRepository;
+    private final ClientSearchGramRepository clientSearchGramRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor searchIndexExecutor;
+
+    /**
+     * Replaces the trigrams of the given clients. Must run in the transaction saving the clients.
+     *
+     * @param clients Saved clients.
+     */
+    public void index(Collection<Client> clients) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        List<Long> clientIds = clients.stream().map(Client::getId).toList();
+        entityManager.flush();
+        clientSearchGramRepository.deleteByClientIdIn(clientIds);
+        clientSearchGramRepository.insertGrams(clientIds);
+    }
+
+    /**
+     * Removes the trigrams of a client about to be deleted.
+     *
+     * @param clientId The client ID.
+     */
+    public void remove(Long clientId) {
+        clientSearchGramRepository.deleteByClientIdIn(List.of(clientId));
+    }
+
+    /**
+     * Finds the clients whose company name, industry or address contains the term, ignoring case. Matches in the
+     * company name rank first, then matches in the industry, then in the address, each tier ordered by ID.
+     *
+     * @param term   The non-blank search term.
+     * @param limit  Maximum number of clients.
+     * @param offset Number of best matches to skip.
+     * @return The matching clients.
+     */
+    public List<Client> search(String term, int limit, long offset) {
+        String normalized = normalize(term);
+        String pattern = "%" + escapeLike(normalized) + "%";
+        String gram = rarestGram(normalized);
+        if (gram == null) {
+            log.debug("Search term '{}' is not selective, scanning clients", normalized);
+            return scan(pattern, limit, offset);
+        }
+        return clientRepository.searchByGram(gram, gramsAfter(gram), pattern, limit, offset);
+    }
+
+    /**
+     * Reads the rank tier of the first {@value #MAX_CANDIDATES} matches in one scan. When the term matches fewer
+     * clients, they are all known and ranked in memory; otherwise the page is filled from the rank tiers in order,
+     * each scan stopping once the page is filled. A tier is counted only when the page starts past its end.
+     */
+    private List<Client> scan(String pattern, int limit, long offset) {
+        List<ClientMatch> matches = clientRepository.findMatches(pattern, Limit.of(MAX_CANDIDATES));
+        if (matches.size() < MAX_CANDIDATES) {
+            return clientRepository.findAllInOrder(matches.stream()
+                    .sorted(Comparator.comparing(ClientMatch::tier).thenComparing(ClientMatch::id))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(ClientMatch::id)
+                    .toList());
+        }
+        List<Client> page = new ArrayList<>();
+        long skip = offset;
+        for (int tier = 0; tier < RANK_TIERS && page.size() < limit; tier++) {
+            List<Client> found = clientRepository.searchByScan(pattern, tier, limit - page.size(), skip);
+            page.addAll(found);
+            if (!found.isEmpty()) {
+                skip = 0;
+            } else if (skip > 0) {
+                skip = Math.max(0, skip - clientRepository.countByScan(pattern, tier));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Starts indexing the clients without trigrams in the background, unless every client is indexed already.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleIndexMissing() {
+        if (clientRepository.findUnindexedIds(0L, Limit.of(1)).isEmpty()) {
+            log.debug("Every client is indexed for search");
+            return;
+        }
+        searchIndexExecutor.execute(this::indexMissing);
+    }
+
+    /**
+     * Indexes the clients without trigrams, e.g. clients stored before the index existed, in chunks of
+     * {@value #CHUNK_SIZE} committed one by one. A chunk that fails is logged and skipped, so one bad chunk does not
+     * stop the backfill; its clients are indexed again on the next run. Runs are serialized so two runs never index
+     * the same client.
+     *
+     * @return The number of clients examined.
+     */
+    public synchronized long indexMissing() {
+        long examined = 0;
+        long failed = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> chunk = clientRepository.findUnindexedIds(afterId, Limit.of(CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> clientSearchGramRepository.insertGrams(chunk));
+            } catch (DataAccessException e) {
+                log.warn("Could not index clients {} to {} for search, skipping them", chunk.get(0),
+                        chunk.get(chunk.size() - 1), e);
+                failed += chunk.size();
+            }
+            examined += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        log.info("Indexed {} clients for search, {} failed", examined - failed, failed);
+        return examined;
+    }
+
+    /**
+     * Returns the trigram of the term shared by the fewest clients, or the term itself when it is shorter than a
+     * trigram, matching every trigram it starts. Returns null when every probed trigram is shared by
+     * {@value #MAX_CANDIDATES} clients or more.
+     */
+    private String rarestGram(String term) {
+        Set<String> grams = termGrams(term);
+        List<String> probed = grams.isEmpty() ? List.of(term) : probedGrams(grams);
+        String rarest = null;
+        int fewest = MAX_CANDIDATES;
+        for (String gram : probed) {
+            int clients = clientSearchGramRepository.countClientsUpTo(gram, gramsAfter(gram), fewest);
+            if (clients < fewest) {
+                rarest = gram;
+                fewest = clients;
+            }
+            if (fewest == 0) {
+                break;
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Returns the first string after every trigram starting with the given one, the exclusive end of its range.
+     * Trigrams are compared by code point, so a range lookup is served by the index where a LIKE prefix with a bound
+     * pattern may not be.
+     */
+    static String gramsAfter(String gram) {
+        int last = gram.codePointBefore(gram.length());
+        return gram.substring(0, gram.length() - Character.charCount(last)) + Character.toString(last + 1);
+    }
+
+    /**
+     * Returns up to {@value #MAX_PROBES} trigrams spread evenly over the term.
+     */
+    static List<String> probedGrams(Set<String> grams) {
+        List<String> all = new ArrayList<>(grams);
+        if (all.size() <= MAX_PROBES) {
+            return all;
+        }
+        List<String> probed = new ArrayList<>(MAX_PROBES);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            probed.add(all.get(i * (all.size() - 1) / (MAX_PROBES - 1)));
+        }
+        return probed;
+    }
+
+    /**
+     * Returns the distinct trigrams of a text, empty when it is shorter than a trigram.
+     */
+    static Set<String> termGrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Lower-cases and trims a search term, like the indexed columns are lower-cased.
+     */
+    static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escapes the wildcards of a LIKE pattern with the {@code '!'} escape character of the search queries.
+     */
+    static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,287 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.entity.Contact;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over the email, first name, last name and phone number of contacts.
+ * <p>
+ * Every contact is kept with its lower-cased fields and client ID, and every trigram of a field maps to the contacts
+ * having it. A term of three or more characters is looked up by intersecting the contacts of its trigrams, starting
+ * with the rarest, and the remaining candidates are checked against the term; a shorter term or a search scoped to a
+ * client checks the contacts of the client directly when there are fewer of them. The index is built from the
+ * database once the application is ready and kept up to date by the contact write paths once their transactions
+ * commit. Until it is built, {@link #search} returns an empty result and the caller falls back to SQL. Thread-safe.
+ * <p>
+ * Every node holds its own index. The changes committed on a node are relayed through the {@link SearchIndexBroker}
+ * and the other nodes reload the changed contacts; with the local broker they are not, and the other nodes keep
+ * serving the contacts as they were when built until restarted.
+ */
+@Component
+@Slf4j
+public class ContactSearchIndex {
+
+    static final String NAME = "contacts";
+
+    private final ContactRepository contactRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchIndexBroker searchIndexBroker;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> contacts = new HashMap<>();
+    private final Map<String, Set<Long>> contactsByGram = new HashMap<>();
+    private final Map<Long, Set<Long>> contactsByClient = new HashMap<>();
+
+    /**
+     * IDs of contacts changed while the index is being built, whose loaded state may be stale. Null once built.
+     */
+    private Set<Long> changedWhileBuilding = new HashSet<>();
+
+    private volatile boolean ready;
+
+    public ContactSearchIndex(ContactRepository contactRepository, TransactionTemplate transactionTemplate,
+                              SearchIndexBroker searchIndexBroker) {
+        this.contactRepository = contactRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.searchIndexBroker = searchIndexBroker;
+        searchIndexBroker.subscribe(NAME, (type, contactIds) -> refresh(contactIds));
+    }
+
+    /**
+     * Loads every contact from the database. Changes committed meanwhile take precedence over the loaded rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        transactionTemplate.execute(status -> {
+            try (Stream<Contact> stream = contactRepository.streamAll()) {
+                stream.forEach(contact -> {
+                    Entry entry = Entry.of(contact);
+                    write(() -> {
+                        if (!changedWhileBuilding.contains(entry.id())) {
+                            put(entry);
+                        }
+                    });
+                });
+            }
+            return null;
+        });
+        write(() -> changedWhileBuilding = null);
+        ready = true;
+        log.info("Indexed {} contacts for search in {} ms", read(contacts::size),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces saved contacts once the current transaction commits.
+     *
+     * @param saved The saved contacts.
+     */
+    public void index(Collection<Contact> saved) {
+        List<Entry> entries = saved.stream().map(Entry::of).toList();
+        TransactionUtil.afterCommit(() -> {
+            write(() -> entries.forEach(entry -> {
+                markChanged(entry.id());
+                put(entry);
+            }));
+            searchIndexBroker.publish(NAME, SuggestionType.CONTACT, entries.stream().map(Entry::id).toList());
+        });
+    }
+
+    /**
+     * Removes a deleted contact once the current transaction commits.
+     *
+     * @param contactId The ID of the deleted contact.
+     */
+    public void remove(Long contactId) {
+        TransactionUtil.afterCommit(() -> {
+            write(() -> {
+                markChanged(contactId);
+                delete(contactId);
+            });
+            searchIndexBroker.publish(NAME, SuggestionType.CONTACT, List.of(contactId));
+        });
+    }
+
+    /**
+     * Reloads contacts changed on another node; those no longer stored are removed.
+     *
+     * @param contactIds The IDs of the changed contacts.
+     */
+    void refresh(Collection<Long> contactIds) {
+        List<Entry> entries = transactionTemplate.execute(status ->
+                contactRepository.findAllById(contactIds).stream().map(Entry::of).toList());
+        write(() -> {
+            contactIds.forEach(contactId -> {
+                markChanged(contactId);
+                delete(contactId);
+            });
+            entries.forEach(this::put);
+        });
+    }
+
+    /**
+     * Finds the contacts whose email, first name, last name or phone number contains the term, ignoring case.
+     *
+     * @param clientId The ID of the client to search within, or null for all clients.
+     * @param term     The search term; null or empty matches every contact.
+     * @param limit    Maximum number of contacts.
+     * @param offset   Number of matching contacts to skip.
+     * @return One page of the IDs of the matching contacts in ascending order, or empty while the index is being
+     * built.
+     */
+    public Optional<List<Long>> search(Long clientId, String term, int limit, long offset) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String normalized = term == null ? "" : ClientSearchIndex.normalize(term);
+        return Optional.of(read(() -> candidates(clientId, normalized).stream()
+                .map(contacts::get)
+                .filter(entry -> clientId == null || clientId.equals(entry.clientId()))
+                .filter(entry -> entry.contains(normalized))
+                .map(Entry::id)
+                .sorted()
+                .skip(offset)
+                .limit(limit)
+                .toList()));
+    }
+
+    /**
+     * Returns the smallest known superset of the contacts matching the term: the contacts of the client or the
+     * intersection of the contacts of the term's trigrams, whichever is smaller. Must hold the read lock.
+     */
+    private Collection<Long> candidates(Long clientId, String term) {
+        Collection<Long> smallest = clientId != null
+                ? contactsByClient.getOrDefault(clientId, Set.of())
+                : contacts.keySet();
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : ClientSearchIndex.termGrams(term)) {
+            Set<Long> posting = contactsByGram.getOrDefault(gram, Set.of());
+            if (posting.isEmpty()) {
+                return Set.of();
+            }
+            postings.add(posting);
+        }
+        if (postings.isEmpty()) {
+            return smallest;
+        }
+        postings.sort((left, right) -> Integer.compare(left.size(), right.size()));
+        if (smallest.size() <= postings.get(0).size()) {
+            return smallest;
+        }
+        List<Long> intersection = new ArrayList<>();
+        for (Long contactId : postings.get(0)) {
+            if (postings.stream().skip(1).allMatch(posting -> posting.contains(contactId))) {
+                intersection.add(contactId);
+            }
+        }
+        return intersection;
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void put(Entry entry) {
+        delete(entry.id());
+        contacts.put(entry.id(), entry);
+        entry.grams().forEach(gram -> contactsByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.id()));
+        if (entry.clientId() != null) {
+            contactsByClient.computeIfAbsent(entry.clientId(), key -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void delete(Long contactId) {
+        Entry previous = contacts.remove(contactId);
+        if (previous == null) {
+            return;
+        }
+        previous.grams().forEach(gram -> detach(contactsByGram, gram, contactId));
+        if (previous.clientId() != null) {
+            detach(contactsByClient, previous.clientId(), contactId);
+        }
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void markChanged(Long contactId) {
+        if (changedWhileBuilding != null) {
+            changedWhileBuilding.add(contactId);
+        }
+    }
+
+    private static <K> void detach(Map<K, Set<Long>> postings, K key, Long contactId) {
+        Set<Long> posting = postings.get(key);
+        if (posting != null && posting.remove(contactId) && posting.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A contact as indexed: its lower-cased searchable fields and its client.
+     */
+    private record Entry(Long id, Long clientId, List<String> fields) {
+
+        static Entry of(Contact contact) {
+            List<String> fields = Stream.of(contact.getEmail(), contact.getFirstName(), contact.getLastName(),
+                            contact.getPhoneNumber())
+                    .filter(Objects::nonNull)
+                    .map(ClientSearchIndex::normalize)
+                    .toList();
+            Long clientId = contact.getClient() != null ? contact.getClient().getId() : null;
+            return new Entry(contact.getId(), clientId, fields);
+        }
+
+        boolean contains(String term) {
+            return fields.stream().anyMatch(field -> field.contains(term));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            fields.forEach(field -> grams.addAll(ClientSearchIndex.termGrams(field)));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.dto.GlobalSearchDTO;
+import com.sample.crm.dto.SearchResultDTO;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.model.SearchHit;
+import com.sample.crm.model.SearchResultType;
+import com.sample.crm.repository.CommentRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Searches clients, contacts, task descriptions and comment contents at once.
+ * <p>
+ * The four sources are queried in parallel on the bounded {@code searchExecutor}, each returning its best matches
+ * up to the requested limit. A source that does not answer within {@code crm.search.source-timeout} of the start of
+ * the search, fails or is rejected by a saturated executor is left out and reported as incomplete, so a slow source
+ * delays a search by at most the budget. Cancelling a source does not stop a running JDBC statement, so every source
+ * runs in a transaction whose queries carry the same budget as statement timeout. The remaining results
+ * are ranked by match quality (the text equals the term, starts with it or contains it), then by source, then by
+ * their rank within the source.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GlobalSearchService {
+
+    static final int MAX_RESULTS = 50;
+
+    private final ClientSearchIndex clientSearchIndex;
+    private final ContactSearchIndex contactSearchIndex;
+    private final ContactRepository contactRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final ThreadPoolTaskExecutor searchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${crm.search.source-timeout}")
+    private Duration sourceTimeout;
+
+    /**
+     * Finds the clients, contacts, tasks and comments containing the term, ignoring case.
+     *
+     * @param term  The search term.
+     * @param limit Requested number of results, clamped to [1, {@value #MAX_RESULTS}].
+     * @return The best matches and the sources missing from them; no results for a blank term.
+     */
+    public GlobalSearchDTO search(String term, int limit) {
+        String normalized = term == null ? "" : ClientSearchIndex.normalize(term);
+        if (normalized.isEmpty()) {
+            return new GlobalSearchDTO(List.of(), List.of());
+        }
+        int size = Math.clamp(limit, 1, MAX_RESULTS);
+        Map<SearchResultType, Supplier<List<SearchResultDTO>>> sources = new EnumMap<>(SearchResultType.class);
+        sources.put(SearchResultType.CLIENT, () -> searchClients(normalized, size));
+        sources.put(SearchResultType.CONTACT, () -> searchContacts(normalized, size));
+        sources.put(SearchResultType.TASK, () -> toResults(SearchResultType.TASK, normalized,
+                taskRepository.searchDescriptions(pattern(normalized), Limit.of(size))));
+        sources.put(SearchResultType.COMMENT, () -> toResults(SearchResultType.COMMENT, normalized,
+                commentRepository.searchContents(pattern(normalized), Limit.of(size))));
+
+        long deadline = System.nanoTime() + sourceTimeout.toNanos();
+        Map<SearchResultType, Future<List<SearchResultDTO>>> pending = new EnumMap<>(SearchResultType.class);
+        List<SearchResultType> incomplete = new ArrayList<>();
+        sources.forEach((type, source) -> {
+            try {
+                pending.put(type, searchExecutor.submit(() -> withStatementTimeout(source)));
+            } catch (TaskRejectedException e) {
+                log.warn("Search executor is saturated, skipping {} results", type);
+                incomplete.add(type);
+            }
+        });
+
+        List<SearchResultDTO> results = new ArrayList<>();
+        pending.forEach((type, future) -> {
+            try {
+                results.addAll(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                log.warn("Searching {} took longer than {}, returning partial results", type, sourceTimeout);
+                future.cancel(true);
+                incomplete.add(type);
+            } catch (ExecutionException e) {
+                log.error("Searching {} failed, returning partial results", type, e.getCause());
+                incomplete.add(type);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                incomplete.add(type);
+            }
+        });
+
+        List<SearchResultDTO> ranked = results.stream()
+                .sorted(Comparator.comparingInt(SearchResultDTO::getScore).reversed()
+                        .thenComparing(SearchResultDTO::getType))
+                .limit(size)
+                .toList();
+        incomplete.sort(Comparator.naturalOrder());
+        return new GlobalSearchDTO(ranked, incomplete);
+    }
+
+    /**
+     * Runs a source in a transaction whose queries time out after {@code crm.search.source-timeout}, so the database
+     * stops scanning once the search has given up on the source. JDBC timeouts are in whole seconds, so Hibernate
+     * rounds a shorter budget to one second.
+     */
+    private List<SearchResultDTO> withStatementTimeout(Supplier<List<SearchResultDTO>> source) {
+        return transactionTemplate.execute(status -> {
+            entityManager.setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, sourceTimeout.toMillis());
+            return source.get();
+        });
+    }
+
+    private List<SearchResultDTO> searchClients(String term, int limit) {
+        return clientSearchIndex.search(term, limit, 0).stream()
+                .map(client -> toResult(SearchResultType.CLIENT, client.getId(), client.getCompanyName(), term,
+                        client.getCompanyName(), client.getIndustry(), client.getAddress()))
+                .toList();
+    }
+
+    private List<SearchResultDTO> searchContacts(String term, int limit) {
+        List<Contact> contacts = contactSearchIndex.search(null, term, limit, 0)
+                .map(contactRepository::findAllInOrder)
+                .orElseGet(() -> contactRepository.search(null, term, PageRequest.of(0, limit)));
+        return contacts.stream()
+                .map(contact -> toResult(SearchResultType.CONTACT, contact.getId(), fullName(contact), term,
+                        contact.getFirstName(), contact.getLastName(), fullName(contact), contact.getEmail(),
+                        contact.getPhoneNumber()))
+                .toList();
+    }
+
+    private static List<SearchResultDTO> toResults(SearchResultType type, String term, List<SearchHit> hits) {
+        return hits.stream().map(hit -> toResult(type, hit.id(), hit.text(), term, hit.text())).toList();
+    }
+
+    /**
+     * Scores a record by its best matching text: 3 when it equals the term, 2 when it starts with it, 1 otherwise.
+     */
+    private static SearchResultDTO toResult(SearchResultType type, Long id, String title, String term,
+                                            String... texts) {
+        int score = Stream.of(texts)
+                .filter(Objects::nonNull)
+                .map(ClientSearchIndex::normalize)
+                .mapToInt(text -> text.equals(term) ? 3 : text.startsWith(term) ? 2 : 1)
+                .max()
+                .orElse(1);
+        return new SearchResultDTO(type, id, title, score);
+    }
+
+    private static String fullName(Contact contact) {
+        return Stream.of(contact.getFirstName(), contact.getLastName())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String pattern(String term) {
+        return "%" + ClientSearchIndex.escapeLike(term) + "%";
+    }
+}
@@ -0,0 +1,25 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.model.SuggestionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps index changes on this node. Only suited to a single node: the indexes of other nodes miss the changes.
+ */
+@Component
+@ConditionalOnProperty(name = "crm.notifications.broker.type", havingValue = "local", matchIfMissing = true)
+public class LocalSearchIndexBroker implements SearchIndexBroker {
+
+    @Override
+    public void publish(String index, SuggestionType type, Collection<Long> ids) {
+    }
+
+    @Override
+    public void subscribe(String index, BiConsumer<SuggestionType, List<Long>> handler) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.model.SuggestionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Keys of clients and contacts in lexicographic order, for prefix lookups.
+ * <p>
+ * Most keys are kept in one sorted array, searched with a binary search. Keys added since the array was built are
+ * kept in a small sorted set and keys removed since then in a hash set, and both are merged into a new array once
+ * they hold {@value #MERGE_THRESHOLD} keys. Looking up the first k keys starting with a prefix is O(log n + k).
+ * Thread-safe.
+ */
+class PrefixIndex {
+
+    static final int MERGE_THRESHOLD = 10_000;
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::text)
+            .thenComparing(Key::type, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Key::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<SuggestionType, Map<Long, List<Key>>> keysByEntity = new EnumMap<>(SuggestionType.class);
+
+    private Key[] merged = new Key[0];
+    private final NavigableSet<Key> added = new TreeSet<>(ORDER);
+    private final Set<Key> removed = new HashSet<>();
+
+    PrefixIndex() {
+        for (SuggestionType type : SuggestionType.values()) {
+            keysByEntity.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds keys loaded in bulk, except the keys of entities rejected by the filter, and sorts every key again.
+     */
+    void load(Collection<Key> keys, Predicate<Key> filter) {
+        lock.writeLock().lock();
+        try {
+            keys.stream().filter(filter).forEach(key ->
+                    keysByEntity.get(key.type()).computeIfAbsent(key.id(), id -> new ArrayList<>(1)).add(key));
+            merged = keysByEntity.values().stream()
+                    .flatMap(entityKeys -> entityKeys.values().stream())
+                    .flatMap(List::stream)
+                    .toArray(Key[]::new);
+            Arrays.parallelSort(merged, ORDER);
+            added.clear();
+            removed.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the keys of an entity.
+     */
+    void put(SuggestionType type, Long id, List<Key> keys) {
+        lock.writeLock().lock();
+        try {
+            detach(type, id);
+            if (!keys.isEmpty()) {
+                keysByEntity.get(type).put(id, new ArrayList<>(keys));
+                added.addAll(keys);
+            }
+            mergeIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(SuggestionType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            detach(type, id);
+            mergeIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the first keys starting with the prefix, at most one per entity.
+     *
+     * @param prefix The normalized prefix.
+     * @param type   The type of the entities to return, or null for every type.
+     * @param limit  The maximum number of keys.
+     * @return The keys in lexicographic order.
+     */
+    List<Key> find(String prefix, SuggestionType type, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Key> found = new ArrayList<>(limit);
+            Set<Entity> entities = new HashSet<>();
+            int position = lowerBound(prefix);
+            Iterator<Key> recent = added.tailSet(new Key(prefix, null, null, null), true).iterator();
+            Key next = recent.hasNext() ? recent.next() : null;
+            while (found.size() < limit) {
+                Key candidate;
+                boolean fromMerged = position < merged.length
+                        && (next == null || ORDER.compare(merged[position], next) < 0);
+                if (fromMerged) {
+                    candidate = merged[position++];
+                    if (removed.contains(candidate)) {
+                        continue;
+                    }
+                } else if (next != null) {
+                    candidate = next;
+                    next = recent.hasNext() ? recent.next() : null;
+                } else {
+                    break;
+                }
+                if (!candidate.text().startsWith(prefix)) {
+                    break;
+                }
+                if ((type == null || type == candidate.type())
+                        && entities.add(new Entity(candidate.type(), candidate.id()))) {
+                    found.add(candidate);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return merged.length - removed.size() + added.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void detach(SuggestionType type, Long id) {
+        List<Key> previous = keysByEntity.get(type).remove(id);
+        if (previous != null) {
+            previous.forEach(key -> {
+                if (!added.remove(key)) {
+                    removed.add(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void mergeIfNeeded() {
+        if (added.size() + removed.size() >= MERGE_THRESHOLD) {
+            merge();
+        }
+    }
+
+    /**
+     * Merges the added keys into the sorted array, dropping the removed keys, in linear time. Must hold the write
+     * lock.
+     */
+    private void merge() {
+        Key[] next = new Key[size()];
+        Iterator<Key> recent = added.iterator();
+        Key pending = recent.hasNext() ? recent.next() : null;
+        int count = 0;
+        for (Key key : merged) {
+            if (removed.contains(key)) {
+                continue;
+            }
+            while (pending != null && ORDER.compare(pending, key) < 0) {
+                next[count++] = pending;
+                pending = recent.hasNext() ? recent.next() : null;
+            }
+            next[count++] = key;
+        }
+        while (pending != null) {
+            next[count++] = pending;
+            pending = recent.hasNext() ? recent.next() : null;
+        }
+        merged = next;
+        added.clear();
+        removed.clear();
+    }
+
+    /**
+     * Returns the position of the first key of the sorted array not before the prefix. Must hold the read lock.
+     */
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = merged.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (merged[middle].text().compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private record Entity(SuggestionType type, Long id) {
+    }
+
+    /**
+     * A normalized text an entity is found by, with the label shown for it.
+     */
+    record Key(String text, SuggestionType type, Long id, String label) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.sample.crm.service.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.crm.model.SuggestionType;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Relays index changes to every node through Redis pub/sub.
+ * <p>
+ * A change is published as a JSON message on {@code crm.search.index-channel} naming the index, the node it comes
+ * from and the changed entities. The other nodes hand it to the handler of the index, which reloads the entities from
+ * the database; the publishing node ignores its own messages. A change that cannot be published is logged and left
+ * out, as the write it follows has committed already.
+ */
+@Component
+@ConditionalOnProperty(name = "crm.notifications.broker.type", havingValue = "redis")
+@Slf4j
+public class RedisSearchIndexBroker implements SearchIndexBroker, MessageListener {
+
+    @Value("${crm.search.index-channel}")
+    private String channel;
+
+    private final String node = UUID.randomUUID().toString();
+    private final Map<String, BiConsumer<SuggestionType, List<Long>>> handlers = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisSearchIndexBroker(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(String index, SuggestionType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(new Change(node, index, type,
+                    List.copyOf(ids))));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Could not publish changes of {} {} to index {}", ids.size(), type, index, e);
+        }
+    }
+
+    @Override
+    public void subscribe(String index, BiConsumer<SuggestionType, List<Long>> handler) {
+        handlers.put(index, handler);
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        Change change;
+        try {
+            change = objectMapper.readValue(message.getBody(), Change.class);
+        } catch (IOException e) {
+            log.error("Dropping malformed index change: {}", new String(message.getBody(), StandardCharsets.UTF_8),
+                    e);
+            return;
+        }
+        BiConsumer<SuggestionType, List<Long>> handler = handlers.get(change.index());
+        if (node.equals(change.node()) || handler == null) {
+            return;
+        }
+        log.debug("Refreshing {} {} of index {} changed on node {}", change.ids().size(), change.type(),
+                change.index(), change.node());
+        handler.accept(change.type(), change.ids());
+    }
+
+    /**
+     * Entities of an index changed on a node, as published on the channel.
+     */
+    record Change(String node, String index, SuggestionType type, List<Long> ids) {
+    }
+}
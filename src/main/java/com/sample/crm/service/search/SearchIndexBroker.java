@@ -0,0 +1,33 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.model.SuggestionType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Relays the changes of the in-memory search indexes, of which every node holds its own copy, to the other nodes.
+ * <p>
+ * The implementation follows {@code crm.notifications.broker.type}: {@code local} relays nothing, which only suits a
+ * single node, {@code redis} publishes the changes through Redis pub/sub.
+ */
+public interface SearchIndexBroker {
+
+    /**
+     * Tells the other nodes that entities held by an index were saved or deleted. Called once the change commits.
+     *
+     * @param index The name of the index.
+     * @param type  The type of the entities.
+     * @param ids   Their IDs.
+     */
+    void publish(String index, SuggestionType type, Collection<Long> ids);
+
+    /**
+     * Registers the handler refreshing an index of this node with the entities another node changed.
+     *
+     * @param index   The name of the index.
+     * @param handler Receives the type and IDs of the changed entities.
+     */
+    void subscribe(String index, BiConsumer<SuggestionType, List<Long>> handler);
+}
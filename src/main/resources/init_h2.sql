@@ -1,8 +1,16 @@
 set schema PUBLIC;
 
+-- client, contact, task, user notification and outbox IDs are allocated in blocks of 50 (pooled optimizer) so inserts can be batched;
+-- the first block (51..100) stays clear of the seeded rows
+create sequence client_seq start with 100 increment by 50;
+create sequence contact_seq start with 100 increment by 50;
+create sequence task_seq start with 100 increment by 50;
+create sequence user_notification_seq start with 100 increment by 50;
+create sequence notification_outbox_seq start with 100 increment by 50;
+
 create table client
 (
-    id BIGINT AUTO_INCREMENT primary key,
+    id BIGINT default next value for client_seq primary key,
     address VARCHAR(255),
     company_name VARCHAR(255),
     industry VARCHAR(255)
@@ -11,7 +19,7 @@ create table client
 create table contact
 (
     client_id BIGINT,
-    id BIGINT AUTO_INCREMENT primary key,
+    id BIGINT default next value for contact_seq primary key,
     email VARCHAR(255),
     first_name VARCHAR(255),
     last_name VARCHAR(255),
@@ -19,12 +27,29 @@ create table contact
     constraint fkt0lxtgfimywi23cewqbmgdu62 foreign key (client_id) references client(id)
 );
 
+create index idx_contact_client_id on contact (client_id, id);
+
+-- contacts found to duplicate an older contact of the same client, refreshed by the deduplication job
+create table contact_duplicate
+(
+    contact_id BIGINT primary key,
+    survivor_id BIGINT not null,
+    client_id BIGINT not null,
+    constraint fk_contact_duplicate_contact foreign key (contact_id) references contact(id),
+    constraint fk_contact_duplicate_survivor foreign key (survivor_id) references contact(id)
+);
+
+create index idx_contact_duplicate_client_id on contact_duplicate (client_id, survivor_id, contact_id);
+create index idx_contact_duplicate_survivor_id on contact_duplicate (survivor_id);
+
 create table notification
 (
     id BIGINT AUTO_INCREMENT primary key,
     sent_at TIMESTAMP,
     type VARCHAR(255),
-    constraint notification_type_check check (type in ('TASK_STATUS_CHANGED', 'TASK_DUE_DATE'))
+    event_id VARCHAR(36),
+    constraint notification_type_check check (type in ('TASK_STATUS_CHANGED', 'TASKS_STATUS_CHANGED', 'TASK_DUE_DATE')),
+    constraint uk_notification_event_id unique (event_id)
 );
 
 create table task
@@ -32,21 +57,60 @@ create table task
     due_date DATE,
     client_id BIGINT,
     contact_id BIGINT,
-    id BIGINT AUTO_INCREMENT primary key,
+    id BIGINT default next value for task_seq primary key,
     description VARCHAR(255),
     status VARCHAR(255),
-    constraint task_status_check check (status in ('TODO', 'IN_PROGRESS', 'DONE')),
+    updated_at TIMESTAMP default CURRENT_TIMESTAMP not null,
+    -- due date the users were last reminded of, so that only one node sends each reminder
+    reminded_due_date DATE,
+    constraint task_status_check check (status in ('PAUSED', 'TODO', 'IN_PROGRESS', 'DONE')),
     constraint fkphvo4rwjcbuf358bw8p7omyn5 foreign key (client_id) references client(id),
     constraint fkh5fnalwrtlcfo81jswsjccers foreign key (contact_id) references contact(id)
 );
 
+create index idx_task_status_id on task (status, id);
+create index idx_task_client_id on task (client_id, id);
+create index idx_task_contact_id on task (contact_id, id);
+create index idx_task_due_date_id on task (due_date, id);
+
+-- trigrams of the lower-cased searchable client columns, padded with two spaces
+create table client_search_gram
+(
+    gram VARCHAR(12) not null,
+    client_id BIGINT not null,
+    primary key (gram, client_id),
+    constraint fk_client_search_gram_client foreign key (client_id) references client(id)
+);
+
+create index idx_client_search_gram_client_id on client_search_gram (client_id);
+
+-- start positions of the trigrams of a column value
+create table search_gram_position
+(
+    n INT primary key
+);
+
+insert into search_gram_position (n)
+select x from system_range(1, 255);
+
+create table reminder_checkpoint
+(
+    name VARCHAR(50) primary key,
+    due_date DATE not null,
+    task_id BIGINT not null
+);
+
 create table users
 (
     id BIGINT AUTO_INCREMENT primary key,
     password VARCHAR(255),
-    username VARCHAR(255)
+    username VARCHAR(255),
+    unread_notifications INT default 0 not null,
+    undismissed_notifications INT default 0 not null
 );
 
+create index idx_users_username on users (username);
+
 create table client_user
 (
     client_id BIGINT not null,
@@ -78,7 +142,7 @@ create table user_notification
 (
     dismissed BOOLEAN not null,
     viewed BOOLEAN not null,
-    id BIGINT AUTO_INCREMENT primary key,
+    id BIGINT default next value for user_notification_seq primary key,
     notification_id BIGINT,
     user_id BIGINT,
     params JSON,
@@ -86,12 +150,46 @@ create table user_notification
     constraint fkc2d7aih8weit50jlu4q57cvs foreign key (user_id) references users(id)
 );
 
+create index idx_user_notification_user_id on user_notification (user_id, dismissed, id);
+create index idx_user_notification_notification_id on user_notification (notification_id);
+
+-- dismissed notifications moved out of user_notification once past their retention, see NotificationRetentionService;
+-- partitioned by month of sent_at on PostgreSQL
+create table user_notification_archive
+(
+    id BIGINT primary key,
+    user_id BIGINT,
+    notification_id BIGINT,
+    type VARCHAR(255) not null,
+    params JSON,
+    sent_at TIMESTAMP not null,
+    viewed BOOLEAN not null,
+    archived_at TIMESTAMP not null
+);
+
+create index idx_user_notification_archive_sent_at on user_notification_archive (sent_at, id);
+
+-- notification events written in the transaction of the change they report, drained by NotificationOutboxDispatcher
+create table notification_outbox
+(
+    id BIGINT default next value for notification_outbox_seq primary key,
+    event_id VARCHAR(36) not null,
+    type VARCHAR(255) not null,
+    task_id BIGINT,
+    params JSON,
+    recipient_ids VARCHAR not null,
+    created_at TIMESTAMP not null,
+    constraint uk_notification_outbox_event_id unique (event_id)
+);
+
+create index idx_notification_outbox_task_id on notification_outbox (task_id, type, created_at);
+
 set schema PUBLIC;
 
-insert into client (address, company_name, industry)
-values ('123 Main St', 'Company A', 'Tech'),
-       ('456 Elm St', 'Company B', 'Finance'),
-       ('789 Pine St', 'Company C', 'Retail');
+insert into client (id, address, company_name, industry)
+values (1, '123 Main St', 'Company A', 'Tech'),
+       (2, '456 Elm St', 'Company B', 'Finance'),
+       (3, '789 Pine St', 'Company C', 'Retail');
 
 insert into users (username, password)
 values ('admin', '$2a$12$f7NCJMDwzsMWtES72uukqu/Pxv.IX7PLpaZd32KUqRuHxYhMHI/su'),
@@ -109,14 +207,14 @@ values (1, 1),
        (3, 2),
        (3, 3);
 
-insert into contact (client_id, first_name, last_name, email, phone_number)
-values (1, 'John', 'Johnson', 'john.doe@example.com', '555-1111'),
-       (2, 'Jane', 'Smith', 'jane.smith@example.com', '555-2222'),
-       (3, 'Alice', 'Johnson', 'alice.johnson@example.com', '555-3333');
+insert into contact (id, client_id, first_name, last_name, email, phone_number)
+values (1, 1, 'John', 'Johnson', 'john.doe@example.com', '555-1111'),
+       (2, 2, 'Jane', 'Smith', 'jane.smith@example.com', '555-2222'),
+       (3, 3, 'Alice', 'Johnson', 'alice.johnson@example.com', '555-3333');
 
-insert into task (client_id, contact_id, description, status, due_date)
-values (1, 1, 'Task 1 Description', 'TODO', '2025-02-01'),
-       (2, 2, 'Task 2 Description', 'IN_PROGRESS', '2025-02-15'),
-       (3, 3, 'Task 3 Description', 'DONE', '2025-03-01');
+insert into task (id, client_id, contact_id, description, status, due_date)
+values (1, 1, 1, 'Task 1 Description', 'TODO', '2025-02-01'),
+       (2, 2, 2, 'Task 2 Description', 'IN_PROGRESS', '2025-02-15'),
+       (3, 3, 3, 'Task 3 Description', 'DONE', '2025-03-01');
 
 commit;
@@ -0,0 +1,116 @@
+package com.sample.crm;
+
+import com.sample.crm.dto.ClientDTO;
+import com.sample.crm.service.ClientService;
+import com.sample.crm.service.search.ClientSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the latency of client search between the former {@code LOWER(...) LIKE '%term%'} scan, which returned every
+ * match, and the first page served from the trigram index, over {@code benchmark.clients} generated clients (one million by default). Runs in its own
+ * surefire execution (see the {@code search-benchmark} execution in pom.xml) and logs the median latencies.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ClientSearchBenchmarkTest {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1_000_000);
+    private static final int INSERT_CHUNK = 100_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int RUNS = 15;
+    private static final String SYLLABLES = "ARRAY['ka', 'lo', 'mi', 'ne', 'ru', 'sa', 'te', 'vo', 'xa', 'zu', "
+            + "'bri', 'dor', 'fen', 'gal', 'hil', 'jun', 'kor', 'lum', 'mor', 'nix']";
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientSearchIndex clientSearchIndex;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void benchmarkDatabase(DynamicPropertyRegistry registry) throws Exception {
+        Path directory = Files.createTempDirectory("crm-search-benchmark");
+        registry.add("spring.datasource.h2.jdbc-url", () -> "jdbc:h2:" + directory.resolve("crm") + ";FILE_LOCK=NO");
+    }
+
+    @BeforeAll
+    void seedClients() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int from = 1; from <= CLIENTS; from += INSERT_CHUNK) {
+            jdbcTemplate.update("""
+                    INSERT INTO client (company_name, industry, address)
+                    SELECT CONCAT(S[MOD(X, 20) + 1], S[MOD(X / 20, 20) + 1], S[MOD(X / 400, 20) + 1],
+                                  S[MOD(X / 8000, 20) + 1], ' ', S[MOD(X * 7, 20) + 1], S[MOD(X / 3, 20) + 1],
+                                  ' Group ', X),
+                           CONCAT(S[MOD(X / 11, 20) + 1], S[MOD(X / 13, 20) + 1], ' Industry'),
+                           CONCAT(X, ' ', S[MOD(X / 7, 20) + 1], S[MOD(X / 17, 20) + 1], ' Street')
+                    FROM SYSTEM_RANGE(?, ?), (SELECT %s AS S)
+                    """.formatted(SYLLABLES), from, Math.min(from + INSERT_CHUNK - 1, CLIENTS));
+        }
+        long start = System.nanoTime();
+        long indexed = clientSearchIndex.indexMissing();
+        log.info("Indexed {} clients in {} s", indexed, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    @Test
+    void shouldServeSearchFromIndex() {
+        for (String term : List.of("Group 77777", "lumdornix", "Jundor Industry", "ru")) {
+            long scan = medianMillis(() -> scan(term));
+            long index = medianMillis(() -> clientService.search(term, 0, PAGE_SIZE));
+            log.info("Search '{}' over {} clients: scan {} ms, trigram index {} ms", term, CLIENTS, scan, index);
+            assertThat(clientService.search(term, 0, PAGE_SIZE))
+                    .hasSize(Math.min(PAGE_SIZE, scan(term).size()))
+                    .allSatisfy(client -> assertThat(String.join("|", client.getCompanyName(),
+                            client.getIndustry(), client.getAddress())).containsIgnoringCase(term));
+        }
+    }
+
+    private List<Long> scan(String term) {
+        return jdbcTemplate.queryForList("""
+                SELECT id FROM client
+                WHERE LOWER(address) LIKE LOWER(CONCAT('%', ?, '%'))
+                   OR LOWER(company_name) LIKE LOWER(CONCAT('%', ?, '%'))
+                   OR LOWER(industry) LIKE LOWER(CONCAT('%', ?, '%'))
+                """, Long.class, term, term, term);
+    }
+
+    private long medianMillis(Supplier<?> query) {
+        query.get();
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return millis[RUNS / 2];
+    }
+}
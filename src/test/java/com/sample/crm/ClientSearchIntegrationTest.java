@@ -0,0 +1,108 @@
+package com.sample.crm;
+
+import com.sample.crm.dto.ClientDTO;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ClientSearchGramRepository;
+import com.sample.crm.service.ClientService;
+import com.sample.crm.service.search.ClientSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ClientSearchIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientSearchIndex clientSearchIndex;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientSearchGramRepository clientSearchGramRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Test
+    void shouldFindSubstringsRankedByColumn() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long byAddress = insertClient(jdbcTemplate, "Northwind", "Retail", "1 Zyqxbrook Road");
+        Long byName = insertClient(jdbcTemplate, "Zyqxbrook Holdings", "Finance", "2 Main Street");
+        Long byIndustry = insertClient(jdbcTemplate, "Contoso", "Zyqxbrook Analytics", "3 High Street");
+        insertClient(jdbcTemplate, "Zyqx Partners", "Brook Services", null);
+        clientSearchIndex.indexMissing();
+
+        assertThat(clientService.search("QXBRO", 0, 50)).extracting(ClientDTO::getId)
+                .containsExactly(byName, byIndustry, byAddress);
+        assertThat(clientService.search("qxbro", 1, 2)).extracting(ClientDTO::getId)
+                .containsExactly(byAddress);
+        assertThat(clientService.search("yq", 0, 50)).extracting(ClientDTO::getId)
+                .contains(byName, byIndustry, byAddress)
+                .hasSize(4);
+    }
+
+    @Test
+    void shouldReindexUpdatedClient() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long id = insertClient(jdbcTemplate, "Vexlorn Labs", "Biotech", "9 Side Street");
+        clientSearchIndex.indexMissing();
+        ClientDTO client = clientService.search("vexlorn", 0, 50).get(0);
+
+        client.setCompanyName("Quillmere Labs");
+        clientService.update(id, client);
+
+        assertThat(clientService.search("vexlorn", 0, 50)).isEmpty();
+        assertThat(clientService.search("quillmere", 0, 50)).extracting(ClientDTO::getId).containsExactly(id);
+
+        clientService.delete(id);
+
+        assertThat(clientService.search("quillmere", 0, 50)).isEmpty();
+    }
+
+    @Test
+    void shouldSkipClientsWithoutTextAndTrigramsAlreadyStored() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long indexed = insertClient(jdbcTemplate, "Brixenwald Foods", null, "");
+        Long empty = insertClient(jdbcTemplate, null, "", null);
+        clientSearchIndex.indexMissing();
+        Integer grams = countGrams(jdbcTemplate, indexed);
+
+        transactionTemplate.executeWithoutResult(status ->
+                clientSearchGramRepository.insertGrams(List.of(indexed, empty)));
+
+        assertThat(countGrams(jdbcTemplate, indexed)).isEqualTo(grams).isPositive();
+        assertThat(countGrams(jdbcTemplate, empty)).isZero();
+        assertThat(clientRepository.findUnindexedIds(empty - 1, Limit.of(1))).isEmpty();
+    }
+
+    private Integer countGrams(JdbcTemplate jdbcTemplate, Long clientId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM client_search_gram WHERE client_id = ?",
+                Integer.class, clientId);
+    }
+
+    private Long insertClient(JdbcTemplate jdbcTemplate, String companyName, String industry, String address) {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR client_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO client (id, company_name, industry, address) VALUES (?, ?, ?, ?)",
+                id, companyName, industry, address);
+        return id;
+    }
+}
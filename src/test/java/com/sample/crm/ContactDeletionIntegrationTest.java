@@ -0,0 +1,66 @@
+package com.sample.crm;
+
+import com.sample.crm.repository.ContactDuplicateRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.service.ContactService;
+import com.sample.crm.service.deduplication.ContactDeduplicationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ContactDeletionIntegrationTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactDeduplicationService contactDeduplicationService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactDuplicateRepository contactDuplicateRepository;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Test
+    void shouldDeleteContactsFlaggedAsDuplicates() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long survivor = insertContact(jdbcTemplate, "flagged@acme.com");
+        Long duplicate = insertContact(jdbcTemplate, "Flagged+crm@acme.com");
+        Long other = insertContact(jdbcTemplate, "flagged@acme.com");
+        contactDeduplicationService.findDuplicates();
+        assertThat(contactDuplicateRepository.findById(duplicate)).isPresent();
+        assertThat(contactDuplicateRepository.findById(other)).isPresent();
+
+        contactService.delete(duplicate);
+        contactService.delete(survivor);
+
+        assertThat(contactRepository.existsById(duplicate)).isFalse();
+        assertThat(contactRepository.existsById(survivor)).isFalse();
+        assertThat(contactDuplicateRepository.findById(duplicate)).isEmpty();
+        assertThat(contactDuplicateRepository.findById(other)).isEmpty();
+        assertThat(contactRepository.existsById(other)).isTrue();
+    }
+
+    private Long insertContact(JdbcTemplate jdbcTemplate, String email) {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR contact_seq", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO contact (id, first_name, last_name, email, client_id)
+                VALUES (?, 'Flagged', 'Contact', ?, 1)
+                """, id, email);
+        return id;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sample.crm;
+
+import com.sample.crm.model.DueDateReminder;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.service.reminder.DueDateReminderDispatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DueDateReminderIntegrationTest {
+
+    private static final String CHECKPOINT = "integration-test";
+
+    @Autowired
+    private DueDateReminderDispatcher dueDateReminderDispatcher;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Test
+    void shouldSendEachReminderOnceWhenEveryNodeDispatchesIt() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+        Long taskId = insertTask(jdbcTemplate, dueDate);
+        List<DueDateReminder> reminders = List.of(new DueDateReminder(dueDate, taskId));
+
+        int firstNode = dueDateReminderDispatcher.dispatch(CHECKPOINT, reminders);
+        int secondNode = dueDateReminderDispatcher.dispatch(CHECKPOINT, reminders);
+
+        assertThat(firstNode).isEqualTo(1);
+        assertThat(secondNode).isZero();
+
+        jdbcTemplate.update("UPDATE task SET due_date = ? WHERE id = ?", dueDate.plusDays(1), taskId);
+        assertThat(dueDateReminderDispatcher.dispatch(CHECKPOINT,
+                List.of(new DueDateReminder(dueDate.plusDays(1), taskId)))).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLoadRemindersSentForTheCurrentDueDate() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        LocalDate dueDate = LocalDate.now().plusDays(2);
+        Long sentId = insertTask(jdbcTemplate, dueDate);
+        dueDateReminderDispatcher.dispatch(CHECKPOINT, List.of(new DueDateReminder(dueDate, sentId)));
+        Long pendingId = insertTask(jdbcTemplate, dueDate);
+
+        List<Long> loaded = taskRepository.findReminders(List.of(TaskStatus.TODO), dueDate, dueDate).stream()
+                .map(DueDateReminder::taskId)
+                .toList();
+
+        assertThat(loaded).contains(pendingId).doesNotContain(sentId);
+    }
+
+    private Long insertTask(JdbcTemplate jdbcTemplate, LocalDate dueDate) {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO task (id, description, status, client_id, contact_id, due_date)
+                VALUES (?, 'Reminded task', 'TODO', 1, 1, ?)
+                """, id, dueDate);
+        return id;
+    }
+}
@@ -0,0 +1,109 @@
+package com.sample.crm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.service.ExportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million tasks through the NDJSON stream. Runs in its own surefire execution with a small heap
+ * (see the {@code large-export} execution in pom.xml): materializing the rows as a list of DTOs would not fit,
+ * so the test only passes while the export keeps a constant memory footprint.
+ */
+@Tag("large-export")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ExportIntegrationTest {
+    private static final int ROWS = 1_000_000;
+    private static final int INSERT_CHUNK = 100_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long existingTasks;
+
+    @DynamicPropertySource
+    static void exportDatabase(DynamicPropertyRegistry registry) throws Exception {
+        Path directory = Files.createTempDirectory("crm-export");
+        registry.add("spring.datasource.h2.jdbc-url", () -> "jdbc:h2:" + directory.resolve("crm") + ";FILE_LOCK=NO");
+    }
+
+    @BeforeAll
+    void seedTasks() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        existingTasks = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task", Long.class);
+        jdbcTemplate.update("INSERT INTO client (company_name, industry, address) VALUES ('Export Inc.', 'Tech', 'Main St')");
+        Long clientId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM client", Long.class);
+        jdbcTemplate.update("INSERT INTO contact (first_name, last_name, client_id) VALUES ('Jane', 'Doe', ?)", clientId);
+        Long contactId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM contact", Long.class);
+
+        for (int from = 1; from <= ROWS; from += INSERT_CHUNK) {
+            jdbcTemplate.update("""
+                    INSERT INTO task (description, status, due_date, client_id, contact_id)
+                    SELECT CONCAT('Task ', X), 'TODO', CURRENT_DATE, ?, ? FROM SYSTEM_RANGE(?, ?)
+                    """, clientId, contactId, from, from + INSERT_CHUNK - 1);
+        }
+    }
+
+    @Test
+    void shouldExportMillionTasksWithConstantMemory() throws Exception {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = exportService.exportTasks(out);
+
+        assertThat(exported).isEqualTo(existingTasks + ROWS);
+        assertThat(out.lines).isEqualTo(existingTasks + ROWS);
+        TaskDTO last = objectMapper.readValue(out.lastLine, TaskDTO.class);
+        assertThat(last.getDescription()).isEqualTo("Task " + ROWS);
+        assertThat(last.getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(last.getContact().getClient().getCompanyName()).isEqualTo("Export Inc.");
+        assertThat(last.getComments()).isNull();
+    }
+
+    /**
+     * Discards the exported bytes, keeping only the line count and the last line.
+     */
+    private static final class LineCountingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private byte[] lastLine;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+                lastLine = line.toByteArray();
+                line.reset();
+            } else {
+                line.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.sample.crm;
+
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.dto.CommentDTO;
+import com.sample.crm.dto.CursorPageDTO;
+import com.sample.crm.dto.NotificationDTO;
+import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Comment;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.entity.Notification;
+import com.sample.crm.entity.Task;
+import com.sample.crm.entity.User;
+import com.sample.crm.entity.UserNotification;
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.model.TaskFilter;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.service.CommentService;
+import com.sample.crm.service.TaskService;
+import com.sample.crm.service.notification.NotificationService;
+import com.sample.crm.util.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements issued by the hot read paths, so that an N+1 regression in a fetch plan
+ * breaks the build. Every scenario uses several rows with distinct associations: a lazy or eager
+ * per-row load would show up as a statement count growing with the row count.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class FetchPlanIntegrationTest {
+    private static final int ROWS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Client client;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheNames.TASK_PAGES).clear();
+        cacheManager.getCache(CacheNames.CLIENT_TASKS).clear();
+
+        users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setUsername("fetch-plan-" + UUID.randomUUID());
+            entityManager.persist(user);
+            users.add(user);
+        }
+
+        client = new Client();
+        client.setCompanyName("Fetch Plan Inc.");
+        client.setIndustry("Tech");
+        client.setUsers(users);
+        entityManager.persist(client);
+    }
+
+    @Test
+    void shouldLoadTaskPageWithConstantStatementCount() {
+        seedTasks();
+
+        SqlStatementCounter.reset();
+        CursorPageDTO<TaskDTO> page = taskService.findPage(TaskFilter.builder().clientId(client.getId()).build(), null, 50);
+
+        assertThat(page.getItems()).hasSize(ROWS);
+        assertThat(page.getItems()).allSatisfy(task -> assertThat(task.getContact().getClient()).isNotNull());
+        // tasks joined with contact and client + one batch for all comment collections
+        SqlStatementCounter.assertStatementCount(2);
+    }
+
+    @Test
+    void shouldLoadTasksByClientWithConstantStatementCount() {
+        seedTasks();
+
+        SqlStatementCounter.reset();
+        List<TaskDTO> tasks = taskService.findByClient(client.getId());
+
+        assertThat(tasks).hasSize(ROWS);
+        SqlStatementCounter.assertStatementCount(2);
+    }
+
+    @Test
+    void shouldLoadCommentsForTaskWithConstantStatementCount() {
+        Task task = seedTasks().get(0);
+        for (User user : users) {
+            Comment comment = new Comment();
+            comment.setContent("Comment of " + user.getUsername());
+            comment.setSentAt(LocalDateTime.now());
+            comment.setTask(task);
+            comment.setUser(user);
+            entityManager.persist(comment);
+        }
+        flushAndClear();
+
+        SqlStatementCounter.reset();
+        List<CommentDTO> comments = commentService.getCommentsForTask(task.getId());
+
+        assertThat(comments).hasSize(ROWS);
+        assertThat(comments).allSatisfy(comment -> assertThat(comment.getUsername()).startsWith("fetch-plan-"));
+        // task + its comment collection + comments joined with their users
+        SqlStatementCounter.assertStatementCount(3);
+    }
+
+    @Test
+    void shouldLoadNotificationsForUserWithConstantStatementCount() {
+        User receiver = users.get(0);
+        for (int i = 0; i < ROWS; i++) {
+            Notification notification = new Notification();
+            notification.setType(NotificationType.TASK_STATUS_CHANGED);
+            notification.setSentAt(LocalDateTime.now());
+            entityManager.persist(notification);
+
+            UserNotification userNotification = new UserNotification();
+            userNotification.setNotification(notification);
+            userNotification.setUser(receiver);
+            userNotification.setParams(Map.of("task_status", TaskStatus.TODO.name()));
+            entityManager.persist(userNotification);
+        }
+        flushAndClear();
+
+        SqlStatementCounter.reset();
+        List<NotificationDTO> notifications = notificationService.getAllNotificationsForUser(receiver.getUsername());
+
+        assertThat(notifications).hasSize(ROWS);
+        assertThat(notifications).allSatisfy(notification -> assertThat(notification.getSentAt()).isNotNull());
+        // user notifications joined with their notifications and the receiving user
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    private List<Task> seedTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Contact contact = new Contact();
+            contact.setFirstName("First " + i);
+            contact.setLastName("Last " + i);
+            contact.setClient(client);
+            entityManager.persist(contact);
+
+            Task task = new Task();
+            task.setDescription("Task " + i);
+            task.setStatus(TaskStatus.TODO);
+            task.setClient(client);
+            task.setContact(contact);
+            entityManager.persist(task);
+            tasks.add(task);
+        }
+        flushAndClear();
+        return tasks;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
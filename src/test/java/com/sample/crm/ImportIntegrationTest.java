@@ -0,0 +1,181 @@
+package com.sample.crm;
+
+import com.sample.crm.api.dto.ClientStatisticsDTO;
+import com.sample.crm.api.service.ClientStatisticsService;
+import com.sample.crm.dto.ClientDTO;
+import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ImportErrorDTO;
+import com.sample.crm.dto.ImportJobDTO;
+import com.sample.crm.exception.NotFoundException;
+import com.sample.crm.model.ImportStatus;
+import com.sample.crm.model.ImportType;
+import com.sample.crm.model.security.UserPrincipal;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.service.importing.ImportRow;
+import com.sample.crm.service.importing.ImportService;
+import com.sample.crm.service.importing.ImportWriter;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ContactSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ImportIntegrationTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ImportWriter importWriter;
+
+    @Autowired
+    private ClientStatisticsService clientStatisticsService;
+
+    @Autowired
+    private ContactSearchIndex contactSearchIndex;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldImportClientsAcrossChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("companyName,industry,address\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("Imported ").append(i).append(",Tech,\"Main St, ").append(i).append("\"\n");
+        }
+        long clientsBefore = clientRepository.count();
+
+        ImportJobDTO job = awaitImport(ImportType.CLIENTS, csv.toString());
+
+        assertThat(job.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(1200);
+        assertThat(job.getImportedRows()).isEqualTo(1200);
+        assertThat(job.getErrors()).isEmpty();
+        assertThat(clientRepository.count()).isEqualTo(clientsBefore + 1200);
+    }
+
+    @Test
+    void shouldReportInvalidContactRows() throws Exception {
+        String csv = """
+                firstName,lastName,email,phoneNumber,clientId
+                Ann,Lee,ann@example.com,+12345678901,1
+                Bob,Ray,not-an-email,+12345678901,1
+                Cid,Fox,cid@example.com,+12345678901,999999
+                Dan,Moe,dan@example.com,+12345678901,abc
+                """;
+
+        ImportJobDTO job = awaitImport(ImportType.CONTACTS, csv);
+
+        assertThat(job.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(4);
+        assertThat(job.getImportedRows()).isEqualTo(1);
+        assertThat(job.getFailedRows()).isEqualTo(3);
+        assertThat(job.getErrors()).extracting(ImportErrorDTO::getRow).containsExactly(2L, 3L, 4L);
+        assertThat(job.getErrors().get(0).getMessage()).isEqualTo("email: Invalid email format");
+        assertThat(job.getErrors().get(1).getMessage()).isEqualTo("client not found: 999999");
+        assertThat(job.getErrors().get(2).getMessage()).isEqualTo("clientId: not a valid ID: abc");
+    }
+
+    @Test
+    void shouldImportTasksReferencingExistingClientsAndContacts() throws Exception {
+        String dueDate = LocalDate.now().plusDays(7).toString();
+        String csv = "description,status,dueDate,clientId,contactId\n"
+                + "Imported task 1,TODO," + dueDate + ",1,1\n"
+                + "Imported task 2,DONE,,2,2\n"
+                + "Imported task 3,ARCHIVED,,1,1\n"
+                + "Imported task 4,TODO,,1,999999\n";
+
+        ImportJobDTO job = awaitImport(ImportType.TASKS, csv);
+
+        assertThat(job.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(job.getImportedRows()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(ImportErrorDTO::getRow).containsExactly(3L, 4L);
+        assertThat(job.getErrors().get(1).getMessage()).isEqualTo("contact not found: 999999");
+    }
+
+    @Test
+    void shouldUpdateIndexesAndStatisticsOnlyOnceChunksCommit() {
+        ClientDTO client = new ClientDTO();
+        client.setCompanyName("Rollbackable Ltd");
+        client.setIndustry("Rollbackable");
+        client.setAddress("Main St");
+        ContactDTO contact = new ContactDTO();
+        contact.setFirstName("Rollbackable");
+        contact.setLastName("Contact");
+        contact.setClient(new ClientDTO());
+        contact.getClient().setId(1L);
+        ClientStatisticsDTO statisticsBefore = clientStatisticsService.getClientStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            importWriter.writeClients(List.of(new ImportRow<>(1, client)), null);
+            importWriter.writeContacts(List.of(new ImportRow<>(1, contact)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(clientStatisticsService.getClientStatistics()).isEqualTo(statisticsBefore);
+        assertThat(contactSearchIndex.search(null, "rollbackable", 50, 0)).contains(List.of());
+        assertThat(autocompleteIndex.suggest("rollbackable", null, 10)).isEmpty();
+
+        importWriter.writeClients(List.of(new ImportRow<>(1, client)), null);
+        importWriter.writeContacts(List.of(new ImportRow<>(1, contact)));
+
+        assertThat(clientStatisticsService.getClientStatistics().getClientsByIndustry()).containsEntry("Rollbackable",
+                1L);
+        assertThat(contactSearchIndex.search(null, "rollbackable", 50, 0).orElseThrow()).hasSize(1);
+        assertThat(autocompleteIndex.suggest("rollbackable", null, 10)).hasSize(2);
+    }
+
+    @Test
+    void shouldNotShowImportsOfOtherUsers() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "import.csv", "text/csv",
+                "companyName,industry,address\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            signIn(new UserPrincipal(1L, "alice", null));
+            ImportJobDTO job = importService.start(ImportType.CONTACTS, file);
+
+            signIn(new UserPrincipal(2L, "bob", null));
+            assertThatThrownBy(() -> importService.getJob(job.getId())).isInstanceOf(NotFoundException.class);
+
+            signIn(new UserPrincipal(1L, "alice", null));
+            assertThat(importService.getJob(job.getId()).getId()).isEqualTo(job.getId());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void signIn(UserPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private ImportJobDTO awaitImport(ImportType type, String csv) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "import.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        ImportJobDTO job = importService.start(type, file);
+        for (int i = 0; i < 200 && job.getStatus() == ImportStatus.RUNNING; i++) {
+            Thread.sleep(50);
+            job = importService.getJob(job.getId());
+        }
+        return job;
+    }
+}
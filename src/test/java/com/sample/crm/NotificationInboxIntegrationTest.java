@@ -0,0 +1,95 @@
+package com.sample.crm;
+
+import com.sample.crm.dto.CursorPageDTO;
+import com.sample.crm.dto.NotificationCountDTO;
+import com.sample.crm.dto.NotificationDTO;
+import com.sample.crm.entity.User;
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.repository.UserRepository;
+import com.sample.crm.service.notification.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class NotificationInboxIntegrationTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldPageInboxNewestFirstAndKeepCountersUpToDate() {
+        User user = new User();
+        user.setUsername("inbox-" + UUID.randomUUID());
+        user.setPassword("secret");
+        user = userRepository.save(user);
+        for (int i = 0; i < 5; i++) {
+            notificationService.createUserNotifications(UUID.randomUUID().toString(), List.of(user),
+                    NotificationType.TASK_DUE_DATE, Map.of("task_description", "Task " + i));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        do {
+            CursorPageDTO<NotificationDTO> page = notificationService.getInboxPage(user.getUsername(), cursor, 2);
+            page.getItems().forEach(notification -> ids.add(notification.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).hasSize(5).isSortedAccordingTo((first, second) -> Long.compare(second, first));
+        assertThat(notificationService.getNotificationCount(user.getUsername()))
+                .isEqualTo(new NotificationCountDTO(5, 5));
+
+        NotificationDTO viewed = new NotificationDTO();
+        viewed.setId(ids.get(0));
+        viewed.setType(NotificationType.TASK_DUE_DATE);
+        viewed.setViewed(true);
+        notificationService.updateNotification(viewed, ids.get(0));
+        notificationService.dismissNotification(ids.get(1));
+        notificationService.dismissNotification(ids.get(1));
+
+        assertThat(notificationService.getNotificationCount(user.getUsername()))
+                .isEqualTo(new NotificationCountDTO(3, 4));
+        assertThat(notificationService.getInboxPage(user.getUsername(), null, 50).getItems())
+                .extracting(NotificationDTO::getId)
+                .doesNotContain(ids.get(1));
+    }
+
+    @Test
+    void shouldDismissAndMarkViewedInBulk() {
+        User user = new User();
+        user.setUsername("bulk-" + UUID.randomUUID());
+        user.setPassword("secret");
+        user = userRepository.save(user);
+        for (int i = 0; i < 6; i++) {
+            notificationService.createUserNotifications(UUID.randomUUID().toString(), List.of(user),
+                    NotificationType.TASK_DUE_DATE, Map.of("task_description", "Task " + i));
+        }
+        List<Long> ids = notificationService.getInboxPage(user.getUsername(), null, 50).getItems().stream()
+                .map(NotificationDTO::getId)
+                .toList();
+
+        assertThat(notificationService.markNotificationsViewed(user.getUsername(), List.of(ids.get(0), ids.get(1)),
+                null)).isEqualTo(2);
+        assertThat(notificationService.dismissNotifications(user.getUsername(), null, ids.get(2))).isEqualTo(3);
+        assertThat(notificationService.getNotificationCount(user.getUsername()))
+                .isEqualTo(new NotificationCountDTO(1, 3));
+
+        assertThat(notificationService.dismissNotifications(user.getUsername(), null, null)).isEqualTo(3);
+        assertThat(notificationService.getNotificationCount(user.getUsername()))
+                .isEqualTo(new NotificationCountDTO(0, 0));
+        assertThat(notificationService.getInboxPage(user.getUsername(), null, 50).getItems()).isEmpty();
+    }
+}
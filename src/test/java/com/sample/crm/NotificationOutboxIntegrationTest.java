@@ -0,0 +1,169 @@
+package com.sample.crm;
+
+import com.sample.crm.entity.NotificationOutbox;
+import com.sample.crm.entity.Task;
+import com.sample.crm.entity.User;
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.repository.NotificationOutboxRepository;
+import com.sample.crm.repository.UserRepository;
+import com.sample.crm.service.notification.NotificationOutboxDispatcher;
+import com.sample.crm.service.notification.UserNotifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class NotificationOutboxIntegrationTest {
+
+    @Autowired
+    private UserNotifier userNotifier;
+
+    @Autowired
+    private NotificationOutboxDispatcher notificationOutboxDispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Test
+    void shouldDeliverEventWrittenInCommittedTransaction() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<User> users = List.of(userRepository.findByUsername("admin").orElseThrow(),
+                userRepository.findByUsername("user").orElseThrow());
+        String description = "Outbox task " + UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> userNotifier.notifyOfTaskDueDate(users, task(description)));
+        String eventId = jdbcTemplate.queryForObject("""
+                SELECT event_id FROM notification_outbox WHERE CAST(params AS VARCHAR) LIKE ?
+                """, String.class, "%" + description + "%");
+
+        notificationOutboxDispatcher.dispatch();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox WHERE event_id = ?",
+                Integer.class, eventId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM user_notification un
+                JOIN notification n ON n.id = un.notification_id
+                WHERE n.event_id = ?
+                """, Integer.class, eventId)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCoalesceEventsOfSameTask() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<User> users = List.of(userRepository.findByUsername("admin").orElseThrow());
+        Task task = task("Coalesced task " + UUID.randomUUID());
+        task.setId(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userNotifier.notifyOfTaskDueDate(users, task);
+            userNotifier.notifyOfTaskDueDate(users, task);
+        });
+        List<String> eventIds = jdbcTemplate.queryForList("SELECT event_id FROM notification_outbox WHERE task_id = ?",
+                String.class, task.getId());
+
+        notificationOutboxDispatcher.dispatch();
+
+        assertThat(eventIds).hasSize(2);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM user_notification un
+                JOIN notification n ON n.id = un.notification_id
+                WHERE n.event_id IN (?, ?)
+                """, Integer.class, eventIds.toArray())).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotWriteEventOfRolledBackTransaction() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<User> users = List.of(userRepository.findByUsername("admin").orElseThrow());
+        String description = "Rolled back task " + UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userNotifier.notifyOfTaskDueDate(users, task(description));
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM notification_outbox WHERE CAST(params AS VARCHAR) LIKE ?
+                """, Integer.class, "%" + description + "%")).isZero();
+    }
+
+    @Test
+    void shouldSkipEventsLockedByAnotherDispatcher() throws Exception {
+        List<NotificationOutbox> events = transactionTemplate.execute(status -> notificationOutboxRepository.saveAll(
+                List.of(event(), event())));
+        List<Long> ids = events.stream().map(NotificationOutbox::getId).toList();
+        LocalDateTime cutoff = LocalDateTime.now();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                    status -> {
+                        List<Long> taken = notificationOutboxRepository.lockNextBatch(cutoff, 1000).stream()
+                                .map(NotificationOutbox::getId)
+                                .toList();
+                        locked.countDown();
+                        await(release);
+                        return taken;
+                    }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            List<Long> second = transactionTemplate.execute(status -> notificationOutboxRepository
+                    .lockNextBatch(cutoff, 1000).stream()
+                    .map(NotificationOutbox::getId)
+                    .toList());
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).containsAll(ids);
+            assertThat(second).doesNotContainAnyElementsOf(ids);
+        } finally {
+            release.countDown();
+            transactionTemplate.executeWithoutResult(status -> notificationOutboxRepository.deleteAllByIdInBatch(ids));
+        }
+    }
+
+    private Task task(String description) {
+        Task task = new Task();
+        task.setDescription(description);
+        return task;
+    }
+
+    private NotificationOutbox event() {
+        return new NotificationOutbox(null, UUID.randomUUID().toString(), NotificationType.TASK_DUE_DATE, null,
+                Map.of("task_description", "Locked task"), List.of(1L), LocalDateTime.now());
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.sample.crm;
+
+import com.sample.crm.service.notification.NotificationRetentionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class NotificationRetentionIntegrationTest {
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Test
+    void shouldArchiveOnlyDismissedNotificationsPastTheirRetention() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long oldNotification = insertNotification(jdbcTemplate, "TASK_STATUS_CHANGED", 120);
+        Long oldDismissed = insertUserNotification(jdbcTemplate, oldNotification, true);
+        Long oldUndismissed = insertUserNotification(jdbcTemplate, oldNotification, false);
+        Long orphaned = insertNotification(jdbcTemplate, "TASK_DUE_DATE", 45);
+        Long oldDueDate = insertUserNotification(jdbcTemplate, orphaned, true);
+        Long recentNotification = insertNotification(jdbcTemplate, "TASK_STATUS_CHANGED", 45);
+        Long recentDismissed = insertUserNotification(jdbcTemplate, recentNotification, true);
+
+        long archived = notificationRetentionService.archiveNotifications();
+
+        assertThat(archived).isGreaterThanOrEqualTo(2);
+        assertThat(exists(jdbcTemplate, "user_notification", oldDismissed)).isFalse();
+        assertThat(exists(jdbcTemplate, "user_notification", oldDueDate)).isFalse();
+        assertThat(exists(jdbcTemplate, "user_notification", oldUndismissed)).isTrue();
+        assertThat(exists(jdbcTemplate, "user_notification", recentDismissed)).isTrue();
+        assertThat(exists(jdbcTemplate, "user_notification_archive", oldDismissed)).isTrue();
+        assertThat(exists(jdbcTemplate, "user_notification_archive", oldDueDate)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT type FROM user_notification_archive WHERE id = ?",
+                String.class, oldDueDate)).isEqualTo("TASK_DUE_DATE");
+        assertThat(exists(jdbcTemplate, "notification", oldNotification)).isTrue();
+        assertThat(exists(jdbcTemplate, "notification", orphaned)).isFalse();
+    }
+
+    private Long insertNotification(JdbcTemplate jdbcTemplate, String type, int daysAgo) {
+        jdbcTemplate.update("""
+                INSERT INTO notification (type, sent_at)
+                VALUES (?, DATEADD('DAY', ?, CURRENT_TIMESTAMP))
+                """, type, -daysAgo);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM notification", Long.class);
+    }
+
+    private Long insertUserNotification(JdbcTemplate jdbcTemplate, Long notificationId, boolean dismissed) {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR user_notification_seq", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO user_notification (id, notification_id, user_id, dismissed, viewed, params)
+                VALUES (?, ?, 1, ?, false, '{}' FORMAT JSON)
+                """, id, notificationId, dismissed);
+        return id;
+    }
+
+    private boolean exists(JdbcTemplate jdbcTemplate, String table, Long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id) > 0;
+    }
+}
@@ -1,12 +1,16 @@
 package com.sample.crm;
 
+import com.sample.crm.configuration.cache.CacheNames;
 import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.CursorPageDTO;
 import com.sample.crm.dto.TaskDTO;
 import com.sample.crm.entity.Contact;
 import com.sample.crm.entity.Task;
+import com.sample.crm.model.TaskFilter;
 import com.sample.crm.repository.ContactRepository;
 import com.sample.crm.repository.TaskRepository;
 import com.sample.crm.service.ContactService;
+import com.sample.crm.service.TaskPageKeys;
 import com.sample.crm.service.TaskService;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.MethodOrderer;
@@ -45,6 +49,9 @@ public class RedisIntegrationTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private TaskPageKeys taskPageKeys;
+
     @Test
     @Order(1)
     void shouldCacheFindAllTasksAndContacts() {
@@ -52,11 +59,12 @@ public class RedisIntegrationTest {
         task.setDescription("Test Task");
         taskRepository.save(task);
 
-        List<TaskDTO> firstTaskCall = taskService.findAll();
-        List<TaskDTO> secondTaskCall = taskService.findAll();
+        CursorPageDTO<TaskDTO> firstTaskCall = taskService.findPage(new TaskFilter(), null, 50);
+        CursorPageDTO<TaskDTO> secondTaskCall = taskService.findPage(new TaskFilter(), null, 50);
 
         assertThat(firstTaskCall).isEqualTo(secondTaskCall);
-        assertThat(cacheManager.getCache("tasks").get(SimpleKey.EMPTY)).isNotNull();
+        assertThat(firstTaskCall.getItems().stream().anyMatch(dto -> task.getId().equals(dto.getId()))).isTrue();
+        assertThat(cacheManager.getCache(CacheNames.TASK_PAGES).get(firstPageKey())).isNotNull();
 
         Contact contact = new Contact();
         contact.setFirstName("First");
@@ -67,7 +75,7 @@ public class RedisIntegrationTest {
         List<ContactDTO> secondContactCall = contactService.findAll();
 
         assertThat(firstContactCall).isEqualTo(secondContactCall);
-        assertThat(cacheManager.getCache("contacts").get(SimpleKey.EMPTY)).isNotNull();
+        assertThat(cacheManager.getCache(CacheNames.CONTACTS).get(SimpleKey.EMPTY)).isNotNull();
     }
 
     @Test
@@ -77,11 +85,11 @@ public class RedisIntegrationTest {
         task.setDescription("Task to Update");
         taskRepository.save(task);
 
-        taskService.findAll();
+        taskService.findPage(new TaskFilter(), null, 50);
 
         taskService.delete(task.getId());
 
-        assertThat(cacheManager.getCache("tasks").get(SimpleKey.EMPTY)).isNull();
+        assertThat(cacheManager.getCache(CacheNames.TASK_PAGES).get(firstPageKey())).isNull();
 
         Contact contact = new Contact();
         contact.setFirstName("Jane");
@@ -92,6 +100,10 @@ public class RedisIntegrationTest {
 
         contactService.delete(contact.getId());
 
-        assertThat(cacheManager.getCache("contacts").get(SimpleKey.EMPTY)).isNull();
+        assertThat(cacheManager.getCache(CacheNames.CONTACTS).get(SimpleKey.EMPTY)).isNull();
+    }
+
+    private String firstPageKey() {
+        return taskPageKeys.key(new TaskFilter(), null, 50);
     }
 }
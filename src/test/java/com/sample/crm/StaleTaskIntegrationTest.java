@@ -0,0 +1,54 @@
+package com.sample.crm;
+
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.service.StaleTaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class StaleTaskIntegrationTest {
+
+    @Autowired
+    private StaleTaskService staleTaskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    @Qualifier("h2DataSource")
+    private DataSource dataSource;
+
+    @Test
+    void shouldPauseOnlyTasksUntouchedForLong() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long stale = insertTask(jdbcTemplate, "Stale task", "IN_PROGRESS", 60);
+        Long recent = insertTask(jdbcTemplate, "Recent task", "TODO", 1);
+        Long done = insertTask(jdbcTemplate, "Done task", "DONE", 60);
+
+        long paused = staleTaskService.pauseStaleTasks();
+
+        assertThat(paused).isGreaterThanOrEqualTo(1);
+        assertThat(taskRepository.findById(stale).orElseThrow().getStatus()).isEqualTo(TaskStatus.PAUSED);
+        assertThat(taskRepository.findById(recent).orElseThrow().getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(taskRepository.findById(done).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+    }
+
+    private Long insertTask(JdbcTemplate jdbcTemplate, String description, String status, int daysAgo) {
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR task_seq", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO task (id, description, status, client_id, contact_id, updated_at)
+                VALUES (?, ?, ?, 1, 1, DATEADD('DAY', ?, CURRENT_TIMESTAMP))
+                """, id, description, status, -daysAgo);
+        return id;
+    }
+}
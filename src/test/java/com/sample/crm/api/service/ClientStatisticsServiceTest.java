@@ -0,0 +1,104 @@
+package com.sample.crm.api.service;
+
+import com.sample.crm.api.dto.ClientStatisticsDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.model.ClientIndustryCount;
+import com.sample.crm.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClientStatisticsServiceTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @InjectMocks
+    private ClientStatisticsService clientStatisticsService;
+
+    @Test
+    void shouldLoadCountsOnFirstReadAndCountClientsWithoutIndustryInTotalOnly() {
+        when(clientRepository.countGroupedByIndustry()).thenReturn(List.of(
+                new ClientIndustryCount("Retail", 2L), new ClientIndustryCount(null, 1L)));
+
+        ClientStatisticsDTO statistics = clientStatisticsService.getClientStatistics();
+        clientStatisticsService.getClientStatistics();
+
+        assertEquals(new ClientStatisticsDTO(3L, Map.of("Retail", 2L)), statistics);
+        verify(clientRepository, times(1)).countGroupedByIndustry();
+    }
+
+    @Test
+    void shouldApplyChangesOfWritePaths() {
+        when(clientRepository.countGroupedByIndustry()).thenReturn(List.of(new ClientIndustryCount("Retail", 1L)));
+        clientStatisticsService.reconcile();
+        Client created = client("Technology");
+        Client moved = client("Technology");
+
+        clientStatisticsService.recordCreated(List.of(created, client(null)));
+        clientStatisticsService.recordUpdated("Retail", moved);
+
+        assertEquals(new ClientStatisticsDTO(3L, Map.of("Technology", 2L)),
+                clientStatisticsService.getClientStatistics());
+
+        clientStatisticsService.recordDeleted(created);
+        clientStatisticsService.recordUpdated("Technology", client("Technology"));
+
+        assertEquals(new ClientStatisticsDTO(2L, Map.of("Technology", 1L)),
+                clientStatisticsService.getClientStatistics());
+    }
+
+    @Test
+    void shouldIgnoreChangesBeforeFirstLoad() {
+        clientStatisticsService.recordCreated(List.of(client("Retail")));
+        when(clientRepository.countGroupedByIndustry()).thenReturn(List.of());
+
+        assertEquals(new ClientStatisticsDTO(0L, Map.of()), clientStatisticsService.getClientStatistics());
+    }
+
+    @Test
+    void shouldReadCountsAgainWhenChangesAreAppliedMeanwhile() {
+        when(clientRepository.countGroupedByIndustry()).thenReturn(List.of(new ClientIndustryCount("Retail", 1L)));
+        clientStatisticsService.reconcile();
+        when(clientRepository.countGroupedByIndustry()).thenAnswer(invocation -> {
+            clientStatisticsService.recordCreated(List.of(client("Retail")));
+            return List.of(new ClientIndustryCount("Retail", 1L));
+        }).thenReturn(List.of(new ClientIndustryCount("Retail", 2L)));
+
+        clientStatisticsService.reconcile();
+
+        assertEquals(new ClientStatisticsDTO(2L, Map.of("Retail", 2L)), clientStatisticsService.getClientStatistics());
+        verify(clientRepository, times(3)).countGroupedByIndustry();
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenChangesKeepBeingApplied() {
+        when(clientRepository.countGroupedByIndustry()).thenReturn(List.of(new ClientIndustryCount("Retail", 1L)));
+        clientStatisticsService.reconcile();
+        when(clientRepository.countGroupedByIndustry()).thenAnswer(invocation -> {
+            clientStatisticsService.recordCreated(List.of(client("Retail")));
+            return List.of();
+        });
+
+        clientStatisticsService.reconcile();
+
+        assertEquals(new ClientStatisticsDTO(4L, Map.of("Retail", 4L)), clientStatisticsService.getClientStatistics());
+    }
+
+    private Client client(String industry) {
+        Client client = new Client();
+        client.setIndustry(industry);
+        return client;
+    }
+}
@@ -0,0 +1,142 @@
+package com.sample.crm.api.service;
+
+import com.sample.crm.api.dto.TaskStatisticsDTO;
+import com.sample.crm.entity.Task;
+import com.sample.crm.model.TaskDueDateCount;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.model.TaskStatusCount;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.util.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatisticsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private MutableClock clock;
+
+    private TaskStatisticsService taskStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(12, 0));
+        taskStatisticsService = new TaskStatisticsService(taskRepository, clock);
+    }
+
+    @Test
+    void shouldLoadCountsFromDatabaseOnFirstRead() {
+        reconcileWith(List.of(new TaskStatusCount(TaskStatus.TODO, 3L), new TaskStatusCount(TaskStatus.DONE, 2L),
+                new TaskStatusCount(null, 1L)), List.of(), 1L);
+
+        TaskStatisticsDTO statistics = taskStatisticsService.getTaskStatistics();
+        taskStatisticsService.getTaskStatistics();
+
+        assertEquals(new TaskStatisticsDTO(6L, 3L, 0L, 2L, 0L, 1L), statistics);
+        verify(taskRepository, times(1)).countGroupedByStatus();
+    }
+
+    @Test
+    void shouldApplyChangesOfWritePaths() {
+        reconcileWith(List.of(new TaskStatusCount(TaskStatus.TODO, 1L)), List.of(), 1L);
+        Task overdue = task(TaskStatus.TODO, TODAY.minusDays(1));
+        Task created = task(TaskStatus.TODO, TODAY.plusDays(2));
+
+        taskStatisticsService.recordCreated(List.of(created));
+        overdue.setStatus(TaskStatus.DONE);
+        taskStatisticsService.recordUpdated(TaskStatus.TODO, TODAY.minusDays(1), overdue);
+        created.setStatus(TaskStatus.IN_PROGRESS);
+        taskStatisticsService.recordUpdated(TaskStatus.TODO, TODAY.plusDays(2), created);
+
+        assertEquals(new TaskStatisticsDTO(2L, 0L, 1L, 1L, 0L, 0L), taskStatisticsService.getTaskStatistics());
+
+        taskStatisticsService.recordDeleted(created);
+
+        assertEquals(new TaskStatisticsDTO(1L, 0L, 0L, 1L, 0L, 0L), taskStatisticsService.getTaskStatistics());
+    }
+
+    @Test
+    void shouldCountOpenTasksAsOverdueOnceTheirDueDatePasses() {
+        reconcileWith(List.of(new TaskStatusCount(TaskStatus.TODO, 2L)),
+                List.of(new TaskDueDateCount(TODAY, 1L), new TaskDueDateCount(TODAY.plusDays(1), 1L)), 0L);
+        taskStatisticsService.recordCreated(List.of(task(TaskStatus.DONE, TODAY)));
+
+        clock.set(TODAY.plusDays(1).atTime(12, 0));
+        assertEquals(1L, taskStatisticsService.getTaskStatistics().getOverdueTasks());
+
+        clock.set(TODAY.plusDays(5).atTime(12, 0));
+        assertEquals(2L, taskStatisticsService.getTaskStatistics().getOverdueTasks());
+    }
+
+    @Test
+    void shouldIgnoreChangesBeforeFirstLoad() {
+        taskStatisticsService.recordCreated(List.of(task(TaskStatus.TODO, TODAY)));
+        reconcileWith(List.of(), List.of(), 0L);
+
+        assertEquals(new TaskStatisticsDTO(0L, 0L, 0L, 0L, 0L, 0L), taskStatisticsService.getTaskStatistics());
+    }
+
+    @Test
+    void shouldReadCountsAgainWhenChangesAreAppliedMeanwhile() {
+        reconcileWith(List.of(new TaskStatusCount(TaskStatus.TODO, 1L)), List.of(), 0L);
+        when(taskRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            taskStatisticsService.recordCreated(List.of(task(TaskStatus.TODO, null)));
+            return List.of(new TaskStatusCount(TaskStatus.TODO, 1L));
+        }).thenReturn(List.of(new TaskStatusCount(TaskStatus.TODO, 2L)));
+
+        taskStatisticsService.reconcile();
+
+        assertEquals(new TaskStatisticsDTO(2L, 2L, 0L, 0L, 0L, 0L), taskStatisticsService.getTaskStatistics());
+        verify(taskRepository, times(3)).countGroupedByStatus();
+    }
+
+    @Test
+    void shouldNotCountChangeCommittedWhileCountsAreReadTwice() {
+        reconcileWith(List.of(new TaskStatusCount(TaskStatus.TODO, 1L)), List.of(), 0L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskStatisticsService.recordCreated(List.of(task(TaskStatus.TODO, null)));
+            when(taskRepository.countGroupedByStatus()).thenReturn(List.of(new TaskStatusCount(TaskStatus.TODO, 2L)));
+
+            taskStatisticsService.reconcile();
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(new TaskStatisticsDTO(2L, 2L, 0L, 0L, 0L, 0L), taskStatisticsService.getTaskStatistics());
+    }
+
+    private void reconcileWith(List<TaskStatusCount> statusCounts, List<TaskDueDateCount> dueDateCounts,
+                               long overdue) {
+        when(taskRepository.countGroupedByStatus()).thenReturn(statusCounts);
+        when(taskRepository.countOpenGroupedByDueDateFrom(TODAY)).thenReturn(dueDateCounts);
+        when(taskRepository.countOpenDueBefore(TODAY)).thenReturn(overdue);
+        taskStatisticsService.reconcile();
+    }
+
+    private Task task(TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
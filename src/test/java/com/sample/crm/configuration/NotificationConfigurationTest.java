@@ -0,0 +1,115 @@
+package com.sample.crm.configuration;
+
+import com.sample.crm.model.NotificationOverloadPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationConfigurationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> ran = new CopyOnWriteArrayList<>();
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRejectWhenFullWithSpillPolicy() throws InterruptedException {
+        executor = fullExecutor(NotificationOverloadPolicy.SPILL, Duration.ZERO);
+
+        assertThatThrownBy(() -> executor.execute(task("third"))).isInstanceOf(TaskRejectedException.class);
+        assertThat(meterRegistry.get("crm.notifications.executor.queued").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("crm.notifications.executor.active").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldDropOldestQueuedEventWithDropOldestPolicy() throws InterruptedException {
+        executor = fullExecutor(NotificationOverloadPolicy.DROP_OLDEST, Duration.ZERO);
+
+        executor.execute(task("third"));
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(ran).containsExactly("first", "third");
+        assertThat(meterRegistry.get("crm.notifications.executor.rejected").tag("outcome", "dropped").counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldWaitForRoomThenRejectWithBlockPolicy() throws InterruptedException {
+        executor = fullExecutor(NotificationOverloadPolicy.BLOCK, Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(task("third"))).isInstanceOf(TaskRejectedException.class);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(100).toNanos());
+
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            release.countDown();
+        });
+        releaser.start();
+        executor.execute(task("fourth"));
+        releaser.join();
+        executor.getThreadPoolExecutor().shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(ran).containsExactly("first", "second", "fourth");
+    }
+
+    /**
+     * Returns an executor with one worker busy with the first event and the second event filling its queue.
+     */
+    private ThreadPoolTaskExecutor fullExecutor(NotificationOverloadPolicy policy, Duration blockTimeout)
+            throws InterruptedException {
+        ThreadPoolTaskExecutor full = new NotificationConfiguration()
+                .notificationExecutor(1, 1, policy, blockTimeout, false, meterRegistry);
+        full.initialize();
+        CountDownLatch started = new CountDownLatch(1);
+        full.execute(() -> {
+            started.countDown();
+            ran.add("first");
+            await();
+        });
+        started.await();
+        full.execute(task("second"));
+        return full;
+    }
+
+    private Runnable task(String name) {
+        return () -> ran.add(name);
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
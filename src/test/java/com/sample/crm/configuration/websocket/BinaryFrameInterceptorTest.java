@@ -0,0 +1,92 @@
+package com.sample.crm.configuration.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryFrameInterceptorTest {
+
+    private static final String JSON = """
+            {"id":1,"type":"TASK_STATUS_CHANGED","sentAt":"2025-03-10T10:15:30","dismissed":false,"viewed":false,\
+            "params":{"task_description":"Call the client","task_status":"IN_PROGRESS"}}""";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BinaryFrameInterceptor interceptor = new BinaryFrameInterceptor(meterRegistry);
+    private final ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel();
+
+    @Test
+    void shouldEncodeMessagesOfBinarySubscriptionUntilUnsubscribed() throws Exception {
+        interceptor.preSend(subscribe("native", "cbor", true), channel);
+
+        Message<?> encoded = interceptor.preSend(message("native"), channel);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(encoded);
+        assertThat(accessor.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        assertThat(accessor.getFirstNativeHeader(BinaryFrameInterceptor.FORMAT_HEADER)).isEqualTo("cbor");
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree((byte[]) encoded.getPayload());
+        assertThat(decoded).isEqualTo(new ObjectMapper().readTree(JSON));
+        assertThat(((byte[]) encoded.getPayload()).length).isLessThan(JSON.length());
+        assertThat(meterRegistry.get("crm.websocket.frames.bytes").tag("format", "cbor").summary().count())
+                .isEqualTo(1);
+
+        interceptor.preSend(unsubscribe("native"), channel);
+
+        assertThat(interceptor.preSend(message("native"), channel).getPayload())
+                .isEqualTo(JSON.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepJsonForSockJsSessions() {
+        interceptor.preSend(subscribe("sockjs", "smile", false), channel);
+
+        Message<?> message = interceptor.preSend(message("sockjs"), channel);
+
+        assertThat(message.getPayload()).isEqualTo(JSON.getBytes(StandardCharsets.UTF_8));
+        assertThat(SimpMessageHeaderAccessor.wrap(message).getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(meterRegistry.get("crm.websocket.frames.bytes").tag("format", "json").summary().totalAmount())
+                .isEqualTo(JSON.length());
+    }
+
+    private Message<byte[]> subscribe(String sessionId, String format, boolean binaryFrames) {
+        SimpMessageHeaderAccessor accessor = accessor(SimpMessageType.SUBSCRIBE, sessionId);
+        accessor.setNativeHeader(BinaryFrameInterceptor.FORMAT_HEADER, format);
+        Map<String, Object> attributes = new HashMap<>();
+        if (binaryFrames) {
+            attributes.put(BinaryFrameInterceptor.BINARY_FRAMES_ATTRIBUTE, true);
+        }
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<byte[]> unsubscribe(String sessionId) {
+        return MessageBuilder.createMessage(new byte[0],
+                accessor(SimpMessageType.UNSUBSCRIBE, sessionId).getMessageHeaders());
+    }
+
+    private Message<byte[]> message(String sessionId) {
+        SimpMessageHeaderAccessor accessor = accessor(SimpMessageType.MESSAGE, sessionId);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(JSON.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private SimpMessageHeaderAccessor accessor(SimpMessageType type, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("notifications");
+        return accessor;
+    }
+}
@@ -0,0 +1,120 @@
+package com.sample.crm.configuration.websocket;
+
+import com.sample.crm.model.SlowConsumerPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedSubProtocolWebSocketHandlerTest {
+
+    private static final TextMessage MESSAGE = new TextMessage("0123456789");
+
+    @Mock
+    private WebSocketSession session;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private CompletableFuture<Void> first;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void shouldDropMessagesForSlowConsumerWithDropPolicy() throws Exception {
+        BufferedSubProtocolWebSocketHandler handler = handler(SlowConsumerPolicy.DROP);
+        WebSocketSession buffered = givenSlowConsumer(handler);
+
+        buffered.sendMessage(MESSAGE);
+        buffered.sendMessage(MESSAGE);
+
+        assertThat(meterRegistry.get("crm.websocket.outbound.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("crm.websocket.outbound.queued").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("crm.websocket.outbound.queued.max").gauge().value()).isEqualTo(2.0);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        verify(session, times(2)).sendMessage(any());
+        assertThat(meterRegistry.get("crm.websocket.outbound.queued").gauge().value()).isZero();
+        assertThat(meterRegistry.get("crm.websocket.outbound.depth").summary().max()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldDisconnectSlowConsumerWithDisconnectPolicy() throws Exception {
+        BufferedSubProtocolWebSocketHandler handler = handler(SlowConsumerPolicy.DISCONNECT);
+        WebSocketSession buffered = givenSlowConsumer(handler);
+
+        buffered.sendMessage(MESSAGE);
+
+        assertThatThrownBy(() -> buffered.sendMessage(MESSAGE)).isInstanceOf(SessionLimitExceededException.class);
+        assertThat(meterRegistry.get("crm.websocket.outbound.disconnected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("crm.websocket.outbound.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldForgetClosedSessions() throws Exception {
+        BufferedSubProtocolWebSocketHandler handler = handler(SlowConsumerPolicy.DROP);
+        handler.addProtocolHandler(new StompSubProtocolHandler());
+        givenSlowConsumer(handler);
+
+        handler.afterConnectionClosed(session, CloseStatus.GOING_AWAY);
+
+        assertThat(meterRegistry.get("crm.websocket.outbound.queued").gauge().value()).isZero();
+    }
+
+    private BufferedSubProtocolWebSocketHandler handler(SlowConsumerPolicy slowConsumerPolicy) {
+        BufferedSubProtocolWebSocketHandler handler = new BufferedSubProtocolWebSocketHandler(
+                new ExecutorSubscribableChannel(), new ExecutorSubscribableChannel(), slowConsumerPolicy,
+                meterRegistry);
+        handler.setSendBufferSizeLimit(16);
+        return handler;
+    }
+
+    /**
+     * Opens a session and starts sending it a first message, which the client does not read until released.
+     */
+    private WebSocketSession givenSlowConsumer(BufferedSubProtocolWebSocketHandler handler) throws Exception {
+        when(session.getId()).thenReturn("slow");
+        WebSocketSession buffered = handler.decorateSession(session);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(session).sendMessage(any());
+        first = CompletableFuture.runAsync(() -> {
+            try {
+                buffered.sendMessage(MESSAGE);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        return buffered;
+    }
+}
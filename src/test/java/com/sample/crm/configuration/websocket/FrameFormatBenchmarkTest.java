@@ -0,0 +1,86 @@
+package com.sample.crm.configuration.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.crm.dto.NotificationDTO;
+import com.sample.crm.model.NotificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the bytes on the wire and the encoding time of notification frames in every {@link FrameFormat}, over
+ * generated notifications shaped like the ones {@code UserNotifier} sends. JSON is encoded from the DTO as today;
+ * binary formats are re-encoded from that JSON, as {@link BinaryFrameInterceptor} does. Runs in the
+ * {@code search-benchmark} surefire execution and logs the averages.
+ */
+@Slf4j
+@Tag("benchmark")
+class FrameFormatBenchmarkTest {
+    private static final int NOTIFICATIONS = 100_000;
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+    private static final String[] WORDS = {"call", "client", "about", "contract", "renewal", "prepare", "quarterly",
+            "report", "review", "invoice", "meeting", "follow", "up", "proposal"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldSendSmallerFramesInBinaryFormats() throws Exception {
+        List<NotificationDTO> notifications = notifications(new Random(42));
+        encode(notifications, FrameFormat.JSON);
+
+        long jsonBytes = 0;
+        for (FrameFormat format : FrameFormat.values()) {
+            encode(notifications, format);
+            long start = System.nanoTime();
+            long bytes = encode(notifications, format);
+            long nanos = System.nanoTime() - start;
+            if (format == FrameFormat.JSON) {
+                jsonBytes = bytes;
+            } else {
+                assertThat(bytes).isLessThan(jsonBytes);
+            }
+            log.info("{} frames: {} bytes and {} ns per notification ({}% of JSON bytes)", format,
+                    bytes / NOTIFICATIONS, nanos / NOTIFICATIONS, bytes * 100 / jsonBytes);
+        }
+    }
+
+    private long encode(List<NotificationDTO> notifications, FrameFormat format) throws Exception {
+        long bytes = 0;
+        for (NotificationDTO notification : notifications) {
+            bytes += format.encode(objectMapper.writeValueAsBytes(notification)).length;
+        }
+        return bytes;
+    }
+
+    private static List<NotificationDTO> notifications(Random random) {
+        List<NotificationDTO> notifications = new ArrayList<>(NOTIFICATIONS);
+        for (long id = 1; id <= NOTIFICATIONS; id++) {
+            Map<String, String> params = switch (random.nextInt(3)) {
+                case 0 -> Map.of("task_description", sentence(random),
+                        "task_status", STATUSES[random.nextInt(STATUSES.length)]);
+                case 1 -> Map.of("task_count", "3", "task_status", STATUSES[random.nextInt(STATUSES.length)],
+                        "task_descriptions", sentence(random) + ", " + sentence(random) + ", " + sentence(random));
+                default -> Map.of("task_description", sentence(random));
+            };
+            NotificationType type = NotificationType.values()[random.nextInt(NotificationType.values().length)];
+            notifications.add(new NotificationDTO(id, type, "2025-03-10T10:15:30.%06d".formatted(random.nextInt(
+                    1_000_000)), false, false, params));
+        }
+        return notifications;
+    }
+
+    private static String sentence(Random random) {
+        StringBuilder sentence = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 2 + random.nextInt(5); i > 0; i--) {
+            sentence.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.sample.crm.controller;
+
+import com.sample.crm.dto.SuggestionDTO;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.service.search.AutocompleteIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteControllerTest {
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @InjectMocks
+    private AutocompleteController autocompleteController;
+
+    @Test
+    void shouldSuggestClientsAndContacts() {
+        List<SuggestionDTO> suggestions = List.of(new SuggestionDTO(SuggestionType.CLIENT, 1L, "Acme"));
+        when(autocompleteIndex.suggest("Ac", SuggestionType.CLIENT, 10)).thenReturn(suggestions);
+
+        ResponseEntity<List<SuggestionDTO>> response = autocompleteController.suggest("Ac", SuggestionType.CLIENT, 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(suggestions);
+    }
+}
@@ -72,13 +72,13 @@ class ClientControllerTest {
     void shouldSearchClients() {
         String searchTerm = "Search";
         List<ClientDTO> clients = List.of(client1);
-        when(clientService.search(searchTerm)).thenReturn(clients);
+        when(clientService.search(searchTerm, 0, 50)).thenReturn(clients);
 
-        ResponseEntity<List<ClientDTO>> response = clientController.search(searchTerm);
+        ResponseEntity<List<ClientDTO>> response = clientController.search(searchTerm, 0, 50);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(clients);
-        verify(clientService, times(1)).search(searchTerm);
+        verify(clientService, times(1)).search(searchTerm, 0, 50);
     }
 
     @Test
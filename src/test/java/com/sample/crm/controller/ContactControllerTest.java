@@ -2,7 +2,9 @@ package com.sample.crm.controller;
 
 
 import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ContactDuplicateGroupDTO;
 import com.sample.crm.service.ContactService;
+import com.sample.crm.service.deduplication.ContactDeduplicationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,6 +27,9 @@ class ContactControllerTest {
     @Mock
     private ContactService contactService;
 
+    @Mock
+    private ContactDeduplicationService contactDeduplicationService;
+
     @InjectMocks
     private ContactController contactController;
 
@@ -55,13 +60,37 @@ class ContactControllerTest {
         contactDTO.setLastName("last");
 
         List<ContactDTO> contacts = List.of(contactDTO);
-        when(contactService.search(clientId, searchTerm)).thenReturn(contacts);
+        when(contactService.search(clientId, searchTerm, 0, 50)).thenReturn(contacts);
 
-        ResponseEntity<List<ContactDTO>> response = contactController.search(clientId, searchTerm);
+        ResponseEntity<List<ContactDTO>> response = contactController.search(clientId, searchTerm, 0, 50);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(contacts);
-        verify(contactService, times(1)).search(clientId, searchTerm);
+        verify(contactService, times(1)).search(clientId, searchTerm, 0, 50);
+    }
+
+    @Test
+    void shouldFindDuplicates() {
+        List<ContactDuplicateGroupDTO> groups = List.of(new ContactDuplicateGroupDTO(1L, List.of(2L, 3L)));
+        when(contactDeduplicationService.getDuplicates(5L)).thenReturn(groups);
+
+        ResponseEntity<List<ContactDuplicateGroupDTO>> response = contactController.findDuplicates(5L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(groups);
+    }
+
+    @Test
+    void shouldMergeContacts() {
+        ContactDTO contactDTO = new ContactDTO();
+        contactDTO.setId(1L);
+        when(contactDeduplicationService.merge(1L, List.of(2L, 3L))).thenReturn(contactDTO);
+
+        ResponseEntity<ContactDTO> response = contactController.merge(1L, List.of(2L, 3L));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(contactDTO);
+        verify(contactDeduplicationService, times(1)).merge(1L, List.of(2L, 3L));
     }
 
     @Test
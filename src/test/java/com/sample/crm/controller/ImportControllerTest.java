@@ -0,0 +1,57 @@
+package com.sample.crm.controller;
+
+import com.sample.crm.dto.ImportJobDTO;
+import com.sample.crm.model.ImportStatus;
+import com.sample.crm.model.ImportType;
+import com.sample.crm.service.importing.ImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportControllerTest {
+
+    @Mock
+    private ImportService importService;
+
+    @InjectMocks
+    private ImportController importController;
+
+    @Test
+    void shouldStartTaskImport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "tasks.csv", "text/csv",
+                "description,status,dueDate,clientId,contactId\n".getBytes(StandardCharsets.UTF_8));
+        ImportJobDTO job = ImportJobDTO.builder().id("job").type(ImportType.TASKS).status(ImportStatus.RUNNING).build();
+        when(importService.start(ImportType.TASKS, file)).thenReturn(job);
+
+        ResponseEntity<ImportJobDTO> response = importController.importTasks(file);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isEqualTo(job);
+        verify(importService, times(1)).start(ImportType.TASKS, file);
+    }
+
+    @Test
+    void shouldReturnImportProgress() {
+        ImportJobDTO job = ImportJobDTO.builder().id("job").status(ImportStatus.COMPLETED).processedRows(10).build();
+        when(importService.getJob("job")).thenReturn(job);
+
+        ResponseEntity<ImportJobDTO> response = importController.getImport("job");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(job);
+        verify(importService, times(1)).getJob("job");
+    }
+}
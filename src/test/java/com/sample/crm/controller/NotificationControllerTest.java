@@ -1,8 +1,15 @@
 package com.sample.crm.controller;
 
+import com.sample.crm.dto.CursorPageDTO;
+import com.sample.crm.dto.NotificationBulkResultDTO;
+import com.sample.crm.dto.NotificationCountDTO;
 import com.sample.crm.dto.NotificationDTO;
+import com.sample.crm.dto.NotificationSelectionDTO;
+import com.sample.crm.exception.ForbiddenException;
 import com.sample.crm.model.NotificationType;
+import com.sample.crm.model.security.UserPrincipal;
 import com.sample.crm.service.notification.NotificationService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,12 +17,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +38,11 @@ class NotificationControllerTest {
   @InjectMocks
   private NotificationController notificationController;
 
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
   @Test
   void shouldGetAllNotificationsForUser() {
     String username = "testUser";
@@ -43,6 +59,34 @@ class NotificationControllerTest {
     verify(notificationService, times(1)).getAllNotificationsForUser(username);
   }
 
+  @Test
+  void shouldGetInboxPage() {
+    String username = "testUser";
+    signIn(username);
+    NotificationDTO notificationDTO = new NotificationDTO();
+    notificationDTO.setId(7L);
+    CursorPageDTO<NotificationDTO> page = new CursorPageDTO<>(List.of(notificationDTO), 7L);
+    when(notificationService.getInboxPage(username, 10L, 1)).thenReturn(page);
+
+    ResponseEntity<CursorPageDTO<NotificationDTO>> response = notificationController.getInboxPage(username, 10L, 1);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isEqualTo(page);
+    verify(notificationService, times(1)).getInboxPage(username, 10L, 1);
+  }
+
+  @Test
+  void shouldGetNotificationCount() {
+    String username = "testUser";
+    signIn(username);
+    when(notificationService.getNotificationCount(username)).thenReturn(new NotificationCountDTO(3, 12));
+
+    ResponseEntity<NotificationCountDTO> response = notificationController.getNotificationCount(username);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isEqualTo(new NotificationCountDTO(3, 12));
+  }
+
   @Test
   void shouldUpdateNotification() {
     long notificationId = 1L;
@@ -67,11 +111,66 @@ class NotificationControllerTest {
     notificationDTO.setType(NotificationType.TASK_DUE_DATE);
     when(notificationService.dismissNotification(notificationId)).thenReturn(notificationDTO);
 
-    ResponseEntity<NotificationDTO> response = notificationController.updateNotification(notificationDTO, notificationId);
+    ResponseEntity<NotificationDTO> response = notificationController.dismissNotification(notificationId);
 
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
     assertThat(response.getBody()).isNotNull();
     assertThat(response.getBody().getType()).isEqualTo(NotificationType.TASK_DUE_DATE);
     verify(notificationService, times(1)).dismissNotification(notificationId);
   }
+
+  @Test
+  void shouldDismissSelectedNotifications() {
+    String username = "testUser";
+    signIn(username);
+    NotificationSelectionDTO selectionDTO = new NotificationSelectionDTO(List.of(1L, 2L), null);
+    when(notificationService.dismissNotifications(username, List.of(1L, 2L), null)).thenReturn(2);
+
+    ResponseEntity<NotificationBulkResultDTO> response = notificationController.dismissNotifications(username, selectionDTO);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isEqualTo(new NotificationBulkResultDTO(2));
+  }
+
+  @Test
+  void shouldMarkNotificationsViewed() {
+    String username = "testUser";
+    signIn(username);
+    NotificationSelectionDTO selectionDTO = new NotificationSelectionDTO(null, 150L);
+    when(notificationService.markNotificationsViewed(username, null, 150L)).thenReturn(7);
+
+    ResponseEntity<NotificationBulkResultDTO> response = notificationController.markNotificationsViewed(username, selectionDTO);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isEqualTo(new NotificationBulkResultDTO(7));
+  }
+
+  @Test
+  void shouldRejectBulkUpdatesOfAnotherUsersNotifications() {
+    signIn("otherUser");
+    NotificationSelectionDTO selectionDTO = new NotificationSelectionDTO(null, null);
+
+    assertThatThrownBy(() -> notificationController.dismissNotifications("testUser", selectionDTO))
+        .isInstanceOf(ForbiddenException.class);
+    assertThatThrownBy(() -> notificationController.markNotificationsViewed("testUser", selectionDTO))
+        .isInstanceOf(ForbiddenException.class);
+    verifyNoInteractions(notificationService);
+  }
+
+  @Test
+  void shouldRejectReadingAnotherUsersInbox() {
+    signIn("otherUser");
+
+    assertThatThrownBy(() -> notificationController.getInboxPage("testUser", null, 50))
+        .isInstanceOf(ForbiddenException.class);
+    assertThatThrownBy(() -> notificationController.getNotificationCount("testUser"))
+        .isInstanceOf(ForbiddenException.class);
+    verifyNoInteractions(notificationService);
+  }
+
+  private void signIn(String username) {
+    UserPrincipal principal = new UserPrincipal(1L, username, "password");
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
 }
@@ -0,0 +1,40 @@
+package com.sample.crm.controller;
+
+import com.sample.crm.dto.GlobalSearchDTO;
+import com.sample.crm.dto.SearchResultDTO;
+import com.sample.crm.model.SearchResultType;
+import com.sample.crm.service.search.GlobalSearchService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchControllerTest {
+
+    @Mock
+    private GlobalSearchService globalSearchService;
+
+    @InjectMocks
+    private SearchController searchController;
+
+    @Test
+    void shouldSearchAllSources() {
+        GlobalSearchDTO results = new GlobalSearchDTO(
+                List.of(new SearchResultDTO(SearchResultType.CLIENT, 1L, "Acme", 3)), List.of(SearchResultType.TASK));
+        when(globalSearchService.search("Acme", 20)).thenReturn(results);
+
+        ResponseEntity<GlobalSearchDTO> response = searchController.search("Acme", 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(results);
+    }
+}
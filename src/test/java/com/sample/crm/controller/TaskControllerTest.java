@@ -1,7 +1,11 @@
 package com.sample.crm.controller;
 
+import com.sample.crm.dto.CursorPageDTO;
 import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.dto.TaskStatusBatchDTO;
+import com.sample.crm.model.TaskFilter;
 import com.sample.crm.model.TaskStatus;
+import com.sample.crm.service.ExportService;
 import com.sample.crm.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,7 +14,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,23 +32,33 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private ExportService exportService;
+
     @InjectMocks
     private TaskController taskController;
 
     @Test
-    void shouldReturnAllTasks() {
+    void shouldReturnTaskPage() {
         TaskDTO taskDTO = new TaskDTO();
         taskDTO.setId(1L);
         taskDTO.setDescription("Test Task");
-        List<TaskDTO> taskDTOList = List.of(taskDTO);
+        CursorPageDTO<TaskDTO> page = new CursorPageDTO<>(List.of(taskDTO), 1L);
+        LocalDate dueDateTo = LocalDate.of(2025, 12, 31);
+        TaskFilter filter = TaskFilter.builder()
+                .status(TaskStatus.TODO)
+                .clientId(1L)
+                .dueDateTo(dueDateTo)
+                .build();
 
-        when(taskService.findAll()).thenReturn(taskDTOList);
+        when(taskService.findPage(filter, null, 50)).thenReturn(page);
 
-        ResponseEntity<List<TaskDTO>> response = taskController.findAll();
+        ResponseEntity<CursorPageDTO<TaskDTO>> response =
+                taskController.findPage(TaskStatus.TODO, 1L, null, null, dueDateTo, null, 50);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(taskDTOList);
-        verify(taskService, times(1)).findAll();
+        assertThat(response.getBody()).isEqualTo(page);
+        verify(taskService, times(1)).findPage(filter, null, 50);
     }
 
     @Test
@@ -132,4 +149,31 @@ class TaskControllerTest {
         assertThat(response.getBody()).isEqualTo(taskDTO);
         verify(taskService, times(1)).assignContact(1L, 2L);
     }
+
+    @Test
+    void shouldUpdateTaskStatuses() {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(1L);
+        taskDTO.setStatus(TaskStatus.DONE);
+
+        when(taskService.updateStatuses(List.of(1L), TaskStatus.DONE)).thenReturn(List.of(taskDTO));
+
+        ResponseEntity<List<TaskDTO>> response =
+                taskController.updateStatuses(new TaskStatusBatchDTO(List.of(1L), TaskStatus.DONE));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(taskDTO);
+        verify(taskService, times(1)).updateStatuses(List.of(1L), TaskStatus.DONE);
+    }
+
+    @Test
+    void shouldStreamTaskExport() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = taskController.export();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(exportService, times(1)).exportTasks(out);
+    }
 }
@@ -0,0 +1,102 @@
+package com.sample.crm.service;
+
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.configuration.cache.InstrumentedCacheManager;
+import com.sample.crm.model.TaskFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CacheManager cacheManager;
+
+    private TaskPageKeys taskPageKeys;
+
+    private CacheInvalidator cacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new InstrumentedCacheManager(new ConcurrentMapCacheManager(), meterRegistry);
+        taskPageKeys = new TaskPageKeys(cacheManager);
+        cacheInvalidator = new CacheInvalidator(cacheManager, taskPageKeys);
+    }
+
+    @Test
+    void shouldEvictOnlyTasksOfAffectedClients() {
+        Cache clientTasks = cacheManager.getCache(CacheNames.CLIENT_TASKS);
+        clientTasks.put(1L, List.of());
+        clientTasks.put(2L, List.of());
+
+        cacheInvalidator.evictTasks(Arrays.asList(1L, null));
+
+        assertThat(clientTasks.get(1L)).isNull();
+        assertThat(clientTasks.get(2L)).isNotNull();
+    }
+
+    @Test
+    void shouldMoveOnlyTaskPagesOfAffectedClientsAndUnfilteredPages() {
+        TaskFilter ofClient = TaskFilter.builder().clientId(1L).build();
+        TaskFilter ofOtherClient = TaskFilter.builder().clientId(2L).build();
+        TaskFilter ofContact = TaskFilter.builder().contactId(5L).build();
+        String clientPage = taskPageKeys.key(ofClient, null, 50);
+        String otherClientPage = taskPageKeys.key(ofOtherClient, null, 50);
+        String contactPage = taskPageKeys.key(ofContact, null, 50);
+        String unfilteredPage = taskPageKeys.key(new TaskFilter(), 7L, 50);
+
+        cacheInvalidator.evictTasks(Arrays.asList(1L, null));
+
+        assertThat(taskPageKeys.key(ofClient, null, 50)).isNotEqualTo(clientPage);
+        assertThat(taskPageKeys.key(ofOtherClient, null, 50)).isEqualTo(otherClientPage);
+        assertThat(taskPageKeys.key(ofContact, null, 50)).isNotEqualTo(contactPage);
+        assertThat(taskPageKeys.key(new TaskFilter(), 7L, 50)).isNotEqualTo(unfilteredPage);
+    }
+
+    @Test
+    void shouldEvictClientListsOfAffectedUsersOnly() {
+        Cache clients = cacheManager.getCache(CacheNames.CLIENTS);
+        Cache userClients = cacheManager.getCache(CacheNames.USER_CLIENTS);
+        clients.put(SimpleKey.EMPTY, List.of());
+        userClients.put(1L, List.of());
+        userClients.put(2L, List.of());
+
+        cacheInvalidator.evictClients(List.of(1L));
+
+        assertThat(clients.get(SimpleKey.EMPTY)).isNull();
+        assertThat(userClients.get(1L)).isNull();
+        assertThat(userClients.get(2L)).isNotNull();
+    }
+
+    @Test
+    void shouldCountHitsMissesAndEvictions() {
+        Cache contacts = cacheManager.getCache(CacheNames.CONTACTS);
+
+        contacts.get(SimpleKey.EMPTY);
+        contacts.put(SimpleKey.EMPTY, List.of());
+        contacts.get(SimpleKey.EMPTY);
+        cacheInvalidator.evictContacts();
+
+        assertThat(count("crm.cache.gets", "miss")).isEqualTo(1);
+        assertThat(count("crm.cache.gets", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("crm.cache.puts").tag("cache", CacheNames.CONTACTS).counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("crm.cache.evictions").tag("cache", CacheNames.CONTACTS).counter().count())
+                .isEqualTo(1);
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name).tag("cache", CacheNames.CONTACTS).tag("result", result).counter().count();
+    }
+}
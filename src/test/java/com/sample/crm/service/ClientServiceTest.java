@@ -1,5 +1,6 @@
 package com.sample.crm.service;
 
+import com.sample.crm.api.service.ClientStatisticsService;
 import com.sample.crm.dto.ClientDTO;
 import com.sample.crm.dto.UserDTO;
 import com.sample.crm.entity.Client;
@@ -7,9 +8,12 @@ import com.sample.crm.entity.User;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.mapper.ClientMapper;
 import com.sample.crm.mapper.UserMapper;
+import com.sample.crm.model.SuggestionType;
 import com.sample.crm.model.security.UserPrincipal;
 import com.sample.crm.repository.ClientRepository;
 import com.sample.crm.repository.UserRepository;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ClientSearchIndex;
 import com.sample.crm.util.SecurityUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +46,18 @@ class ClientServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ClientStatisticsService clientStatisticsService;
+
+    @Mock
+    private ClientSearchIndex clientSearchIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -91,14 +108,24 @@ class ClientServiceTest {
         ClientDTO clientDTO = new ClientDTO();
         clientDTO.setId(1L);
 
-        when(clientRepository.search(searchTerm)).thenReturn(List.of(client));
+        when(clientSearchIndex.search(searchTerm, 50, 100)).thenReturn(List.of(client));
         when(clientMapper.toDto(client)).thenReturn(clientDTO);
 
-        List<ClientDTO> result = clientService.search(searchTerm);
+        List<ClientDTO> result = clientService.search(searchTerm, 2, 50);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(1L);
-        verify(clientRepository, times(1)).search(searchTerm);
+        verify(clientSearchIndex, times(1)).search(searchTerm, 50, 100);
+    }
+
+    @Test
+    void shouldListClientsForBlankSearchTerm() {
+        when(clientRepository.findPage(PageRequest.of(0, 200))).thenReturn(List.of());
+
+        List<ClientDTO> result = clientService.search(" ", -1, 1000);
+
+        assertThat(result).isEmpty();
+        verify(clientRepository, times(1)).findPage(PageRequest.of(0, 200));
     }
 
     @Test
@@ -127,6 +154,8 @@ class ClientServiceTest {
 
             assertThat(result.getId()).isEqualTo(1L);
             verify(clientRepository, times(1)).save(client);
+            verify(clientSearchIndex, times(1)).index(List.of(client));
+            verify(autocompleteIndex, times(1)).indexClients(List.of(client));
         }
     }
 
@@ -147,6 +176,7 @@ class ClientServiceTest {
         user.setId(1L);
 
         when(clientRepository.findById(clientId)).thenReturn(Optional.of(client));
+        when(clientRepository.findUserIdsByClientId(clientId)).thenReturn(List.of(user.getId()));
         when(clientMapper.toDto(client)).thenReturn(clientDTO);
         when(clientRepository.save(client)).thenReturn(client);
 
@@ -154,6 +184,9 @@ class ClientServiceTest {
 
         assertThat(result.getId()).isEqualTo(clientId);
         verify(clientRepository, times(1)).save(client);
+        verify(cacheInvalidator, times(1)).evictClients(List.of(user.getId()));
+        verify(cacheInvalidator, times(1)).evictTasks(List.of(clientId));
+        verify(cacheInvalidator, times(1)).evictContacts();
     }
 
     @Test
@@ -172,9 +205,15 @@ class ClientServiceTest {
     @Test
     void shouldDeleteClient() {
         Long clientId = 1L;
+        Client client = new Client();
+        client.setId(clientId);
+        client.setIndustry("Retail");
+        when(clientRepository.findById(clientId)).thenReturn(Optional.of(client));
 
         clientService.delete(clientId);
 
-        verify(clientRepository, times(1)).deleteById(clientId);
+        verify(clientRepository, times(1)).delete(client);
+        verify(clientStatisticsService, times(1)).recordDeleted(client);
+        verify(autocompleteIndex, times(1)).remove(SuggestionType.CLIENT, clientId);
     }
 }
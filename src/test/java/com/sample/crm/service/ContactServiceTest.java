@@ -7,12 +7,17 @@ import com.sample.crm.entity.Contact;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.mapper.ContactMapper;
 import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ContactDuplicateRepository;
 import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ContactSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,12 +36,24 @@ class ContactServiceTest {
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private ContactDuplicateRepository contactDuplicateRepository;
+
     @Mock
     private ContactMapper contactMapper;
 
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ContactSearchIndex contactSearchIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
     @InjectMocks
     private ContactService contactService;
 
@@ -59,7 +76,43 @@ class ContactServiceTest {
     }
 
     @Test
-    void shouldSearchContacts() {
+    void shouldSearchContactsInIndex() {
+        Long clientId = 1L;
+        String searchTerm = "Term";
+
+        Contact first = new Contact();
+        first.setId(1L);
+        Contact second = new Contact();
+        second.setId(2L);
+
+        ContactDTO firstDTO = new ContactDTO();
+        firstDTO.setId(1L);
+        ContactDTO secondDTO = new ContactDTO();
+        secondDTO.setId(2L);
+
+        when(contactSearchIndex.search(clientId, searchTerm, 20, 40)).thenReturn(Optional.of(List.of(1L, 2L)));
+        when(contactRepository.findAllInOrder(List.of(1L, 2L))).thenCallRealMethod();
+        when(contactRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(second, first));
+        when(contactMapper.toDto(first)).thenReturn(firstDTO);
+        when(contactMapper.toDto(second)).thenReturn(secondDTO);
+
+        List<ContactDTO> result = contactService.search(clientId, searchTerm, 2, 20);
+
+        assertThat(result).extracting(ContactDTO::getId).containsExactly(1L, 2L);
+        verify(contactRepository, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void shouldClampContactSearchPage() {
+        when(contactSearchIndex.search(1L, "Term", 200, 0)).thenReturn(Optional.of(List.of()));
+
+        assertThat(contactService.search(1L, "Term", -1, 10_000)).isEmpty();
+
+        verify(contactSearchIndex, times(1)).search(1L, "Term", 200, 0);
+    }
+
+    @Test
+    void shouldSearchContactsInDatabaseWhileIndexIsBuilding() {
         Long clientId = 1L;
         String searchTerm = "Term";
 
@@ -69,14 +122,15 @@ class ContactServiceTest {
         ContactDTO contactDTO = new ContactDTO();
         contactDTO.setId(1L);
 
-        when(contactRepository.search(clientId, searchTerm)).thenReturn(List.of(contact));
+        when(contactSearchIndex.search(clientId, searchTerm, 50, 0)).thenReturn(Optional.empty());
+        when(contactRepository.search(clientId, searchTerm, PageRequest.of(0, 50))).thenReturn(List.of(contact));
         when(contactMapper.toDto(contact)).thenReturn(contactDTO);
 
-        List<ContactDTO> result = contactService.search(clientId, searchTerm);
+        List<ContactDTO> result = contactService.search(clientId, searchTerm, 0, 50);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(1L);
-        verify(contactRepository, times(1)).search(clientId, searchTerm);
+        verify(contactRepository, times(1)).search(clientId, searchTerm, PageRequest.of(0, 50));
     }
 
     @Test
@@ -95,14 +149,20 @@ class ContactServiceTest {
 
         assertThat(result.getId()).isEqualTo(1L);
         verify(contactRepository, times(1)).save(contact);
+        verify(contactSearchIndex, times(1)).index(List.of(contact));
+        verify(autocompleteIndex, times(1)).indexContacts(List.of(contact));
     }
 
     @Test
     void shouldUpdateContact() {
         Long contactId = 1L;
 
+        Client previousClient = new Client();
+        previousClient.setId(2L);
+
         Contact contact = new Contact();
         contact.setId(contactId);
+        contact.setClient(previousClient);
 
         Client client = new Client();
         client.setId(1L);
@@ -122,6 +182,10 @@ class ContactServiceTest {
 
         assertThat(result.getId()).isEqualTo(contactId);
         verify(contactRepository, times(1)).save(contact);
+        verify(cacheInvalidator, times(1)).evictContacts();
+        verify(cacheInvalidator, times(1)).evictTasks(List.of(2L, 1L));
+        verify(contactSearchIndex, times(1)).index(List.of(contact));
+        verify(autocompleteIndex, times(1)).indexContacts(List.of(contact));
     }
 
     @Test
@@ -143,6 +207,9 @@ class ContactServiceTest {
 
         contactService.delete(contactId);
 
+        verify(contactDuplicateRepository, times(1)).deleteByContactIdIn(List.of(contactId));
         verify(contactRepository, times(1)).deleteById(contactId);
+        verify(contactSearchIndex, times(1)).remove(contactId);
+        verify(autocompleteIndex, times(1)).remove(SuggestionType.CONTACT, contactId);
     }
 }
@@ -0,0 +1,93 @@
+package com.sample.crm.service;
+
+import com.sample.crm.api.service.TaskStatisticsService;
+import com.sample.crm.model.TaskReference;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StaleTaskServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 0, 0);
+    private static final LocalDateTime UPDATED_BEFORE = NOW.minusDays(30);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private TaskStatisticsService taskStatisticsService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StaleTaskService staleTaskService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        staleTaskService = new StaleTaskService(taskRepository, cacheInvalidator, taskStatisticsService,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), meterRegistry);
+        ReflectionTestUtils.setField(staleTaskService, "staleAfter", Duration.ofDays(30));
+        ReflectionTestUtils.setField(staleTaskService, "chunkSize", 2);
+    }
+
+    @Test
+    void shouldPauseStaleTasksChunkByChunkAndEvictOnce() {
+        when(taskRepository.findStale(StaleTaskService.PAUSABLE_STATUSES, UPDATED_BEFORE, 0L, Limit.of(2)))
+                .thenReturn(List.of(new TaskReference(1L, 10L), new TaskReference(2L, 20L)));
+        when(taskRepository.findStale(StaleTaskService.PAUSABLE_STATUSES, UPDATED_BEFORE, 2L, Limit.of(2)))
+                .thenReturn(List.of(new TaskReference(5L, 10L)));
+        when(taskRepository.updateStaleStatus(List.of(1L, 2L), StaleTaskService.PAUSABLE_STATUSES, UPDATED_BEFORE,
+                TaskStatus.PAUSED, NOW)).thenReturn(2);
+        when(taskRepository.updateStaleStatus(List.of(5L), StaleTaskService.PAUSABLE_STATUSES, UPDATED_BEFORE,
+                TaskStatus.PAUSED, NOW)).thenReturn(0);
+
+        long paused = staleTaskService.pauseStaleTasks();
+
+        assertEquals(2, paused);
+        verify(taskRepository, times(2)).updateStaleStatus(anyCollection(), any(), any(), any(), any());
+        verify(cacheInvalidator, times(1)).evictTasks(Set.of(10L, 20L));
+        verify(taskStatisticsService, times(1)).reconcile();
+        assertEquals(2, meterRegistry.get("crm.tasks.paused").counter().count());
+        assertEquals(2, meterRegistry.get("crm.tasks.pause.progress").gauge().value());
+        assertEquals(1, meterRegistry.get("crm.tasks.pause.duration").timer().count());
+    }
+
+    @Test
+    void shouldNotEvictWhenNoTaskIsStale() {
+        when(taskRepository.findStale(StaleTaskService.PAUSABLE_STATUSES, UPDATED_BEFORE, 0L, Limit.of(2)))
+                .thenReturn(List.of());
+
+        long paused = staleTaskService.pauseStaleTasks();
+
+        assertEquals(0, paused);
+        verify(taskRepository, never()).updateStaleStatus(anyCollection(), any(), any(), any(), any());
+        verify(cacheInvalidator, never()).evictTasks(anyCollection());
+        verify(taskStatisticsService, never()).reconcile();
+    }
+}
@@ -0,0 +1,76 @@
+package com.sample.crm.service;
+
+import com.sample.crm.configuration.cache.CacheNames;
+import com.sample.crm.model.TaskFilter;
+import com.sample.crm.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the hit rate of the task page cache when a task write clears every page, as before, with starting a new
+ * generation of the pages of the affected client and of the pages not filtered by client. Replays the same workload
+ * against both: most reads page through the tasks of one of {@value #CLIENTS} clients, the others through all tasks,
+ * and one request in {@value #READS_PER_WRITE} writes a task of a random client. Runs in the {@code search-benchmark}
+ * surefire execution and logs both hit rates.
+ */
+@Slf4j
+@Tag("benchmark")
+class TaskPageCacheBenchmarkTest {
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS = 1_000_000;
+    private static final int READS_PER_WRITE = 20;
+    private static final int PAGES = 3;
+    private static final double CLIENT_READS = 0.8;
+
+    @Test
+    void shouldKeepPagesOfUnaffectedClientsCached() {
+        Cache cleared = new ConcurrentMapCacheManager().getCache(CacheNames.TASK_PAGES);
+        double clearingHitRate = hitRate(cleared, (filter, cursor) -> filter + ":" + cursor + ":50",
+                clientId -> cleared.clear());
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        TaskPageKeys taskPageKeys = new TaskPageKeys(cacheManager);
+        double scopedHitRate = hitRate(cacheManager.getCache(CacheNames.TASK_PAGES),
+                (filter, cursor) -> taskPageKeys.key(filter, cursor, 50),
+                clientId -> taskPageKeys.advance(List.of(clientId)));
+
+        log.info("Task page hit rate over {} requests, one write per {}: clearing all pages {}%, per-client "
+                + "generations {}%", REQUESTS, READS_PER_WRITE, Math.round(clearingHitRate * 1000) / 10.0,
+                Math.round(scopedHitRate * 1000) / 10.0);
+        assertThat(scopedHitRate).isGreaterThan(clearingHitRate);
+    }
+
+    private double hitRate(Cache pages, BiFunction<TaskFilter, Long, String> pageKey, LongConsumer write) {
+        Random random = new Random(42);
+        long reads = 0;
+        long hits = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            if (i % READS_PER_WRITE == 0) {
+                write.accept(random.nextInt(CLIENTS));
+                continue;
+            }
+            TaskFilter filter = random.nextDouble() < CLIENT_READS
+                    ? TaskFilter.builder().clientId((long) random.nextInt(CLIENTS)).build()
+                    : TaskFilter.builder().status(TaskStatus.values()[random.nextInt(TaskStatus.values().length)])
+                    .build();
+            String key = pageKey.apply(filter, (long) random.nextInt(PAGES));
+            reads++;
+            if (pages.get(key) != null) {
+                hits++;
+            } else {
+                pages.put(key, List.of());
+            }
+        }
+        return (double) hits / reads;
+    }
+}
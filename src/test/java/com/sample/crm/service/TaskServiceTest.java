@@ -1,7 +1,9 @@
 package com.sample.crm.service;
 
+import com.sample.crm.api.service.TaskStatisticsService;
 import com.sample.crm.dto.ClientDTO;
 import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.CursorPageDTO;
 import com.sample.crm.dto.TaskDTO;
 import com.sample.crm.entity.Client;
 import com.sample.crm.entity.Contact;
@@ -9,22 +11,27 @@ import com.sample.crm.entity.Task;
 import com.sample.crm.entity.User;
 import com.sample.crm.exception.NotFoundException;
 import com.sample.crm.mapper.TaskMapper;
+import com.sample.crm.model.TaskFilter;
 import com.sample.crm.model.TaskStatus;
 import com.sample.crm.repository.ClientRepository;
 import com.sample.crm.repository.ContactRepository;
 import com.sample.crm.repository.TaskRepository;
 import com.sample.crm.service.notification.UserNotifier;
+import com.sample.crm.service.reminder.DueDateReminderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -52,6 +59,15 @@ class TaskServiceTest {
     @Mock
     private UserNotifier userNotifier;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private DueDateReminderService dueDateReminderService;
+
+    @Mock
+    private TaskStatisticsService taskStatisticsService;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -98,15 +114,32 @@ class TaskServiceTest {
     }
 
     @Test
-    void shouldFindAllTasks() {
-        when(taskRepository.findAll()).thenReturn(List.of(task));
+    void shouldFindTaskPageWithNextCursor() {
+        Task next = new Task();
+        next.setId(2L);
+        TaskFilter filter = TaskFilter.builder().status(TaskStatus.TODO).clientId(1L).build();
+        when(taskRepository.findPage(null, TaskStatus.TODO, 1L, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(task, next));
         when(taskMapper.toDto(task)).thenReturn(taskDTO);
 
-        List<TaskDTO> result = taskService.findAll();
+        CursorPageDTO<TaskDTO> result = taskService.findPage(filter, null, 1);
 
-        assertEquals(1, result.size());
-        assertEquals(taskDTO.getId(), result.get(0).getId());
-        verify(taskRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(taskDTO.getId(), result.getItems().get(0).getId());
+        assertEquals(taskDTO.getId(), result.getNextCursor());
+        verify(taskMapper, never()).toDto(next);
+    }
+
+    @Test
+    void shouldFindLastTaskPageWithoutNextCursor() {
+        when(taskRepository.findPage(1L, null, null, null, null, null, Limit.of(11)))
+                .thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        CursorPageDTO<TaskDTO> result = taskService.findPage(new TaskFilter(), 1L, 10);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
     }
 
     @Test
@@ -163,8 +196,14 @@ class TaskServiceTest {
 
     @Test
     void shouldDeleteTask() {
+        task.setClient(client);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
         taskService.delete(task.getId());
-        verify(taskRepository, times(1)).deleteById(task.getId());
+
+        verify(taskRepository, times(1)).delete(task);
+        verify(cacheInvalidator, times(1)).evictTasks(List.of(client.getId()));
+        verify(taskStatisticsService, times(1)).recordDeleted(task);
     }
 
     @Test
@@ -182,7 +221,56 @@ class TaskServiceTest {
 
         assertEquals(TaskStatus.IN_PROGRESS, task.getStatus(), "Task status should be updated to IN_PROGRESS");
         verify(taskRepository, times(1)).save(task);
-        verify(userNotifier, times(1)).notifyOfTaskStatusChange(eq(user), eq(taskDTO));
+        verify(cacheInvalidator, times(1)).evictTasks(List.of(client.getId()));
+        verify(userNotifier, times(1)).notifyOfTaskStatusChange(eq(List.of(user)), eq(taskDTO));
+    }
+
+    @Test
+    void shouldUpdateStatusesWithOneNotificationPerUser() {
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        secondTask.setDescription("Second Task");
+        secondTask.setStatus(TaskStatus.TODO);
+        secondTask.setClient(client);
+        secondTask.setContact(contact);
+        TaskDTO secondTaskDTO = new TaskDTO();
+        secondTaskDTO.setId(2L);
+
+        when(taskRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(secondTask, task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+        when(taskMapper.toDto(secondTask)).thenReturn(secondTaskDTO);
+
+        List<TaskDTO> result = taskService.updateStatuses(List.of(1L, 2L), TaskStatus.DONE);
+
+        assertEquals(List.of(taskDTO, secondTaskDTO), result);
+        assertEquals(TaskStatus.DONE, task.getStatus());
+        assertEquals(TaskStatus.DONE, secondTask.getStatus());
+        verify(taskRepository, times(1)).flush();
+        verify(cacheInvalidator, times(1)).evictTasks(Set.of(client.getId()));
+        verify(userNotifier, times(1))
+                .notifyOfTasksStatusChange(List.of(user), TaskStatus.DONE, List.of(taskDTO, secondTaskDTO));
+        verify(userNotifier, never()).notifyOfTaskStatusChange(any(), any());
+    }
+
+    @Test
+    void shouldNotNotifyOfTasksAlreadyInTargetStatus() {
+        when(taskRepository.findByIdIn(List.of(1L))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        taskService.updateStatuses(List.of(1L), TaskStatus.TODO);
+
+        verify(userNotifier, never()).notifyOfTaskStatusChange(any(), any());
+        verify(userNotifier, never()).notifyOfTasksStatusChange(any(), any(), any());
     }
 
+    @Test
+    void shouldThrowExceptionWhenTaskNotFoundOnStatusesUpdate() {
+        when(taskRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+
+        assertThrows(NotFoundException.class, () -> taskService.updateStatuses(List.of(1L, 2L), TaskStatus.DONE));
+
+        verify(taskRepository, never()).flush();
+        verify(userNotifier, never()).notifyOfTasksStatusChange(any(), any(), any());
+    }
 }
@@ -44,6 +44,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private UserService userService;
 
@@ -137,6 +140,7 @@ class UserServiceTest {
         verify(clientRepository, times(1)).findById(clientId);
         verify(clientRepository, times(1)).save(client);
         verify(userRepository, times(1)).save(user);
+        verify(cacheInvalidator, times(1)).evictUserClients(List.of(userId));
     }
 
     @Test
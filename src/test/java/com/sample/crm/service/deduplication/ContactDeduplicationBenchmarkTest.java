@@ -0,0 +1,56 @@
+package com.sample.crm.service.deduplication;
+
+import com.sample.crm.entity.ContactDuplicate;
+import com.sample.crm.model.ContactMatchKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the grouping of {@code benchmark.clients} generated contacts (one million by default) spread over clients
+ * of very different sizes, one in ten sharing an email or a phone number with an earlier contact of its client. Runs
+ * in the {@code search-benchmark} surefire execution and logs the time taken.
+ */
+@Slf4j
+@Tag("benchmark")
+class ContactDeduplicationBenchmarkTest {
+    private static final int CONTACTS = Integer.getInteger("benchmark.clients", 1_000_000);
+
+    @Test
+    void shouldGroupAMillionContactsWithinSeconds() {
+        Random random = new Random(42);
+        List<List<ContactMatchKeys>> clients = new ArrayList<>();
+        long id = 0;
+        long clientId = 0;
+        while (id < CONTACTS) {
+            int size = (int) Math.min(CONTACTS - id, clientId % 100 == 0 ? 50_000 : 1 + random.nextInt(200));
+            List<ContactMatchKeys> contacts = new ArrayList<>(size);
+            for (int i = 0; i < size; i++, id++) {
+                long source = i > 0 && random.nextInt(10) == 0 ? id - 1 - random.nextInt(i) : id;
+                contacts.add(new ContactMatchKeys(id, clientId,
+                        random.nextBoolean() ? "Person" + source + "+tag@Example.com" : "person" + id + "@example.com",
+                        random.nextBoolean() ? "+1 (555) " + (1_000_000 + source) : "555-" + (5_000_000 + id)));
+            }
+            clients.add(contacts);
+            clientId++;
+        }
+
+        long start = System.nanoTime();
+        long duplicates = 0;
+        for (List<ContactMatchKeys> contacts : clients) {
+            List<ContactDuplicate> found = ContactDeduplicationService.duplicatesOf(contacts);
+            duplicates += found.size();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Grouped {} contacts of {} clients into {} duplicates in {} ms", CONTACTS, clientId, duplicates,
+                millis);
+        assertThat(duplicates).isPositive();
+        assertThat(millis).isLessThan(30_000);
+    }
+}
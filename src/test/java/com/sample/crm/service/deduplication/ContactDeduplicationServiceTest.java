@@ -0,0 +1,213 @@
+package com.sample.crm.service.deduplication;
+
+import com.sample.crm.dto.ContactDTO;
+import com.sample.crm.dto.ContactDuplicateGroupDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.entity.ContactDuplicate;
+import com.sample.crm.exception.NotFoundException;
+import com.sample.crm.mapper.ContactMapper;
+import com.sample.crm.model.ContactMatchKeys;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.repository.ContactDuplicateRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.service.CacheInvalidator;
+import com.sample.crm.service.search.AutocompleteIndex;
+import com.sample.crm.service.search.ContactSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactDeduplicationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ContactDuplicateRepository contactDuplicateRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ContactMapper contactMapper;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ContactSearchIndex contactSearchIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContactDeduplicationService contactDeduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        contactDeduplicationService = new ContactDeduplicationService(contactRepository, contactDuplicateRepository,
+                taskRepository, contactMapper, cacheInvalidator, contactSearchIndex, autocompleteIndex, entityManager,
+                new TransactionTemplate(transactionManager), Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldNormalizeEmails() {
+        assertThat(ContactDeduplicationService.normalizeEmail(" John.Doe+Sales@Example.COM "))
+                .isEqualTo("john.doe@example.com");
+        assertThat(ContactDeduplicationService.normalizeEmail("+john@example.com")).isEqualTo("+john@example.com");
+        assertThat(ContactDeduplicationService.normalizeEmail("no-at-sign")).isEqualTo("no-at-sign");
+        assertThat(ContactDeduplicationService.normalizeEmail("  ")).isNull();
+        assertThat(ContactDeduplicationService.normalizeEmail(null)).isNull();
+    }
+
+    @Test
+    void shouldNormalizePhoneNumbers() {
+        assertThat(ContactDeduplicationService.normalizePhone("+1 (555) 123-4567")).isEqualTo("5551234567");
+        assertThat(ContactDeduplicationService.normalizePhone("555.123.4567")).isEqualTo("5551234567");
+        assertThat(ContactDeduplicationService.normalizePhone("123-4567")).isEqualTo("1234567");
+        assertThat(ContactDeduplicationService.normalizePhone("12-34")).isNull();
+        assertThat(ContactDeduplicationService.normalizePhone(null)).isNull();
+    }
+
+    @Test
+    void shouldGroupContactsSharingEmailOrPhoneUnderOldest() {
+        List<ContactDuplicate> duplicates = ContactDeduplicationService.duplicatesOf(List.of(
+                new ContactMatchKeys(1L, 7L, "ann@acme.com", null),
+                new ContactMatchKeys(2L, 7L, "bob@acme.com", "555 123 4567"),
+                new ContactMatchKeys(3L, 7L, "Ann+work@ACME.com", "+1 555 123 4567"),
+                new ContactMatchKeys(4L, 7L, "carl@acme.com", "000 000 0000"),
+                new ContactMatchKeys(5L, 7L, null, null)));
+
+        assertThat(duplicates)
+                .extracting(ContactDuplicate::getContactId, ContactDuplicate::getSurvivorId,
+                        ContactDuplicate::getClientId)
+                .containsExactly(
+                        tuple(2L, 1L, 7L),
+                        tuple(3L, 1L, 7L));
+    }
+
+    @Test
+    void shouldReplaceDuplicatesClientByClient() {
+        when(contactRepository.streamMatchKeys()).thenReturn(Stream.of(
+                new ContactMatchKeys(1L, 7L, "ann@acme.com", null),
+                new ContactMatchKeys(3L, 7L, "ann@acme.com", null),
+                new ContactMatchKeys(2L, 8L, "ann@acme.com", null),
+                new ContactMatchKeys(4L, 8L, null, "555 123 4567"),
+                new ContactMatchKeys(5L, 8L, null, "5551234567")));
+        when(contactRepository.findExistingIds(any())).thenReturn(List.of(1L, 3L, 4L, 5L));
+
+        long found = contactDeduplicationService.findDuplicates();
+
+        assertThat(found).isEqualTo(2);
+        verify(contactDuplicateRepository).deleteAllInBatch();
+        ArgumentCaptor<ContactDuplicate> persisted = ArgumentCaptor.forClass(ContactDuplicate.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        assertThat(persisted.getAllValues())
+                .extracting(ContactDuplicate::getContactId, ContactDuplicate::getSurvivorId)
+                .containsExactly(
+                        tuple(3L, 1L),
+                        tuple(5L, 4L));
+    }
+
+    @Test
+    void shouldSkipDuplicatesOfContactsDeletedSinceTheScan() {
+        when(contactRepository.streamMatchKeys()).thenReturn(Stream.of(
+                new ContactMatchKeys(1L, 7L, "ann@acme.com", null),
+                new ContactMatchKeys(3L, 7L, "ann@acme.com", null),
+                new ContactMatchKeys(4L, 8L, null, "555 123 4567"),
+                new ContactMatchKeys(5L, 8L, null, "5551234567")));
+        when(contactRepository.findExistingIds(any())).thenReturn(List.of(1L, 3L, 5L));
+
+        long found = contactDeduplicationService.findDuplicates();
+
+        assertThat(found).isEqualTo(1);
+        ArgumentCaptor<ContactDuplicate> persisted = ArgumentCaptor.forClass(ContactDuplicate.class);
+        verify(entityManager).persist(persisted.capture());
+        assertThat(persisted.getValue().getContactId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldGroupRecordedDuplicatesBySurvivor() {
+        when(contactDuplicateRepository.findByClientIdOrderBySurvivorIdAscContactIdAsc(7L)).thenReturn(List.of(
+                new ContactDuplicate(2L, 1L, 7L),
+                new ContactDuplicate(3L, 1L, 7L),
+                new ContactDuplicate(5L, 4L, 7L)));
+
+        List<ContactDuplicateGroupDTO> groups = contactDeduplicationService.getDuplicates(7L);
+
+        assertThat(groups).containsExactly(
+                new ContactDuplicateGroupDTO(1L, List.of(2L, 3L)),
+                new ContactDuplicateGroupDTO(4L, List.of(5L)));
+    }
+
+    @Test
+    void shouldMergeContactsRepointingTasksInBulk() {
+        Contact survivor = contact(1L, 7L);
+        ContactDTO survivorDTO = new ContactDTO();
+        survivorDTO.setId(1L);
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(survivor));
+        when(contactRepository.findIdsOfClient(7L, List.of(2L, 3L))).thenReturn(List.of(2L, 3L));
+        when(taskRepository.findClientIdsByContactIdIn(List.of(2L, 3L))).thenReturn(List.of(7L));
+        when(contactMapper.toDto(survivor)).thenReturn(survivorDTO);
+
+        ContactDTO merged = contactDeduplicationService.merge(1L, List.of(2L, 3L, 2L, 1L));
+
+        assertThat(merged).isEqualTo(survivorDTO);
+        verify(taskRepository).reassignContact(List.of(2L, 3L), survivor, NOW);
+        verify(contactDuplicateRepository).deleteByContactIdIn(List.of(2L, 3L));
+        verify(contactRepository).deleteAllByIdInBatch(List.of(2L, 3L));
+        verify(contactSearchIndex).remove(3L);
+        verify(autocompleteIndex).remove(SuggestionType.CONTACT, 3L);
+        verify(cacheInvalidator).evictContacts();
+        verify(cacheInvalidator).evictTasks(List.of(7L));
+    }
+
+    @Test
+    void shouldNotMergeContactsOfAnotherClient() {
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(contact(1L, 7L)));
+        when(contactRepository.findIdsOfClient(7L, List.of(2L, 3L))).thenReturn(List.of(2L));
+
+        assertThatThrownBy(() -> contactDeduplicationService.merge(1L, List.of(2L, 3L)))
+                .isInstanceOf(NotFoundException.class);
+        verify(taskRepository, never()).reassignContact(any(), any(), any());
+        verify(contactRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private Contact contact(Long id, Long clientId) {
+        Client client = new Client();
+        client.setId(clientId);
+        return new Contact(id, "first", "last", null, null, client);
+    }
+}
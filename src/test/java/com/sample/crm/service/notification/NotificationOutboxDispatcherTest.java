@@ -0,0 +1,168 @@
+package com.sample.crm.service.notification;
+
+import com.sample.crm.entity.NotificationOutbox;
+import com.sample.crm.entity.User;
+import com.sample.crm.entity.UserNotification;
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.repository.NotificationOutboxRepository;
+import com.sample.crm.repository.NotificationRepository;
+import com.sample.crm.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+    private static final LocalDateTime CUTOFF = NOW.minusSeconds(3);
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationProcessor notificationProcessor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NotificationOutboxDispatcher notificationOutboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationOutboxDispatcher = new NotificationOutboxDispatcher(notificationOutboxRepository,
+                notificationRepository, userRepository, notificationService, notificationProcessor,
+                new TransactionTemplate(transactionManager), Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC),
+                meterRegistry);
+        ReflectionTestUtils.setField(notificationOutboxDispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(notificationOutboxDispatcher, "coalescingWindow", Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shouldDeliverEventsBatchByBatchAndSendAfterCommit() {
+        User first = user(1L);
+        User second = user(2L);
+        NotificationOutbox firstChange = event(10L, "a", List.of(1L, 2L, 3L));
+        NotificationOutbox secondChange = event(11L, "b", List.of(2L));
+        NotificationOutbox redelivered = event(12L, "c", List.of(1L));
+        when(notificationOutboxRepository.lockNextBatch(CUTOFF, 2))
+                .thenReturn(List.of(firstChange, secondChange), List.of(redelivered));
+        when(notificationRepository.findEventIdsIn(List.of("a", "b"))).thenReturn(List.of());
+        when(notificationRepository.findEventIdsIn(List.of("c"))).thenReturn(List.of("c"));
+        when(userRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(first, second));
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(first));
+        List<UserNotification> firstNotifications = List.of(new UserNotification(), new UserNotification());
+        List<UserNotification> secondNotifications = List.of(new UserNotification());
+        when(notificationService.createUserNotifications("a", List.of(first, second),
+                NotificationType.TASK_STATUS_CHANGED, Map.of("key", "a"))).thenReturn(firstNotifications);
+        when(notificationService.createUserNotifications("b", List.of(second),
+                NotificationType.TASK_STATUS_CHANGED, Map.of("key", "b"))).thenReturn(secondNotifications);
+
+        int taken = notificationOutboxDispatcher.dispatch();
+
+        assertEquals(3, taken);
+        verify(notificationOutboxRepository).deleteAllInBatch(List.of(firstChange, secondChange));
+        verify(notificationOutboxRepository).deleteAllInBatch(List.of(redelivered));
+        verify(notificationService, never()).createUserNotifications(eq("c"), anyList(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(notificationProcessor).send(NotificationType.TASK_STATUS_CHANGED, firstNotifications);
+        verify(notificationProcessor).send(NotificationType.TASK_STATUS_CHANGED, secondNotifications);
+        assertEquals(2, meterRegistry.get("crm.notifications.outbox.lag").timer().count());
+    }
+
+    @Test
+    void shouldNotifyEveryUserOnlyOfLatestEventOfTask() {
+        User first = user(1L);
+        User second = user(2L);
+        NotificationOutbox inProgress = taskEvent(10L, "a", 5L, "IN_PROGRESS", List.of(1L, 2L));
+        NotificationOutbox paused = taskEvent(11L, "b", 5L, "PAUSED", List.of(1L));
+        NotificationOutbox resumed = taskEvent(12L, "c", 5L, "IN_PROGRESS", List.of(1L));
+        NotificationOutbox otherTask = taskEvent(13L, "d", 6L, "DONE", List.of(1L));
+        ReflectionTestUtils.setField(notificationOutboxDispatcher, "batchSize", 10);
+        when(notificationOutboxRepository.lockNextBatch(CUTOFF, 10))
+                .thenReturn(List.of(inProgress, paused, resumed, otherTask));
+        when(notificationRepository.findEventIdsIn(List.of("a", "b", "c", "d"))).thenReturn(List.of());
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        notificationOutboxDispatcher.dispatch();
+
+        verify(notificationService).createUserNotifications("a", List.of(second),
+                NotificationType.TASK_STATUS_CHANGED, inProgress.getParams());
+        verify(notificationService).createUserNotifications("c", List.of(first),
+                NotificationType.TASK_STATUS_CHANGED, resumed.getParams());
+        verify(notificationService).createUserNotifications("d", List.of(first),
+                NotificationType.TASK_STATUS_CHANGED, otherTask.getParams());
+        verify(notificationService, never()).createUserNotifications(eq("b"), anyList(), any(), any());
+        verify(notificationOutboxRepository).deleteAllInBatch(List.of(inProgress, paused, resumed, otherTask));
+        assertEquals(2.0, meterRegistry.get("crm.notifications.coalesced").counter().count());
+    }
+
+    @Test
+    void shouldKeepEventsOfFailedBatchForNextRun() {
+        NotificationOutbox event = event(10L, "a", List.of(1L));
+        when(notificationOutboxRepository.lockNextBatch(CUTOFF, 2)).thenReturn(List.of(event));
+        when(notificationRepository.findEventIdsIn(List.of("a"))).thenReturn(List.of());
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user(1L)));
+        when(notificationService.createUserNotifications(any(), anyList(), any(), any()))
+                .thenThrow(new IllegalStateException("down"));
+
+        int taken = notificationOutboxDispatcher.dispatch();
+
+        assertEquals(0, taken);
+        verify(notificationOutboxRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        verify(notificationProcessor, never()).send(any(), anyList());
+    }
+
+    private NotificationOutbox event(Long id, String eventId, List<Long> recipientIds) {
+        return new NotificationOutbox(id, eventId, NotificationType.TASK_STATUS_CHANGED, null, Map.of("key", eventId),
+                recipientIds, NOW.minusSeconds(1));
+    }
+
+    private NotificationOutbox taskEvent(Long id, String eventId, Long taskId, String status, List<Long> recipientIds) {
+        return new NotificationOutbox(id, eventId, NotificationType.TASK_STATUS_CHANGED, taskId,
+                Map.of("task_status", status), recipientIds, NOW.minusSeconds(5));
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
@@ -6,21 +6,25 @@ import com.sample.crm.entity.User;
 import com.sample.crm.entity.UserNotification;
 import com.sample.crm.mapper.UserNotificationMapper;
 import com.sample.crm.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Map;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,38 +34,72 @@ class NotificationProcessorTest {
     private UserNotificationMapper userNotificationMapper;
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationBroker notificationBroker;
 
     @Mock
-    private SimpMessagingTemplate simpMessagingTemplate;
+    private ThreadPoolTaskExecutor notificationExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     private NotificationProcessor notificationProcessor;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationProcessor = new NotificationProcessor(userNotificationMapper, notificationBroker,
+                notificationExecutor, meterRegistry);
         ReflectionTestUtils.setField(notificationProcessor, "queueGlobal", "/queue/notification");
     }
 
     @Test
-    void shouldBuildAndSendNotification() {
-        User user = new User();
-        user.setUsername("testUser");
+    void shouldSendNotificationToEveryReceiver() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(notificationExecutor).execute(any(Runnable.class));
+        UserNotification firstNotification = userNotification("first");
+        UserNotification secondNotification = userNotification("second");
+        NotificationDTO firstDTO = new NotificationDTO();
+        firstDTO.setId(1L);
+        NotificationDTO secondDTO = new NotificationDTO();
+        secondDTO.setId(2L);
 
-        NotificationDTO notificationDTO = new NotificationDTO();
-        Map<String, String> params = Map.of("key", "value");
+        when(userNotificationMapper.toDto(firstNotification)).thenReturn(firstDTO);
+        when(userNotificationMapper.toDto(secondNotification)).thenReturn(secondDTO);
 
-        when(notificationService.createUserNotification(user, NotificationType.TASK_STATUS_CHANGED, params))
-                .thenReturn(new UserNotification());
-        when(userNotificationMapper.toDto(any(UserNotification.class)))
-                .thenReturn(notificationDTO);
+        notificationProcessor.send(NotificationType.TASK_STATUS_CHANGED, List.of(firstNotification, secondNotification));
 
-        notificationProcessor.buildAndSend(user, NotificationType.TASK_STATUS_CHANGED, params);
+        verify(notificationBroker, times(1)).send("/queue/notification", List.of(
+                new NotificationBroker.Delivery("first", firstDTO), new NotificationBroker.Delivery("second", secondDTO)));
+        assertEquals(2.0, meterRegistry.get("crm.notifications.fanout.recipients")
+                .tag("type", "TASK_STATUS_CHANGED").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("crm.notifications.fanout.duration")
+                .tag("type", "TASK_STATUS_CHANGED").timer().count());
+    }
 
-        verify(notificationService, times(1))
-                .createUserNotification(user, NotificationType.TASK_STATUS_CHANGED, params);
-        verify(userNotificationMapper, times(1)).toDto(any(UserNotification.class));
-        verify(simpMessagingTemplate, times(1))
-                .convertAndSendToUser(eq(user.getUsername()), eq("/queue/notification"), eq(notificationDTO));
+    @Test
+    void shouldNotSendWhenExecutorIsOverloaded() {
+        doThrow(new TaskRejectedException("full")).when(notificationExecutor).execute(any(Runnable.class));
+
+        notificationProcessor.send(NotificationType.TASK_DUE_DATE, List.of(userNotification("first")));
+
+        verifyNoInteractions(notificationBroker);
+        assertEquals(1.0, meterRegistry.get("crm.notifications.executor.rejected")
+                .tag("outcome", "spilled").counter().count());
+    }
+
+    @Test
+    void shouldNotSendWithoutNotifications() {
+        notificationProcessor.send(NotificationType.TASK_DUE_DATE, List.of());
+
+        verifyNoInteractions(notificationExecutor, notificationBroker);
+    }
+
+    private UserNotification userNotification(String username) {
+        User user = new User();
+        user.setUsername(username);
+        UserNotification userNotification = new UserNotification();
+        userNotification.setUser(user);
+        return userNotification;
     }
 }
@@ -0,0 +1,135 @@
+package com.sample.crm.service.notification;
+
+import com.sample.crm.model.NotificationType;
+import com.sample.crm.repository.NotificationRepository;
+import com.sample.crm.repository.UserNotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 2, 0);
+
+    @Mock
+    private UserNotificationRepository userNotificationRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NotificationRetentionService notificationRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment().withProperty("crm.notifications.retention.task-due-date",
+                "30d");
+        environment.setConversionService(new ApplicationConversionService());
+        meterRegistry = new SimpleMeterRegistry();
+        notificationRetentionService = new NotificationRetentionService(userNotificationRepository,
+                notificationRepository, new TransactionTemplate(transactionManager), dataSource, environment,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), meterRegistry);
+        ReflectionTestUtils.setField(notificationRetentionService, "defaultRetention", Duration.ofDays(90));
+        ReflectionTestUtils.setField(notificationRetentionService, "archiveRetention", Duration.ofDays(365));
+        ReflectionTestUtils.setField(notificationRetentionService, "chunkSize", 2);
+        ReflectionTestUtils.setField(notificationRetentionService, "chunkPause", Duration.ZERO);
+    }
+
+    @Test
+    void shouldArchiveDismissedNotificationsChunkByChunkWithRetentionOfTheirType() throws Exception {
+        givenDatabase("H2");
+        LocalDateTime dueDateCutoff = NOW.minusDays(30);
+        when(userNotificationRepository.findArchivable(eq(NotificationType.TASK_DUE_DATE), eq(dueDateCutoff), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(userNotificationRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(userNotificationRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+        when(userNotificationRepository.findArchivable(eq(NotificationType.TASK_STATUS_CHANGED),
+                eq(NOW.minusDays(90)), any())).thenReturn(List.of());
+        when(userNotificationRepository.findArchivable(eq(NotificationType.TASKS_STATUS_CHANGED),
+                eq(NOW.minusDays(90)), any())).thenReturn(List.of());
+        when(notificationRepository.findOrphanIds(Limit.of(2))).thenReturn(List.of(10L));
+        when(notificationRepository.deleteAllByIdIn(List.of(10L))).thenReturn(1);
+        when(userNotificationRepository.deleteArchivedBefore(NOW.minusDays(365), 2)).thenReturn(0);
+
+        long archived = notificationRetentionService.archiveNotifications();
+
+        assertEquals(3, archived);
+        verify(userNotificationRepository).archiveAllByIdIn(List.of(1L, 2L), NOW);
+        verify(userNotificationRepository).archiveAllByIdIn(List.of(3L), NOW);
+        verify(userNotificationRepository, never()).findOldestArchivableSentAt(any(), any());
+        verify(transactionManager, times(6)).commit(any());
+        assertEquals(3.0, meterRegistry.get("crm.notifications.retention.archived")
+                .tag("type", "TASK_DUE_DATE").counter().count());
+        assertEquals(1, meterRegistry.get("crm.notifications.retention.duration").timer().count());
+    }
+
+    @Test
+    void shouldPurgeArchiveInChunks() throws Exception {
+        givenDatabase("H2");
+        when(userNotificationRepository.findArchivable(any(), any(), any())).thenReturn(List.of());
+        when(notificationRepository.findOrphanIds(Limit.of(2))).thenReturn(List.of());
+        when(userNotificationRepository.deleteArchivedBefore(NOW.minusDays(365), 2)).thenReturn(2, 2, 1);
+
+        notificationRetentionService.archiveNotifications();
+
+        verify(userNotificationRepository, times(3)).deleteArchivedBefore(NOW.minusDays(365), 2);
+        assertEquals(5.0, meterRegistry.get("crm.notifications.retention.purged").counter().count());
+    }
+
+    @Test
+    void shouldNameArchivePartitionsByMonth() {
+        assertEquals("user_notification_archive_2025_03",
+                NotificationRetentionService.partitionOf(YearMonth.of(2025, 3)));
+        assertEquals(Optional.of(YearMonth.of(2024, 11)),
+                NotificationRetentionService.monthOf("user_notification_archive_2024_11"));
+        assertEquals(Optional.empty(), NotificationRetentionService.monthOf("user_notification_archive_default"));
+    }
+
+    private void givenDatabase(String productName) throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+    }
+}
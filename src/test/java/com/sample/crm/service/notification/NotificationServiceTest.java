@@ -1,5 +1,7 @@
 package com.sample.crm.service.notification;
 
+import com.sample.crm.dto.CursorPageDTO;
+import com.sample.crm.dto.NotificationCountDTO;
 import com.sample.crm.dto.NotificationDTO;
 import com.sample.crm.entity.Notification;
 import com.sample.crm.entity.User;
@@ -9,11 +11,13 @@ import com.sample.crm.mapper.UserNotificationMapper;
 import com.sample.crm.model.NotificationType;
 import com.sample.crm.repository.NotificationRepository;
 import com.sample.crm.repository.UserNotificationRepository;
+import com.sample.crm.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Map;
@@ -21,11 +25,17 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +47,9 @@ class NotificationServiceTest {
     @Mock
     private UserNotificationRepository userNotificationRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private UserNotificationMapper userNotificationMapper;
 
@@ -62,40 +75,120 @@ class NotificationServiceTest {
     }
 
     @Test
-    void shouldCreateUserNotification() {
-        User user = new User();
-        user.setUsername("testUser");
+    void shouldGetInboxPageWithCursorOfNextPage() {
+        String username = "testUser";
+        UserNotification newest = userNotification(30L, false, false);
+        UserNotification older = userNotification(20L, false, false);
+        UserNotification oldest = userNotification(10L, false, false);
+
+        when(userRepository.findIdByUsername(username)).thenReturn(Optional.of(5L));
+        when(userNotificationRepository.findInboxPage(5L, 40L, Limit.of(3))).thenReturn(List.of(newest, older, oldest));
+        when(userNotificationMapper.toDto(any(UserNotification.class))).thenAnswer(invocation -> {
+            NotificationDTO notificationDTO = new NotificationDTO();
+            notificationDTO.setId(invocation.<UserNotification>getArgument(0).getId());
+            return notificationDTO;
+        });
+
+        CursorPageDTO<NotificationDTO> page = notificationService.getInboxPage(username, 40L, 2);
+
+        assertEquals(List.of(30L, 20L), page.getItems().stream().map(NotificationDTO::getId).toList());
+        assertEquals(20L, page.getNextCursor());
+    }
+
+    @Test
+    void shouldGetLastInboxPageWithoutCursor() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(5L));
+        when(userNotificationRepository.findInboxPage(5L, null, Limit.of(51))).thenReturn(List.of());
+
+        CursorPageDTO<NotificationDTO> page = notificationService.getInboxPage("testUser", null, 50);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenInboxUserNotFound() {
+        when(userRepository.findIdByUsername("missing")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> notificationService.getInboxPage("missing", null, 50));
+        verifyNoInteractions(userNotificationRepository);
+    }
+
+    @Test
+    void shouldGetNotificationCount() {
+        when(userRepository.findNotificationCountByUsername("testUser"))
+                .thenReturn(Optional.of(new NotificationCountDTO(3, 12)));
+
+        NotificationCountDTO count = notificationService.getNotificationCount("testUser");
+
+        assertEquals(new NotificationCountDTO(3, 12), count);
+    }
+
+    @Test
+    void shouldCreateOneNotificationForAllReceivers() {
+        User first = new User();
+        first.setId(1L);
+        first.setUsername("first");
+        User second = new User();
+        second.setId(2L);
+        second.setUsername("second");
 
         NotificationType type = NotificationType.TASK_STATUS_CHANGED;
         Map<String, String> params = Map.of("key", "value");
 
-        Notification notification = new Notification();
-        UserNotification userNotification = new UserNotification();
-
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-        when(userNotificationRepository.save(any(UserNotification.class))).thenReturn(userNotification);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userNotificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        UserNotification result = notificationService.createUserNotification(user, type, params);
+        List<UserNotification> result = notificationService.createUserNotifications("event-1",
+                List.of(first, second), type, params);
 
-        assertNotNull(result);
+        assertEquals(2, result.size());
+        Notification notification = result.get(0).getNotification();
+        assertEquals("event-1", notification.getEventId());
+        assertEquals(type, notification.getType());
+        assertEquals(first, result.get(0).getUser());
+        assertEquals(second, result.get(1).getUser());
+        assertTrue(result.stream().allMatch(userNotification -> userNotification.getNotification() == notification
+                && userNotification.getParams().equals(params) && !userNotification.isViewed()));
         verify(notificationRepository, times(1)).save(any(Notification.class));
-        verify(userNotificationRepository, times(1)).save(any(UserNotification.class));
+        verify(userNotificationRepository, times(1)).saveAll(anyList());
+        verify(userNotificationRepository, never()).save(any(UserNotification.class));
+        verify(userRepository, times(1)).addToNotificationCounters(List.of(1L, 2L), 1, 1);
     }
 
     @Test
     void shouldUpdateNotification() {
         Long id = 1L;
         NotificationDTO notificationDTO = new NotificationDTO();
-        UserNotification userNotification = new UserNotification();
+        UserNotification userNotification = userNotification(id, false, false);
 
-        when(userNotificationRepository.findById(id)).thenReturn(Optional.of(userNotification));
+        when(userNotificationRepository.findLockedById(id)).thenReturn(Optional.of(userNotification));
 
         NotificationDTO result = notificationService.updateNotification(notificationDTO, id);
 
         assertEquals(notificationDTO, result);
-        verify(userNotificationRepository, times(1)).findById(id);
+        verify(userNotificationRepository, times(1)).findLockedById(id);
         verify(userNotificationMapper, times(1)).update(userNotification, notificationDTO);
         verify(userNotificationRepository, times(1)).save(userNotification);
+        verify(userRepository, never()).addToNotificationCounters(anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldDecrementUnreadCounterWhenNotificationIsViewed() {
+        Long id = 1L;
+        NotificationDTO notificationDTO = new NotificationDTO();
+        notificationDTO.setViewed(true);
+        UserNotification userNotification = userNotification(id, false, false);
+
+        when(userNotificationRepository.findLockedById(id)).thenReturn(Optional.of(userNotification));
+        doAnswer(invocation -> {
+            userNotification.setViewed(true);
+            return null;
+        }).when(userNotificationMapper).update(userNotification, notificationDTO);
+
+        notificationService.updateNotification(notificationDTO, id);
+
+        verify(userRepository, times(1)).addToNotificationCounters(List.of(5L), -1, 0);
     }
 
     @Test
@@ -103,35 +196,113 @@ class NotificationServiceTest {
         Long id = 1L;
         NotificationDTO notificationDTO = new NotificationDTO();
 
-        when(userNotificationRepository.findById(id)).thenReturn(Optional.empty());
+        when(userNotificationRepository.findLockedById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> notificationService.updateNotification(notificationDTO, id));
-        verify(userNotificationRepository, times(1)).findById(id);
+        verify(userNotificationRepository, times(1)).findLockedById(id);
     }
 
     @Test
     void shouldDismissNotification() {
         Long id = 1L;
-        UserNotification userNotification = new UserNotification();
+        UserNotification userNotification = userNotification(id, false, false);
 
-        when(userNotificationRepository.findById(id)).thenReturn(Optional.of(userNotification));
+        when(userNotificationRepository.findLockedById(id)).thenReturn(Optional.of(userNotification));
         when(userNotificationMapper.toDto(userNotification)).thenReturn(new NotificationDTO());
 
         NotificationDTO result = notificationService.dismissNotification(id);
 
         assertNotNull(result);
         assertTrue(userNotification.isDismissed());
-        verify(userNotificationRepository, times(1)).findById(id);
+        verify(userNotificationRepository, times(1)).findLockedById(id);
         verify(userNotificationRepository, times(1)).save(userNotification);
+        verify(userRepository, times(1)).addToNotificationCounters(List.of(5L), -1, -1);
+    }
+
+    @Test
+    void shouldNotChangeCountersWhenNotificationIsDismissedAgain() {
+        Long id = 1L;
+        UserNotification userNotification = userNotification(id, true, true);
+
+        when(userNotificationRepository.findLockedById(id)).thenReturn(Optional.of(userNotification));
+        when(userNotificationMapper.toDto(userNotification)).thenReturn(new NotificationDTO());
+
+        notificationService.dismissNotification(id);
+
+        verify(userRepository, never()).addToNotificationCounters(anyList(), anyInt(), anyInt());
     }
 
     @Test
     void shouldThrowExceptionWhenNotificationToDismissNotFound() {
         Long id = 1L;
 
-        when(userNotificationRepository.findById(id)).thenReturn(Optional.empty());
+        when(userNotificationRepository.findLockedById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> notificationService.dismissNotification(id));
-        verify(userNotificationRepository, times(1)).findById(id);
+        verify(userNotificationRepository, times(1)).findLockedById(id);
+    }
+
+    @Test
+    void shouldDismissSelectedNotificationsAndUpdateCounters() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(5L));
+        when(userNotificationRepository.dismissAllByIdIn(5L, List.of(1L, 2L, 3L), false, null)).thenReturn(2);
+        when(userNotificationRepository.dismissAllByIdIn(5L, List.of(1L, 2L, 3L), true, null)).thenReturn(1);
+
+        int dismissed = notificationService.dismissNotifications("testUser", List.of(1L, 2L, 3L), null);
+
+        assertEquals(3, dismissed);
+        verify(userRepository, times(1)).addToNotificationCounters(List.of(5L), -2, -3);
+        verify(userNotificationRepository, never()).findLockedById(any());
+    }
+
+    @Test
+    void shouldDismissAllNotificationsBeforeId() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(5L));
+        when(userNotificationRepository.dismissAll(5L, false, 100L)).thenReturn(0);
+        when(userNotificationRepository.dismissAll(5L, true, 100L)).thenReturn(0);
+
+        int dismissed = notificationService.dismissNotifications("testUser", null, 100L);
+
+        assertEquals(0, dismissed);
+        verify(userRepository, never()).addToNotificationCounters(anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldNotDismissAnythingForEmptySelection() {
+        int dismissed = notificationService.dismissNotifications("testUser", List.of(), null);
+
+        assertEquals(0, dismissed);
+        verifyNoInteractions(userRepository, userNotificationRepository);
+    }
+
+    @Test
+    void shouldMarkAllNotificationsViewedAndUpdateUnreadCounter() {
+        when(userRepository.findIdByUsername("testUser")).thenReturn(Optional.of(5L));
+        when(userNotificationRepository.markAllViewed(5L, null)).thenReturn(4);
+
+        int viewed = notificationService.markNotificationsViewed("testUser", null, null);
+
+        assertEquals(4, viewed);
+        verify(userRepository, times(1)).addToNotificationCounters(List.of(5L), -4, 0);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBulkUserNotFound() {
+        when(userRepository.findIdByUsername("missing")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> notificationService.markNotificationsViewed("missing", List.of(1L), null));
+        verifyNoInteractions(userNotificationRepository);
+    }
+
+    private UserNotification userNotification(Long id, boolean viewed, boolean dismissed) {
+        User user = new User();
+        user.setId(5L);
+        UserNotification userNotification = new UserNotification();
+        userNotification.setId(id);
+        userNotification.setUser(user);
+        userNotification.setViewed(viewed);
+        userNotification.setDismissed(dismissed);
+        return userNotification;
     }
 }
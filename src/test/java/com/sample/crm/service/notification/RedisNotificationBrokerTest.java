@@ -0,0 +1,137 @@
+package com.sample.crm.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.crm.dto.NotificationDTO;
+import com.sample.crm.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs two nodes against an in-memory stand-in for Redis pub/sub, which hands every published message to the
+ * listeners of all nodes.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisNotificationBrokerTest {
+
+    private static final String CHANNEL = "crm:notifications";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SimpMessagingTemplate firstNodeTemplate;
+
+    @Mock
+    private SimpMessagingTemplate secondNodeTemplate;
+
+    @Mock
+    private SimpUserRegistry firstNodeUsers;
+
+    @Mock
+    private SimpUserRegistry secondNodeUsers;
+
+    @Mock
+    private SimpUser simpUser;
+
+    private final List<MessageListener> subscribers = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RedisNotificationBroker firstNode;
+
+    private RedisNotificationBroker secondNode;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        firstNode = node(firstNodeTemplate, firstNodeUsers, meterRegistry);
+        secondNode = node(secondNodeTemplate, secondNodeUsers, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldDeliverEachNotificationOnTheNodeOfItsUser() {
+        givenPubSub();
+        givenConnected(firstNodeUsers, "alice");
+        givenConnected(secondNodeUsers, "bob");
+        NotificationDTO toAlice = notification(1L);
+        NotificationDTO toBob = notification(2L);
+
+        firstNode.send("/queue/notification", List.of(new NotificationBroker.Delivery("alice", toAlice),
+                new NotificationBroker.Delivery("bob", toBob), new NotificationBroker.Delivery("carol",
+                        notification(3L))));
+
+        verify(firstNodeTemplate).convertAndSendToUser("alice", "/queue/notification", toAlice);
+        verify(firstNodeTemplate, never()).convertAndSendToUser(eq("bob"), any(), any());
+        verify(secondNodeTemplate).convertAndSendToUser("bob", "/queue/notification", toBob);
+        verify(secondNodeTemplate, never()).convertAndSendToUser(eq("alice"), any(), any());
+        verify(firstNodeTemplate, never()).convertAndSendToUser(eq("carol"), any(), any());
+        verify(secondNodeTemplate, never()).convertAndSendToUser(eq("carol"), any(), any());
+        assertEquals(1.0, meterRegistry.get("crm.notifications.broker.published").counter().count());
+        assertEquals(1.0, meterRegistry.get("crm.notifications.broker.delivered").counter().count());
+    }
+
+    @Test
+    void shouldDropMalformedMessages() {
+        firstNode.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        verifyNoInteractions(firstNodeTemplate, firstNodeUsers);
+    }
+
+    /**
+     * Hands every message published on the channel to the listeners of all nodes.
+     */
+    private void givenPubSub() {
+        doAnswer(invocation -> {
+            DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+            subscribers.forEach(subscriber -> subscriber.onMessage(message, null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    private void givenConnected(SimpUserRegistry simpUserRegistry, String username) {
+        when(simpUserRegistry.getUser(anyString()))
+                .thenAnswer(invocation -> username.equals(invocation.getArgument(0)) ? simpUser : null);
+    }
+
+    private RedisNotificationBroker node(SimpMessagingTemplate simpMessagingTemplate, SimpUserRegistry simpUserRegistry,
+                                         SimpleMeterRegistry registry) {
+        RedisNotificationBroker broker = new RedisNotificationBroker(redisTemplate, simpMessagingTemplate,
+                simpUserRegistry, new ObjectMapper(), registry);
+        ReflectionTestUtils.setField(broker, "channel", CHANNEL);
+        subscribers.add(broker);
+        return broker;
+    }
+
+    private NotificationDTO notification(Long id) {
+        return new NotificationDTO(id, NotificationType.TASK_DUE_DATE, "2025-03-10T10:15:30", false, false,
+                Map.of("task_description", "Task " + id));
+    }
+}
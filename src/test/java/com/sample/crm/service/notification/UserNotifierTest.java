@@ -1,61 +1,103 @@
 package com.sample.crm.service.notification;
 
 import com.sample.crm.dto.TaskDTO;
+import com.sample.crm.entity.NotificationOutbox;
 import com.sample.crm.entity.Task;
 import com.sample.crm.entity.User;
 import com.sample.crm.model.NotificationType;
 import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class UserNotifierTest {
 
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
     @Mock
-    private NotificationProcessor notificationProcessor;
+    private NotificationOutboxRepository notificationOutboxRepository;
 
-    @InjectMocks
     private UserNotifier userNotifier;
 
+    @BeforeEach
+    void setUp() {
+        userNotifier = new UserNotifier(notificationOutboxRepository,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
     @Test
     void shouldNotifyOfTaskStatusChange() {
-        User user = new User();
-        user.setUsername("testUser");
-
         TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(7L);
         taskDTO.setDescription("Test Task");
         taskDTO.setStatus(TaskStatus.IN_PROGRESS);
 
-        userNotifier.notifyOfTaskStatusChange(user, taskDTO);
+        userNotifier.notifyOfTaskStatusChange(List.of(user(1L), user(2L)), taskDTO);
 
-        Map<String, String> expectedParams = Map.of(
+        NotificationOutbox event = savedEvent();
+        assertNotNull(event.getEventId());
+        assertEquals(NotificationType.TASK_STATUS_CHANGED, event.getType());
+        assertEquals(7L, event.getTaskId());
+        assertEquals(Map.of(
                 "task_description", taskDTO.getDescription(),
                 "task_status", taskDTO.getStatus().name()
-        );
-        verify(notificationProcessor, times(1))
-                .buildAndSend(user, NotificationType.TASK_STATUS_CHANGED, expectedParams);
+        ), event.getParams());
+        assertEquals(List.of(1L, 2L), event.getRecipientIds());
+        assertEquals(NOW, event.getCreatedAt());
     }
 
     @Test
     void shouldNotifyOfTaskDueDate() {
-        User user = new User();
-        user.setUsername("testUser");
+        Task task = new Task();
+        task.setId(8L);
+        task.setDescription("Due Task");
+
+        userNotifier.notifyOfTaskDueDate(List.of(user(1L)), task);
 
+        NotificationOutbox event = savedEvent();
+        assertEquals(NotificationType.TASK_DUE_DATE, event.getType());
+        assertEquals(8L, event.getTaskId());
+        assertEquals(Map.of("task_description", task.getDescription()), event.getParams());
+        assertEquals(List.of(1L), event.getRecipientIds());
+    }
+
+    @Test
+    void shouldNotWriteEventWithoutUsers() {
         Task task = new Task();
         task.setDescription("Due Task");
 
-        userNotifier.notifyOfTaskDueDate(user, task);
+        userNotifier.notifyOfTaskDueDate(List.of(), task);
+
+        verifyNoInteractions(notificationOutboxRepository);
+    }
+
+    private NotificationOutbox savedEvent() {
+        ArgumentCaptor<NotificationOutbox> event = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationOutboxRepository, times(1)).save(event.capture());
+        return event.getValue();
+    }
 
-        Map<String, String> expectedParams = Map.of("task_description", task.getDescription());
-        verify(notificationProcessor, times(1))
-                .buildAndSend(user, NotificationType.TASK_DUE_DATE, expectedParams);
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
     }
 }
@@ -0,0 +1,100 @@
+package com.sample.crm.service.reminder;
+
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.entity.ReminderCheckpoint;
+import com.sample.crm.entity.Task;
+import com.sample.crm.entity.User;
+import com.sample.crm.model.DueDateReminder;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.ReminderCheckpointRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.service.notification.UserNotifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DueDateReminderDispatcherTest {
+
+    private static final LocalDate DUE_DATE = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReminderCheckpointRepository reminderCheckpointRepository;
+
+    @Mock
+    private UserNotifier userNotifier;
+
+    @InjectMocks
+    private DueDateReminderDispatcher dueDateReminderDispatcher;
+
+    @Test
+    void shouldNotifyUsersOfDueTasksAndMoveCheckpoint() {
+        User user = new User();
+        user.setUsername("username");
+        Task due = task(1L, TaskStatus.TODO, DUE_DATE, user);
+        Task done = task(2L, TaskStatus.DONE, DUE_DATE, user);
+        Task moved = task(3L, TaskStatus.TODO, DUE_DATE.plusDays(1), user);
+        List<DueDateReminder> reminders = List.of(new DueDateReminder(DUE_DATE, 1L),
+                new DueDateReminder(DUE_DATE, 2L), new DueDateReminder(DUE_DATE, 3L),
+                new DueDateReminder(DUE_DATE, 4L));
+        when(taskRepository.lockUnremindedIds(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(1L, 2L, 3L));
+        when(taskRepository.findWithContactUsersByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(due, done, moved));
+
+        int sent = dueDateReminderDispatcher.dispatch("checkpoint", reminders);
+
+        assertEquals(1, sent);
+        verify(userNotifier, times(1)).notifyOfTaskDueDate(any(), any());
+        verify(userNotifier).notifyOfTaskDueDate(List.of(user), due);
+        verify(taskRepository).markReminded(List.of(1L));
+        ArgumentCaptor<ReminderCheckpoint> checkpoint = ArgumentCaptor.forClass(ReminderCheckpoint.class);
+        verify(reminderCheckpointRepository).save(checkpoint.capture());
+        assertEquals("checkpoint", checkpoint.getValue().getName());
+        assertEquals(DUE_DATE, checkpoint.getValue().getDueDate());
+        assertEquals(4L, checkpoint.getValue().getTaskId());
+    }
+
+    @Test
+    void shouldSkipRemindersSentByAnotherNode() {
+        when(taskRepository.lockUnremindedIds(List.of(1L, 2L))).thenReturn(List.of());
+
+        int sent = dueDateReminderDispatcher.dispatch("checkpoint", List.of(new DueDateReminder(DUE_DATE, 1L),
+                new DueDateReminder(DUE_DATE, 2L)));
+
+        assertEquals(0, sent);
+        verify(taskRepository, never()).findWithContactUsersByIdIn(any());
+        verify(taskRepository, never()).markReminded(any());
+        verifyNoInteractions(userNotifier);
+        verify(reminderCheckpointRepository).save(any());
+    }
+
+    private Task task(Long id, TaskStatus status, LocalDate dueDate, User user) {
+        Client client = new Client();
+        client.setUsers(List.of(user));
+        Contact contact = new Contact();
+        contact.setClient(client);
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setContact(contact);
+        return task;
+    }
+}
@@ -0,0 +1,203 @@
+package com.sample.crm.service.reminder;
+
+import com.sample.crm.entity.ReminderCheckpoint;
+import com.sample.crm.entity.Task;
+import com.sample.crm.model.DueDateReminder;
+import com.sample.crm.model.TaskStatus;
+import com.sample.crm.repository.ReminderCheckpointRepository;
+import com.sample.crm.repository.TaskRepository;
+import com.sample.crm.util.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DueDateReminderServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReminderCheckpointRepository reminderCheckpointRepository;
+
+    @Mock
+    private DueDateReminderDispatcher dueDateReminderDispatcher;
+
+    private MutableClock clock;
+
+    private DueDateReminderService dueDateReminderService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(12, 0));
+        dueDateReminderService = new DueDateReminderService(taskRepository, reminderCheckpointRepository,
+                dueDateReminderDispatcher, clock);
+        ReflectionTestUtils.setField(dueDateReminderService, "leadTime", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dueDateReminderService, "horizon", Duration.ofDays(7));
+    }
+
+    @Test
+    void shouldLoadRemindersFromPersistedCheckpoint() {
+        when(reminderCheckpointRepository.findById(DueDateReminderService.CHECKPOINT))
+                .thenReturn(Optional.of(new ReminderCheckpoint(DueDateReminderService.CHECKPOINT, TODAY, 5L)));
+
+        dueDateReminderService.load();
+
+        verify(taskRepository).findReminders(DueDateReminderService.REMINDED_STATUSES, TODAY, TODAY.plusDays(7));
+    }
+
+    @Test
+    void shouldSendReminderAtLeadTimeBeforeDueDate() {
+        DueDateReminder reminder = new DueDateReminder(TODAY.plusDays(1), 1L);
+        loadWith(reminder);
+
+        clock.set(TODAY.atTime(22, 59));
+        dueDateReminderService.dispatchDueReminders();
+        verify(dueDateReminderDispatcher, never()).dispatch(any(), anyList());
+
+        clock.set(TODAY.atTime(23, 0));
+        dueDateReminderService.dispatchDueReminders();
+        dueDateReminderService.dispatchDueReminders();
+        verify(dueDateReminderDispatcher, times(1)).dispatch(DueDateReminderService.CHECKPOINT, List.of(reminder));
+    }
+
+    @Test
+    void shouldSendMissedRemindersOnFirstRunInOrder() {
+        DueDateReminder first = new DueDateReminder(TODAY, 7L);
+        DueDateReminder second = new DueDateReminder(TODAY, 9L);
+        loadWith(second, first);
+
+        dueDateReminderService.dispatchDueReminders();
+
+        verify(dueDateReminderDispatcher).dispatch(DueDateReminderService.CHECKPOINT, List.of(first, second));
+    }
+
+    @Test
+    void shouldMoveReminderWhenDueDateChanges() {
+        loadWith(new DueDateReminder(TODAY.plusDays(3), 1L));
+
+        dueDateReminderService.reschedule(List.of(task(1L, TaskStatus.TODO, TODAY.plusDays(1))));
+        clock.set(TODAY.atTime(23, 30));
+        dueDateReminderService.dispatchDueReminders();
+
+        verify(dueDateReminderDispatcher).dispatch(DueDateReminderService.CHECKPOINT,
+                List.of(new DueDateReminder(TODAY.plusDays(1), 1L)));
+        assertEquals(0, dueDateReminderService.pendingReminders());
+    }
+
+    @Test
+    void shouldDropReminderOfClosedOrDeletedTask() {
+        loadWith(new DueDateReminder(TODAY.plusDays(1), 1L), new DueDateReminder(TODAY.plusDays(1), 2L));
+
+        dueDateReminderService.reschedule(List.of(task(1L, TaskStatus.DONE, TODAY.plusDays(1))));
+        dueDateReminderService.cancel(2L);
+
+        assertEquals(0, dueDateReminderService.pendingReminders());
+    }
+
+    @Test
+    void shouldNotRemindAgainWhenSentTaskIsUpdated() {
+        DueDateReminder reminder = new DueDateReminder(TODAY, 1L);
+        loadWith(reminder);
+        dueDateReminderService.dispatchDueReminders();
+
+        Task task = task(1L, TaskStatus.IN_PROGRESS, TODAY);
+        task.setRemindedDueDate(TODAY);
+        dueDateReminderService.reschedule(List.of(task));
+        dueDateReminderService.dispatchDueReminders();
+
+        verify(dueDateReminderDispatcher, times(1)).dispatch(DueDateReminderService.CHECKPOINT, List.of(reminder));
+    }
+
+    @Test
+    void shouldRemindTaskWithLowerIdCreatedAfterItsDateWasDispatched() {
+        DueDateReminder dispatched = new DueDateReminder(TODAY, 9L);
+        loadWith(dispatched);
+        dueDateReminderService.dispatchDueReminders();
+
+        dueDateReminderService.reschedule(List.of(task(7L, TaskStatus.TODO, TODAY)));
+        dueDateReminderService.dispatchDueReminders();
+
+        verify(dueDateReminderDispatcher).dispatch(DueDateReminderService.CHECKPOINT, List.of(dispatched));
+        verify(dueDateReminderDispatcher).dispatch(DueDateReminderService.CHECKPOINT,
+                List.of(new DueDateReminder(TODAY, 7L)));
+    }
+
+    @Test
+    void shouldPickUpTasksWrittenOnOtherNodesWhenResyncing() {
+        loadWith();
+        DueDateReminder reminder = new DueDateReminder(TODAY.plusDays(1), 3L);
+        when(taskRepository.findReminders(DueDateReminderService.REMINDED_STATUSES, TODAY, TODAY.plusDays(7)))
+                .thenReturn(List.of(reminder));
+
+        dueDateReminderService.resync();
+
+        assertEquals(1, dueDateReminderService.pendingReminders());
+    }
+
+    @Test
+    void shouldIgnoreTasksBeyondHorizonUntilItMoves() {
+        loadWith();
+        Task task = task(1L, TaskStatus.TODO, TODAY.plusDays(30));
+
+        dueDateReminderService.reschedule(List.of(task));
+
+        assertEquals(0, dueDateReminderService.pendingReminders());
+        clock.set(TODAY.plusDays(1).atTime(12, 0));
+        when(taskRepository.findReminders(DueDateReminderService.REMINDED_STATUSES, TODAY.plusDays(8),
+                TODAY.plusDays(8))).thenReturn(List.of());
+        dueDateReminderService.dispatchDueReminders();
+        verify(taskRepository).findReminders(DueDateReminderService.REMINDED_STATUSES, TODAY.plusDays(8),
+                TODAY.plusDays(8));
+    }
+
+    @Test
+    void shouldRetryFailedBatch() {
+        DueDateReminder reminder = new DueDateReminder(TODAY, 1L);
+        loadWith(reminder);
+        when(dueDateReminderDispatcher.dispatch(DueDateReminderService.CHECKPOINT, List.of(reminder)))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+
+        dueDateReminderService.dispatchDueReminders();
+        assertEquals(1, dueDateReminderService.pendingReminders());
+        dueDateReminderService.dispatchDueReminders();
+
+        verify(dueDateReminderDispatcher, times(2)).dispatch(DueDateReminderService.CHECKPOINT, List.of(reminder));
+        assertEquals(0, dueDateReminderService.pendingReminders());
+    }
+
+    private void loadWith(DueDateReminder... reminders) {
+        when(reminderCheckpointRepository.findById(DueDateReminderService.CHECKPOINT)).thenReturn(Optional.empty());
+        when(taskRepository.findReminders(eq(DueDateReminderService.REMINDED_STATUSES), eq(TODAY), any()))
+                .thenReturn(List.of(reminders));
+        dueDateReminderService.load();
+    }
+
+    private Task task(Long id, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
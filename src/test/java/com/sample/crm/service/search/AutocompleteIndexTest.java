@@ -0,0 +1,115 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.dto.SuggestionDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteIndexTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SearchIndexBroker searchIndexBroker;
+
+    @InjectMocks
+    private AutocompleteIndex autocompleteIndex;
+
+    @BeforeEach
+    void buildIndex() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(clientRepository.streamAll()).thenReturn(Stream.of(client(1L, "Smithfield Foods")));
+        when(contactRepository.streamAll()).thenReturn(Stream.of(contact(2L, "Anna", "Smith", "anna@acme.com")));
+        autocompleteIndex.build();
+    }
+
+    @Test
+    void shouldSuggestClientsByCompanyNameAndContactsByNameOrEmail() {
+        assertThat(autocompleteIndex.suggest(" SMITH", null, 10)).containsExactly(
+                new SuggestionDTO(SuggestionType.CONTACT, 2L, "Anna Smith"),
+                new SuggestionDTO(SuggestionType.CLIENT, 1L, "Smithfield Foods"));
+        assertThat(autocompleteIndex.suggest("ann", null, 10)).containsExactly(
+                new SuggestionDTO(SuggestionType.CONTACT, 2L, "Anna Smith"));
+        assertThat(autocompleteIndex.suggest("anna@", null, 10)).containsExactly(
+                new SuggestionDTO(SuggestionType.CONTACT, 2L, "anna@acme.com"));
+        assertThat(autocompleteIndex.suggest("smith", SuggestionType.CLIENT, 10)).extracting(SuggestionDTO::getId)
+                .containsExactly(1L);
+        assertThat(autocompleteIndex.suggest(" ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldApplyChanges() {
+        autocompleteIndex.indexContacts(List.of(contact(2L, "Anna", "Jones", "anna@acme.com")));
+        autocompleteIndex.remove(SuggestionType.CLIENT, 1L);
+
+        assertThat(autocompleteIndex.suggest("smith", null, 10)).isEmpty();
+        assertThat(autocompleteIndex.suggest("jon", null, 10)).containsExactly(
+                new SuggestionDTO(SuggestionType.CONTACT, 2L, "Anna Jones"));
+    }
+
+    @Test
+    void shouldPublishChangesToOtherNodes() {
+        autocompleteIndex.indexClients(List.of(client(1L, "Smithfield Foods")));
+        autocompleteIndex.remove(SuggestionType.CONTACT, 2L);
+
+        verify(searchIndexBroker).publish(AutocompleteIndex.NAME, SuggestionType.CLIENT, Set.of(1L));
+        verify(searchIndexBroker).publish(AutocompleteIndex.NAME, SuggestionType.CONTACT, List.of(2L));
+    }
+
+    @Test
+    void shouldReloadEntitiesChangedOnOtherNodes() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<BiConsumer<SuggestionType, List<Long>>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(searchIndexBroker).subscribe(eq(AutocompleteIndex.NAME), handler.capture());
+        when(clientRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(client(3L, "Smith & Sons")));
+
+        handler.getValue().accept(SuggestionType.CLIENT, List.of(1L, 3L));
+
+        assertThat(autocompleteIndex.suggest("smith", SuggestionType.CLIENT, 10)).containsExactly(
+                new SuggestionDTO(SuggestionType.CLIENT, 3L, "Smith & Sons"));
+        verify(searchIndexBroker, never()).publish(any(), any(), any());
+    }
+
+    private Client client(Long id, String companyName) {
+        Client client = new Client();
+        client.setId(id);
+        client.setCompanyName(companyName);
+        return client;
+    }
+
+    private Contact contact(Long id, String firstName, String lastName, String email) {
+        return new Contact(id, firstName, lastName, email, null, null);
+    }
+}
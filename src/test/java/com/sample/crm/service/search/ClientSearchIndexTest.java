@@ -0,0 +1,182 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.entity.Client;
+import com.sample.crm.model.ClientMatch;
+import com.sample.crm.repository.ClientRepository;
+import com.sample.crm.repository.ClientSearchGramRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClientSearchIndexTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ClientSearchGramRepository clientSearchGramRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ThreadPoolTaskExecutor searchIndexExecutor;
+
+    @InjectMocks
+    private ClientSearchIndex clientSearchIndex;
+
+    @Test
+    void shouldSplitTermIntoDistinctTrigrams() {
+        assertThat(ClientSearchIndex.termGrams(ClientSearchIndex.normalize(" Banana "))).containsExactly(
+                "ban", "ana", "nan");
+        assertThat(ClientSearchIndex.termGrams("ab")).isEmpty();
+    }
+
+    @Test
+    void shouldProbeTrigramsSpreadOverLongTerms() {
+        Set<String> grams = ClientSearchIndex.termGrams("abcdefghijklmnopqrstuvwxyz");
+
+        assertThat(ClientSearchIndex.probedGrams(grams))
+                .hasSize(ClientSearchIndex.MAX_PROBES)
+                .startsWith("abc")
+                .endsWith("xyz");
+    }
+
+    @Test
+    void shouldSearchClientsOfRarestTrigram() {
+        when(clientSearchGramRepository.countClientsUpTo("acm", "acn", ClientSearchIndex.MAX_CANDIDATES))
+                .thenReturn(40);
+        when(clientSearchGramRepository.countClientsUpTo("cme", "cmf", 40)).thenReturn(3);
+        when(clientSearchGramRepository.countClientsUpTo("me_", "me`", 3)).thenReturn(3);
+
+        clientSearchIndex.search(" ACME_ ", 50, 100);
+
+        verify(clientRepository, times(1)).searchByGram("cme", "cmf", "%acme!_%", 50, 100);
+        verify(clientRepository, never()).findMatches(anyString(), any());
+    }
+
+    @Test
+    void shouldProbeShortTermAsRangeOfTrigrams() {
+        when(clientSearchGramRepository.countClientsUpTo("a%", "a&", ClientSearchIndex.MAX_CANDIDATES)).thenReturn(0);
+
+        clientSearchIndex.search("A%", 20, 0);
+
+        verify(clientRepository, times(1)).searchByGram("a%", "a&", "%a!%%", 20, 0);
+    }
+
+    @Test
+    void shouldRankAllMatchesOfScanInMemoryWhenFew() {
+        when(clientSearchGramRepository.countClientsUpTo(anyString(), anyString(), anyInt()))
+                .thenReturn(ClientSearchIndex.MAX_CANDIDATES);
+        when(clientRepository.findMatches("%street%", Limit.of(ClientSearchIndex.MAX_CANDIDATES))).thenReturn(List.of(
+                new ClientMatch(1L, 2), new ClientMatch(2L, 0), new ClientMatch(3L, 1), new ClientMatch(4L, 0)));
+
+        clientSearchIndex.search("street", 2, 1);
+
+        verify(clientRepository, times(1)).findAllInOrder(List.of(4L, 3L));
+        verify(clientRepository, never()).searchByScan(anyString(), anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    void shouldFillScannedPageFromLowerRankTiers() {
+        when(clientSearchGramRepository.countClientsUpTo(anyString(), anyString(), anyInt()))
+                .thenReturn(ClientSearchIndex.MAX_CANDIDATES);
+        when(clientRepository.findMatches("%street%", Limit.of(ClientSearchIndex.MAX_CANDIDATES)))
+                .thenReturn(Collections.nCopies(ClientSearchIndex.MAX_CANDIDATES, new ClientMatch(1L, 2)));
+        when(clientRepository.searchByScan("%street%", 0, 10, 25)).thenReturn(List.of());
+        when(clientRepository.countByScan("%street%", 0)).thenReturn(20L);
+        when(clientRepository.searchByScan("%street%", 1, 10, 5)).thenReturn(List.of(new Client(), new Client()));
+        when(clientRepository.searchByScan("%street%", 2, 8, 0)).thenReturn(List.of(new Client()));
+
+        assertThat(clientSearchIndex.search("street", 10, 25)).hasSize(3);
+
+        verify(clientRepository, never()).countByScan("%street%", 1);
+    }
+
+    @Test
+    void shouldEndRangeOfTrigramsAfterLastCodePoint() {
+        assertThat(ClientSearchIndex.gramsAfter("ab")).isEqualTo("ac");
+        assertThat(ClientSearchIndex.gramsAfter("a z")).isEqualTo("a {");
+        assertThat(ClientSearchIndex.gramsAfter("a\uD83D\uDE00")).isEqualTo("a\uD83D\uDE01");
+    }
+
+    @Test
+    void shouldReplaceTrigramsOfSavedClients() {
+        Client client = new Client();
+        client.setId(7L);
+
+        clientSearchIndex.index(List.of(client));
+
+        InOrder order = inOrder(entityManager, clientSearchGramRepository);
+        order.verify(entityManager).flush();
+        order.verify(clientSearchGramRepository).deleteByClientIdIn(List.of(7L));
+        order.verify(clientSearchGramRepository).insertGrams(List.of(7L));
+    }
+
+    @Test
+    void shouldBackfillMissingTrigramsInBackground() {
+        when(clientRepository.findUnindexedIds(0L, Limit.of(1))).thenReturn(List.of(7L));
+
+        clientSearchIndex.scheduleIndexMissing();
+
+        verify(searchIndexExecutor, times(1)).execute(any(Runnable.class));
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void shouldNotBackfillWhenEveryClientIsIndexed() {
+        when(clientRepository.findUnindexedIds(0L, Limit.of(1))).thenReturn(List.of());
+
+        clientSearchIndex.scheduleIndexMissing();
+
+        verify(searchIndexExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void shouldSkipChunkThatFailsToIndex() {
+        when(clientRepository.findUnindexedIds(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(clientRepository.findUnindexedIds(eq(2L), any())).thenReturn(List.of(3L));
+        when(clientRepository.findUnindexedIds(eq(3L), any())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(clientSearchGramRepository.insertGrams(List.of(1L, 2L)))
+                .thenThrow(new QueryTimeoutException("Statement timed out"));
+
+        assertThat(clientSearchIndex.indexMissing()).isEqualTo(3);
+
+        verify(clientSearchGramRepository, times(1)).insertGrams(List.of(3L));
+    }
+}
@@ -0,0 +1,157 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactSearchIndexTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SearchIndexBroker searchIndexBroker;
+
+    @InjectMocks
+    private ContactSearchIndex contactSearchIndex;
+
+    @BeforeEach
+    void runCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void shouldFallBackUntilBuilt() {
+        assertThat(contactSearchIndex.search(null, "anna", 50, 0)).isEmpty();
+
+        when(contactRepository.streamAll()).thenReturn(Stream.of(contact(1L, 10L, "Anna", "Smith")));
+        contactSearchIndex.build();
+
+        assertThat(contactSearchIndex.search(null, "anna", 50, 0)).contains(List.of(1L));
+    }
+
+    @Test
+    void shouldMatchAnyFieldIgnoringCaseWithinClient() {
+        when(contactRepository.streamAll()).thenReturn(Stream.of(
+                contact(3L, 10L, "Anna", "Smith"),
+                contact(1L, 20L, "Joanna", "Brown"),
+                contact(2L, 10L, "Bob", "Hannah")));
+        contactSearchIndex.build();
+
+        assertThat(contactSearchIndex.search(null, " ANN ", 50, 0)).contains(List.of(1L, 2L, 3L));
+        assertThat(contactSearchIndex.search(10L, "ann", 50, 0)).contains(List.of(2L, 3L));
+        assertThat(contactSearchIndex.search(null, "bob@example", 50, 0)).contains(List.of(2L));
+        assertThat(contactSearchIndex.search(null, "+1555", 50, 0)).contains(List.of(1L, 2L, 3L));
+        assertThat(contactSearchIndex.search(null, "an", 50, 0)).contains(List.of(1L, 2L, 3L));
+        assertThat(contactSearchIndex.search(20L, "", 50, 0)).contains(List.of(1L));
+        assertThat(contactSearchIndex.search(null, "annabel", 50, 0)).contains(List.of());
+        assertThat(contactSearchIndex.search(30L, "ann", 50, 0)).contains(List.of());
+    }
+
+    @Test
+    void shouldReturnOnePageOfMatchesInIdOrder() {
+        when(contactRepository.streamAll()).thenReturn(Stream.of(
+                contact(3L, 10L, "Anna", "Smith"),
+                contact(1L, 20L, "Joanna", "Brown"),
+                contact(2L, 10L, "Bob", "Hannah")));
+        contactSearchIndex.build();
+
+        assertThat(contactSearchIndex.search(null, "ann", 2, 0)).contains(List.of(1L, 2L));
+        assertThat(contactSearchIndex.search(null, "ann", 2, 2)).contains(List.of(3L));
+    }
+
+    @Test
+    void shouldApplyChanges() {
+        when(contactRepository.streamAll()).thenReturn(Stream.of(contact(1L, 10L, "Anna", "Smith")));
+        contactSearchIndex.build();
+
+        contactSearchIndex.index(List.of(contact(1L, 20L, "Maria", "Smith"), contact(2L, 10L, "Anna", "Jones")));
+
+        assertThat(contactSearchIndex.search(null, "anna", 50, 0)).contains(List.of(2L));
+        assertThat(contactSearchIndex.search(20L, "smith", 50, 0)).contains(List.of(1L));
+        assertThat(contactSearchIndex.search(10L, "smith", 50, 0)).contains(List.of());
+
+        contactSearchIndex.remove(2L);
+
+        assertThat(contactSearchIndex.search(null, "anna", 50, 0)).contains(List.of());
+        assertThat(contactSearchIndex.search(10L, "", 50, 0)).contains(List.of());
+    }
+
+    @Test
+    void shouldKeepChangesCommittedWhileBuilding() {
+        when(contactRepository.streamAll()).thenReturn(Stream.of(contact(1L, 10L, "Anna", "Smith"),
+                contact(2L, 10L, "Bob", "Brown")).peek(loaded -> {
+            if (loaded.getId() == 1L) {
+                contactSearchIndex.index(List.of(contact(2L, 10L, "Robert", "Brown")));
+                contactSearchIndex.remove(1L);
+            }
+        }));
+
+        contactSearchIndex.build();
+
+        assertThat(contactSearchIndex.search(null, "", 50, 0)).contains(List.of(2L));
+        assertThat(contactSearchIndex.search(null, "robert", 50, 0)).contains(List.of(2L));
+    }
+
+    @Test
+    void shouldPublishChangesToOtherNodes() {
+        when(contactRepository.streamAll()).thenReturn(Stream.of());
+        contactSearchIndex.build();
+
+        contactSearchIndex.index(List.of(contact(1L, 10L, "Anna", "Smith"), contact(2L, 10L, "Bob", "Brown")));
+        contactSearchIndex.remove(3L);
+
+        verify(searchIndexBroker).publish(ContactSearchIndex.NAME, SuggestionType.CONTACT, List.of(1L, 2L));
+        verify(searchIndexBroker).publish(ContactSearchIndex.NAME, SuggestionType.CONTACT, List.of(3L));
+    }
+
+    @Test
+    void shouldReloadContactsChangedOnOtherNodes() {
+        when(contactRepository.streamAll()).thenReturn(Stream.of(contact(1L, 10L, "Anna", "Smith"),
+                contact(2L, 10L, "Bob", "Brown")));
+        contactSearchIndex.build();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<BiConsumer<SuggestionType, List<Long>>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(searchIndexBroker).subscribe(eq(ContactSearchIndex.NAME), handler.capture());
+        when(contactRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(contact(1L, 20L, "Maria", "Smith")));
+
+        handler.getValue().accept(SuggestionType.CONTACT, List.of(1L, 2L));
+
+        assertThat(contactSearchIndex.search(null, "", 50, 0)).contains(List.of(1L));
+        assertThat(contactSearchIndex.search(20L, "maria", 50, 0)).contains(List.of(1L));
+        verify(searchIndexBroker, never()).publish(any(), any(), any());
+    }
+
+    private Contact contact(Long id, Long clientId, String firstName, String lastName) {
+        Client client = new Client();
+        client.setId(clientId);
+        String email = firstName.toLowerCase() + "@example.com";
+        return new Contact(id, firstName, lastName, email, "+1555000" + id, client);
+    }
+}
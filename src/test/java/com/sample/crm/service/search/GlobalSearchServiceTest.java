@@ -0,0 +1,146 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.dto.GlobalSearchDTO;
+import com.sample.crm.dto.SearchResultDTO;
+import com.sample.crm.entity.Client;
+import com.sample.crm.entity.Contact;
+import com.sample.crm.model.SearchHit;
+import com.sample.crm.model.SearchResultType;
+import com.sample.crm.repository.CommentRepository;
+import com.sample.crm.repository.ContactRepository;
+import com.sample.crm.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalSearchServiceTest {
+
+    @Mock
+    private ClientSearchIndex clientSearchIndex;
+
+    @Mock
+    private ContactSearchIndex contactSearchIndex;
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ThreadPoolTaskExecutor searchExecutor;
+
+    private GlobalSearchService globalSearchService;
+
+    @BeforeEach
+    void setUp() {
+        searchExecutor = new ThreadPoolTaskExecutor();
+        searchExecutor.setCorePoolSize(4);
+        searchExecutor.initialize();
+        globalSearchService = new GlobalSearchService(clientSearchIndex, contactSearchIndex, contactRepository,
+                taskRepository, commentRepository, searchExecutor, new TransactionTemplate(transactionManager),
+                entityManager);
+        ReflectionTestUtils.setField(globalSearchService, "sourceTimeout", Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchExecutor.shutdown();
+    }
+
+    @Test
+    void shouldMergeSourcesByMatchQualityThenSource() {
+        when(clientSearchIndex.search("acme", 10, 0)).thenReturn(List.of(client(1L, "Acme Corp")));
+        when(contactSearchIndex.search(null, "acme", 10, 0)).thenReturn(Optional.of(List.of(2L)));
+        when(contactRepository.findAllInOrder(List.of(2L)))
+                .thenReturn(List.of(contact(2L, "Ann", "Lee", "ann@acme.com")));
+        when(taskRepository.searchDescriptions("%acme%", Limit.of(10)))
+                .thenReturn(List.of(new SearchHit(3L, "ACME"), new SearchHit(4L, "Call Acme")));
+        when(commentRepository.searchContents("%acme%", Limit.of(10)))
+                .thenReturn(List.of(new SearchHit(5L, "acme called back")));
+
+        GlobalSearchDTO result = globalSearchService.search(" Acme", 10);
+
+        assertThat(result.getResults()).containsExactly(
+                new SearchResultDTO(SearchResultType.TASK, 3L, "ACME", 3),
+                new SearchResultDTO(SearchResultType.CLIENT, 1L, "Acme Corp", 2),
+                new SearchResultDTO(SearchResultType.COMMENT, 5L, "acme called back", 2),
+                new SearchResultDTO(SearchResultType.CONTACT, 2L, "Ann Lee", 1),
+                new SearchResultDTO(SearchResultType.TASK, 4L, "Call Acme", 1));
+        assertThat(result.getIncompleteSources()).isEmpty();
+        verify(entityManager, times(4)).setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, 200L);
+    }
+
+    @Test
+    void shouldReturnPartialResultsWhenSourceIsSlowOrFails() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(clientSearchIndex.search("acme", 2, 0)).thenAnswer(invocation -> {
+            release.await();
+            return List.of(client(1L, "Acme"));
+        });
+        when(contactSearchIndex.search(null, "acme", 2, 0)).thenReturn(Optional.empty());
+        when(contactRepository.search(null, "acme", PageRequest.of(0, 2))).thenThrow(new IllegalStateException("down"));
+        when(taskRepository.searchDescriptions(any(), any())).thenReturn(List.of(new SearchHit(3L, "acme")));
+        when(commentRepository.searchContents(any(), any())).thenReturn(List.of());
+
+        long start = System.nanoTime();
+        GlobalSearchDTO result = globalSearchService.search("acme", 2);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+
+        assertThat(result.getResults()).containsExactly(new SearchResultDTO(SearchResultType.TASK, 3L, "acme", 3));
+        assertThat(result.getIncompleteSources()).containsExactly(SearchResultType.CLIENT, SearchResultType.CONTACT);
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    void shouldNotSearchBlankTerm() {
+        GlobalSearchDTO result = globalSearchService.search("  ", 10);
+
+        assertThat(result.getResults()).isEmpty();
+        verifyNoInteractions(clientSearchIndex, taskRepository);
+    }
+
+    private Client client(Long id, String companyName) {
+        Client client = new Client();
+        client.setId(id);
+        client.setCompanyName(companyName);
+        return client;
+    }
+
+    private Contact contact(Long id, String firstName, String lastName, String email) {
+        return new Contact(id, firstName, lastName, email, null, null);
+    }
+}
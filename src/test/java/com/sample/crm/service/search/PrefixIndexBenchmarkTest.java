@@ -0,0 +1,70 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.service.search.PrefixIndex.Key;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the latency of prefix lookups over {@code benchmark.clients} generated keys (one million by default), while
+ * keys are being replaced. Runs in the {@code search-benchmark} surefire execution and logs the percentiles.
+ */
+@Slf4j
+@Tag("benchmark")
+class PrefixIndexBenchmarkTest {
+    private static final int KEYS = Integer.getInteger("benchmark.clients", 1_000_000);
+    private static final int LOOKUPS = 100_000;
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "sa", "te", "vo", "xa", "zu",
+            "bri", "dor", "fen", "gal", "hil", "jun", "kor", "lum", "mor", "nix"};
+
+    @Test
+    void shouldServePrefixLookupsWithinTwoMillisecondsAtP99() {
+        Random random = new Random(42);
+        PrefixIndex index = new PrefixIndex();
+        List<Key> keys = new ArrayList<>(KEYS);
+        for (long id = 0; id < KEYS; id++) {
+            keys.add(key(name(random), id));
+        }
+        index.load(keys, key -> true);
+
+        long[] nanos = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (i % 10 == 0) {
+                long id = random.nextInt(KEYS);
+                index.put(SuggestionType.CLIENT, id, List.of(key(name(random), id)));
+            }
+            String name = name(random);
+            String prefix = name.substring(0, 1 + random.nextInt(Math.min(6, name.length())));
+            long start = System.nanoTime();
+            List<Key> found = index.find(prefix, null, 10);
+            nanos[i] = System.nanoTime() - start;
+            assertThat(found).allSatisfy(key -> assertThat(key.text()).startsWith(prefix));
+        }
+
+        Arrays.sort(nanos);
+        double p50 = nanos[LOOKUPS / 2] / 1_000_000.0;
+        double p99 = nanos[LOOKUPS * 99 / 100] / 1_000_000.0;
+        log.info("Prefix lookups over {} keys: p50 {} ms, p99 {} ms", KEYS, p50, p99);
+        assertThat(p99).isLessThan(2.0);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.append(' ').append(random.nextInt(10_000)).toString();
+    }
+
+    private static Key key(String text, long id) {
+        return new Key(text, SuggestionType.CLIENT, id, text);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sample.crm.service.search;
+
+import com.sample.crm.model.SuggestionType;
+import com.sample.crm.service.search.PrefixIndex.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    @Test
+    void shouldFindFirstKeysStartingWithPrefixOncePerEntity() {
+        index.load(List.of(
+                key("acme corp", SuggestionType.CLIENT, 1L),
+                key("ada lovelace", SuggestionType.CONTACT, 1L),
+                key("ada@acme.com", SuggestionType.CONTACT, 1L),
+                key("acme", SuggestionType.CLIENT, 2L),
+                key("bolt", SuggestionType.CLIENT, 3L),
+                key("abc", SuggestionType.CONTACT, 2L)), key -> true);
+
+        assertThat(texts(index.find("a", null, 10))).containsExactly("abc", "acme", "acme corp", "ada lovelace");
+        assertThat(texts(index.find("ac", SuggestionType.CLIENT, 1))).containsExactly("acme");
+        assertThat(texts(index.find("ada", SuggestionType.CONTACT, 10))).containsExactly("ada lovelace");
+        assertThat(index.find("zz", null, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldMergeRecentChangesWithSortedKeys() {
+        index.load(List.of(key("anna", SuggestionType.CONTACT, 1L), key("anton", SuggestionType.CONTACT, 2L)),
+                key -> true);
+
+        index.put(SuggestionType.CONTACT, 1L, List.of(key("andrea", SuggestionType.CONTACT, 1L)));
+        index.put(SuggestionType.CONTACT, 3L, List.of(key("ann", SuggestionType.CONTACT, 3L)));
+        index.put(SuggestionType.CONTACT, 3L, List.of(key("annie", SuggestionType.CONTACT, 3L)));
+        index.remove(SuggestionType.CONTACT, 2L);
+
+        assertThat(texts(index.find("an", null, 10))).containsExactly("andrea", "annie");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepOrderAcrossMerges() {
+        List<Key> keys = new ArrayList<>();
+        IntStream.range(0, PrefixIndex.MERGE_THRESHOLD).forEach(i ->
+                keys.add(key("client %05d".formatted(i * 2), SuggestionType.CLIENT, (long) i)));
+        index.load(keys, key -> true);
+
+        IntStream.range(0, PrefixIndex.MERGE_THRESHOLD).forEach(i -> index.put(SuggestionType.CLIENT,
+                (long) PrefixIndex.MERGE_THRESHOLD + i,
+                List.of(key("client %05d".formatted(i * 2 + 1), SuggestionType.CLIENT,
+                        (long) PrefixIndex.MERGE_THRESHOLD + i))));
+        index.remove(SuggestionType.CLIENT, 0L);
+
+        assertThat(texts(index.find("client 0000", null, 5)))
+                .containsExactly("client 00001", "client 00002", "client 00003", "client 00004", "client 00005");
+        assertThat(index.size()).isEqualTo(2 * PrefixIndex.MERGE_THRESHOLD - 1);
+    }
+
+    @Test
+    void shouldSkipLoadedKeysRejectedByFilter() {
+        index.put(SuggestionType.CLIENT, 1L, List.of(key("new name", SuggestionType.CLIENT, 1L)));
+
+        index.load(List.of(key("old name", SuggestionType.CLIENT, 1L), key("other", SuggestionType.CLIENT, 2L)),
+                key -> key.id() != 1L);
+
+        assertThat(texts(index.find("", null, 10))).containsExactly("new name", "other");
+    }
+
+    private static Key key(String text, SuggestionType type, Long id) {
+        return new Key(text, type, id, text);
+    }
+
+    private static List<String> texts(List<Key> keys) {
+        return keys.stream().map(Key::text).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.sample.crm.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.crm.model.SuggestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Runs two nodes against an in-memory stand-in for Redis pub/sub, which hands every published message to the
+ * listeners of all nodes.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisSearchIndexBrokerTest {
+
+    private static final String CHANNEL = "crm:search-index";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private BiConsumer<SuggestionType, List<Long>> firstNodeHandler;
+
+    @Mock
+    private BiConsumer<SuggestionType, List<Long>> secondNodeHandler;
+
+    @Mock
+    private BiConsumer<SuggestionType, List<Long>> otherIndexHandler;
+
+    private final List<MessageListener> subscribers = new ArrayList<>();
+
+    private RedisSearchIndexBroker firstNode;
+
+    private RedisSearchIndexBroker secondNode;
+
+    @BeforeEach
+    void setUp() {
+        firstNode = node();
+        secondNode = node();
+        firstNode.subscribe("contacts", firstNodeHandler);
+        secondNode.subscribe("contacts", secondNodeHandler);
+        secondNode.subscribe("autocomplete", otherIndexHandler);
+    }
+
+    @Test
+    void shouldRefreshTheIndexOfTheOtherNodes() {
+        givenPubSub();
+
+        firstNode.publish("contacts", SuggestionType.CONTACT, List.of(1L, 2L));
+
+        verify(secondNodeHandler).accept(SuggestionType.CONTACT, List.of(1L, 2L));
+        verify(firstNodeHandler, never()).accept(any(), any());
+        verifyNoInteractions(otherIndexHandler);
+    }
+
+    @Test
+    void shouldNotPublishWithoutChanges() {
+        firstNode.publish("contacts", SuggestionType.CONTACT, List.of());
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldDropMalformedMessages() {
+        secondNode.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        verifyNoInteractions(secondNodeHandler, otherIndexHandler);
+    }
+
+    /**
+     * Hands every message published on the channel to the listeners of all nodes.
+     */
+    private void givenPubSub() {
+        doAnswer(invocation -> {
+            DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+            subscribers.forEach(subscriber -> subscriber.onMessage(message, null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    private RedisSearchIndexBroker node() {
+        RedisSearchIndexBroker broker = new RedisSearchIndexBroker(redisTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(broker, "channel", CHANNEL);
+        subscribers.add(broker);
+        return broker;
+    }
+}
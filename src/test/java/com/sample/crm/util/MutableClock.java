@@ -0,0 +1,37 @@
+package com.sample.crm.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A UTC {@link Clock} standing still at a time set by the test, for services that read the current date or time.
+ */
+public final class MutableClock extends Clock {
+    private Instant instant;
+
+    public MutableClock(LocalDateTime time) {
+        set(time);
+    }
+
+    public void set(LocalDateTime time) {
+        instant = time.toInstant(ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
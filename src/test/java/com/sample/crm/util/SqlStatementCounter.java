@@ -0,0 +1,35 @@
+package com.sample.crm.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hibernate {@link StatementInspector} counting the SQL statements prepared on the current thread.
+ * Registered for the test profile through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector},
+ * it lets tests pin the number of queries issued by an endpoint so N+1 regressions fail the build.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    public static void assertStatementCount(int expected) {
+        assertThat(count())
+                .as("Number of SQL statements executed")
+                .isEqualTo(expected);
+    }
+}
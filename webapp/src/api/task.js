@@ -1,7 +1,7 @@
 import API from "./axiosConfig";
 
-export const fetchTasks = async () => {
-    const response = await API.get("/task");
+export const fetchTasks = async (filter = {}, cursor = null, size = 50) => {
+    const response = await API.get("/task", { params: { ...filter, cursor, size } });
     return response.data;
 };
 
@@ -35,6 +35,11 @@ export const updateTaskStatus = async (id, status) => {
     return response.data;
 };
 
+export const updateTaskStatuses = async (ids, status) => {
+    const response = await API.patch(`/task/status`, { ids, status });
+    return response.data;
+};
+
 export const assignTaskToContact = async (taskId, contactId) => {
     const response = await API.patch(`/task/assign/${taskId}`, null, { params: { contact: contactId } });
     return response.data;
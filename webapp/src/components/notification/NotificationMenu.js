@@ -36,6 +36,9 @@ const NotificationMenu = ({ username }) => {
             case "TASK_STATUS_CHANGED":
                 return `Task "${params.task_description}" status has been changed to "${params.task_status}".`;
 
+            case "TASKS_STATUS_CHANGED":
+                return `${params.task_count} tasks have been moved to "${params.task_status}": ${params.task_descriptions}.`;
+
             case "TASK_NEW_COMMENT":
                 return `New comment ontTask "${params.task_description}".`;
 
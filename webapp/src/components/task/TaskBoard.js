@@ -7,7 +7,7 @@ import DroppableColumn from "./DroppableColumn";
 import DraggableTask from "./DraggableTask";
 
 const TaskBoard = ({ clientId }) => {
-    const [tasks, setTasks] = useState({ TODO: [], IN_PROGRESS: [], DONE: [] });
+    const [tasks, setTasks] = useState({ TODO: [], IN_PROGRESS: [], DONE: [], PAUSED: [] });
     const [contacts, setContacts] = useState([]);
     const [searchTerm, setSearchTerm] = useState("");
     const [filterContact, setFilterContact] = useState("");
@@ -39,7 +39,7 @@ const TaskBoard = ({ clientId }) => {
     }, [clientId]);
 
     const transformTasksToBoard = (tasks) => {
-        const board = { TODO: [], IN_PROGRESS: [], DONE: [] };
+        const board = { TODO: [], IN_PROGRESS: [], DONE: [], PAUSED: [] };
         tasks.forEach((task) => {
             board[task.status].push(task);
         });
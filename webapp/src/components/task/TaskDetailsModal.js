@@ -170,6 +170,7 @@ const TaskDetailsModal = ({open, onClose, task, contacts, onUpdateTask}) => {
                                 <MenuItem value="TODO">To Do</MenuItem>
                                 <MenuItem value="IN_PROGRESS">In Progress</MenuItem>
                                 <MenuItem value="DONE">Done</MenuItem>
+                                <MenuItem value="PAUSED">Paused</MenuItem>
                             </Select>
                         </FormControl>
                         <LocalizationProvider dateAdapter={AdapterDateFns}>